@@ -22,7 +22,10 @@ CREATE TABLE usuarios (
     telefono VARCHAR(20),
     direccion TEXT,
     INDEX idx_email (email),
-    INDEX idx_rol (rol)
+    INDEX idx_rol_fecha (rol, fecha_registro),
+    INDEX idx_fecha_registro (fecha_registro),
+    INDEX idx_nombre_apellido (nombre, apellido),
+    INDEX idx_apellido (apellido)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
 -- ========================================
@@ -41,6 +44,7 @@ CREATE TABLE categorias (
 -- ========================================
 CREATE TABLE productos (
     id_producto INT PRIMARY KEY AUTO_INCREMENT,
+    sku VARCHAR(64) NULL,  -- Código del proveedor (clave de la importación masiva)
     id_categoria INT NOT NULL,
     nombre VARCHAR(200) NOT NULL,
     descripcion TEXT,
@@ -57,6 +61,9 @@ CREATE TABLE productos (
     INDEX idx_nombre (nombre),
     INDEX idx_precio (precio),
     INDEX idx_estado (estado),
+    INDEX idx_estado_fecha (estado, fecha_registro),
+    INDEX idx_categoria_estado_fecha (id_categoria, estado, fecha_registro),
+    UNIQUE INDEX uk_sku (sku),
     FULLTEXT idx_busqueda (nombre, descripcion, marca, modelo)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
@@ -86,10 +93,14 @@ CREATE TABLE pedidos (
     estado ENUM('PENDIENTE', 'PROCESANDO', 'ENVIADO', 'ENTREGADO', 'CANCELADO') DEFAULT 'PENDIENTE',
     direccion_envio TEXT NOT NULL,
     metodo_pago VARCHAR(50),
+    cantidad_items INT NOT NULL DEFAULT 0,
+    cantidad_total INT NOT NULL DEFAULT 0,
     FOREIGN KEY (id_usuario) REFERENCES usuarios(id_usuario) ON DELETE RESTRICT,
-    INDEX idx_usuario (id_usuario),
-    INDEX idx_estado (estado),
-    INDEX idx_fecha (fecha_pedido)
+    INDEX idx_usuario_estado (id_usuario, estado),
+    INDEX idx_usuario_fecha (id_usuario, fecha_pedido, id_pedido),
+    INDEX idx_estado_fecha (estado, fecha_pedido),
+    INDEX idx_fecha (fecha_pedido),
+    INDEX idx_total (total)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
 -- ========================================
@@ -104,7 +115,7 @@ CREATE TABLE detalle_pedido (
     subtotal DECIMAL(10, 2) NOT NULL,
     FOREIGN KEY (id_pedido) REFERENCES pedidos(id_pedido) ON DELETE CASCADE,
     FOREIGN KEY (id_producto) REFERENCES productos(id_producto) ON DELETE RESTRICT,
-    INDEX idx_pedido (id_pedido),
+    INDEX idx_pedido_producto (id_pedido, id_producto),
     INDEX idx_producto (id_producto)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
@@ -136,10 +147,28 @@ CREATE TABLE resenas (
     FOREIGN KEY (id_producto) REFERENCES productos(id_producto) ON DELETE CASCADE,
     FOREIGN KEY (id_usuario) REFERENCES usuarios(id_usuario) ON DELETE CASCADE,
     INDEX idx_producto (id_producto),
+    INDEX idx_producto_fecha (id_producto, fecha),
     INDEX idx_usuario (id_usuario),
     INDEX idx_calificacion (calificacion)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
+-- ========================================
+-- TABLA: RESUMEN_CALIFICACIONES
+-- Agregado por producto que ResenaService mantiene en cada escritura
+-- ========================================
+CREATE TABLE resumen_calificaciones (
+    id_producto INT PRIMARY KEY,
+    total_resenas INT NOT NULL DEFAULT 0,
+    suma_calificaciones INT NOT NULL DEFAULT 0,
+    estrellas_1 INT NOT NULL DEFAULT 0,
+    estrellas_2 INT NOT NULL DEFAULT 0,
+    estrellas_3 INT NOT NULL DEFAULT 0,
+    estrellas_4 INT NOT NULL DEFAULT 0,
+    estrellas_5 INT NOT NULL DEFAULT 0,
+    fecha_actualizacion TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    FOREIGN KEY (id_producto) REFERENCES productos(id_producto) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
 -- ========================================
 -- DATOS INICIALES: CATEGORÍAS
 -- ========================================
@@ -446,6 +475,13 @@ INSERT INTO detalle_pedido (id_pedido, id_producto, cantidad, precio_unitario, s
                                                                                              (5, 28, 1, 449.99, 449.99),    -- Samsung Galaxy A54
                                                                                              (5, 75, 1, 129.99, 129.99);    -- JBL Flip 6
 
+-- Resumen de líneas y unidades de los pedidos iniciales (historial sin leer detalle_pedido)
+UPDATE pedidos p
+JOIN (SELECT id_pedido, COUNT(*) AS items, SUM(cantidad) AS unidades
+      FROM detalle_pedido
+      GROUP BY id_pedido) d ON d.id_pedido = p.id_pedido
+SET p.cantidad_items = d.items, p.cantidad_total = d.unidades;
+
 -- ========================================
 -- RESEÑAS DE PRODUCTOS
 -- ========================================
@@ -511,6 +547,15 @@ INSERT INTO resenas (id_producto, id_usuario, calificacion, comentario) VALUES
 (11, 3, 3, 'Laptop básica económica. Cumple para tareas sencillas pero no esperes maravillas.'),
 (11, 4, 3, 'Buena para el precio, aunque un poco lenta para multitarea.');
 
+-- Resumen de calificaciones a partir de las reseñas iniciales
+INSERT INTO resumen_calificaciones (id_producto, total_resenas, suma_calificaciones,
+    estrellas_1, estrellas_2, estrellas_3, estrellas_4, estrellas_5)
+SELECT id_producto, COUNT(*), SUM(calificacion),
+    SUM(calificacion = 1), SUM(calificacion = 2), SUM(calificacion = 3),
+    SUM(calificacion = 4), SUM(calificacion = 5)
+FROM resenas
+GROUP BY id_producto;
+
 -- ========================================
 -- FIN DEL SCRIPT DE INSERCIONES
 -- ========================================
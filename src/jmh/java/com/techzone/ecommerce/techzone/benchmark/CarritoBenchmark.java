@@ -0,0 +1,52 @@
+package com.techzone.ecommerce.techzone.benchmark;
+
+import com.techzone.ecommerce.techzone.model.Producto;
+import com.techzone.ecommerce.techzone.service.CarritoService;
+import com.techzone.ecommerce.techzone.service.ServiceException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Totales del carrito (CarritoService.obtenerCarritoCompleto) con DAOs en memoria
+ *
+ * @author TechZone Team
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CarritoBenchmark {
+
+    @Param({"1", "10", "50"})
+    private int lineas;
+
+    private CarritoService carritoService;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        List<Producto> catalogo = DatosFalsos.generarProductos(1000);
+        carritoService = new CarritoService(
+                new DatosFalsos.CarritoDAOFalso(DatosFalsos.generarCarrito(catalogo, lineas)),
+                new DatosFalsos.ProductoDAOFalso(catalogo));
+    }
+
+    @Benchmark
+    public CarritoService.CarritoCompleto obtenerCarritoCompleto() throws ServiceException {
+        return carritoService.obtenerCarritoCompleto(1);
+    }
+}
@@ -0,0 +1,98 @@
+package com.techzone.ecommerce.techzone.benchmark;
+
+import com.techzone.ecommerce.techzone.model.Producto;
+import com.techzone.ecommerce.techzone.service.BuscadorProductos;
+import com.techzone.ecommerce.techzone.service.CatalogoSnapshot;
+import com.techzone.ecommerce.techzone.service.ProductoService.FiltroProductos;
+import com.techzone.ecommerce.techzone.service.ProductoService.OrdenProducto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listados del catálogo en memoria: ordenación, filtro por rango de precio y búsqueda por texto
+ * (equivalentes actuales de ordenarProductos / filtrarPorRangoPrecio de ProductoService)
+ *
+ * @author TechZone Team
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CatalogoBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int productos;
+
+    private CatalogoSnapshot catalogo;
+    private BuscadorProductos buscador;
+
+    private FiltroProductos porPrecio;
+    private FiltroProductos rangoPrecio;
+    private FiltroProductos porNombrePagina5;
+    private FiltroProductos texto;
+
+    @Setup(Level.Trial)
+    public void preparar() throws Exception {
+        List<Producto> catalogoFalso = DatosFalsos.generarProductos(productos);
+        DatosFalsos.ProductoDAOFalso productoDAO = new DatosFalsos.ProductoDAOFalso(catalogoFalso);
+
+        catalogo = new CatalogoSnapshot(productoDAO, new DatosFalsos.ImagenDAOFalso(catalogoFalso));
+        catalogo.recargar();
+
+        buscador = new BuscadorProductos(productoDAO);
+        buscador.reconstruir();
+
+        porPrecio = new FiltroProductos();
+        porPrecio.setOrden(OrdenProducto.PRECIO_ASC);
+
+        rangoPrecio = new FiltroProductos();
+        rangoPrecio.setPrecioMinimo(new BigDecimal("100.00"));
+        rangoPrecio.setPrecioMaximo(new BigDecimal("700.00"));
+        rangoPrecio.setOrden(OrdenProducto.PRECIO_DESC);
+
+        porNombrePagina5 = new FiltroProductos();
+        porNombrePagina5.setIdCategoria(3);
+        porNombrePagina5.setOrden(OrdenProducto.NOMBRE_ASC);
+        porNombrePagina5.setPagina(5);
+
+        texto = new FiltroProductos();
+        texto.setTerminoBusqueda("laptop lenovo");
+        texto.setOrden(OrdenProducto.RELEVANCIA);
+    }
+
+    @Benchmark
+    public CatalogoSnapshot.Pagina ordenarPorPrecio() {
+        return catalogo.buscar(porPrecio);
+    }
+
+    @Benchmark
+    public CatalogoSnapshot.Pagina filtrarPorRangoPrecio() {
+        return catalogo.buscar(rangoPrecio);
+    }
+
+    @Benchmark
+    public CatalogoSnapshot.Pagina categoriaPorNombre() {
+        return catalogo.buscar(porNombrePagina5);
+    }
+
+    @Benchmark
+    public BuscadorProductos.ResultadoIds buscarTexto() {
+        return buscador.buscar(texto);
+    }
+}
@@ -0,0 +1,180 @@
+package com.techzone.ecommerce.techzone.benchmark;
+
+import com.techzone.ecommerce.techzone.config.DatabaseConnection;
+import com.techzone.ecommerce.techzone.dao.CarritoDAO;
+import com.techzone.ecommerce.techzone.dao.ImagenDAO;
+import com.techzone.ecommerce.techzone.dao.ProductoDAO;
+import com.techzone.ecommerce.techzone.model.Carrito;
+import com.techzone.ecommerce.techzone.model.Imagen;
+import com.techzone.ecommerce.techzone.model.Producto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Catálogo sintético y DAOs en memoria para los benchmarks (sin base de datos)
+ * Los datos se generan con semilla fija para que las ejecuciones sean comparables
+ *
+ * @author TechZone Team
+ */
+final class DatosFalsos {
+
+    private static final String[] MARCAS = {
+            "Samsung", "Apple", "Lenovo", "HP", "Dell", "Asus", "Acer", "Sony", "LG", "Xiaomi",
+            "Logitech", "Razer", "Corsair", "Kingston", "Seagate", "Canon", "Nikon", "JBL", "Bose", "Huawei"
+    };
+    private static final String[] TIPOS = {
+            "Laptop", "Monitor", "Teclado", "Mouse", "Audífonos", "Cámara", "Tablet", "Smartphone",
+            "Disco SSD", "Memoria RAM", "Impresora", "Router", "Parlante", "Smartwatch", "Webcam"
+    };
+    private static final String[] ADJETIVOS = {
+            "Pro", "Ultra", "Gamer", "Inalámbrico", "Portátil", "Plus", "Max", "Lite", "4K", "RGB"
+    };
+    private static final int CATEGORIAS = 12;
+
+    private DatosFalsos() {
+    }
+
+    /**
+     * Genera productos con precios, descuentos, stock y fechas variados
+     */
+    static List<Producto> generarProductos(int cantidad) {
+        Random random = new Random(42);
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<Producto> productos = new ArrayList<>(cantidad);
+
+        for (int i = 1; i <= cantidad; i++) {
+            String marca = MARCAS[random.nextInt(MARCAS.length)];
+            String tipo = TIPOS[random.nextInt(TIPOS.length)];
+
+            Producto producto = new Producto();
+            producto.setIdProducto(i);
+            producto.setIdCategoria(1 + random.nextInt(CATEGORIAS));
+            producto.setNombre(tipo + " " + marca + " " + ADJETIVOS[random.nextInt(ADJETIVOS.length)] + " " + i);
+            producto.setDescripcion(tipo + " de la marca " + marca + " con garantía y envío a todo el país");
+            producto.setMarca(marca);
+            producto.setModelo("M-" + (1000 + random.nextInt(9000)));
+            producto.setSku("SKU-" + i);
+            producto.setPrecio(BigDecimal.valueOf(999 + random.nextInt(300_000), 2));
+            producto.setDescuento(random.nextInt(4) == 0
+                    ? BigDecimal.valueOf(5 + random.nextInt(46)) : BigDecimal.ZERO);
+            producto.setStock(random.nextInt(10) == 0 ? 0 : 1 + random.nextInt(200));
+            producto.setEstado(producto.getStock() == 0
+                    ? Producto.EstadoProducto.AGOTADO : Producto.EstadoProducto.DISPONIBLE);
+            producto.setFechaRegistro(base.plusMinutes(random.nextInt(1_000_000)));
+            producto.setActivo(true);
+            productos.add(producto);
+        }
+        return productos;
+    }
+
+    /**
+     * Líneas de carrito sobre productos distintos del catálogo
+     */
+    static List<Carrito> generarCarrito(List<Producto> productos, int lineas) {
+        Random random = new Random(7);
+        List<Carrito> items = new ArrayList<>(lineas);
+        for (int i = 0; i < lineas; i++) {
+            Producto producto = productos.get((i * 37) % productos.size());
+            Carrito item = new Carrito(1, producto.getIdProducto(), 1 + random.nextInt(5));
+            item.setIdCarrito(i + 1);
+            items.add(item);
+        }
+        return items;
+    }
+
+    // ==================== DAOS EN MEMORIA ====================
+
+    /**
+     * ProductoDAO que sirve productos desde una lista (copias, como haría la BD)
+     */
+    static final class ProductoDAOFalso extends ProductoDAO {
+        private final List<Producto> productos;
+        private final Map<Integer, Producto> porId = new HashMap<>();
+
+        ProductoDAOFalso(List<Producto> productos) {
+            super((DatabaseConnection) null);
+            this.productos = productos;
+            for (Producto producto : productos) {
+                porId.put(producto.getIdProducto(), producto);
+            }
+        }
+
+        @Override
+        public List<Producto> obtenerTodos() {
+            List<Producto> copia = new ArrayList<>(productos.size());
+            for (Producto producto : productos) {
+                copia.add(new Producto(producto));
+            }
+            return copia;
+        }
+
+        @Override
+        public Map<Integer, Producto> buscarPorIds(Collection<Integer> ids) {
+            Map<Integer, Producto> encontrados = new HashMap<>();
+            for (Integer id : ids) {
+                Producto producto = porId.get(id);
+                if (producto != null) {
+                    encontrados.put(id, new Producto(producto));
+                }
+            }
+            return encontrados;
+        }
+    }
+
+    /**
+     * ImagenDAO con una imagen principal por producto
+     */
+    static final class ImagenDAOFalso extends ImagenDAO {
+        private final Map<Integer, Imagen> principales = new HashMap<>();
+
+        ImagenDAOFalso(List<Producto> productos) {
+            super((DatabaseConnection) null);
+            for (Producto producto : productos) {
+                Imagen imagen = new Imagen(producto.getIdProducto(),
+                        "/img/productos/" + producto.getIdProducto() + ".jpg", 0, true);
+                principales.put(producto.getIdProducto(), imagen);
+            }
+        }
+
+        @Override
+        public Map<Integer, Imagen> obtenerPrincipales() {
+            return new HashMap<>(principales);
+        }
+
+        @Override
+        public Map<Integer, Imagen> obtenerPrincipalesPorProductos(Collection<Integer> idsProductos) {
+            Map<Integer, Imagen> encontradas = new HashMap<>();
+            for (Integer id : idsProductos) {
+                Imagen imagen = principales.get(id);
+                if (imagen != null) {
+                    encontradas.put(id, imagen);
+                }
+            }
+            return encontradas;
+        }
+    }
+
+    /**
+     * CarritoDAO que devuelve siempre las mismas líneas
+     */
+    static final class CarritoDAOFalso extends CarritoDAO {
+        private final List<Carrito> items;
+
+        CarritoDAOFalso(List<Carrito> items) {
+            super((DatabaseConnection) null);
+            this.items = items;
+        }
+
+        @Override
+        public List<Carrito> obtenerPorUsuario(int idUsuario) {
+            return new ArrayList<>(items);
+        }
+    }
+}
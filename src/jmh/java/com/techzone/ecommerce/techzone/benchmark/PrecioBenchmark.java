@@ -0,0 +1,80 @@
+package com.techzone.ecommerce.techzone.benchmark;
+
+import com.techzone.ecommerce.techzone.model.Producto;
+import com.techzone.ecommerce.techzone.util.PrecioUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cálculo del precio final: lectura del valor precalculado frente a recalcularlo
+ *
+ * @author TechZone Team
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PrecioBenchmark {
+
+    @Param({"1000", "100000"})
+    private int productos;
+
+    private Producto[] catalogo;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        List<Producto> generados = DatosFalsos.generarProductos(productos);
+        catalogo = generados.toArray(new Producto[0]);
+    }
+
+    /**
+     * getPrecioConDescuento sobre todo el catálogo (como al pintar un listado completo)
+     * Cada valor se consume en el Blackhole para que el JIT no descarte las lecturas
+     */
+    @Benchmark
+    public void precioConDescuento(Blackhole bh) {
+        for (Producto producto : catalogo) {
+            bh.consume(producto.getPrecioConDescuento());
+        }
+    }
+
+    /**
+     * Suma de precios finales en céntimos (carrito, filtros y ordenación)
+     */
+    @Benchmark
+    public long sumarCentimos() {
+        long total = 0;
+        for (Producto producto : catalogo) {
+            total += producto.getPrecioFinalCentimos();
+        }
+        return total;
+    }
+
+    /**
+     * Coste de recalcular el precio final desde precio y descuento (al asignarlos)
+     */
+    @Benchmark
+    public long recalcularDesdeBigDecimal() {
+        long total = 0;
+        for (Producto producto : catalogo) {
+            total += PrecioUtil.precioFinalCentimos(producto.getPrecio(), producto.getDescuento());
+        }
+        return total;
+    }
+}
@@ -0,0 +1,53 @@
+package com.techzone.ecommerce.techzone.benchmark;
+
+import com.techzone.ecommerce.techzone.util.ValidationUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ValidationUtil.sanitizeHtml sobre textos de formulario y descripciones de producto
+ *
+ * @author TechZone Team
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidacionBenchmark {
+
+    private static final String FRAGMENTO = "<p>Laptop <b>Lenovo</b> con 16 GB de RAM & SSD de 512 GB."
+            + " <a href=\"/productos\">Ver más</a> <script>alert('x')</script></p>\n";
+
+    // Caracteres de la entrada: nombre corto, reseña y descripción larga
+    @Param({"40", "500", "5000"})
+    private int longitud;
+
+    private String entrada;
+
+    @Setup
+    public void preparar() {
+        StringBuilder texto = new StringBuilder(longitud + FRAGMENTO.length());
+        while (texto.length() < longitud) {
+            texto.append(FRAGMENTO);
+        }
+        entrada = texto.substring(0, longitud);
+    }
+
+    @Benchmark
+    public String sanitizeHtml() {
+        return ValidationUtil.sanitizeHtml(entrada);
+    }
+}
@@ -0,0 +1,121 @@
+package com.techzone.ecommerce.techzone.config;
+
+import com.techzone.ecommerce.techzone.service.AutocompletadoIndex;
+import com.techzone.ecommerce.techzone.service.BuscadorProductos;
+import com.techzone.ecommerce.techzone.service.CacheBusquedas;
+import com.techzone.ecommerce.techzone.service.CatalogoSnapshot;
+import com.techzone.ecommerce.techzone.service.FacetasProductos;
+import jakarta.servlet.ServletContextEvent;
+import jakarta.servlet.ServletContextListener;
+import jakarta.servlet.annotation.WebListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mantiene en segundo plano la vista del catálogo y los índices de búsqueda de productos
+ * (índice invertido, trie de autocompletado y facetas). Los construye al arrancar y después,
+ * cada N segundos (parámetro de contexto "buscador.intervaloSegundos", 30 por defecto),
+ * actualiza los productos cuyo stock cambió y reconstruye los que tengan cambios pendientes
+ *
+ * @author TechZone Team
+ */
+@WebListener
+public class BuscadorProductosListener implements ServletContextListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(BuscadorProductosListener.class);
+    private static final String PARAM_INTERVALO = "buscador.intervaloSegundos";
+    private static final long INTERVALO_SEGUNDOS_DEFECTO = 30;
+
+    private ScheduledExecutorService scheduler;
+
+    @Override
+    public void contextInitialized(ServletContextEvent sce) {
+        long intervaloSegundos = leerIntervalo(sce.getServletContext().getInitParameter(PARAM_INTERVALO));
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, "buscador-productos");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+
+        scheduler.scheduleWithFixedDelay(this::actualizar, 0, intervaloSegundos, TimeUnit.SECONDS);
+
+        logger.info("Índices de búsqueda de productos: revisión cada {} s", intervaloSegundos);
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent sce) {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Construye los índices la primera vez y luego aplica los cambios pendientes
+     * Los errores se registran sin detener la tarea (se reintenta en la siguiente pasada)
+     */
+    private void actualizar() {
+        int actualizados = 0;
+
+        CatalogoSnapshot catalogo = CatalogoSnapshot.getInstance();
+        try {
+            if (!catalogo.estaCargado()) {
+                catalogo.recargar();
+            } else {
+                actualizados += catalogo.actualizarPendientes();
+            }
+        } catch (SQLException | RuntimeException e) {
+            logger.error("Error al actualizar la vista del catálogo: {}", e.getMessage(), e);
+        }
+
+        BuscadorProductos buscador = BuscadorProductos.getInstance();
+        try {
+            if (!buscador.estaConstruido()) {
+                buscador.reconstruir();
+            } else {
+                actualizados += buscador.reindexarPendientes();
+            }
+        } catch (SQLException | RuntimeException e) {
+            logger.error("Error al actualizar el índice de búsqueda: {}", e.getMessage(), e);
+        }
+
+        // Resultados cacheados calculados con el stock anterior de la vista o del índice
+        if (actualizados > 0) {
+            CacheBusquedas.getInstance().invalidar();
+        }
+
+        try {
+            AutocompletadoIndex.getInstance().reconstruirSiPendiente();
+        } catch (SQLException | RuntimeException e) {
+            logger.error("Error al reconstruir el índice de autocompletado: {}", e.getMessage(), e);
+        }
+
+        try {
+            FacetasProductos.getInstance().reconstruirSiPendiente();
+        } catch (SQLException | RuntimeException e) {
+            logger.error("Error al reconstruir el índice de facetas: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Interpreta el intervalo configurado en segundos, usando el valor por defecto si no es válido
+     */
+    private long leerIntervalo(String valor) {
+        if (valor == null || valor.isBlank()) {
+            return INTERVALO_SEGUNDOS_DEFECTO;
+        }
+        try {
+            long segundos = Long.parseLong(valor.trim());
+            return segundos > 0 ? segundos : INTERVALO_SEGUNDOS_DEFECTO;
+        } catch (NumberFormatException e) {
+            logger.warn("Intervalo del índice de búsqueda inválido '{}', se usan {} s",
+                    valor, INTERVALO_SEGUNDOS_DEFECTO);
+            return INTERVALO_SEGUNDOS_DEFECTO;
+        }
+    }
+}
@@ -1,30 +1,56 @@
 package com.techzone.ecommerce.techzone.config;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import javax.sql.DataSource;
 import java.io.IOException;
 import java.io.InputStream;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Logger;
 
 /**
- * Clase para gestionar la conexión a la base de datos MySQL
- * Implementa el patrón Singleton
+ * Clase para gestionar el pool de conexiones a la base de datos MySQL
+ * Implementa el patrón Singleton sobre un HikariDataSource
+ *
+ * Cada llamada a {@link #getConnection()} entrega una conexión prestada del pool;
+ * al cerrarla (try-with-resources en los DAOs) vuelve al pool.
+ * El pool se crea aunque MySQL no esté disponible al arrancar: las llamadas fallan mientras
+ * la BD no responda y vuelven a funcionar en cuanto se recupera, sin redesplegar.
  *
  * @author TechZone Team
- * @version 1.0
+ * @version 2.0
  */
 public class DatabaseConnection {
 
     private static final Logger LOGGER = Logger.getLogger(DatabaseConnection.class.getName());
-    private static DatabaseConnection instance;
-    private Connection connection;
+    private static final String POOL_NAME = "TechZonePool";
+
+    private static volatile DatabaseConnection instance;
+    private HikariDataSource dataSource;
     private String url;
     private String user;
     private String password;
     private String driver;
 
+    // Configuración del pool (valores por defecto si no están en db.properties)
+    private int poolSize = 10;
+    private int minIdle = 5;
+    private long maxLifetime = 1800000;
+    private long connectionTimeout = 30000;
+    private long idleTimeout = 600000;
+
+    // Métricas de adquisición de conexiones
+    private final LongAdder totalAdquisiciones = new LongAdder();
+    private final LongAdder totalFallos = new LongAdder();
+    private final LongAdder tiempoAdquisicionNanos = new LongAdder();
+    private final AtomicLong maxAdquisicionNanos = new AtomicLong();
+
     /**
      * Constructor privado para el patrón Singleton
      */
@@ -35,15 +61,22 @@ public class DatabaseConnection {
 
             // Cargar el driver de MySQL
             Class.forName(driver);
-
             LOGGER.info("Driver MySQL cargado correctamente");
 
+            // Crear el pool de conexiones
+            this.dataSource = crearDataSource();
+            LOGGER.info("Pool de conexiones inicializado (max=" + poolSize + ", minIdle=" + minIdle + ")");
+
         } catch (ClassNotFoundException e) {
             LOGGER.severe("Error: Driver MySQL no encontrado");
             e.printStackTrace();
         } catch (IOException e) {
             LOGGER.severe("Error: No se pudo cargar db.properties");
             e.printStackTrace();
+        } catch (RuntimeException e) {
+            // Configuración inválida del pool (la BD caída no llega aquí, ver crearDataSource)
+            LOGGER.severe("Error: No se pudo inicializar el pool de conexiones: " + e.getMessage());
+            e.printStackTrace();
         }
     }
 
@@ -70,6 +103,13 @@ public class DatabaseConnection {
             this.password = props.getProperty("db.password");
             this.driver = props.getProperty("db.driver");
 
+            // Configuración del pool
+            this.poolSize = leerEntero(props, "db.pool.size", poolSize);
+            this.minIdle = leerEntero(props, "db.pool.minIdle", minIdle);
+            this.maxLifetime = leerLargo(props, "db.pool.maxLifetime", maxLifetime);
+            this.connectionTimeout = leerLargo(props, "db.pool.connectionTimeout", connectionTimeout);
+            this.idleTimeout = leerLargo(props, "db.pool.idleTimeout", idleTimeout);
+
             LOGGER.info("Propiedades de BD cargadas correctamente");
             LOGGER.info("URL: " + this.url);
             LOGGER.info("Usuario: " + this.user);
@@ -77,6 +117,63 @@ public class DatabaseConnection {
         }
     }
 
+    /**
+     * Construye el HikariDataSource a partir de las propiedades cargadas
+     */
+    private HikariDataSource crearDataSource() {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(POOL_NAME);
+        config.setDriverClassName(driver);
+        config.setJdbcUrl(url);
+        config.setUsername(user);
+        config.setPassword(password);
+
+        config.setMaximumPoolSize(poolSize);
+        config.setMinimumIdle(Math.min(minIdle, poolSize));
+        config.setMaxLifetime(maxLifetime);
+        config.setConnectionTimeout(connectionTimeout);
+        config.setIdleTimeout(idleTimeout);
+        config.setRegisterMbeans(true);
+
+        // No fallar al arrancar si MySQL no responde: el pool reintenta en cada getConnection()
+        config.setInitializationFailTimeout(-1);
+
+        // Cache de sentencias preparadas del driver MySQL
+        config.addDataSourceProperty("cachePrepStmts", "true");
+        config.addDataSourceProperty("prepStmtCacheSize", "250");
+        config.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+        config.addDataSourceProperty("useServerPrepStmts", "true");
+        config.addDataSourceProperty("rewriteBatchedStatements", "true");
+
+        return new HikariDataSource(config);
+    }
+
+    private static int leerEntero(Properties props, String clave, int porDefecto) {
+        String valor = props.getProperty(clave);
+        if (valor == null || valor.isBlank()) {
+            return porDefecto;
+        }
+        try {
+            return Integer.parseInt(valor.trim());
+        } catch (NumberFormatException e) {
+            LOGGER.warning("Valor inválido para " + clave + ": " + valor + " (se usa " + porDefecto + ")");
+            return porDefecto;
+        }
+    }
+
+    private static long leerLargo(Properties props, String clave, long porDefecto) {
+        String valor = props.getProperty(clave);
+        if (valor == null || valor.isBlank()) {
+            return porDefecto;
+        }
+        try {
+            return Long.parseLong(valor.trim());
+        } catch (NumberFormatException e) {
+            LOGGER.warning("Valor inválido para " + clave + ": " + valor + " (se usa " + porDefecto + ")");
+            return porDefecto;
+        }
+    }
+
     /**
      * Obtener la instancia única de DatabaseConnection (Singleton)
      *
@@ -94,54 +191,64 @@ public class DatabaseConnection {
     }
 
     /**
-     * Obtener una conexión a la base de datos
-     * Reutiliza la conexión existente si está activa
+     * Obtener una conexión del pool
+     * El llamador debe cerrarla para devolverla al pool
      *
      * @return Objeto Connection
-     * @throws SQLException Si hay error en la conexión
+     * @throws SQLException Si hay error en la conexión o se agota el tiempo de espera
      */
     public Connection getConnection() throws SQLException {
-        // Verificar si la conexión existe y está activa
-        if (connection == null || connection.isClosed() || !connection.isValid(2)) {
-            try {
-                connection = DriverManager.getConnection(url, user, password);
-                LOGGER.info("Conexion establecida con la base de datos");
-            } catch (SQLException e) {
-                LOGGER.severe("Error al conectar con la base de datos");
-                LOGGER.severe("URL: " + url);
-                LOGGER.severe("Usuario: " + user);
-                throw e;
-            }
+        if (dataSource == null) {
+            throw new SQLException("El pool de conexiones no está inicializado");
+        }
+
+        long inicio = System.nanoTime();
+        try {
+            Connection conn = dataSource.getConnection();
+            registrarAdquisicion(System.nanoTime() - inicio);
+            return conn;
+        } catch (SQLException e) {
+            totalFallos.increment();
+            LOGGER.severe("Error al obtener conexión del pool: " + e.getMessage());
+            LOGGER.severe("URL: " + url);
+            LOGGER.severe("Usuario: " + user);
+            throw e;
         }
-        return connection;
+    }
+
+    private void registrarAdquisicion(long nanos) {
+        totalAdquisiciones.increment();
+        tiempoAdquisicionNanos.add(nanos);
+        maxAdquisicionNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * Obtener el DataSource subyacente
+     *
+     * @return DataSource del pool
+     */
+    public DataSource getDataSource() {
+        return dataSource;
     }
 
     /**
-     * Cerrar la conexión a la base de datos
+     * Cerrar el pool de conexiones
+     * Se invoca al detener la aplicación (ver DatabasePoolListener)
      */
     public void closeConnection() {
-        try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
-                LOGGER.info("Conexion cerrada correctamente");
-            }
-        } catch (SQLException e) {
-            LOGGER.severe("Error al cerrar la conexion");
-            e.printStackTrace();
+        if (dataSource != null && !dataSource.isClosed()) {
+            dataSource.close();
+            LOGGER.info("Pool de conexiones cerrado correctamente");
         }
     }
 
     /**
-     * Verificar si la conexión está activa
+     * Verificar si el pool está activo
      *
-     * @return true si está activa, false si no
+     * @return true si está activo, false si no
      */
     public boolean isConnectionValid() {
-        try {
-            return connection != null && !connection.isClosed() && connection.isValid(2);
-        } catch (SQLException e) {
-            return false;
-        }
+        return dataSource != null && !dataSource.isClosed() && dataSource.isRunning();
     }
 
     /**
@@ -150,9 +257,8 @@ public class DatabaseConnection {
      * @return true si la conexión es exitosa
      */
     public boolean testConnection() {
-        try {
-            Connection conn = getConnection();
-            if (conn != null && !conn.isClosed()) {
+        try (Connection conn = getConnection()) {
+            if (conn != null && conn.isValid(2)) {
                 LOGGER.info("Test de conexion EXITOSO");
                 LOGGER.info("Database: " + conn.getCatalog());
                 return true;
@@ -163,4 +269,68 @@ public class DatabaseConnection {
         }
         return false;
     }
-}
\ No newline at end of file
+
+    /**
+     * Obtiene una instantánea de las métricas del pool
+     *
+     * @return Estadísticas actuales del pool
+     */
+    public EstadisticasPool obtenerEstadisticas() {
+        EstadisticasPool stats = new EstadisticasPool();
+        stats.tamanoMaximo = poolSize;
+
+        if (dataSource != null && !dataSource.isClosed()) {
+            HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+            if (pool != null) {
+                stats.activas = pool.getActiveConnections();
+                stats.inactivas = pool.getIdleConnections();
+                stats.totales = pool.getTotalConnections();
+                stats.enEspera = pool.getThreadsAwaitingConnection();
+            }
+        }
+
+        long adquisiciones = totalAdquisiciones.sum();
+        stats.totalAdquisiciones = adquisiciones;
+        stats.totalFallos = totalFallos.sum();
+        stats.latenciaPromedioMs = adquisiciones == 0 ? 0.0
+                : tiempoAdquisicionNanos.sum() / (double) adquisiciones / 1_000_000.0;
+        stats.latenciaMaximaMs = maxAdquisicionNanos.get() / 1_000_000.0;
+
+        return stats;
+    }
+
+    // ==================== CLASE AUXILIAR ====================
+
+    /**
+     * Métricas del pool de conexiones
+     */
+    public static class EstadisticasPool {
+        private int activas;
+        private int inactivas;
+        private int totales;
+        private int enEspera;
+        private int tamanoMaximo;
+        private long totalAdquisiciones;
+        private long totalFallos;
+        private double latenciaPromedioMs;
+        private double latenciaMaximaMs;
+
+        public int getActivas() { return activas; }
+        public int getInactivas() { return inactivas; }
+        public int getTotales() { return totales; }
+        public int getEnEspera() { return enEspera; }
+        public int getTamanoMaximo() { return tamanoMaximo; }
+        public long getTotalAdquisiciones() { return totalAdquisiciones; }
+        public long getTotalFallos() { return totalFallos; }
+        public double getLatenciaPromedioMs() { return latenciaPromedioMs; }
+        public double getLatenciaMaximaMs() { return latenciaMaximaMs; }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "EstadisticasPool{activas=%d, inactivas=%d, totales=%d/%d, enEspera=%d, adquisiciones=%d, fallos=%d, latenciaPromedio=%.3fms, latenciaMaxima=%.3fms}",
+                    activas, inactivas, totales, tamanoMaximo, enEspera,
+                    totalAdquisiciones, totalFallos, latenciaPromedioMs, latenciaMaximaMs);
+        }
+    }
+}
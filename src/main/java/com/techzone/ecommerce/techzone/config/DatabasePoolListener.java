@@ -0,0 +1,65 @@
+package com.techzone.ecommerce.techzone.config;
+
+import com.mysql.cj.jdbc.AbandonedConnectionCleanupThread;
+import jakarta.servlet.ServletContextEvent;
+import jakarta.servlet.ServletContextListener;
+import jakarta.servlet.annotation.WebListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Enumeration;
+
+/**
+ * Listener del ciclo de vida de la aplicación para el pool de conexiones
+ * Inicializa el pool al desplegar y lo cierra al replegar la aplicación,
+ * liberando también los drivers JDBC registrados por esta webapp
+ *
+ * @author TechZone Team
+ */
+@WebListener
+public class DatabasePoolListener implements ServletContextListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabasePoolListener.class);
+
+    @Override
+    public void contextInitialized(ServletContextEvent sce) {
+        // Forzar la creación del pool al arrancar en lugar de en la primera petición
+        DatabaseConnection db = DatabaseConnection.getInstance();
+        logger.info("Pool de conexiones listo: {}", db.obtenerEstadisticas());
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent sce) {
+        DatabaseConnection db = DatabaseConnection.getInstance();
+        logger.info("Cerrando pool de conexiones: {}", db.obtenerEstadisticas());
+        db.closeConnection();
+
+        desregistrarDrivers();
+
+        // Detener el hilo de limpieza del driver MySQL para evitar fugas del classloader
+        AbandonedConnectionCleanupThread.checkedShutdown();
+    }
+
+    /**
+     * Desregistra los drivers JDBC cargados por el classloader de esta aplicación
+     */
+    private void desregistrarDrivers() {
+        ClassLoader cl = Thread.currentThread().getContextClassLoader();
+        Enumeration<Driver> drivers = DriverManager.getDrivers();
+
+        while (drivers.hasMoreElements()) {
+            Driver driver = drivers.nextElement();
+            if (driver.getClass().getClassLoader() == cl) {
+                try {
+                    DriverManager.deregisterDriver(driver);
+                    logger.debug("Driver JDBC desregistrado: {}", driver);
+                } catch (SQLException e) {
+                    logger.warn("No se pudo desregistrar el driver {}: {}", driver, e.getMessage());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.techzone.ecommerce.techzone.config;
+
+import com.techzone.ecommerce.techzone.service.ProductosRelacionadosIndex;
+import jakarta.servlet.ServletContextEvent;
+import jakarta.servlet.ServletContextListener;
+import jakarta.servlet.annotation.WebListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mantiene en segundo plano el índice de productos relacionados
+ * Lo construye al arrancar y después comprueba cada N minutos
+ * (parámetro de contexto "relacionados.intervaloMinutos", 10 por defecto)
+ * si hay cambios pendientes que obliguen a reconstruirlo
+ *
+ * @author TechZone Team
+ */
+@WebListener
+public class ProductosRelacionadosListener implements ServletContextListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductosRelacionadosListener.class);
+    private static final String PARAM_INTERVALO = "relacionados.intervaloMinutos";
+    private static final long INTERVALO_MINUTOS_DEFECTO = 10;
+
+    private ScheduledExecutorService scheduler;
+
+    @Override
+    public void contextInitialized(ServletContextEvent sce) {
+        long intervaloMinutos = leerIntervalo(sce.getServletContext().getInitParameter(PARAM_INTERVALO));
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, "productos-relacionados");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+
+        scheduler.scheduleWithFixedDelay(this::actualizar, 0, intervaloMinutos, TimeUnit.MINUTES);
+
+        logger.info("Índice de productos relacionados: revisión cada {} min", intervaloMinutos);
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent sce) {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Reconstruye el índice si hay cambios; los errores se registran sin detener la tarea
+     */
+    private void actualizar() {
+        try {
+            ProductosRelacionadosIndex.getInstance().reconstruirSiPendiente();
+        } catch (SQLException | RuntimeException e) {
+            logger.error("Error al reconstruir el índice de productos relacionados: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Interpreta el intervalo configurado en minutos, usando el valor por defecto si no es válido
+     */
+    private long leerIntervalo(String valor) {
+        if (valor == null || valor.isBlank()) {
+            return INTERVALO_MINUTOS_DEFECTO;
+        }
+        try {
+            long minutos = Long.parseLong(valor.trim());
+            return minutos > 0 ? minutos : INTERVALO_MINUTOS_DEFECTO;
+        } catch (NumberFormatException e) {
+            logger.warn("Intervalo del índice de relacionados inválido '{}', se usan {} min",
+                    valor, INTERVALO_MINUTOS_DEFECTO);
+            return INTERVALO_MINUTOS_DEFECTO;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.techzone.ecommerce.techzone.config;
+
+import com.techzone.ecommerce.techzone.dao.ResumenCalificacionDAO;
+import jakarta.servlet.ServletContextEvent;
+import jakarta.servlet.ServletContextListener;
+import jakarta.servlet.annotation.WebListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tarea periódica de reconciliación del resumen de calificaciones
+ * Las reseñas actualizan el resumen de forma incremental; esta tarea lo
+ * recalcula completo desde la tabla resenas al arrancar y cada N horas
+ * (parámetro de contexto "resumenCalificaciones.intervaloHoras", 24 por defecto)
+ *
+ * @author TechZone Team
+ */
+@WebListener
+public class ResumenCalificacionesListener implements ServletContextListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResumenCalificacionesListener.class);
+    private static final String PARAM_INTERVALO = "resumenCalificaciones.intervaloHoras";
+    private static final long INTERVALO_HORAS_DEFECTO = 24;
+
+    private ScheduledExecutorService scheduler;
+
+    @Override
+    public void contextInitialized(ServletContextEvent sce) {
+        long intervaloHoras = leerIntervalo(sce.getServletContext().getInitParameter(PARAM_INTERVALO));
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, "resumen-calificaciones");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+
+        // Primera ejecución con un pequeño retardo para no competir con el arranque
+        scheduler.scheduleWithFixedDelay(this::reconstruir,
+                TimeUnit.MINUTES.toSeconds(1), TimeUnit.HOURS.toSeconds(intervaloHoras), TimeUnit.SECONDS);
+
+        logger.info("Reconstrucción del resumen de calificaciones programada cada {} h", intervaloHoras);
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent sce) {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Recalcula todos los resúmenes; los errores se registran sin detener la tarea
+     */
+    private void reconstruir() {
+        long inicio = System.currentTimeMillis();
+        try {
+            int productos = new ResumenCalificacionDAO().reconstruirTodos();
+            logger.info("Resumen de calificaciones reconstruido: {} productos en {} ms",
+                    productos, System.currentTimeMillis() - inicio);
+        } catch (SQLException e) {
+            logger.error("Error al reconstruir el resumen de calificaciones: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Interpreta el intervalo configurado en horas, usando el valor por defecto si no es válido
+     */
+    private long leerIntervalo(String valor) {
+        if (valor == null || valor.isBlank()) {
+            return INTERVALO_HORAS_DEFECTO;
+        }
+        try {
+            long horas = Long.parseLong(valor.trim());
+            return horas > 0 ? horas : INTERVALO_HORAS_DEFECTO;
+        } catch (NumberFormatException e) {
+            logger.warn("Intervalo de reconstrucción inválido '{}', se usan {} h", valor, INTERVALO_HORAS_DEFECTO);
+            return INTERVALO_HORAS_DEFECTO;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.techzone.ecommerce.techzone.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Unidad de trabajo sobre una única conexión del pool
+ * Todas las operaciones de DAO que reciben {@link #getConnection()} participan
+ * en la misma transacción y se confirman con un solo commit.
+ *
+ * Uso:
+ * <pre>
+ * try (TransactionContext tx = TransactionContext.iniciar()) {
+ *     pedidoDAO.crear(tx.getConnection(), pedido);
+ *     carritoDAO.vaciarCarrito(tx.getConnection(), idUsuario);
+ *     tx.commit();
+ * } // si no se llamó a commit(), se hace rollback al cerrar
+ * </pre>
+ *
+ * @author TechZone Team
+ */
+public class TransactionContext implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionContext.class);
+
+    private final Connection connection;
+    private boolean confirmada = false;
+
+    private TransactionContext(Connection connection) {
+        this.connection = connection;
+    }
+
+    /**
+     * Inicia una transacción con una conexión prestada del pool
+     *
+     * @return Contexto de transacción abierto
+     * @throws SQLException Si no se puede obtener la conexión
+     */
+    public static TransactionContext iniciar() throws SQLException {
+        Connection conn = DatabaseConnection.getInstance().getConnection();
+        try {
+            conn.setAutoCommit(false);
+        } catch (SQLException e) {
+            conn.close();
+            throw e;
+        }
+        return new TransactionContext(conn);
+    }
+
+    /**
+     * Conexión de la transacción; no debe cerrarse desde los DAOs
+     */
+    public Connection getConnection() {
+        return connection;
+    }
+
+    /**
+     * Confirma la transacción
+     */
+    public void commit() throws SQLException {
+        connection.commit();
+        confirmada = true;
+    }
+
+    /**
+     * Revierte la transacción
+     */
+    public void rollback() throws SQLException {
+        connection.rollback();
+    }
+
+    /**
+     * Revierte si no se confirmó y devuelve la conexión al pool
+     */
+    @Override
+    public void close() throws SQLException {
+        try {
+            if (!confirmada) {
+                try {
+                    connection.rollback();
+                } catch (SQLException e) {
+                    logger.error("Error al revertir la transacción: {}", e.getMessage(), e);
+                }
+            }
+            connection.setAutoCommit(true);
+        } finally {
+            connection.close();
+        }
+    }
+}
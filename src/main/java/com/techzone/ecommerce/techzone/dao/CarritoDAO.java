@@ -20,6 +20,11 @@ public class CarritoDAO {
         this.dbConnection = DatabaseConnection.getInstance();
     }
 
+    // Constructor para inyección de dependencias (testing, benchmarks sin BD)
+    public CarritoDAO(DatabaseConnection dbConnection) {
+        this.dbConnection = dbConnection;
+    }
+
     // ==================== CREATE ====================
 
     /**
@@ -239,10 +244,18 @@ public class CarritoDAO {
      * Vacía todo el carrito de un usuario
      */
     public boolean vaciarCarrito(int idUsuario) throws SQLException {
+        try (Connection conn = dbConnection.getConnection()) {
+            return vaciarCarrito(conn, idUsuario);
+        }
+    }
+
+    /**
+     * Vacía el carrito de un usuario usando una conexión existente
+     */
+    public boolean vaciarCarrito(Connection conn, int idUsuario) throws SQLException {
         String sql = "DELETE FROM carrito WHERE id_usuario = ?";
 
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setInt(1, idUsuario);
             return pstmt.executeUpdate() > 0;
@@ -0,0 +1,124 @@
+package com.techzone.ecommerce.techzone.dao;
+
+import com.techzone.ecommerce.techzone.config.DatabaseConnection;
+import com.techzone.ecommerce.techzone.model.EstadisticasDashboard;
+
+import java.math.BigDecimal;
+import java.sql.*;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * DAO de solo lectura con las consultas de agregación del panel de administración
+ * Cada bloque del dashboard (productos, pedidos, usuarios) se resuelve con una sola consulta
+ * @author TechZone Team
+ */
+public class DashboardDAO {
+
+    private final DatabaseConnection dbConnection;
+
+    public DashboardDAO() {
+        this.dbConnection = DatabaseConnection.getInstance();
+    }
+
+    // ==================== AGREGADOS ====================
+
+    /**
+     * Calcula todos los contadores del dashboard con tres consultas sobre una misma conexión
+     *
+     * @param stockMinimo Umbral para considerar un producto con stock bajo
+     */
+    public EstadisticasDashboard obtenerEstadisticas(int stockMinimo) throws SQLException {
+        EstadisticasDashboard stats = new EstadisticasDashboard();
+
+        try (Connection conn = dbConnection.getConnection()) {
+            cargarProductos(conn, stats, stockMinimo);
+            cargarPedidos(conn, stats);
+            cargarUsuarios(conn, stats);
+        }
+
+        return stats;
+    }
+
+    /**
+     * Total, activos, sin stock y bajo stock en un único recorrido de productos
+     */
+    private void cargarProductos(Connection conn, EstadisticasDashboard stats, int stockMinimo)
+            throws SQLException {
+        String sql = "SELECT COUNT(*) AS total, " +
+                "COALESCE(SUM(estado = 'DISPONIBLE'), 0) AS activos, " +
+                "COALESCE(SUM(stock = 0), 0) AS sin_stock, " +
+                "COALESCE(SUM(stock <= ? AND estado = 'DISPONIBLE'), 0) AS bajo_stock " +
+                "FROM productos";
+
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, stockMinimo);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    stats.setTotalProductos(rs.getInt("total"));
+                    stats.setProductosActivos(rs.getInt("activos"));
+                    stats.setProductosSinStock(rs.getInt("sin_stock"));
+                    stats.setProductosBajoStock(rs.getInt("bajo_stock"));
+                }
+            }
+        }
+    }
+
+    /**
+     * Conteo por estado, pedidos de hoy y ventas con una consulta agrupada
+     */
+    private void cargarPedidos(Connection conn, EstadisticasDashboard stats) throws SQLException {
+        String sql = "SELECT estado, COUNT(*) AS cantidad, " +
+                "COALESCE(SUM(fecha_pedido >= CURDATE()), 0) AS hoy, " +
+                "COALESCE(SUM(total), 0) AS importe " +
+                "FROM pedidos GROUP BY estado";
+
+        Map<String, Integer> porEstado = new LinkedHashMap<>();
+        int total = 0;
+        int hoy = 0;
+        BigDecimal ventas = BigDecimal.ZERO;
+
+        try (PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+
+            while (rs.next()) {
+                String estado = rs.getString("estado");
+                int cantidad = rs.getInt("cantidad");
+
+                porEstado.put(estado, cantidad);
+                total += cantidad;
+                hoy += rs.getInt("hoy");
+
+                if (!"CANCELADO".equals(estado)) {
+                    ventas = ventas.add(rs.getBigDecimal("importe"));
+                }
+            }
+        }
+
+        stats.setPedidosPorEstado(porEstado);
+        stats.setTotalPedidos(total);
+        stats.setPedidosHoy(hoy);
+        stats.setVentasTotales(ventas);
+    }
+
+    /**
+     * Total de usuarios y altas de hoy y del mes en curso
+     */
+    private void cargarUsuarios(Connection conn, EstadisticasDashboard stats) throws SQLException {
+        String sql = "SELECT COUNT(*) AS total, " +
+                "COALESCE(SUM(fecha_registro >= CURDATE()), 0) AS hoy, " +
+                "COALESCE(SUM(fecha_registro >= DATE_FORMAT(CURDATE(), '%Y-%m-01')), 0) AS mes " +
+                "FROM usuarios";
+
+        try (PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+
+            if (rs.next()) {
+                stats.setTotalUsuarios(rs.getInt("total"));
+                stats.setUsuariosNuevosHoy(rs.getInt("hoy"));
+                stats.setUsuariosNuevosMes(rs.getInt("mes"));
+            }
+        }
+    }
+}
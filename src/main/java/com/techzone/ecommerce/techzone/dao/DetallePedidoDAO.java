@@ -2,10 +2,15 @@ package com.techzone.ecommerce.techzone.dao;
 
 import com.techzone.ecommerce.techzone.config.DatabaseConnection;
 import com.techzone.ecommerce.techzone.model.DetallePedido;
+import com.techzone.ecommerce.techzone.model.Producto;
 
+import java.math.BigDecimal;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -60,28 +65,13 @@ public class DetallePedidoDAO {
      * Crea múltiples detalles de pedido en una transacción
      */
     public boolean crearMultiples(List<DetallePedido> detalles) throws SQLException {
-        String sql = "INSERT INTO detalle_pedido (id_pedido, id_producto, cantidad, " +
-                "precio_unitario, subtotal) VALUES (?, ?, ?, ?, ?)";
-
         Connection conn = null;
-        PreparedStatement pstmt = null;
 
         try {
             conn = dbConnection.getConnection();
             conn.setAutoCommit(false); // Iniciar transacción
 
-            pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
-
-            for (DetallePedido detalle : detalles) {
-                pstmt.setInt(1, detalle.getIdPedido());
-                pstmt.setInt(2, detalle.getIdProducto());
-                pstmt.setInt(3, detalle.getCantidad());
-                pstmt.setBigDecimal(4, detalle.getPrecioUnitario());
-                pstmt.setBigDecimal(5, detalle.getSubtotal());
-                pstmt.addBatch();
-            }
-
-            pstmt.executeBatch();
+            crearMultiples(conn, detalles);
             conn.commit(); // Confirmar transacción
 
             return true;
@@ -94,10 +84,31 @@ public class DetallePedidoDAO {
         } finally {
             if (conn != null) {
                 conn.setAutoCommit(true);
+                conn.close();
             }
-            if (pstmt != null) {
-                pstmt.close();
+        }
+    }
+
+    /**
+     * Inserta múltiples detalles en lote usando una conexión existente
+     * No confirma ni revierte: la transacción pertenece al llamador
+     */
+    public boolean crearMultiples(Connection conn, List<DetallePedido> detalles) throws SQLException {
+        String sql = "INSERT INTO detalle_pedido (id_pedido, id_producto, cantidad, " +
+                "precio_unitario, subtotal) VALUES (?, ?, ?, ?, ?)";
+
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (DetallePedido detalle : detalles) {
+                pstmt.setInt(1, detalle.getIdPedido());
+                pstmt.setInt(2, detalle.getIdProducto());
+                pstmt.setInt(3, detalle.getCantidad());
+                pstmt.setBigDecimal(4, detalle.getPrecioUnitario());
+                pstmt.setBigDecimal(5, detalle.getSubtotal());
+                pstmt.addBatch();
             }
+
+            pstmt.executeBatch();
+            return true;
         }
     }
 
@@ -147,13 +158,19 @@ public class DetallePedidoDAO {
     }
 
     /**
-     * Obtiene detalles con información del producto (JOIN)
+     * Obtiene detalles con el producto y su imagen principal en una sola consulta
+     * LEFT JOIN: las líneas de productos eliminados se conservan con producto null
+     * La imagen principal es la marcada como tal o, si no hay, la de menor orden
      */
     public List<DetallePedido> obtenerConProductoPorPedido(int idPedido) throws SQLException {
-        String sql = "SELECT dp.*, p.nombre, p.marca, p.modelo " +
+        String sql = "SELECT dp.*, p.id_producto AS p_id, p.id_categoria, p.nombre, p.marca, p.modelo, " +
+                "p.sku, p.precio, p.descuento, p.estado, " +
+                "(SELECT i.url_imagen FROM imagenes_producto i WHERE i.id_producto = dp.id_producto " +
+                "ORDER BY i.es_principal DESC, i.orden ASC LIMIT 1) AS imagen_principal " +
                 "FROM detalle_pedido dp " +
-                "INNER JOIN productos p ON dp.id_producto = p.id_producto " +
-                "WHERE dp.id_pedido = ?";
+                "LEFT JOIN productos p ON dp.id_producto = p.id_producto " +
+                "WHERE dp.id_pedido = ? " +
+                "ORDER BY dp.id_detalle";
         List<DetallePedido> detalles = new ArrayList<>();
 
         try (Connection conn = dbConnection.getConnection();
@@ -163,7 +180,11 @@ public class DetallePedidoDAO {
 
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
-                    detalles.add(mapearDetalle(rs));
+                    DetallePedido detalle = mapearDetalle(rs);
+                    if (rs.getObject("p_id") != null) {
+                        detalle.setProducto(mapearProductoResumen(rs));
+                    }
+                    detalles.add(detalle);
                 }
             }
         }
@@ -193,6 +214,86 @@ public class DetallePedidoDAO {
         return detalles;
     }
 
+    /**
+     * Cuenta cuántas veces se han comprado juntos cada par de productos (pedidos no cancelados)
+     * y conserva, por producto, solo los {@code maximoPorProducto} más frecuentes
+     * Las filas se leen en streaming y se descartan al pasar el límite, así la memoria depende
+     * del número de productos y no del de pares (conexión del llamador)
+     *
+     * @param maximoPorProducto Relacionados que se conservan por producto
+     * @return Mapa producto → pares aplanados {relacionado, veces, relacionado, veces, ...}
+     *         ordenados de más a menos veces (empates por ID de relacionado)
+     */
+    public Map<Integer, int[]> obtenerComprasConjuntas(Connection conn, int maximoPorProducto)
+            throws SQLException {
+        String sql = "SELECT a.id_producto AS producto, b.id_producto AS relacionado, " +
+                "COUNT(DISTINCT a.id_pedido) AS veces " +
+                "FROM detalle_pedido a " +
+                "INNER JOIN detalle_pedido b ON b.id_pedido = a.id_pedido AND b.id_producto <> a.id_producto " +
+                "INNER JOIN pedidos p ON p.id_pedido = a.id_pedido " +
+                "WHERE p.estado <> 'CANCELADO' " +
+                "GROUP BY a.id_producto, b.id_producto " +
+                "ORDER BY producto, veces DESC, relacionado";
+        Map<Integer, int[]> pares = new HashMap<>();
+
+        try (PreparedStatement pstmt = conn.prepareStatement(sql,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            // Modo streaming de Connector/J: el resultado completo no se carga en memoria
+            pstmt.setFetchSize(Integer.MIN_VALUE);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                int actual = 0;
+                int[] buffer = new int[maximoPorProducto * 2];
+                int usados = 0;
+
+                while (rs.next()) {
+                    int producto = rs.getInt("producto");
+                    if (producto != actual) {
+                        if (usados > 0) {
+                            pares.put(actual, Arrays.copyOf(buffer, usados));
+                        }
+                        actual = producto;
+                        usados = 0;
+                    }
+                    if (usados < buffer.length) {
+                        buffer[usados++] = rs.getInt("relacionado");
+                        buffer[usados++] = rs.getInt("veces");
+                    }
+                }
+                if (usados > 0) {
+                    pares.put(actual, Arrays.copyOf(buffer, usados));
+                }
+            }
+        }
+
+        return pares;
+    }
+
+    /**
+     * Obtiene las unidades vendidas de cada producto en pedidos no cancelados
+     * Los productos sin ventas no aparecen en el mapa
+     */
+    public Map<Integer, Integer> obtenerUnidadesVendidas() throws SQLException {
+        String sql = "SELECT d.id_producto, SUM(d.cantidad) AS unidades " +
+                "FROM detalle_pedido d " +
+                "INNER JOIN pedidos p ON p.id_pedido = d.id_pedido " +
+                "WHERE p.estado <> 'CANCELADO' " +
+                "GROUP BY d.id_producto";
+        Map<Integer, Integer> unidades = new HashMap<>();
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+
+            while (rs.next()) {
+                unidades.put(rs.getInt("id_producto"), rs.getInt("unidades"));
+            }
+        }
+
+        return unidades;
+    }
+
     // ==================== UPDATE ====================
 
     /**
@@ -325,4 +426,29 @@ public class DetallePedidoDAO {
 
         return detalle;
     }
+
+    /**
+     * Producto resumido para mostrar una línea de pedido (nombre, marca, precio e imagen)
+     */
+    private Producto mapearProductoResumen(ResultSet rs) throws SQLException {
+        Producto producto = new Producto();
+        producto.setIdProducto(rs.getInt("p_id"));
+        producto.setIdCategoria(rs.getInt("id_categoria"));
+        producto.setNombre(rs.getString("nombre"));
+        producto.setMarca(rs.getString("marca"));
+        producto.setModelo(rs.getString("modelo"));
+        producto.setSku(rs.getString("sku"));
+        producto.setPrecio(rs.getBigDecimal("precio"));
+
+        BigDecimal descuento = rs.getBigDecimal("descuento");
+        producto.setDescuento(descuento != null ? descuento : BigDecimal.ZERO);
+
+        String estado = rs.getString("estado");
+        if (estado != null) {
+            producto.setEstado(Producto.EstadoProducto.valueOf(estado.toUpperCase()));
+        }
+
+        producto.setImagenPrincipal(rs.getString("imagen_principal"));
+        return producto;
+    }
 }
\ No newline at end of file
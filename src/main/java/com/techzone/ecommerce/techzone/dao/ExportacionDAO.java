@@ -0,0 +1,175 @@
+package com.techzone.ecommerce.techzone.dao;
+
+import com.techzone.ecommerce.techzone.config.DatabaseConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DAO de exportaciones masivas (pedidos, líneas de pedido y catálogo)
+ * Las consultas se leen en modo streaming de MySQL (ResultSet forward-only con
+ * fetchSize = Integer.MIN_VALUE): el driver entrega las filas de una en una y cada fila se
+ * pasa al receptor sin acumularse, así la memoria no depende del número de filas.
+ * La conexión del pool queda ocupada mientras dura el recorrido, es decir, toda la descarga
+ *
+ * @author TechZone Team
+ */
+public class ExportacionDAO {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportacionDAO.class);
+
+    private final DatabaseConnection dbConnection;
+
+    public ExportacionDAO() {
+        this.dbConnection = DatabaseConnection.getInstance();
+    }
+
+    // ==================== EXPORTACIONES ====================
+
+    /**
+     * Exporta las cabeceras de pedido en el rango de fechas (ambos extremos opcionales e inclusivos)
+     *
+     * @return Número de filas exportadas
+     */
+    public long exportarPedidos(LocalDate desde, LocalDate hasta, ReceptorFilas receptor)
+            throws SQLException, IOException {
+        List<Object> parametros = new ArrayList<>();
+        String sql = "SELECT p.id_pedido, p.fecha_pedido, p.id_usuario, p.estado, p.total, " +
+                "p.cantidad_items, p.cantidad_total, p.metodo_pago, p.direccion_envio " +
+                "FROM pedidos p" +
+                construirRangoFechas(desde, hasta, parametros) +
+                " ORDER BY p.fecha_pedido, p.id_pedido";
+
+        return recorrer(sql, parametros, receptor);
+    }
+
+    /**
+     * Exporta las líneas de los pedidos en el rango de fechas junto a los datos de su cabecera
+     *
+     * @return Número de filas exportadas
+     */
+    public long exportarLineasPedido(LocalDate desde, LocalDate hasta, ReceptorFilas receptor)
+            throws SQLException, IOException {
+        List<Object> parametros = new ArrayList<>();
+        String sql = "SELECT dp.id_detalle, dp.id_pedido, p.fecha_pedido, p.id_usuario, p.estado, " +
+                "dp.id_producto, dp.cantidad, dp.precio_unitario, dp.subtotal " +
+                "FROM pedidos p " +
+                "INNER JOIN detalle_pedido dp ON dp.id_pedido = p.id_pedido" +
+                construirRangoFechas(desde, hasta, parametros) +
+                " ORDER BY p.fecha_pedido, p.id_pedido, dp.id_detalle";
+
+        return recorrer(sql, parametros, receptor);
+    }
+
+    /**
+     * Exporta el catálogo completo de productos
+     *
+     * @return Número de filas exportadas
+     */
+    public long exportarProductos(ReceptorFilas receptor) throws SQLException, IOException {
+        String sql = "SELECT id_producto, id_categoria, nombre, marca, modelo, precio, descuento, " +
+                "ROUND(precio - precio * descuento / 100, 2) AS precio_final, stock, estado, " +
+                "fecha_registro " +
+                "FROM productos ORDER BY id_producto";
+
+        return recorrer(sql, new ArrayList<>(), receptor);
+    }
+
+    // ==================== MÉTODOS PRIVADOS ====================
+
+    /**
+     * Ejecuta la consulta en modo streaming y entrega cada fila al receptor
+     * El array de valores se reutiliza entre filas: el receptor debe consumirlo en el momento
+     */
+    private long recorrer(String sql, List<Object> parametros, ReceptorFilas receptor)
+            throws SQLException, IOException {
+        long filas = 0;
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql,
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            // Modo streaming de Connector/J: sin él el driver carga todo el resultado en memoria
+            pstmt.setFetchSize(Integer.MIN_VALUE);
+
+            for (int i = 0; i < parametros.size(); i++) {
+                pstmt.setObject(i + 1, parametros.get(i));
+            }
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                ResultSetMetaData meta = rs.getMetaData();
+                int columnas = meta.getColumnCount();
+
+                String[] nombres = new String[columnas];
+                for (int i = 0; i < columnas; i++) {
+                    nombres[i] = meta.getColumnLabel(i + 1);
+                }
+                receptor.iniciar(nombres);
+
+                Object[] valores = new Object[columnas];
+                while (rs.next()) {
+                    for (int i = 0; i < columnas; i++) {
+                        Object valor = rs.getObject(i + 1);
+                        valores[i] = valor instanceof Timestamp
+                                ? ((Timestamp) valor).toLocalDateTime()
+                                : valor;
+                    }
+                    receptor.fila(valores);
+                    filas++;
+                }
+
+                receptor.finalizar();
+            }
+        }
+
+        logger.debug("Exportadas {} filas", filas);
+        return filas;
+    }
+
+    /**
+     * Condición sobre p.fecha_pedido como rango semiabierto (usa el índice por fecha)
+     */
+    private String construirRangoFechas(LocalDate desde, LocalDate hasta, List<Object> parametros) {
+        List<String> condiciones = new ArrayList<>();
+
+        if (desde != null) {
+            condiciones.add("p.fecha_pedido >= ?");
+            parametros.add(Timestamp.valueOf(desde.atStartOfDay()));
+        }
+
+        if (hasta != null) {
+            condiciones.add("p.fecha_pedido < ?");
+            parametros.add(Timestamp.valueOf(hasta.plusDays(1).atStartOfDay()));
+        }
+
+        return condiciones.isEmpty() ? "" : " WHERE " + String.join(" AND ", condiciones);
+    }
+
+    // ==================== CLASES INTERNAS ====================
+
+    /**
+     * Destino de las filas exportadas (CSV, JSON...)
+     */
+    public interface ReceptorFilas {
+
+        /**
+         * Recibe los nombres de las columnas antes de la primera fila
+         */
+        void iniciar(String[] columnas) throws IOException;
+
+        /**
+         * Recibe los valores de una fila (array reutilizado entre llamadas)
+         */
+        void fila(Object[] valores) throws IOException;
+
+        /**
+         * Se invoca tras la última fila
+         */
+        void finalizar() throws IOException;
+    }
+}
@@ -5,7 +5,10 @@ import com.techzone.ecommerce.techzone.model.Imagen;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -22,6 +25,11 @@ public class ImagenDAO {
         this.dbConnection = DatabaseConnection.getInstance();
     }
 
+    // Constructor para inyección de dependencias (testing, benchmarks sin BD)
+    public ImagenDAO(DatabaseConnection dbConnection) {
+        this.dbConnection = dbConnection;
+    }
+
     // ==================== CREATE ====================
 
     public int crear(Imagen imagen) throws SQLException {
@@ -55,6 +63,32 @@ public class ImagenDAO {
         }
     }
 
+    /**
+     * Inserta varias imágenes en un lote (conexión y transacción del llamador)
+     * Con rewriteBatchedStatements el driver lo envía como un INSERT multi-fila
+     */
+    public void crearEnLote(Connection conn, List<Imagen> imagenes) throws SQLException {
+        if (imagenes == null || imagenes.isEmpty()) {
+            return;
+        }
+
+        String sql = "INSERT INTO imagenes_producto (id_producto, url_imagen, es_principal, orden, fecha_subida) " +
+                "VALUES (?, ?, ?, ?, ?)";
+
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (Imagen imagen : imagenes) {
+                pstmt.setInt(1, imagen.getIdProducto());
+                pstmt.setString(2, imagen.getUrlImagen());
+                pstmt.setBoolean(3, imagen.getEsPrincipal());
+                pstmt.setInt(4, imagen.getOrden());
+                pstmt.setTimestamp(5, Timestamp.valueOf(imagen.getFechaSubida()));
+                pstmt.addBatch();
+            }
+
+            pstmt.executeBatch();
+        }
+    }
+
     // ==================== READ ====================
 
     public Optional<Imagen> buscarPorId(int id) throws SQLException {
@@ -133,6 +167,50 @@ public class ImagenDAO {
         return imagenes;
     }
 
+    /**
+     * Obtiene la imagen principal de cada producto (o la primera por orden si ninguna está marcada)
+     * Con una sola consulta para todo el catálogo
+     */
+    public Map<Integer, Imagen> obtenerPrincipales() throws SQLException {
+        String sql = "SELECT * FROM imagenes_producto ORDER BY id_producto, es_principal DESC, orden ASC";
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+
+            return primeraPorProducto(rs);
+        }
+    }
+
+    /**
+     * Obtiene la imagen principal de cada uno de los productos indicados, con una sola consulta
+     */
+    public Map<Integer, Imagen> obtenerPrincipalesPorProductos(Collection<Integer> idsProductos)
+            throws SQLException {
+        if (idsProductos == null || idsProductos.isEmpty()) {
+            return new HashMap<>();
+        }
+
+        String placeholders = String.join(",",
+                idsProductos.stream().map(id -> "?").toArray(String[]::new));
+
+        String sql = "SELECT * FROM imagenes_producto WHERE id_producto IN (" + placeholders + ") " +
+                "ORDER BY id_producto, es_principal DESC, orden ASC";
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            int indice = 1;
+            for (Integer id : idsProductos) {
+                pstmt.setInt(indice++, id);
+            }
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return primeraPorProducto(rs);
+            }
+        }
+    }
+
     /**
      * Obtiene la imagen principal de un producto
      */
@@ -253,6 +331,20 @@ public class ImagenDAO {
         }
     }
 
+    /**
+     * Toma la primera fila de cada producto de un resultado ordenado por id_producto
+     */
+    private Map<Integer, Imagen> primeraPorProducto(ResultSet rs) throws SQLException {
+        Map<Integer, Imagen> principales = new HashMap<>();
+        while (rs.next()) {
+            int idProducto = rs.getInt("id_producto");
+            if (!principales.containsKey(idProducto)) {
+                principales.put(idProducto, mapearImagen(rs));
+            }
+        }
+        return principales;
+    }
+
     /**
      * Elimina todas las imágenes de un producto
      */
@@ -267,6 +359,27 @@ public class ImagenDAO {
         }
     }
 
+    /**
+     * Elimina las imágenes de varios productos con una sola sentencia (conexión del llamador)
+     */
+    public int eliminarPorProductos(Connection conn, Collection<Integer> idsProductos) throws SQLException {
+        if (idsProductos == null || idsProductos.isEmpty()) {
+            return 0;
+        }
+
+        String placeholders = String.join(",",
+                idsProductos.stream().map(id -> "?").toArray(String[]::new));
+        String sql = "DELETE FROM imagenes_producto WHERE id_producto IN (" + placeholders + ")";
+
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            int indice = 1;
+            for (Integer id : idsProductos) {
+                pstmt.setInt(indice++, id);
+            }
+            return pstmt.executeUpdate();
+        }
+    }
+
     // ==================== UTILIDADES ====================
 
     public int contarPorProducto(int idProducto) throws SQLException {
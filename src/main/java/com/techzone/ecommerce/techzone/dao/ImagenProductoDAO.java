@@ -92,12 +92,13 @@ public class ImagenProductoDAO {
             }
             throw e;
         } finally {
-            if (conn != null) {
-                conn.setAutoCommit(true);
-            }
             if (pstmt != null) {
                 pstmt.close();
             }
+            if (conn != null) {
+                conn.setAutoCommit(true);
+                conn.close();
+            }
         }
     }
 
@@ -256,15 +257,16 @@ public class ImagenProductoDAO {
             }
             throw e;
         } finally {
-            if (conn != null) {
-                conn.setAutoCommit(true);
-            }
             if (pstmt1 != null) {
                 pstmt1.close();
             }
             if (pstmt2 != null) {
                 pstmt2.close();
             }
+            if (conn != null) {
+                conn.setAutoCommit(true);
+                conn.close();
+            }
         }
     }
 
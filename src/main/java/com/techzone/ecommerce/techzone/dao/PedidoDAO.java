@@ -2,10 +2,17 @@ package com.techzone.ecommerce.techzone.dao;
 
 import com.techzone.ecommerce.techzone.config.DatabaseConnection;
 import com.techzone.ecommerce.techzone.model.Pedido;
+import com.techzone.ecommerce.techzone.model.Usuario;
+import com.techzone.ecommerce.techzone.service.PedidoService.FiltroPedidos;
+import com.techzone.ecommerce.techzone.service.PedidoService.OrdenPedido;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -26,11 +33,20 @@ public class PedidoDAO {
      * Crea un nuevo pedido
      */
     public int crear(Pedido pedido) throws SQLException {
+        try (Connection conn = dbConnection.getConnection()) {
+            return crear(conn, pedido);
+        }
+    }
+
+    /**
+     * Crea un nuevo pedido usando una conexión existente (transacción del llamador)
+     */
+    public int crear(Connection conn, Pedido pedido) throws SQLException {
         String sql = "INSERT INTO pedidos (id_usuario, fecha_pedido, estado, total, " +
-                "direccion_envio, metodo_pago, notas) VALUES (?, ?, ?, ?, ?, ?, ?)";
+                "direccion_envio, metodo_pago, notas, cantidad_items, cantidad_total) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
 
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
 
             pstmt.setInt(1, pedido.getIdUsuario());
             pstmt.setTimestamp(2, Timestamp.valueOf(pedido.getFechaPedido()));
@@ -39,6 +55,8 @@ public class PedidoDAO {
             pstmt.setString(5, pedido.getDireccionEnvio());
             pstmt.setString(6, pedido.getMetodoPago());
             pstmt.setString(7, pedido.getNotas());
+            pstmt.setInt(8, pedido.getCantidadItems());
+            pstmt.setInt(9, pedido.getCantidadTotal());
 
             int affectedRows = pstmt.executeUpdate();
 
@@ -82,16 +100,36 @@ public class PedidoDAO {
     }
 
     /**
-     * Obtiene todos los pedidos de un usuario
+     * Obtiene una página del historial de un usuario por keyset sobre (fecha_pedido, id_pedido)
+     * Devuelve los pedidos estrictamente anteriores al cursor, del más reciente al más antiguo,
+     * recorriendo el índice idx_usuario_fecha sin OFFSET
+     *
+     * @param idUsuario ID del usuario
+     * @param fechaCursor Fecha del último pedido de la página anterior (null para la primera)
+     * @param idCursor ID del último pedido de la página anterior
+     * @param limite Número máximo de pedidos a devolver
      */
-    public List<Pedido> obtenerPorUsuario(int idUsuario) throws SQLException {
-        String sql = "SELECT * FROM pedidos WHERE id_usuario = ? ORDER BY fecha_pedido DESC";
-        List<Pedido> pedidos = new ArrayList<>();
+    public List<Pedido> obtenerPaginaPorUsuario(int idUsuario, Timestamp fechaCursor, int idCursor,
+                                                int limite) throws SQLException {
+        String sql = fechaCursor == null
+                ? "SELECT * FROM pedidos WHERE id_usuario = ? " +
+                  "ORDER BY fecha_pedido DESC, id_pedido DESC LIMIT ?"
+                : "SELECT * FROM pedidos WHERE id_usuario = ? " +
+                  "AND (fecha_pedido < ? OR (fecha_pedido = ? AND id_pedido < ?)) " +
+                  "ORDER BY fecha_pedido DESC, id_pedido DESC LIMIT ?";
+        List<Pedido> pedidos = new ArrayList<>(limite);
 
         try (Connection conn = dbConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
-            pstmt.setInt(1, idUsuario);
+            int i = 1;
+            pstmt.setInt(i++, idUsuario);
+            if (fechaCursor != null) {
+                pstmt.setTimestamp(i++, fechaCursor);
+                pstmt.setTimestamp(i++, fechaCursor);
+                pstmt.setInt(i++, idCursor);
+            }
+            pstmt.setInt(i, limite);
 
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
@@ -122,6 +160,175 @@ public class PedidoDAO {
         return pedidos;
     }
 
+    /**
+     * Obtiene los pedidos más recientes con los datos de su cliente (JOIN)
+     * Usa el índice por fecha_pedido y solo lee las filas solicitadas (LIMIT)
+     */
+    public List<Pedido> obtenerRecientesConUsuario(int limite) throws SQLException {
+        String sql = "SELECT p.*, u.nombre, u.apellido, u.email " +
+                "FROM pedidos p " +
+                "INNER JOIN usuarios u ON p.id_usuario = u.id_usuario " +
+                "ORDER BY p.fecha_pedido DESC, p.id_pedido DESC " +
+                "LIMIT ?";
+        List<Pedido> pedidos = new ArrayList<>();
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, limite);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    Pedido pedido = mapearPedido(rs);
+                    pedido.setUsuario(mapearCliente(rs));
+                    pedidos.add(pedido);
+                }
+            }
+        }
+
+        return pedidos;
+    }
+
+    // ==================== BÚSQUEDA CON FILTROS (ADMINISTRACIÓN) ====================
+
+    /**
+     * Busca una página de pedidos con sus clientes combinando los criterios del filtro
+     * La página se resuelve primero solo con id_pedido sobre los índices (estado, fecha_pedido)
+     * o (fecha_pedido) y después se leen las filas completas y el cliente de esos ids, de modo
+     * que un OFFSET alto no obliga a leer filas completas que se descartan
+     *
+     * @param filtros Criterios de búsqueda, orden y página
+     * @return Pedidos de la página solicitada con el usuario asignado
+     * @throws SQLException Si hay error en la consulta
+     */
+    public List<Pedido> buscarConFiltros(FiltroPedidos filtros) throws SQLException {
+        List<Object> parametros = new ArrayList<>();
+        String sql = "SELECT p.*, u.nombre, u.apellido, u.email, u.telefono " +
+                "FROM (SELECT p.id_pedido FROM pedidos p" +
+                construirWhere(filtros, parametros) +
+                construirOrderBy(filtros.getOrden()) +
+                " LIMIT ? OFFSET ?) pagina " +
+                "INNER JOIN pedidos p ON p.id_pedido = pagina.id_pedido " +
+                "INNER JOIN usuarios u ON u.id_usuario = p.id_usuario" +
+                construirOrderBy(filtros.getOrden());
+
+        int porPagina = Math.max(1, filtros.getPedidosPorPagina());
+        parametros.add(porPagina);
+        parametros.add(SqlUtil.desplazamiento(filtros.getPagina(), porPagina));
+
+        List<Pedido> pedidos = new ArrayList<>(porPagina);
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            SqlUtil.asignarParametros(pstmt, parametros);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    Pedido pedido = mapearPedido(rs);
+                    Usuario cliente = mapearCliente(rs);
+                    cliente.setTelefono(rs.getString("telefono"));
+                    pedido.setUsuario(cliente);
+                    pedidos.add(pedido);
+                }
+            }
+        }
+
+        return pedidos;
+    }
+
+    /**
+     * Cuenta los pedidos que cumplen los criterios del filtro (sin paginación)
+     */
+    public int contarConFiltros(FiltroPedidos filtros) throws SQLException {
+        List<Object> parametros = new ArrayList<>();
+        String sql = "SELECT COUNT(*) FROM pedidos p" + construirWhere(filtros, parametros);
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            SqlUtil.asignarParametros(pstmt, parametros);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt(1);
+                }
+            }
+        }
+
+        return 0;
+    }
+
+    /**
+     * Construye la cláusula WHERE a partir del filtro
+     * Las fechas se comparan como rango sobre fecha_pedido (sin funciones) para usar el índice;
+     * el texto es un número de pedido o un prefijo de email, nombre o apellido del cliente
+     */
+    private String construirWhere(FiltroPedidos filtros, List<Object> parametros) {
+        List<String> condiciones = new ArrayList<>();
+
+        if (filtros.getEstado() != null && !filtros.getEstado().trim().isEmpty()) {
+            condiciones.add("p.estado = ?");
+            parametros.add(filtros.getEstado().trim().toUpperCase());
+        }
+
+        if (filtros.getFechaDesde() != null) {
+            condiciones.add("p.fecha_pedido >= ?");
+            parametros.add(Timestamp.valueOf(filtros.getFechaDesde().atStartOfDay()));
+        }
+
+        if (filtros.getFechaHasta() != null) {
+            condiciones.add("p.fecha_pedido < ?");
+            parametros.add(Timestamp.valueOf(filtros.getFechaHasta().plusDays(1).atStartOfDay()));
+        }
+
+        if (filtros.getMetodoPago() != null && !filtros.getMetodoPago().trim().isEmpty()) {
+            condiciones.add("p.metodo_pago LIKE ?");
+            parametros.add(SqlUtil.escaparLike(filtros.getMetodoPago().trim()) + "%");
+        }
+
+        String texto = filtros.getTexto() == null ? "" : filtros.getTexto().trim();
+        if (texto.startsWith("#")) {
+            texto = texto.substring(1).trim();
+        }
+        if (!texto.isEmpty()) {
+            if (texto.chars().allMatch(Character::isDigit) && texto.length() <= 9) {
+                condiciones.add("p.id_pedido = ?");
+                parametros.add(Integer.parseInt(texto));
+            } else {
+                String prefijo = SqlUtil.escaparLike(texto) + "%";
+                condiciones.add("p.id_usuario IN (SELECT id_usuario FROM usuarios " +
+                        "WHERE email LIKE ? OR nombre LIKE ? OR apellido LIKE ?)");
+                parametros.add(prefijo);
+                parametros.add(prefijo);
+                parametros.add(prefijo);
+            }
+        }
+
+        return condiciones.isEmpty() ? "" : " WHERE " + String.join(" AND ", condiciones);
+    }
+
+    /**
+     * Construye la cláusula ORDER BY con id_pedido como desempate (paginación estable)
+     */
+    private String construirOrderBy(OrdenPedido orden) {
+        if (orden == null) {
+            return " ORDER BY p.fecha_pedido DESC, p.id_pedido DESC";
+        }
+
+        switch (orden) {
+            case FECHA_ASC:
+                return " ORDER BY p.fecha_pedido ASC, p.id_pedido ASC";
+            case TOTAL_DESC:
+                return " ORDER BY p.total DESC, p.id_pedido DESC";
+            case TOTAL_ASC:
+                return " ORDER BY p.total ASC, p.id_pedido ASC";
+            case FECHA_DESC:
+            default:
+                return " ORDER BY p.fecha_pedido DESC, p.id_pedido DESC";
+        }
+    }
+
     /**
      * Obtiene pedidos por estado
      */
@@ -144,6 +351,38 @@ public class PedidoDAO {
         return pedidos;
     }
 
+    /**
+     * Obtiene el estado actual de los pedidos indicados (conexión del llamador)
+     * Dentro de una transacción refleja la misma instantánea que el resto de lecturas
+     *
+     * @return Mapa id_pedido → estado (los pedidos que no existen no aparecen)
+     */
+    public Map<Integer, String> obtenerEstados(Connection conn, Collection<Integer> idsPedido)
+            throws SQLException {
+        Map<Integer, String> estados = new HashMap<>();
+        if (idsPedido == null || idsPedido.isEmpty()) {
+            return estados;
+        }
+
+        String marcadores = String.join(",", Collections.nCopies(idsPedido.size(), "?"));
+        String sql = "SELECT id_pedido, estado FROM pedidos WHERE id_pedido IN (" + marcadores + ")";
+
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            int i = 1;
+            for (Integer id : idsPedido) {
+                pstmt.setInt(i++, id);
+            }
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    estados.put(rs.getInt("id_pedido"), rs.getString("estado"));
+                }
+            }
+        }
+
+        return estados;
+    }
+
     // ==================== UPDATE ====================
 
     /**
@@ -173,10 +412,18 @@ public class PedidoDAO {
      * Actualiza el estado de un pedido
      */
     public boolean actualizarEstado(int idPedido, String nuevoEstado) throws SQLException {
+        try (Connection conn = dbConnection.getConnection()) {
+            return actualizarEstado(conn, idPedido, nuevoEstado);
+        }
+    }
+
+    /**
+     * Actualiza el estado de un pedido usando una conexión existente
+     */
+    public boolean actualizarEstado(Connection conn, int idPedido, String nuevoEstado) throws SQLException {
         String sql = "UPDATE pedidos SET estado = ? WHERE id_pedido = ?";
 
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setString(1, nuevoEstado);
             pstmt.setInt(2, idPedido);
@@ -185,6 +432,22 @@ public class PedidoDAO {
         }
     }
 
+    /**
+     * Marca el pedido como CANCELADO solo si aún se puede cancelar (condición atómica en la BD)
+     * Dos cancelaciones simultáneas no pueden pasar ambas: la segunda no actualiza ninguna fila
+     *
+     * @return true si este llamador canceló el pedido
+     */
+    public boolean marcarCancelado(Connection conn, int idPedido) throws SQLException {
+        String sql = "UPDATE pedidos SET estado = 'CANCELADO' " +
+                "WHERE id_pedido = ? AND estado NOT IN ('CANCELADO', 'ENTREGADO')";
+
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, idPedido);
+            return pstmt.executeUpdate() == 1;
+        }
+    }
+
     // ==================== DELETE ====================
 
     /**
@@ -224,6 +487,30 @@ public class PedidoDAO {
         return 0;
     }
 
+    /**
+     * Verifica si un usuario tiene algún pedido en el estado indicado que incluya el producto
+     * Se resuelve con EXISTS sobre los índices (id_usuario, estado) y (id_pedido, id_producto)
+     */
+    public boolean existeCompraDeProducto(int idUsuario, int idProducto, String estado)
+            throws SQLException {
+        String sql = "SELECT EXISTS (" +
+                "SELECT 1 FROM pedidos p " +
+                "INNER JOIN detalle_pedido d ON d.id_pedido = p.id_pedido " +
+                "WHERE p.id_usuario = ? AND p.estado = ? AND d.id_producto = ?)";
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, idUsuario);
+            pstmt.setString(2, estado);
+            pstmt.setInt(3, idProducto);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
     /**
      * Cuenta pedidos por estado
      */
@@ -266,7 +553,21 @@ public class PedidoDAO {
         pedido.setDireccionEnvio(rs.getString("direccion_envio"));
         pedido.setMetodoPago(rs.getString("metodo_pago"));
         pedido.setNotas(rs.getString("notas"));
+        pedido.setCantidadItems(rs.getInt("cantidad_items"));
+        pedido.setCantidadTotal(rs.getInt("cantidad_total"));
 
         return pedido;
     }
-}
\ No newline at end of file
+
+    /**
+     * Mapea los datos del cliente incluidos por el JOIN con usuarios
+     */
+    private Usuario mapearCliente(ResultSet rs) throws SQLException {
+        Usuario usuario = new Usuario();
+        usuario.setIdUsuario(rs.getInt("id_usuario"));
+        usuario.setNombre(rs.getString("nombre"));
+        usuario.setApellido(rs.getString("apellido"));
+        usuario.setEmail(rs.getString("email"));
+        return usuario;
+    }
+}
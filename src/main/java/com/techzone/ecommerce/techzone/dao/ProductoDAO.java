@@ -2,14 +2,24 @@ package com.techzone.ecommerce.techzone.dao;
 
 import com.techzone.ecommerce.techzone.config.DatabaseConnection;
 import com.techzone.ecommerce.techzone.model.Producto;
+import com.techzone.ecommerce.techzone.service.ProductoService.FiltroProductos;
+import com.techzone.ecommerce.techzone.service.ProductoService.OrdenProducto;
+import com.techzone.ecommerce.techzone.util.TextoUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.math.BigDecimal;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.TreeMap;
 
 /**
  * DAO para la gestión de productos
@@ -28,6 +38,11 @@ public class ProductoDAO {
         logger.debug("ProductoDAO inicializado");
     }
 
+    // Constructor para inyección de dependencias (testing, benchmarks sin BD)
+    public ProductoDAO(DatabaseConnection dbConnection) {
+        this.dbConnection = dbConnection;
+    }
+
     // ==================== CREATE ====================
 
     /**
@@ -38,24 +53,25 @@ public class ProductoDAO {
      * @throws SQLException Si hay error en la operación de base de datos
      */
     public int crear(Producto producto) throws SQLException {
-        String sql = "INSERT INTO productos (id_categoria, nombre, descripcion, precio, stock, marca, " +
+        String sql = "INSERT INTO productos (sku, id_categoria, nombre, descripcion, precio, stock, marca, " +
                 "modelo, especificaciones, estado, fecha_registro, descuento) " +
-                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
 
         try (Connection conn = dbConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
 
-            pstmt.setInt(1, producto.getIdCategoria());
-            pstmt.setString(2, producto.getNombre());
-            pstmt.setString(3, producto.getDescripcion());
-            pstmt.setBigDecimal(4, producto.getPrecio());
-            pstmt.setInt(5, producto.getStock());
-            pstmt.setString(6, producto.getMarca());
-            pstmt.setString(7, producto.getModelo());
-            pstmt.setString(8, producto.getEspecificaciones());
-            pstmt.setString(9, producto.getEstado().name());
-            pstmt.setTimestamp(10, Timestamp.valueOf(producto.getFechaRegistro()));
-            pstmt.setBigDecimal(11, producto.getDescuento());
+            pstmt.setString(1, producto.getSku());
+            pstmt.setInt(2, producto.getIdCategoria());
+            pstmt.setString(3, producto.getNombre());
+            pstmt.setString(4, producto.getDescripcion());
+            pstmt.setBigDecimal(5, producto.getPrecio());
+            pstmt.setInt(6, producto.getStock());
+            pstmt.setString(7, producto.getMarca());
+            pstmt.setString(8, producto.getModelo());
+            pstmt.setString(9, producto.getEspecificaciones());
+            pstmt.setString(10, producto.getEstado().name());
+            pstmt.setTimestamp(11, Timestamp.valueOf(producto.getFechaRegistro()));
+            pstmt.setBigDecimal(12, producto.getDescuento());
 
             int affectedRows = pstmt.executeUpdate();
 
@@ -76,6 +92,97 @@ public class ProductoDAO {
         }
     }
 
+    // ==================== IMPORTACIÓN MASIVA ====================
+
+    /**
+     * Inserta o actualiza productos por SKU en un único lote (conexión del llamador)
+     * Con rewriteBatchedStatements el driver envía el lote como INSERT multi-fila; los productos
+     * existentes conservan su ID y fecha de registro y se actualizan el resto de campos.
+     * Los campos opcionales a null (descripción, marca, modelo, especificaciones, estado y
+     * descuento) no sobrescriben el valor actual; el llamador completa los de las altas
+     *
+     * @param conn Conexión con la transacción del lote
+     * @param productos Productos a guardar indexados por SKU
+     * @throws SQLException Si falla alguna fila (el llamador revierte el lote)
+     */
+    public void guardarPorSku(Connection conn, Map<String, Producto> productos) throws SQLException {
+        if (productos == null || productos.isEmpty()) {
+            return;
+        }
+
+        String sql = "INSERT INTO productos (sku, id_categoria, nombre, descripcion, precio, stock, marca, " +
+                "modelo, especificaciones, estado, fecha_registro, descuento) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+                "ON DUPLICATE KEY UPDATE id_categoria = VALUES(id_categoria), nombre = VALUES(nombre), " +
+                "descripcion = COALESCE(VALUES(descripcion), descripcion), precio = VALUES(precio), " +
+                "stock = VALUES(stock), marca = COALESCE(VALUES(marca), marca), " +
+                "modelo = COALESCE(VALUES(modelo), modelo), " +
+                "especificaciones = COALESCE(VALUES(especificaciones), especificaciones), " +
+                "estado = COALESCE(VALUES(estado), estado), " +
+                "descuento = COALESCE(VALUES(descuento), descuento)";
+
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (Map.Entry<String, Producto> entry : productos.entrySet()) {
+                Producto producto = entry.getValue();
+                pstmt.setString(1, entry.getKey());
+                pstmt.setInt(2, producto.getIdCategoria());
+                pstmt.setString(3, producto.getNombre());
+                pstmt.setString(4, producto.getDescripcion());
+                pstmt.setBigDecimal(5, producto.getPrecio());
+                pstmt.setInt(6, producto.getStock());
+                pstmt.setString(7, producto.getMarca());
+                pstmt.setString(8, producto.getModelo());
+                pstmt.setString(9, producto.getEspecificaciones());
+                pstmt.setString(10, producto.getEstado() != null ? producto.getEstado().name() : null);
+                pstmt.setTimestamp(11, Timestamp.valueOf(producto.getFechaRegistro()));
+                pstmt.setBigDecimal(12, producto.getDescuento());
+                pstmt.addBatch();
+            }
+
+            pstmt.executeBatch();
+        }
+    }
+
+    /**
+     * Obtiene los IDs de los productos con los SKU indicados en una sola consulta
+     *
+     * @param conn Conexión a usar (para ver las filas del lote aún sin confirmar)
+     * @param skus SKUs a buscar
+     * @return Mapa clave de SKU ({@link #claveSku}) → id_producto (solo los existentes)
+     */
+    public Map<String, Integer> buscarIdsPorSku(Connection conn, Collection<String> skus) throws SQLException {
+        Map<String, Integer> ids = new HashMap<>();
+        if (skus == null || skus.isEmpty()) {
+            return ids;
+        }
+
+        String marcadores = String.join(",", Collections.nCopies(skus.size(), "?"));
+        String sql = "SELECT sku, id_producto FROM productos WHERE sku IN (" + marcadores + ")";
+
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            int i = 1;
+            for (String sku : skus) {
+                pstmt.setString(i++, sku);
+            }
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    ids.put(claveSku(rs.getString("sku")), rs.getInt("id_producto"));
+                }
+            }
+        }
+
+        return ids;
+    }
+
+    /**
+     * Clave para comparar SKUs como lo hace uk_sku con la colación de la tabla
+     * (sin distinguir mayúsculas, acentos ni espacios finales): "abc-1" y "ABC-1" son el mismo
+     */
+    public static String claveSku(String sku) {
+        return TextoUtil.normalizar(sku == null ? null : sku.strip());
+    }
+
     // ==================== READ ====================
 
     /**
@@ -103,6 +210,53 @@ public class ProductoDAO {
         return Optional.empty();
     }
 
+    /**
+     * Busca varios productos por ID en una sola consulta (IN)
+     * Evita el problema N+1 al enriquecer carritos y pedidos
+     *
+     * @param ids IDs de los productos a buscar (se ignoran duplicados y nulos)
+     * @return Mapa idProducto -> Producto con los productos encontrados
+     * @throws SQLException Si hay error en la consulta
+     */
+    public Map<Integer, Producto> buscarPorIds(Collection<Integer> ids) throws SQLException {
+        Map<Integer, Producto> productos = new HashMap<>();
+
+        if (ids == null || ids.isEmpty()) {
+            return productos;
+        }
+
+        List<Integer> idsUnicos = new ArrayList<>(new LinkedHashSet<>(ids));
+        idsUnicos.removeIf(Objects::isNull);
+
+        if (idsUnicos.isEmpty()) {
+            return productos;
+        }
+
+        // Crear placeholders: ?,?,?
+        String placeholders = String.join(",",
+                idsUnicos.stream().map(id -> "?").toArray(String[]::new));
+
+        String sql = "SELECT * FROM productos WHERE id_producto IN (" + placeholders + ")";
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            for (int i = 0; i < idsUnicos.size(); i++) {
+                pstmt.setInt(i + 1, idsUnicos.get(i));
+            }
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    Producto producto = mapearProducto(rs);
+                    productos.put(producto.getIdProducto(), producto);
+                }
+            }
+        }
+
+        logger.debug("Multi-get: {} de {} productos encontrados", productos.size(), idsUnicos.size());
+        return productos;
+    }
+
     private Producto mapearResultSetAProducto(ResultSet rs) throws SQLException {
         Producto producto = new Producto();
 
@@ -273,6 +427,63 @@ public class ProductoDAO {
         return productos;
     }
 
+    /**
+     * Obtiene una proyección ligera (ID, nombre, marca, categoría, precio y descuento) de los productos disponibles
+     * Usada para construir índices en memoria sin cargar descripciones ni especificaciones
+     */
+    public List<Producto> obtenerResumenDisponibles() throws SQLException {
+        String sql = "SELECT id_producto, nombre, marca, id_categoria, precio, descuento FROM productos " +
+                "WHERE estado = 'DISPONIBLE' ORDER BY id_producto";
+        List<Producto> productos = new ArrayList<>();
+
+        try (Connection conn = dbConnection.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            while (rs.next()) {
+                Producto producto = new Producto();
+                producto.setIdProducto(rs.getInt("id_producto"));
+                producto.setNombre(rs.getString("nombre"));
+                producto.setMarca(rs.getString("marca"));
+                producto.setIdCategoria(rs.getInt("id_categoria"));
+                producto.setPrecio(rs.getBigDecimal("precio"));
+                producto.setDescuento(rs.getBigDecimal("descuento"));
+                productos.add(producto);
+            }
+        }
+
+        return productos;
+    }
+
+    /**
+     * Obtiene una proyección ligera de todo el catálogo con los campos que admiten filtro
+     * (ID, marca, categoría, precio, descuento, estado y stock), ordenada por ID
+     */
+    public List<Producto> obtenerResumenCatalogo() throws SQLException {
+        String sql = "SELECT id_producto, marca, id_categoria, precio, descuento, estado, stock " +
+                "FROM productos ORDER BY id_producto";
+        List<Producto> productos = new ArrayList<>();
+
+        try (Connection conn = dbConnection.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            while (rs.next()) {
+                Producto producto = new Producto();
+                producto.setIdProducto(rs.getInt("id_producto"));
+                producto.setMarca(rs.getString("marca"));
+                producto.setIdCategoria(rs.getInt("id_categoria"));
+                producto.setPrecio(rs.getBigDecimal("precio"));
+                producto.setDescuento(rs.getBigDecimal("descuento"));
+                producto.setEstado(Producto.EstadoProducto.valueOf(rs.getString("estado")));
+                producto.setStock(rs.getInt("stock"));
+                productos.add(producto);
+            }
+        }
+
+        return productos;
+    }
+
     /**
      * Obtiene los productos más recientes
      *
@@ -332,6 +543,145 @@ public class ProductoDAO {
         return productos;
     }
 
+    // ==================== BÚSQUEDA CON FILTROS ====================
+
+    /**
+     * Expresión SQL del precio final (precio con el descuento porcentual aplicado)
+     * Redondeado al céntimo igual que Producto.getPrecioFinalCentimos (ROUND de MySQL es HALF_UP)
+     */
+    private static final String SQL_PRECIO_FINAL = "ROUND(precio - precio * descuento / 100, 2)";
+
+    /**
+     * Busca productos combinando todos los criterios del filtro en una sola consulta
+     * Aplica ordenamiento y paginación en la base de datos (LIMIT/OFFSET)
+     *
+     * @param filtros Criterios de búsqueda, orden y página
+     * @return Lista de productos de la página solicitada
+     * @throws SQLException Si hay error en la consulta
+     */
+    public List<Producto> buscarConFiltros(FiltroProductos filtros) throws SQLException {
+        List<Object> parametros = new ArrayList<>();
+        String sql = "SELECT * FROM productos" +
+                construirWhere(filtros, parametros) +
+                construirOrderBy(filtros.getOrden()) +
+                " LIMIT ? OFFSET ?";
+
+        int porPagina = Math.max(1, filtros.getProductosPorPagina());
+        parametros.add(porPagina);
+        parametros.add(SqlUtil.desplazamiento(filtros.getPagina(), porPagina));
+
+        List<Producto> productos = new ArrayList<>();
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            SqlUtil.asignarParametros(pstmt, parametros);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    productos.add(mapearProducto(rs));
+                }
+            }
+        }
+
+        logger.debug("Búsqueda con filtros: {} productos en página {}", productos.size(), filtros.getPagina());
+        return productos;
+    }
+
+    /**
+     * Cuenta los productos que cumplen los criterios del filtro (sin paginación)
+     *
+     * @param filtros Criterios de búsqueda
+     * @return Total de productos que coinciden
+     * @throws SQLException Si hay error en la consulta
+     */
+    public int contarConFiltros(FiltroProductos filtros) throws SQLException {
+        List<Object> parametros = new ArrayList<>();
+        String sql = "SELECT COUNT(*) FROM productos" + construirWhere(filtros, parametros);
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            SqlUtil.asignarParametros(pstmt, parametros);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt(1);
+                }
+            }
+        }
+
+        return 0;
+    }
+
+    /**
+     * Construye la cláusula WHERE a partir del filtro
+     * Agrega a la lista los valores de cada parámetro en el orden en que aparecen
+     */
+    private String construirWhere(FiltroProductos filtros, List<Object> parametros) {
+        List<String> condiciones = new ArrayList<>();
+
+        if (filtros.getIdCategoria() != null) {
+            condiciones.add("id_categoria = ?");
+            parametros.add(filtros.getIdCategoria());
+        }
+
+        if (filtros.getMarca() != null && !filtros.getMarca().trim().isEmpty()) {
+            condiciones.add("marca = ?");
+            parametros.add(filtros.getMarca().trim());
+        }
+
+        String termino = filtros.getTerminoBusqueda();
+        if (termino != null && !termino.trim().isEmpty()) {
+            condiciones.add("nombre LIKE ?");
+            parametros.add("%" + SqlUtil.escaparLike(termino.trim()) + "%");
+        }
+
+        if (filtros.getPrecioMinimo() != null) {
+            condiciones.add(SQL_PRECIO_FINAL + " >= ?");
+            parametros.add(filtros.getPrecioMinimo());
+        }
+
+        if (filtros.getPrecioMaximo() != null) {
+            condiciones.add(SQL_PRECIO_FINAL + " <= ?");
+            parametros.add(filtros.getPrecioMaximo());
+        }
+
+        if (filtros.isSoloDisponibles()) {
+            condiciones.add("estado = 'DISPONIBLE' AND stock > 0");
+        }
+
+        if (filtros.isSoloConDescuento()) {
+            condiciones.add("descuento > 0");
+        }
+
+        return condiciones.isEmpty() ? "" : " WHERE " + String.join(" AND ", condiciones);
+    }
+
+    /**
+     * Construye la cláusula ORDER BY según el criterio de ordenamiento
+     * Incluye id_producto como desempate para que la paginación sea estable
+     */
+    private String construirOrderBy(OrdenProducto orden) {
+        if (orden == null) {
+            return " ORDER BY id_producto";
+        }
+
+        switch (orden) {
+            case PRECIO_ASC:
+                return " ORDER BY precio ASC, id_producto ASC";
+            case PRECIO_DESC:
+                return " ORDER BY precio DESC, id_producto DESC";
+            case NOMBRE_ASC:
+                return " ORDER BY nombre ASC, id_producto ASC";
+            case NOMBRE_DESC:
+                return " ORDER BY nombre DESC, id_producto DESC";
+            case MAS_RECIENTE:
+            default:
+                return " ORDER BY fecha_registro DESC, id_producto DESC";
+        }
+    }
+
     // ==================== UPDATE ====================
 
     /**
@@ -342,24 +692,25 @@ public class ProductoDAO {
      * @throws SQLException Si hay error en la operación
      */
     public boolean actualizar(Producto producto) throws SQLException {
-        String sql = "UPDATE productos SET id_categoria=?, nombre=?, descripcion=?, precio=?, " +
+        String sql = "UPDATE productos SET sku=?, id_categoria=?, nombre=?, descripcion=?, precio=?, " +
                 "stock=?, marca=?, modelo=?, especificaciones=?, estado=?, descuento=? " +
                 "WHERE id_producto=?";
 
         try (Connection conn = dbConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
-            pstmt.setInt(1, producto.getIdCategoria());
-            pstmt.setString(2, producto.getNombre());
-            pstmt.setString(3, producto.getDescripcion());
-            pstmt.setBigDecimal(4, producto.getPrecio());
-            pstmt.setInt(5, producto.getStock());
-            pstmt.setString(6, producto.getMarca());
-            pstmt.setString(7, producto.getModelo());
-            pstmt.setString(8, producto.getEspecificaciones());
-            pstmt.setString(9, producto.getEstado().name());
-            pstmt.setBigDecimal(10, producto.getDescuento());
-            pstmt.setInt(11, producto.getIdProducto());
+            pstmt.setString(1, producto.getSku());
+            pstmt.setInt(2, producto.getIdCategoria());
+            pstmt.setString(3, producto.getNombre());
+            pstmt.setString(4, producto.getDescripcion());
+            pstmt.setBigDecimal(5, producto.getPrecio());
+            pstmt.setInt(6, producto.getStock());
+            pstmt.setString(7, producto.getMarca());
+            pstmt.setString(8, producto.getModelo());
+            pstmt.setString(9, producto.getEspecificaciones());
+            pstmt.setString(10, producto.getEstado().name());
+            pstmt.setBigDecimal(11, producto.getDescuento());
+            pstmt.setInt(12, producto.getIdProducto());
 
             boolean actualizado = pstmt.executeUpdate() > 0;
             
@@ -429,6 +780,143 @@ public class ProductoDAO {
         }
     }
 
+    /**
+     * Reduce el stock de varios productos en un solo lote (JDBC batch)
+     * Cada UPDATE es condicional (stock >= cantidad); si alguno no aplica
+     * se revierte el lote completo y no se descuenta nada
+     *
+     * @param cantidades Mapa idProducto -> cantidad a descontar
+     * @return IDs de los productos sin stock suficiente (vacía si se descontó todo)
+     * @throws SQLException Si hay error en la operación
+     */
+    public List<Integer> reducirStockEnLote(Map<Integer, Integer> cantidades) throws SQLException {
+        if (cantidades == null || cantidades.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        try (Connection conn = dbConnection.getConnection()) {
+            conn.setAutoCommit(false);
+
+            try {
+                List<Integer> sinStock = reducirStockEnLote(conn, cantidades);
+
+                if (sinStock.isEmpty()) {
+                    conn.commit();
+                } else {
+                    conn.rollback();
+                }
+
+                return sinStock;
+
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * Reduce el stock de varios productos en lote usando una conexión existente
+     * No confirma ni revierte: si hay productos sin stock el llamador debe revertir
+     *
+     * @param conn Conexión de la transacción en curso
+     * @param cantidades Mapa idProducto -> cantidad a descontar
+     * @return IDs de los productos sin stock suficiente (vacía si se descontó todo)
+     * @throws SQLException Si hay error en la operación
+     */
+    public List<Integer> reducirStockEnLote(Connection conn, Map<Integer, Integer> cantidades)
+            throws SQLException {
+        if (cantidades == null || cantidades.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        String sql = "UPDATE productos SET stock = stock - ? WHERE id_producto = ? AND stock >= ?";
+
+        // Orden por ID para que las transacciones concurrentes bloqueen filas en el mismo orden
+        Map<Integer, Integer> ordenadas = new TreeMap<>(cantidades);
+
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (Map.Entry<Integer, Integer> entry : ordenadas.entrySet()) {
+                pstmt.setInt(1, entry.getValue());
+                pstmt.setInt(2, entry.getKey());
+                pstmt.setInt(3, entry.getValue());
+                pstmt.addBatch();
+            }
+
+            List<Integer> sinStock = productosNoActualizados(pstmt.executeBatch(), ordenadas);
+
+            if (sinStock.isEmpty()) {
+                logger.debug("Stock reducido en lote para {} productos", ordenadas.size());
+            } else {
+                logger.warn("Stock insuficiente en lote para productos {}", sinStock);
+            }
+
+            return sinStock;
+        }
+    }
+
+    /**
+     * Repone el stock de varios productos en un solo lote (cancelaciones)
+     *
+     * @param cantidades Mapa idProducto -> cantidad a reponer
+     * @throws SQLException Si hay error en la operación
+     */
+    public void reponerStockEnLote(Map<Integer, Integer> cantidades) throws SQLException {
+        if (cantidades == null || cantidades.isEmpty()) {
+            return;
+        }
+
+        try (Connection conn = dbConnection.getConnection()) {
+            reponerStockEnLote(conn, cantidades);
+        }
+    }
+
+    /**
+     * Repone el stock de varios productos en lote usando una conexión existente
+     *
+     * @param conn Conexión de la transacción en curso
+     * @param cantidades Mapa idProducto -> cantidad a reponer
+     * @throws SQLException Si hay error en la operación
+     */
+    public void reponerStockEnLote(Connection conn, Map<Integer, Integer> cantidades) throws SQLException {
+        if (cantidades == null || cantidades.isEmpty()) {
+            return;
+        }
+
+        String sql = "UPDATE productos SET stock = stock + ? WHERE id_producto = ?";
+        Map<Integer, Integer> ordenadas = new TreeMap<>(cantidades);
+
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (Map.Entry<Integer, Integer> entry : ordenadas.entrySet()) {
+                pstmt.setInt(1, entry.getValue());
+                pstmt.setInt(2, entry.getKey());
+                pstmt.addBatch();
+            }
+
+            pstmt.executeBatch();
+            logger.debug("Stock repuesto en lote para {} productos", ordenadas.size());
+        }
+    }
+
+    /**
+     * Devuelve los IDs cuyo UPDATE del lote no afectó ninguna fila
+     */
+    private List<Integer> productosNoActualizados(int[] resultados, Map<Integer, Integer> ordenadas) {
+        List<Integer> fallidos = new ArrayList<>();
+        int i = 0;
+
+        for (Integer idProducto : ordenadas.keySet()) {
+            int resultado = resultados[i++];
+            if (resultado == 0 || resultado == Statement.EXECUTE_FAILED) {
+                fallidos.add(idProducto);
+            }
+        }
+
+        return fallidos;
+    }
+
     /**
      * Actualiza el estado de un producto
      *
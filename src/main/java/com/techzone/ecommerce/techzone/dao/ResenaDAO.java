@@ -2,6 +2,7 @@ package com.techzone.ecommerce.techzone.dao;
 
 import com.techzone.ecommerce.techzone.config.DatabaseConnection;
 import com.techzone.ecommerce.techzone.model.Resena;
+import com.techzone.ecommerce.techzone.model.Usuario;
 
 import java.sql.*;
 import java.util.ArrayList;
@@ -26,11 +27,19 @@ public class ResenaDAO {
      * Crea una nueva reseña
      */
     public int crear(Resena resena) throws SQLException {
+        try (Connection conn = dbConnection.getConnection()) {
+            return crear(conn, resena);
+        }
+    }
+
+    /**
+     * Crea una nueva reseña usando una conexión existente
+     */
+    public int crear(Connection conn, Resena resena) throws SQLException {
         String sql = "INSERT INTO resenas (id_producto, id_usuario, calificacion, comentario, fecha) " +
                 "VALUES (?, ?, ?, ?, ?)";
 
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
 
             pstmt.setInt(1, resena.getIdProducto());
             pstmt.setInt(2, resena.getIdUsuario());
@@ -127,6 +136,39 @@ public class ResenaDAO {
         return resenas;
     }
 
+    /**
+     * Obtiene una página de reseñas de un producto con la información del autor (JOIN)
+     * La paginación se resuelve en la BD con LIMIT/OFFSET
+     */
+    public List<Resena> obtenerConUsuarioPorProducto(int idProducto, int limite, int offset)
+            throws SQLException {
+        String sql = "SELECT r.*, u.nombre, u.apellido, u.email " +
+                "FROM resenas r " +
+                "INNER JOIN usuarios u ON r.id_usuario = u.id_usuario " +
+                "WHERE r.id_producto = ? " +
+                "ORDER BY r.fecha DESC, r.id_resena DESC " +
+                "LIMIT ? OFFSET ?";
+        List<Resena> resenas = new ArrayList<>();
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, idProducto);
+            pstmt.setInt(2, limite);
+            pstmt.setInt(3, offset);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    Resena resena = mapearResena(rs);
+                    resena.setUsuario(mapearAutor(rs));
+                    resenas.add(resena);
+                }
+            }
+        }
+
+        return resenas;
+    }
+
     /**
      * Obtiene todas las reseñas de un usuario
      */
@@ -201,10 +243,18 @@ public class ResenaDAO {
      * Actualiza una reseña existente
      */
     public boolean actualizar(Resena resena) throws SQLException {
+        try (Connection conn = dbConnection.getConnection()) {
+            return actualizar(conn, resena);
+        }
+    }
+
+    /**
+     * Actualiza una reseña existente usando una conexión existente
+     */
+    public boolean actualizar(Connection conn, Resena resena) throws SQLException {
         String sql = "UPDATE resenas SET calificacion=?, comentario=? WHERE id_resena=?";
 
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setInt(1, resena.getCalificacion());
             pstmt.setString(2, resena.getComentario());
@@ -220,10 +270,18 @@ public class ResenaDAO {
      * Elimina una reseña
      */
     public boolean eliminar(int idResena) throws SQLException {
+        try (Connection conn = dbConnection.getConnection()) {
+            return eliminar(conn, idResena);
+        }
+    }
+
+    /**
+     * Elimina una reseña usando una conexión existente
+     */
+    public boolean eliminar(Connection conn, int idResena) throws SQLException {
         String sql = "DELETE FROM resenas WHERE id_resena = ?";
 
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setInt(1, idResena);
             return pstmt.executeUpdate() > 0;
@@ -372,4 +430,16 @@ public class ResenaDAO {
 
         return resena;
     }
+
+    /**
+     * Mapea los datos del autor incluidos por el JOIN con usuarios
+     */
+    private Usuario mapearAutor(ResultSet rs) throws SQLException {
+        Usuario usuario = new Usuario();
+        usuario.setIdUsuario(rs.getInt("id_usuario"));
+        usuario.setNombre(rs.getString("nombre"));
+        usuario.setApellido(rs.getString("apellido"));
+        usuario.setEmail(rs.getString("email"));
+        return usuario;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,239 @@
+package com.techzone.ecommerce.techzone.dao;
+
+import com.techzone.ecommerce.techzone.config.DatabaseConnection;
+import com.techzone.ecommerce.techzone.model.ResumenCalificacion;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * DAO para el resumen persistido de calificaciones por producto
+ * (total, suma y conteo por estrellas)
+ * @author TechZone Team
+ */
+public class ResumenCalificacionDAO {
+
+    private final DatabaseConnection dbConnection;
+
+    public ResumenCalificacionDAO() {
+        this.dbConnection = DatabaseConnection.getInstance();
+    }
+
+    // ==================== READ ====================
+
+    /**
+     * Obtiene el resumen de calificaciones de un producto
+     */
+    public Optional<ResumenCalificacion> buscarPorProducto(int idProducto) throws SQLException {
+        String sql = "SELECT * FROM resumen_calificaciones WHERE id_producto = ?";
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, idProducto);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return Optional.of(mapearResumen(rs));
+                }
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Obtiene los resúmenes de varios productos en una sola consulta (IN)
+     */
+    public Map<Integer, ResumenCalificacion> buscarPorProductos(Collection<Integer> idsProductos)
+            throws SQLException {
+        Map<Integer, ResumenCalificacion> resumenes = new HashMap<>();
+
+        if (idsProductos == null || idsProductos.isEmpty()) {
+            return resumenes;
+        }
+
+        List<Integer> ids = new ArrayList<>(new LinkedHashSet<>(idsProductos));
+
+        // Crear placeholders: ?,?,?
+        String placeholders = String.join(",",
+                ids.stream().map(id -> "?").toArray(String[]::new));
+
+        String sql = "SELECT * FROM resumen_calificaciones WHERE id_producto IN (" + placeholders + ")";
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            for (int i = 0; i < ids.size(); i++) {
+                pstmt.setInt(i + 1, ids.get(i));
+            }
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    ResumenCalificacion resumen = mapearResumen(rs);
+                    resumenes.put(resumen.getIdProducto(), resumen);
+                }
+            }
+        }
+
+        return resumenes;
+    }
+
+    // ==================== ACTUALIZACIÓN INCREMENTAL ====================
+
+    /**
+     * Suma una calificación nueva al resumen del producto (crea la fila si no existe)
+     */
+    public void registrarCalificacion(Connection conn, int idProducto, int calificacion)
+            throws SQLException {
+        String columna = columnaEstrellas(calificacion);
+        String sql = "INSERT INTO resumen_calificaciones " +
+                "(id_producto, total_resenas, suma_calificaciones, " + columna + ") " +
+                "VALUES (?, 1, ?, 1) " +
+                "ON DUPLICATE KEY UPDATE total_resenas = total_resenas + 1, " +
+                "suma_calificaciones = suma_calificaciones + VALUES(suma_calificaciones), " +
+                columna + " = " + columna + " + 1";
+
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, idProducto);
+            pstmt.setInt(2, calificacion);
+            pstmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Cambia una calificación existente por otra en el resumen del producto
+     */
+    public void cambiarCalificacion(Connection conn, int idProducto, int anterior, int nueva)
+            throws SQLException {
+        if (anterior == nueva) {
+            return;
+        }
+
+        String columnaAnterior = columnaEstrellas(anterior);
+        String columnaNueva = columnaEstrellas(nueva);
+        String sql = "UPDATE resumen_calificaciones SET " +
+                "suma_calificaciones = suma_calificaciones + ?, " +
+                columnaAnterior + " = GREATEST(" + columnaAnterior + " - 1, 0), " +
+                columnaNueva + " = " + columnaNueva + " + 1 " +
+                "WHERE id_producto = ?";
+
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, nueva - anterior);
+            pstmt.setInt(2, idProducto);
+            pstmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Resta una calificación eliminada del resumen del producto
+     */
+    public void quitarCalificacion(Connection conn, int idProducto, int calificacion)
+            throws SQLException {
+        String columna = columnaEstrellas(calificacion);
+        String sql = "UPDATE resumen_calificaciones SET " +
+                "total_resenas = GREATEST(total_resenas - 1, 0), " +
+                "suma_calificaciones = GREATEST(suma_calificaciones - ?, 0), " +
+                columna + " = GREATEST(" + columna + " - 1, 0) " +
+                "WHERE id_producto = ?";
+
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, calificacion);
+            pstmt.setInt(2, idProducto);
+            pstmt.executeUpdate();
+        }
+    }
+
+    // ==================== RECONSTRUCCIÓN ====================
+
+    /**
+     * Recalcula todos los resúmenes desde la tabla resenas
+     * Corrige cualquier desviación acumulada en las actualizaciones incrementales
+     *
+     * @return Número de productos con reseñas tras la reconstrucción
+     */
+    public int reconstruirTodos() throws SQLException {
+        String sqlBorrar = "DELETE FROM resumen_calificaciones " +
+                "WHERE id_producto NOT IN (SELECT DISTINCT id_producto FROM resenas)";
+        String sqlRecalcular = "INSERT INTO resumen_calificaciones " +
+                "(id_producto, total_resenas, suma_calificaciones, " +
+                "estrellas_1, estrellas_2, estrellas_3, estrellas_4, estrellas_5) " +
+                "SELECT id_producto, COUNT(*), SUM(calificacion), " +
+                "SUM(calificacion = 1), SUM(calificacion = 2), SUM(calificacion = 3), " +
+                "SUM(calificacion = 4), SUM(calificacion = 5) " +
+                "FROM resenas GROUP BY id_producto " +
+                "ON DUPLICATE KEY UPDATE " +
+                "total_resenas = VALUES(total_resenas), " +
+                "suma_calificaciones = VALUES(suma_calificaciones), " +
+                "estrellas_1 = VALUES(estrellas_1), estrellas_2 = VALUES(estrellas_2), " +
+                "estrellas_3 = VALUES(estrellas_3), estrellas_4 = VALUES(estrellas_4), " +
+                "estrellas_5 = VALUES(estrellas_5)";
+        String sqlContar = "SELECT COUNT(*) FROM resumen_calificaciones";
+
+        Connection conn = null;
+
+        try {
+            conn = dbConnection.getConnection();
+            conn.setAutoCommit(false);
+
+            try (Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate(sqlBorrar);
+                stmt.executeUpdate(sqlRecalcular);
+            }
+
+            conn.commit();
+
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery(sqlContar)) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+
+        } catch (SQLException e) {
+            if (conn != null) {
+                conn.rollback();
+            }
+            throw e;
+        } finally {
+            if (conn != null) {
+                conn.setAutoCommit(true);
+                conn.close();
+            }
+        }
+    }
+
+    // ==================== MAPEO ====================
+
+    /**
+     * Nombre de la columna de conteo para una calificación (1-5)
+     */
+    private String columnaEstrellas(int calificacion) {
+        if (calificacion < 1 || calificacion > 5) {
+            throw new IllegalArgumentException("Calificación fuera de rango: " + calificacion);
+        }
+        return "estrellas_" + calificacion;
+    }
+
+    /**
+     * Mapea un ResultSet a un objeto ResumenCalificacion
+     */
+    private ResumenCalificacion mapearResumen(ResultSet rs) throws SQLException {
+        ResumenCalificacion resumen = new ResumenCalificacion(rs.getInt("id_producto"));
+
+        resumen.setTotalResenas(rs.getInt("total_resenas"));
+        resumen.setSumaCalificaciones(rs.getInt("suma_calificaciones"));
+
+        int[] distribucion = new int[5];
+        for (int i = 0; i < 5; i++) {
+            distribucion[i] = rs.getInt("estrellas_" + (i + 1));
+        }
+        resumen.setDistribucion(distribucion);
+
+        return resumen;
+    }
+}
@@ -0,0 +1,44 @@
+package com.techzone.ecommerce.techzone.dao;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Utilidades comunes a los DAOs que construyen SQL dinámico (filtros y paginación)
+ * @author TechZone Team
+ */
+final class SqlUtil {
+
+    private SqlUtil() {
+    }
+
+    /**
+     * Escapa los comodines de LIKE para que el texto se busque literalmente
+     */
+    static String escaparLike(String texto) {
+        return texto.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+
+    /**
+     * Asigna los parámetros en orden a partir del índice 1
+     */
+    static void asignarParametros(PreparedStatement pstmt, List<Object> parametros) throws SQLException {
+        for (int i = 0; i < parametros.size(); i++) {
+            pstmt.setObject(i + 1, parametros.get(i));
+        }
+    }
+
+    /**
+     * Desplazamiento para LIMIT/OFFSET calculado en long
+     * Una página desorbitada da un OFFSET enorme (página vacía) en lugar de desbordar a negativo
+     * @param pagina Número de página (desde 1)
+     * @param porPagina Filas por página
+     * @return Filas a saltar, nunca negativo
+     */
+    static long desplazamiento(int pagina, int porPagina) {
+        return (Math.max(1L, pagina) - 1L) * Math.max(1, porPagina);
+    }
+}
@@ -2,6 +2,8 @@ package com.techzone.ecommerce.techzone.dao;
 
 import com.techzone.ecommerce.techzone.config.DatabaseConnection;
 import com.techzone.ecommerce.techzone.model.Usuario;
+import com.techzone.ecommerce.techzone.service.UsuarioService.FiltroUsuarios;
+import com.techzone.ecommerce.techzone.service.UsuarioService.OrdenUsuario;
 
 import java.sql.*;
 import java.util.ArrayList;
@@ -142,6 +144,32 @@ public class UsuarioDAO {
         return usuarios;
     }
 
+    /**
+     * Obtiene los últimos usuarios registrados
+     *
+     * @param limite Número máximo de usuarios a devolver
+     * @return Lista de usuarios ordenada por fecha de registro descendente
+     * @throws SQLException Si hay error en la consulta
+     */
+    public List<Usuario> obtenerRecientes(int limite) throws SQLException {
+        String sql = "SELECT * FROM usuarios ORDER BY fecha_registro DESC, id_usuario DESC LIMIT ?";
+        List<Usuario> usuarios = new ArrayList<>();
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, limite);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    usuarios.add(mapearUsuario(rs));
+                }
+            }
+        }
+
+        return usuarios;
+    }
+
     /**
      * Obtiene usuarios filtrados por rol
      *
@@ -190,6 +218,133 @@ public class UsuarioDAO {
         return usuarios;
     }
 
+    // ==================== BÚSQUEDA CON FILTROS (ADMINISTRACIÓN) ====================
+
+    /**
+     * Busca una página de usuarios combinando los criterios del filtro
+     * La página se resuelve primero solo con id_usuario sobre los índices (rol, fecha_registro),
+     * (fecha_registro) o (nombre, apellido) y luego se leen las filas completas de esos ids
+     *
+     * @param filtros Criterios de búsqueda, orden y página
+     * @return Usuarios de la página solicitada
+     * @throws SQLException Si hay error en la consulta
+     */
+    public List<Usuario> buscarConFiltros(FiltroUsuarios filtros) throws SQLException {
+        List<Object> parametros = new ArrayList<>();
+        String sql = "SELECT u.* FROM (SELECT u.id_usuario FROM usuarios u" +
+                construirWhere(filtros, parametros) +
+                construirOrderBy(filtros.getOrden()) +
+                " LIMIT ? OFFSET ?) pagina " +
+                "INNER JOIN usuarios u ON u.id_usuario = pagina.id_usuario" +
+                construirOrderBy(filtros.getOrden());
+
+        int porPagina = Math.max(1, filtros.getUsuariosPorPagina());
+        parametros.add(porPagina);
+        parametros.add(SqlUtil.desplazamiento(filtros.getPagina(), porPagina));
+
+        List<Usuario> usuarios = new ArrayList<>(porPagina);
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            SqlUtil.asignarParametros(pstmt, parametros);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    usuarios.add(mapearUsuario(rs));
+                }
+            }
+        }
+
+        return usuarios;
+    }
+
+    /**
+     * Cuenta los usuarios que cumplen los criterios del filtro (sin paginación)
+     *
+     * @param filtros Criterios de búsqueda
+     * @return Total de usuarios que coinciden
+     * @throws SQLException Si hay error en la consulta
+     */
+    public int contarConFiltros(FiltroUsuarios filtros) throws SQLException {
+        List<Object> parametros = new ArrayList<>();
+        String sql = "SELECT COUNT(*) FROM usuarios u" + construirWhere(filtros, parametros);
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            SqlUtil.asignarParametros(pstmt, parametros);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt(1);
+                }
+            }
+        }
+
+        return 0;
+    }
+
+    /**
+     * Construye la cláusula WHERE a partir del filtro
+     * El texto se busca como prefijo de email, nombre o apellido (LIKE 'x%' usa los índices)
+     */
+    private String construirWhere(FiltroUsuarios filtros, List<Object> parametros) {
+        List<String> condiciones = new ArrayList<>();
+
+        if (filtros.getRol() != null) {
+            condiciones.add("u.rol = ?");
+            parametros.add(filtros.getRol().name());
+        }
+
+        if (filtros.getEstado() != null) {
+            condiciones.add("u.estado = ?");
+            parametros.add(filtros.getEstado().name());
+        }
+
+        if (filtros.getRegistroDesde() != null) {
+            condiciones.add("u.fecha_registro >= ?");
+            parametros.add(Timestamp.valueOf(filtros.getRegistroDesde().atStartOfDay()));
+        }
+
+        if (filtros.getRegistroHasta() != null) {
+            condiciones.add("u.fecha_registro < ?");
+            parametros.add(Timestamp.valueOf(filtros.getRegistroHasta().plusDays(1).atStartOfDay()));
+        }
+
+        String texto = filtros.getTexto();
+        if (texto != null && !texto.trim().isEmpty()) {
+            String prefijo = SqlUtil.escaparLike(texto.trim()) + "%";
+            condiciones.add("(u.email LIKE ? OR u.nombre LIKE ? OR u.apellido LIKE ?)");
+            parametros.add(prefijo);
+            parametros.add(prefijo);
+            parametros.add(prefijo);
+        }
+
+        return condiciones.isEmpty() ? "" : " WHERE " + String.join(" AND ", condiciones);
+    }
+
+    /**
+     * Construye la cláusula ORDER BY con id_usuario como desempate (paginación estable)
+     */
+    private String construirOrderBy(OrdenUsuario orden) {
+        if (orden == null) {
+            return " ORDER BY u.fecha_registro DESC, u.id_usuario DESC";
+        }
+
+        switch (orden) {
+            case REGISTRO_ASC:
+                return " ORDER BY u.fecha_registro ASC, u.id_usuario ASC";
+            case NOMBRE_ASC:
+                return " ORDER BY u.nombre ASC, u.apellido ASC, u.id_usuario ASC";
+            case NOMBRE_DESC:
+                return " ORDER BY u.nombre DESC, u.apellido DESC, u.id_usuario DESC";
+            case REGISTRO_DESC:
+            default:
+                return " ORDER BY u.fecha_registro DESC, u.id_usuario DESC";
+        }
+    }
+
     // ==================== UPDATE ====================
 
     /**
@@ -1,5 +1,7 @@
 package com.techzone.ecommerce.techzone.model;
 
+import com.techzone.ecommerce.techzone.util.PrecioUtil;
+
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
@@ -37,16 +39,8 @@ public class Carrito {
      */
     public BigDecimal getSubtotal() {
         if (producto != null) {
-            BigDecimal precioUnitario = producto.getPrecio();
-
-            // Aplicar descuento si existe
-            if (producto.getDescuento() != null && producto.getDescuento().compareTo(BigDecimal.ZERO) > 0) {
-                BigDecimal descuento = precioUnitario.multiply(producto.getDescuento())
-                        .divide(new BigDecimal(100));
-                precioUnitario = precioUnitario.subtract(descuento);
-            }
-
-            return precioUnitario.multiply(new BigDecimal(cantidad));
+            // Precio final precalculado en céntimos (descuento ya aplicado)
+            return PrecioUtil.aImporte(producto.getPrecioFinalCentimos() * cantidad);
         }
         return BigDecimal.ZERO;
     }
@@ -56,15 +50,7 @@ public class Carrito {
      */
     public BigDecimal getPrecioUnitarioConDescuento() {
         if (producto != null) {
-            BigDecimal precioUnitario = producto.getPrecio();
-
-            if (producto.getDescuento() != null && producto.getDescuento().compareTo(BigDecimal.ZERO) > 0) {
-                BigDecimal descuento = precioUnitario.multiply(producto.getDescuento())
-                        .divide(new BigDecimal(100));
-                precioUnitario = precioUnitario.subtract(descuento);
-            }
-
-            return precioUnitario;
+            return producto.getPrecioConDescuento();
         }
         return BigDecimal.ZERO;
     }
@@ -0,0 +1,150 @@
+package com.techzone.ecommerce.techzone.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Contadores agregados del panel de administración
+ * Se calculan con unas pocas consultas de agregación (COUNT/SUM) sin cargar tablas completas
+ * @author TechZone Team
+ */
+public class EstadisticasDashboard {
+
+    // Productos
+    private int totalProductos;
+    private int productosActivos;
+    private int productosSinStock;
+    private int productosBajoStock;
+
+    // Pedidos
+    private int totalPedidos;
+    private int pedidosHoy;
+    private Map<String, Integer> pedidosPorEstado = new LinkedHashMap<>();
+    private BigDecimal ventasTotales = BigDecimal.ZERO; // excluye cancelados
+
+    // Usuarios
+    private int totalUsuarios;
+    private int usuariosNuevosHoy;
+    private int usuariosNuevosMes;
+
+    private LocalDateTime fechaCalculo = LocalDateTime.now();
+
+    // Getters y Setters
+    public int getTotalProductos() {
+        return totalProductos;
+    }
+
+    public void setTotalProductos(int totalProductos) {
+        this.totalProductos = totalProductos;
+    }
+
+    public int getProductosActivos() {
+        return productosActivos;
+    }
+
+    public void setProductosActivos(int productosActivos) {
+        this.productosActivos = productosActivos;
+    }
+
+    public int getProductosSinStock() {
+        return productosSinStock;
+    }
+
+    public void setProductosSinStock(int productosSinStock) {
+        this.productosSinStock = productosSinStock;
+    }
+
+    public int getProductosBajoStock() {
+        return productosBajoStock;
+    }
+
+    public void setProductosBajoStock(int productosBajoStock) {
+        this.productosBajoStock = productosBajoStock;
+    }
+
+    public int getTotalPedidos() {
+        return totalPedidos;
+    }
+
+    public void setTotalPedidos(int totalPedidos) {
+        this.totalPedidos = totalPedidos;
+    }
+
+    public int getPedidosHoy() {
+        return pedidosHoy;
+    }
+
+    public void setPedidosHoy(int pedidosHoy) {
+        this.pedidosHoy = pedidosHoy;
+    }
+
+    public Map<String, Integer> getPedidosPorEstado() {
+        return Collections.unmodifiableMap(pedidosPorEstado);
+    }
+
+    public void setPedidosPorEstado(Map<String, Integer> pedidosPorEstado) {
+        this.pedidosPorEstado = new LinkedHashMap<>(pedidosPorEstado);
+    }
+
+    public BigDecimal getVentasTotales() {
+        return ventasTotales;
+    }
+
+    public void setVentasTotales(BigDecimal ventasTotales) {
+        this.ventasTotales = ventasTotales;
+    }
+
+    public int getTotalUsuarios() {
+        return totalUsuarios;
+    }
+
+    public void setTotalUsuarios(int totalUsuarios) {
+        this.totalUsuarios = totalUsuarios;
+    }
+
+    public int getUsuariosNuevosHoy() {
+        return usuariosNuevosHoy;
+    }
+
+    public void setUsuariosNuevosHoy(int usuariosNuevosHoy) {
+        this.usuariosNuevosHoy = usuariosNuevosHoy;
+    }
+
+    public int getUsuariosNuevosMes() {
+        return usuariosNuevosMes;
+    }
+
+    public void setUsuariosNuevosMes(int usuariosNuevosMes) {
+        this.usuariosNuevosMes = usuariosNuevosMes;
+    }
+
+    public LocalDateTime getFechaCalculo() {
+        return fechaCalculo;
+    }
+
+    public void setFechaCalculo(LocalDateTime fechaCalculo) {
+        this.fechaCalculo = fechaCalculo;
+    }
+
+    // Métodos de utilidad
+    public int getPedidosPorEstado(String estado) {
+        return pedidosPorEstado.getOrDefault(estado, 0);
+    }
+
+    public int getPedidosPendientes() {
+        return getPedidosPorEstado("PENDIENTE");
+    }
+
+    @Override
+    public String toString() {
+        return "EstadisticasDashboard{" +
+                "productos=" + totalProductos +
+                ", pedidos=" + totalPedidos +
+                ", pedidosPorEstado=" + pedidosPorEstado +
+                ", usuarios=" + totalUsuarios +
+                '}';
+    }
+}
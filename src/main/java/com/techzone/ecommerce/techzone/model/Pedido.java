@@ -19,6 +19,10 @@ public class Pedido {
     private String metodoPago;
     private String notas;
 
+    // Resumen desnormalizado de detalle_pedido (para listados sin cargar las líneas)
+    private int cantidadItems;
+    private int cantidadTotal;
+
     // Relación con Usuario (para joins)
     private Usuario usuario;
 
@@ -155,6 +159,22 @@ public class Pedido {
         this.notas = notas;
     }
 
+    public int getCantidadItems() {
+        return cantidadItems;
+    }
+
+    public void setCantidadItems(int cantidadItems) {
+        this.cantidadItems = cantidadItems;
+    }
+
+    public int getCantidadTotal() {
+        return cantidadTotal;
+    }
+
+    public void setCantidadTotal(int cantidadTotal) {
+        this.cantidadTotal = cantidadTotal;
+    }
+
     public Usuario getUsuario() {
         return usuario;
     }
@@ -1,5 +1,7 @@
 package com.techzone.ecommerce.techzone.model;
 
+import com.techzone.ecommerce.techzone.util.PrecioUtil;
+
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -105,6 +107,17 @@ public class Producto implements Serializable {
      */
     private transient BigDecimal precioOriginal;
 
+    /**
+     * Precio base y precio final (con descuento) en céntimos, redondeados al céntimo
+     * Se recalculan solo al cambiar precio o descuento; carrito, pedidos, filtros
+     * y ordenación operan con ellos sin crear BigDecimal
+     */
+    private long precioCentimos;
+    private long precioFinalCentimos;
+
+    /** Precio final como BigDecimal, calculado junto con los céntimos */
+    private BigDecimal precioFinal;
+
     /**
      * Indica si el producto es nuevo (registrado en los últimos 30 días)
      * Campo calculado basado en fechaRegistro
@@ -153,8 +166,36 @@ public class Producto implements Serializable {
         this.precio = precio;
         this.stock = stock;
         this.idCategoria = idCategoria;
-        // Calcular precio original automáticamente
-        this.actualizarPrecioOriginal();
+        // Calcular precio original y precio final automáticamente
+        this.actualizarPrecios();
+    }
+
+    /**
+     * Constructor de copia (campos de BD y precio original)
+     * Los datos de presentación (imágenes, categoría, calificaciones) no se copian;
+     * usado para entregar copias independientes de productos compartidos en memoria
+     *
+     * @param otro Producto a copiar
+     */
+    public Producto(Producto otro) {
+        this.idProducto = otro.idProducto;
+        this.idCategoria = otro.idCategoria;
+        this.nombre = otro.nombre;
+        this.descripcion = otro.descripcion;
+        this.precio = otro.precio;
+        this.stock = otro.stock;
+        this.marca = otro.marca;
+        this.modelo = otro.modelo;
+        this.especificaciones = otro.especificaciones;
+        this.estado = otro.estado;
+        this.fechaRegistro = otro.fechaRegistro;
+        this.descuento = otro.descuento;
+        this.activo = otro.activo;
+        this.sku = otro.sku;
+        this.precioOriginal = otro.precioOriginal;
+        this.precioCentimos = otro.precioCentimos;
+        this.precioFinalCentimos = otro.precioFinalCentimos;
+        this.precioFinal = otro.precioFinal;
     }
 
     // ==================== GETTERS Y SETTERS - CAMPOS DB ====================
@@ -197,8 +238,8 @@ public class Producto implements Serializable {
 
     public void setPrecio(BigDecimal precio) {
         this.precio = precio;
-        // Al cambiar el precio, actualizar precio original
-        this.actualizarPrecioOriginal();
+        // Al cambiar el precio, actualizar precio original y final
+        this.actualizarPrecios();
     }
 
     public Integer getStock() {
@@ -255,8 +296,8 @@ public class Producto implements Serializable {
 
     public void setDescuento(BigDecimal descuento) {
         this.descuento = descuento;
-        // Al cambiar el descuento, actualizar precio original
-        this.actualizarPrecioOriginal();
+        // Al cambiar el descuento, actualizar precio original y final
+        this.actualizarPrecios();
     }
 
     // ==================== GETTERS Y SETTERS - CAMPOS TRANSIENT ====================
@@ -359,21 +400,27 @@ public class Producto implements Serializable {
     // ==================== MÉTODOS DE NEGOCIO ====================
 
     /**
-     * ✅ ACTUALIZADO: Calcula el precio final con descuento aplicado
-     * También actualiza el campo precioOriginal automáticamente
+     * Precio final con descuento aplicado, redondeado al céntimo
+     * Precalculado al asignar precio o descuento (no crea objetos en cada llamada)
      *
-     * @return Precio con descuento aplicado
+     * @return Precio con descuento aplicado, o null si no hay precio
      */
     public BigDecimal getPrecioConDescuento() {
-        if (descuento != null && descuento.compareTo(BigDecimal.ZERO) > 0) {
-            // Convertir porcentaje a decimal (ej: 15% -> 0.15)
-            BigDecimal descuentoDecimal = descuento.divide(new BigDecimal("100"));
-            // Calcular monto de descuento
-            BigDecimal montoDescuento = precio.multiply(descuentoDecimal);
-            // Restar del precio base
-            return precio.subtract(montoDescuento);
-        }
-        return precio;
+        return precioFinal;
+    }
+
+    /**
+     * Precio base en céntimos
+     */
+    public long getPrecioCentimos() {
+        return precioCentimos;
+    }
+
+    /**
+     * Precio final con descuento en céntimos (mismo redondeo que getPrecioConDescuento)
+     */
+    public long getPrecioFinalCentimos() {
+        return precioFinalCentimos;
     }
 
     public Boolean getActivo() {
@@ -394,12 +441,12 @@ public class Producto implements Serializable {
 
 
     /**
-     * ✅ NUEVO: Actualiza automáticamente el campo precioOriginal
+     * Actualiza precioOriginal y el precio final precalculado
      * Se llama cuando cambia el precio o el descuento
      * Si hay descuento > 0, precioOriginal = precio base
      * Si no hay descuento, precioOriginal = null
      */
-    private void actualizarPrecioOriginal() {
+    private void actualizarPrecios() {
         if (descuento != null && descuento.compareTo(BigDecimal.ZERO) > 0) {
             // Si hay descuento, el precio original es el precio sin descuento
             this.precioOriginal = this.precio;
@@ -407,6 +454,10 @@ public class Producto implements Serializable {
             // Si no hay descuento, no hay precio original a mostrar
             this.precioOriginal = null;
         }
+
+        this.precioCentimos = PrecioUtil.aCentimos(precio);
+        this.precioFinalCentimos = PrecioUtil.precioFinalCentimos(precio, descuento);
+        this.precioFinal = precio != null ? PrecioUtil.aImporte(precioFinalCentimos) : null;
     }
 
     /**
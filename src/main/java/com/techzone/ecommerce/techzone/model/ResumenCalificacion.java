@@ -0,0 +1,73 @@
+package com.techzone.ecommerce.techzone.model;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Resumen persistido de calificaciones de un producto
+ * Se mantiene incrementalmente en cada alta, edición o baja de reseña
+ */
+public class ResumenCalificacion implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Integer idProducto;
+    private int totalResenas;
+    private int sumaCalificaciones;
+    private int[] distribucion = new int[5]; // [0] = 1 estrella, [4] = 5 estrellas
+
+    public ResumenCalificacion() {
+    }
+
+    public ResumenCalificacion(Integer idProducto) {
+        this.idProducto = idProducto;
+    }
+
+    // Getters y Setters
+    public Integer getIdProducto() {
+        return idProducto;
+    }
+
+    public void setIdProducto(Integer idProducto) {
+        this.idProducto = idProducto;
+    }
+
+    public int getTotalResenas() {
+        return totalResenas;
+    }
+
+    public void setTotalResenas(int totalResenas) {
+        this.totalResenas = totalResenas;
+    }
+
+    public int getSumaCalificaciones() {
+        return sumaCalificaciones;
+    }
+
+    public void setSumaCalificaciones(int sumaCalificaciones) {
+        this.sumaCalificaciones = sumaCalificaciones;
+    }
+
+    public int[] getDistribucion() {
+        return distribucion;
+    }
+
+    public void setDistribucion(int[] distribucion) {
+        this.distribucion = distribucion;
+    }
+
+    // Métodos de utilidad
+    public double getPromedio() {
+        return totalResenas == 0 ? 0.0 : (double) sumaCalificaciones / totalResenas;
+    }
+
+    @Override
+    public String toString() {
+        return "ResumenCalificacion{" +
+                "idProducto=" + idProducto +
+                ", totalResenas=" + totalResenas +
+                ", promedio=" + String.format("%.2f", getPromedio()) +
+                ", distribucion=" + Arrays.toString(distribucion) +
+                '}';
+    }
+}
@@ -0,0 +1,476 @@
+package com.techzone.ecommerce.techzone.service;
+
+import com.techzone.ecommerce.techzone.dao.DetallePedidoDAO;
+import com.techzone.ecommerce.techzone.dao.ProductoDAO;
+import com.techzone.ecommerce.techzone.model.Categoria;
+import com.techzone.ecommerce.techzone.model.Producto;
+import com.techzone.ecommerce.techzone.util.TextoUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Índice de autocompletado (búsqueda mientras se escribe)
+ * Trie de prefijos sobre nombres de producto, marcas y categorías, con el texto
+ * normalizado (sin acentos ni mayúsculas) y cada palabra como posible inicio:
+ * "gal" sugiere "Samsung Galaxy S23".
+ *
+ * Cada nodo guarda precalculadas las {@value #MAXIMO_SUGERENCIAS} sugerencias más
+ * populares de su subárbol (unidades vendidas), así que una consulta solo recorre
+ * tantos nodos como caracteres tenga el prefijo. El trie se almacena en arrays
+ * planos y se reconstruye en segundo plano cuando hay cambios pendientes.
+ *
+ * Las unidades vendidas se mantienen en memoria: la suma sobre todo el histórico solo se
+ * consulta al arrancar y una vez al día; los pedidos encolan sus cantidades y, como el orden
+ * por popularidad no necesita ser inmediato, reordenan el trie como mucho cada
+ * {@value #REORDENACION_MINUTOS} minutos y sin consultar la BD. Los cambios de productos o
+ * categorías se aplican en la siguiente pasada.
+ *
+ * @author TechZone Team
+ */
+public class AutocompletadoIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(AutocompletadoIndex.class);
+    private static volatile AutocompletadoIndex instance;
+
+    public static final int MAXIMO_SUGERENCIAS = 10;
+    private static final int LONGITUD_MAXIMA_CLAVE = 32;
+    private static final long REORDENACION_MINUTOS = 10;
+    private static final long REORDENACION_MS = TimeUnit.MINUTES.toMillis(REORDENACION_MINUTOS);
+    private static final long RESINCRONIZACION_MS = TimeUnit.HOURS.toMillis(24);
+
+    private final ProductoDAO productoDAO;
+    private final DetallePedidoDAO detalleDAO;
+    private final CategoriaCache categoriaCache;
+
+    private volatile Trie trie = Trie.VACIO;
+    private final AtomicBoolean pendiente = new AtomicBoolean(true);
+
+    // Unidades por producto de pedidos creados (+) o cancelados (-) aún no aplicadas
+    private final Queue<Map<Integer, Integer>> ventasPendientes = new ConcurrentLinkedQueue<>();
+
+    // Estado de construcción: solo se usa dentro de reconstruir() (sincronizado)
+    private List<Producto> disponibles;
+    private Map<Integer, Integer> vendidas;
+    private volatile long ultimaCargaVentas;
+    private volatile long ultimaConstruccion;
+
+    // Constructor para inyección de dependencias (testing)
+    public AutocompletadoIndex(ProductoDAO productoDAO, DetallePedidoDAO detalleDAO,
+                               CategoriaCache categoriaCache) {
+        this.productoDAO = productoDAO;
+        this.detalleDAO = detalleDAO;
+        this.categoriaCache = categoriaCache;
+    }
+
+    /**
+     * Obtiene la instancia única del índice
+     */
+    public static AutocompletadoIndex getInstance() {
+        if (instance == null) {
+            synchronized (AutocompletadoIndex.class) {
+                if (instance == null) {
+                    instance = new AutocompletadoIndex(new ProductoDAO(), new DetallePedidoDAO(),
+                            CategoriaCache.getInstance());
+                }
+            }
+        }
+        return instance;
+    }
+
+    // ==================== CONSULTA ====================
+
+    /**
+     * Obtiene las sugerencias más populares para el prefijo escrito
+     *
+     * @param prefijo Texto escrito por el usuario
+     * @param limite Número máximo de sugerencias (como mucho {@value #MAXIMO_SUGERENCIAS})
+     * @return Sugerencias de mayor a menor popularidad; vacía si no hay coincidencias
+     */
+    public List<Sugerencia> sugerir(String prefijo, int limite) {
+        String clave = TextoUtil.normalizarFrase(prefijo);
+        if (clave.isEmpty() || limite <= 0) {
+            return Collections.emptyList();
+        }
+        if (clave.length() > LONGITUD_MAXIMA_CLAVE) {
+            clave = clave.substring(0, LONGITUD_MAXIMA_CLAVE);
+        }
+        return trie.sugerir(clave, Math.min(limite, MAXIMO_SUGERENCIAS));
+    }
+
+    /**
+     * Indica si el índice se ha construido al menos una vez
+     */
+    public boolean estaConstruido() {
+        return trie != Trie.VACIO;
+    }
+
+    // ==================== RECONSTRUCCIÓN ====================
+
+    /**
+     * Marca el catálogo como desactualizado; se recargará en la siguiente pasada en segundo plano
+     * Debe invocarse tras cambios en productos o categorías (los pedidos usan registrarVenta/anularVenta)
+     */
+    public void marcarPendiente() {
+        pendiente.set(true);
+    }
+
+    /**
+     * Suma a la popularidad las unidades de un pedido recién confirmado
+     *
+     * @param cantidades Unidades por ID de producto
+     */
+    public void registrarVenta(Map<Integer, Integer> cantidades) {
+        if (cantidades != null && !cantidades.isEmpty()) {
+            ventasPendientes.add(new HashMap<>(cantidades));
+        }
+    }
+
+    /**
+     * Resta de la popularidad las unidades de un pedido cancelado
+     *
+     * @param cantidades Unidades por ID de producto
+     */
+    public void anularVenta(Map<Integer, Integer> cantidades) {
+        if (cantidades != null && !cantidades.isEmpty()) {
+            Map<Integer, Integer> negativas = new HashMap<>();
+            cantidades.forEach((id, unidades) -> negativas.put(id, -unidades));
+            ventasPendientes.add(negativas);
+        }
+    }
+
+    /**
+     * Reconstruye el índice si cambió el catálogo, si toca la resincronización diaria de ventas
+     * o si hay ventas pendientes y ya pasó el intervalo de reordenación
+     */
+    public void reconstruirSiPendiente() throws SQLException {
+        boolean reordenar = !ventasPendientes.isEmpty()
+                && System.currentTimeMillis() - ultimaConstruccion >= REORDENACION_MS;
+
+        if (pendiente.get() || reordenar || ventasCaducadas()) {
+            reconstruir();
+        }
+    }
+
+    /**
+     * Aplica los cambios pendientes, recalcula el trie y lo publica de forma atómica
+     */
+    public synchronized void reconstruir() throws SQLException {
+        long inicio = System.currentTimeMillis();
+
+        boolean catalogo = pendiente.getAndSet(false);
+        List<Categoria> categorias;
+        try {
+            if (catalogo || disponibles == null) {
+                disponibles = productoDAO.obtenerResumenDisponibles();
+            }
+
+            if (vendidas == null || ventasCaducadas()) {
+                // Los pedidos encolados hasta aquí ya están en la BD que se va a leer
+                ventasPendientes.clear();
+                vendidas = detalleDAO.obtenerUnidadesVendidas();
+                ultimaCargaVentas = System.currentTimeMillis();
+            } else {
+                aplicarVentasPendientes();
+            }
+
+            categorias = categoriaCache.obtenerActivas();
+        } catch (SQLException | RuntimeException e) {
+            if (catalogo) {
+                pendiente.set(true);
+            }
+            throw e;
+        }
+
+        Trie nuevo = construir(disponibles, vendidas, categorias);
+        trie = nuevo;
+        ultimaConstruccion = System.currentTimeMillis();
+
+        logger.info("Índice de autocompletado reconstruido: {} sugerencias, {} nodos en {} ms",
+                nuevo.sugerencias.length, nuevo.etiquetas.length, System.currentTimeMillis() - inicio);
+    }
+
+    private boolean ventasCaducadas() {
+        return System.currentTimeMillis() - ultimaCargaVentas >= RESINCRONIZACION_MS;
+    }
+
+    private void aplicarVentasPendientes() {
+        Map<Integer, Integer> cambio;
+        while ((cambio = ventasPendientes.poll()) != null) {
+            for (Map.Entry<Integer, Integer> venta : cambio.entrySet()) {
+                int unidades = vendidas.getOrDefault(venta.getKey(), 0) + venta.getValue();
+                if (unidades > 0) {
+                    vendidas.put(venta.getKey(), unidades);
+                } else {
+                    vendidas.remove(venta.getKey());
+                }
+            }
+        }
+    }
+
+    // ==================== CONSTRUCCIÓN ====================
+
+    /**
+     * Construye el trie a partir de los productos disponibles, sus ventas y las categorías activas
+     * La popularidad de una marca o categoría es la suma de la de sus productos
+     */
+    static Trie construir(List<Producto> disponibles, Map<Integer, Integer> vendidas,
+                          List<Categoria> categorias) {
+        List<Sugerencia> sugerencias = new ArrayList<>();
+        Map<String, Sugerencia> marcas = new LinkedHashMap<>();
+        Map<Integer, Integer> pesoCategorias = new HashMap<>();
+
+        for (Producto producto : disponibles) {
+            int peso = 1 + vendidas.getOrDefault(producto.getIdProducto(), 0);
+            sugerencias.add(new Sugerencia(producto.getNombre(), TipoSugerencia.PRODUCTO,
+                    producto.getIdProducto(), peso));
+
+            String marca = TextoUtil.normalizarFrase(producto.getMarca()).trim();
+            if (!marca.isEmpty()) {
+                Sugerencia previa = marcas.get(marca);
+                int acumulado = previa != null ? previa.peso + peso : peso;
+                String texto = previa != null ? previa.texto : producto.getMarca().trim();
+                marcas.put(marca, new Sugerencia(texto, TipoSugerencia.MARCA, null, acumulado));
+            }
+
+            if (producto.getIdCategoria() != null) {
+                pesoCategorias.merge(producto.getIdCategoria(), peso, Integer::sum);
+            }
+        }
+
+        sugerencias.addAll(marcas.values());
+        for (Categoria categoria : categorias) {
+            int peso = pesoCategorias.getOrDefault(categoria.getIdCategoria(), 0);
+            sugerencias.add(new Sugerencia(categoria.getNombre(), TipoSugerencia.CATEGORIA,
+                    categoria.getIdCategoria(), peso));
+        }
+
+        // Insertar de más a menos popular: las listas de cada nodo quedan ya ordenadas
+        sugerencias.sort((a, b) -> a.peso != b.peso
+                ? Integer.compare(b.peso, a.peso)
+                : String.CASE_INSENSITIVE_ORDER.compare(a.texto, b.texto));
+
+        NodoConstruccion raiz = new NodoConstruccion('\0');
+        for (int i = 0; i < sugerencias.size(); i++) {
+            for (String clave : claves(sugerencias.get(i).texto)) {
+                insertar(raiz, clave, i);
+            }
+        }
+
+        return aplanar(raiz, sugerencias.toArray(new Sugerencia[0]));
+    }
+
+    /**
+     * Claves de una sugerencia: el texto normalizado desde el inicio de cada palabra
+     */
+    private static List<String> claves(String texto) {
+        String frase = TextoUtil.normalizarFrase(texto).trim();
+        List<String> claves = new ArrayList<>();
+        if (frase.isEmpty()) {
+            return claves;
+        }
+
+        int desde = 0;
+        while (desde >= 0) {
+            String clave = frase.substring(desde);
+            claves.add(clave.length() > LONGITUD_MAXIMA_CLAVE
+                    ? clave.substring(0, LONGITUD_MAXIMA_CLAVE)
+                    : clave);
+            int espacio = frase.indexOf(' ', desde);
+            desde = espacio >= 0 ? espacio + 1 : -1;
+        }
+        return claves;
+    }
+
+    private static void insertar(NodoConstruccion raiz, String clave, int sugerencia) {
+        NodoConstruccion nodo = raiz;
+        for (int i = 0; i < clave.length(); i++) {
+            char c = clave.charAt(i);
+            nodo = nodo.hijos.computeIfAbsent(c, NodoConstruccion::new);
+            nodo.ofrecer(sugerencia);
+        }
+    }
+
+    /**
+     * Convierte el árbol de construcción en arrays planos recorriéndolo en anchura,
+     * de modo que los hijos de cada nodo queden contiguos y ordenados por carácter
+     */
+    private static Trie aplanar(NodoConstruccion raiz, Sugerencia[] sugerencias) {
+        List<NodoConstruccion> orden = new ArrayList<>();
+        Deque<NodoConstruccion> cola = new ArrayDeque<>();
+        cola.add(raiz);
+        while (!cola.isEmpty()) {
+            NodoConstruccion nodo = cola.poll();
+            orden.add(nodo);
+            cola.addAll(nodo.hijos.values());
+        }
+
+        int n = orden.size();
+        char[] etiquetas = new char[n];
+        int[] primerHijo = new int[n];
+        int[] numHijos = new int[n];
+        int[] desplazamientos = new int[n + 1];
+
+        int siguienteHijo = 1;
+        int totalTop = 0;
+        for (int i = 0; i < n; i++) {
+            NodoConstruccion nodo = orden.get(i);
+            etiquetas[i] = nodo.etiqueta;
+            primerHijo[i] = siguienteHijo;
+            numHijos[i] = nodo.hijos.size();
+            siguienteHijo += nodo.hijos.size();
+            desplazamientos[i] = totalTop;
+            totalTop += nodo.totalTop;
+        }
+        desplazamientos[n] = totalTop;
+
+        int[] top = new int[totalTop];
+        for (int i = 0; i < n; i++) {
+            NodoConstruccion nodo = orden.get(i);
+            System.arraycopy(nodo.top, 0, top, desplazamientos[i], nodo.totalTop);
+        }
+
+        return new Trie(etiquetas, primerHijo, numHijos, desplazamientos, top, sugerencias);
+    }
+
+    // ==================== CLASES INTERNAS ====================
+
+    /**
+     * Tipo de elemento sugerido
+     */
+    public enum TipoSugerencia {
+        PRODUCTO, MARCA, CATEGORIA
+    }
+
+    /**
+     * Sugerencia de autocompletado (inmutable)
+     * El ID es el del producto o la categoría; las marcas no tienen ID
+     */
+    public static final class Sugerencia {
+        private final String texto;
+        private final TipoSugerencia tipo;
+        private final Integer id;
+        private final int peso;
+
+        public Sugerencia(String texto, TipoSugerencia tipo, Integer id, int peso) {
+            this.texto = texto;
+            this.tipo = tipo;
+            this.id = id;
+            this.peso = peso;
+        }
+
+        public String getTexto() { return texto; }
+        public TipoSugerencia getTipo() { return tipo; }
+        public Integer getId() { return id; }
+        public int getPeso() { return peso; }
+    }
+
+    /**
+     * Nodo mutable usado solo durante la construcción
+     */
+    private static final class NodoConstruccion {
+        private final char etiqueta;
+        private final TreeMap<Character, NodoConstruccion> hijos = new TreeMap<>();
+        private final int[] top = new int[MAXIMO_SUGERENCIAS];
+        private int totalTop;
+
+        NodoConstruccion(char etiqueta) {
+            this.etiqueta = etiqueta;
+        }
+
+        /**
+         * Añade la sugerencia si aún hay hueco; llegan en orden de popularidad,
+         * así que basta con descartar repetidas (varias palabras de un mismo texto)
+         */
+        void ofrecer(int sugerencia) {
+            if (totalTop == MAXIMO_SUGERENCIAS || (totalTop > 0 && top[totalTop - 1] == sugerencia)) {
+                return;
+            }
+            for (int k = 0; k < totalTop; k++) {
+                if (top[k] == sugerencia) {
+                    return;
+                }
+            }
+            top[totalTop++] = sugerencia;
+        }
+    }
+
+    /**
+     * Trie inmutable en arrays planos
+     * Los hijos del nodo i son los nodos primerHijo[i] .. primerHijo[i] + numHijos[i] - 1,
+     * ordenados por etiqueta; sus mejores sugerencias están en top[desplazamientos[i] .. desplazamientos[i+1])
+     */
+    static final class Trie {
+        static final Trie VACIO = new Trie(new char[1], new int[1], new int[1], new int[2],
+                new int[0], new Sugerencia[0]);
+
+        private final char[] etiquetas;
+        private final int[] primerHijo;
+        private final int[] numHijos;
+        private final int[] desplazamientos;
+        private final int[] top;
+        private final Sugerencia[] sugerencias;
+
+        Trie(char[] etiquetas, int[] primerHijo, int[] numHijos, int[] desplazamientos,
+             int[] top, Sugerencia[] sugerencias) {
+            this.etiquetas = etiquetas;
+            this.primerHijo = primerHijo;
+            this.numHijos = numHijos;
+            this.desplazamientos = desplazamientos;
+            this.top = top;
+            this.sugerencias = sugerencias;
+        }
+
+        List<Sugerencia> sugerir(String clave, int limite) {
+            int nodo = 0;
+            for (int i = 0; i < clave.length() && nodo >= 0; i++) {
+                nodo = hijo(nodo, clave.charAt(i));
+            }
+            if (nodo < 0) {
+                return Collections.emptyList();
+            }
+
+            int desde = desplazamientos[nodo];
+            int hasta = Math.min(desplazamientos[nodo + 1], desde + limite);
+            List<Sugerencia> resultado = new ArrayList<>(hasta - desde);
+            for (int k = desde; k < hasta; k++) {
+                resultado.add(sugerencias[top[k]]);
+            }
+            return resultado;
+        }
+
+        /**
+         * Búsqueda binaria del hijo con la etiqueta indicada; -1 si no existe
+         */
+        private int hijo(int nodo, char c) {
+            int bajo = primerHijo[nodo];
+            int alto = bajo + numHijos[nodo] - 1;
+            while (bajo <= alto) {
+                int medio = (bajo + alto) >>> 1;
+                char etiqueta = etiquetas[medio];
+                if (etiqueta < c) {
+                    bajo = medio + 1;
+                } else if (etiqueta > c) {
+                    alto = medio - 1;
+                } else {
+                    return medio;
+                }
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,540 @@
+package com.techzone.ecommerce.techzone.service;
+
+import com.techzone.ecommerce.techzone.dao.ProductoDAO;
+import com.techzone.ecommerce.techzone.model.Producto;
+import com.techzone.ecommerce.techzone.service.ProductoService.FiltroProductos;
+import com.techzone.ecommerce.techzone.service.ProductoService.OrdenProducto;
+import com.techzone.ecommerce.techzone.util.TextoUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Motor de búsqueda de productos en memoria (índice invertido)
+ * Indexa nombre, marca, modelo, SKU y descripción con acentos plegados.
+ * Las consultas son AND entre términos (el último también se busca como prefijo)
+ * y se ordenan por relevancia TF-IDF ponderada por campo. Un término sin coincidencias
+ * se sustituye por los parecidos del vocabulario (CorrectorTerminos): "samsumg" -> "samsung".
+ *
+ * Guarda además los datos mínimos para aplicar los filtros y ordenamientos de
+ * FiltroProductos sin consultar la BD; solo la página resultante se carga por ID.
+ * ProductoService lo mantiene al día en cada alta, edición o baja.
+ *
+ * Las lecturas de la BD se hacen fuera del bloqueo, así que cada carga toma antes un número
+ * de versión creciente y solo escribe un producto si su última escritura es de una versión
+ * anterior: una reconstrucción completa lenta no pisa un reindexado posterior de un producto.
+ *
+ * @author TechZone Team
+ */
+public class BuscadorProductos {
+
+    private static final Logger logger = LoggerFactory.getLogger(BuscadorProductos.class);
+    private static volatile BuscadorProductos instance;
+
+    // Peso de cada campo en la puntuación
+    private static final int PESO_NOMBRE = 5;
+    private static final int PESO_SKU = 4;
+    private static final int PESO_MARCA = 3;
+    private static final int PESO_MODELO = 3;
+    private static final int PESO_DESCRIPCION = 1;
+
+    private static final int MINIMO_PREFIJO = 2;
+    private static final int MAXIMO_EXPANSIONES_PREFIJO = 50;
+    private static final double FACTOR_PREFIJO = 0.5;
+    private static final double FACTOR_CORREGIDO = 0.3;
+
+    private final ProductoDAO productoDAO;
+
+    // término -> (idProducto -> peso acumulado del término en el producto)
+    private final NavigableMap<String, Map<Integer, Integer>> indice = new TreeMap<>();
+    private final Map<Integer, Documento> documentos = new HashMap<>();
+    private final CorrectorTerminos corrector = new CorrectorTerminos();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // idProducto -> versión de la última escritura (alta, edición o baja) en el índice
+    private final Map<Integer, Long> versiones = new HashMap<>();
+    private final AtomicLong ultimaVersion = new AtomicLong();
+
+    private final Set<Integer> pendientes = ConcurrentHashMap.newKeySet();
+    private volatile boolean construido = false;
+
+    // Constructor para inyección de dependencias (testing)
+    public BuscadorProductos(ProductoDAO productoDAO) {
+        this.productoDAO = productoDAO;
+    }
+
+    /**
+     * Obtiene la instancia única del buscador
+     */
+    public static BuscadorProductos getInstance() {
+        if (instance == null) {
+            synchronized (BuscadorProductos.class) {
+                if (instance == null) {
+                    instance = new BuscadorProductos(new ProductoDAO());
+                }
+            }
+        }
+        return instance;
+    }
+
+    // ==================== CONSTRUCCIÓN Y MANTENIMIENTO ====================
+
+    /**
+     * Indexa todo el catálogo desde la BD, sustituyendo el contenido anterior
+     * Los productos escritos mientras se cargaba el catálogo conservan su versión más reciente
+     */
+    public void reconstruir() throws SQLException {
+        long inicio = System.currentTimeMillis();
+        long version = ultimaVersion.incrementAndGet();
+        List<Producto> productos = productoDAO.obtenerTodos();
+
+        lock.writeLock().lock();
+        try {
+            Set<Integer> cargados = new HashSet<>();
+            for (Producto producto : productos) {
+                cargados.add(producto.getIdProducto());
+                if (aplicarVersion(producto.getIdProducto(), version)) {
+                    quitar(producto.getIdProducto());
+                    agregar(producto);
+                }
+            }
+
+            // Productos que ya no están en la BD
+            for (Integer id : new ArrayList<>(documentos.keySet())) {
+                if (!cargados.contains(id) && aplicarVersion(id, version)) {
+                    quitar(id);
+                }
+            }
+            construido = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        logger.info("Índice de búsqueda construido: {} productos, {} términos en {} ms",
+                productos.size(), indice.size(), System.currentTimeMillis() - inicio);
+    }
+
+    /**
+     * Añade o reemplaza un producto en el índice
+     */
+    public void indexar(Producto producto) {
+        if (producto == null || producto.getIdProducto() == null) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            aplicarVersion(producto.getIdProducto(), ultimaVersion.incrementAndGet());
+            quitar(producto.getIdProducto());
+            agregar(producto);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Recarga desde la BD y reindexa los productos indicados (los que ya no existen se eliminan)
+     */
+    public void reindexar(Collection<Integer> idsProductos) throws SQLException {
+        if (idsProductos == null || idsProductos.isEmpty()) {
+            return;
+        }
+
+        long version = ultimaVersion.incrementAndGet();
+        Map<Integer, Producto> actuales = productoDAO.buscarPorIds(idsProductos);
+
+        lock.writeLock().lock();
+        try {
+            for (Integer id : idsProductos) {
+                if (!aplicarVersion(id, version)) {
+                    continue;
+                }
+                quitar(id);
+                Producto producto = actuales.get(id);
+                if (producto != null) {
+                    agregar(producto);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Anota productos cuyo stock o estado cambió fuera de ProductoService (pedidos);
+     * se reindexan en la siguiente pasada en segundo plano
+     */
+    public void marcarModificados(Collection<Integer> idsProductos) {
+        pendientes.addAll(idsProductos);
+    }
+
+    /**
+     * Reindexa los productos anotados como modificados
+     * @return Número de productos reindexados
+     */
+    public int reindexarPendientes() throws SQLException {
+        if (pendientes.isEmpty()) {
+            return 0;
+        }
+
+        List<Integer> ids = new ArrayList<>(pendientes);
+        pendientes.removeAll(ids);
+        try {
+            reindexar(ids);
+            return ids.size();
+        } catch (SQLException | RuntimeException e) {
+            pendientes.addAll(ids);
+            throw e;
+        }
+    }
+
+    /**
+     * Elimina un producto del índice
+     */
+    public void eliminar(int idProducto) {
+        lock.writeLock().lock();
+        try {
+            aplicarVersion(idProducto, ultimaVersion.incrementAndGet());
+            quitar(idProducto);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indica si el índice ya contiene el catálogo completo
+     */
+    public boolean estaConstruido() {
+        return construido;
+    }
+
+    // ==================== BÚSQUEDA ====================
+
+    /**
+     * Busca por el término del filtro, aplica el resto de criterios y devuelve la página pedida
+     *
+     * @param filtros Filtro con término de búsqueda, criterios, orden y paginación
+     * @return IDs de la página en orden y total de coincidencias
+     */
+    public ResultadoIds buscar(FiltroProductos filtros) {
+        List<String> terminos = TextoUtil.tokenizar(filtros.getTerminoBusqueda());
+        if (terminos.isEmpty()) {
+            return new ResultadoIds(new ArrayList<>(), 0);
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Integer, Double> puntuaciones = coincidencias(terminos);
+
+            List<Documento> encontrados = new ArrayList<>();
+            for (Integer id : puntuaciones.keySet()) {
+                Documento doc = documentos.get(id);
+                if (doc != null && doc.cumple(filtros)) {
+                    encontrados.add(doc);
+                }
+            }
+
+            encontrados.sort(comparador(filtros.getOrden(), puntuaciones));
+
+            int porPagina = Math.max(1, filtros.getProductosPorPagina());
+            int desde = (int) Math.min((filtros.getPagina() - 1L) * porPagina, encontrados.size());
+            int hasta = Math.min(desde + porPagina, encontrados.size());
+
+            List<Integer> pagina = new ArrayList<>(hasta - desde);
+            for (Documento doc : encontrados.subList(desde, hasta)) {
+                pagina.add(doc.idProducto);
+            }
+
+            return new ResultadoIds(pagina, encontrados.size());
+
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Obtiene los IDs de todos los productos que coinciden con el texto, sin aplicar otros filtros
+     * Usado por el motor de facetas como conjunto base de una búsqueda
+     */
+    public Set<Integer> buscarIds(String termino) {
+        List<String> terminos = TextoUtil.tokenizar(termino);
+        if (terminos.isEmpty()) {
+            return new HashSet<>();
+        }
+
+        lock.readLock().lock();
+        try {
+            return new HashSet<>(coincidencias(terminos).keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Intersección (AND) de los términos con puntuación TF-IDF acumulada
+     * Debe llamarse con el bloqueo de lectura adquirido
+     */
+    private Map<Integer, Double> coincidencias(List<String> terminos) {
+        Set<String> unicos = new LinkedHashSet<>(terminos);
+        List<Map<Integer, Double>> porTermino = new ArrayList<>();
+        String ultimo = terminos.get(terminos.size() - 1);
+        CorrectorTerminos.Presupuesto presupuesto = new CorrectorTerminos.Presupuesto();
+
+        for (String termino : unicos) {
+            Map<Integer, Double> parcial = puntuarTermino(termino, termino.equals(ultimo));
+            if (parcial.isEmpty()) {
+                parcial = puntuarCorregido(termino, presupuesto);
+            }
+            if (parcial.isEmpty()) {
+                return new HashMap<>();
+            }
+            porTermino.add(parcial);
+        }
+
+        // Empezar por el término más selectivo
+        porTermino.sort(Comparator.comparingInt(Map::size));
+        Map<Integer, Double> resultado = new HashMap<>(porTermino.get(0));
+
+        for (int i = 1; i < porTermino.size() && !resultado.isEmpty(); i++) {
+            Map<Integer, Double> siguiente = porTermino.get(i);
+            resultado.keySet().retainAll(siguiente.keySet());
+            for (Map.Entry<Integer, Double> e : resultado.entrySet()) {
+                e.setValue(e.getValue() + siguiente.get(e.getKey()));
+            }
+        }
+
+        return resultado;
+    }
+
+    /**
+     * Puntuación de un término; si es prefijo, se suman las expansiones (con menos peso)
+     */
+    private Map<Integer, Double> puntuarTermino(String termino, boolean comoPrefijo) {
+        Map<Integer, Double> puntuacion = new HashMap<>();
+        int totalDocs = Math.max(1, documentos.size());
+
+        acumular(puntuacion, termino, indice.get(termino), totalDocs, 1.0);
+
+        if (comoPrefijo && termino.length() >= MINIMO_PREFIJO) {
+            int expansiones = 0;
+            for (Map.Entry<String, Map<Integer, Integer>> entrada
+                    : indice.subMap(termino, false, termino + Character.MAX_VALUE, false).entrySet()) {
+                if (++expansiones > MAXIMO_EXPANSIONES_PREFIJO) {
+                    break;
+                }
+                acumular(puntuacion, entrada.getKey(), entrada.getValue(), totalDocs, FACTOR_PREFIJO);
+            }
+        }
+
+        return puntuacion;
+    }
+
+    /**
+     * Puntuación de un término mal escrito a partir de sus correcciones (con menos peso)
+     */
+    private Map<Integer, Double> puntuarCorregido(String termino, CorrectorTerminos.Presupuesto presupuesto) {
+        Map<Integer, Double> puntuacion = new HashMap<>();
+        int totalDocs = Math.max(1, documentos.size());
+
+        for (String corregido : corrector.corregir(termino, presupuesto)) {
+            acumular(puntuacion, corregido, indice.get(corregido), totalDocs, FACTOR_CORREGIDO);
+        }
+
+        return puntuacion;
+    }
+
+    private void acumular(Map<Integer, Double> puntuacion, String termino,
+                          Map<Integer, Integer> postings, int totalDocs, double factor) {
+        if (postings == null || postings.isEmpty()) {
+            return;
+        }
+
+        double idf = Math.log(1.0 + (double) totalDocs / postings.size());
+        for (Map.Entry<Integer, Integer> posting : postings.entrySet()) {
+            puntuacion.merge(posting.getKey(), posting.getValue() * idf * factor, Math::max);
+        }
+    }
+
+    private Comparator<Documento> comparador(OrdenProducto orden, Map<Integer, Double> puntuaciones) {
+        Comparator<Documento> porId = Comparator.comparingInt(d -> d.idProducto);
+
+        if (orden == null || orden == OrdenProducto.RELEVANCIA) {
+            Comparator<Documento> porRelevancia = Comparator.comparingDouble(
+                    (Documento d) -> puntuaciones.get(d.idProducto)).reversed();
+            return porRelevancia.thenComparing(porId);
+        }
+
+        switch (orden) {
+            case PRECIO_ASC:
+                return Comparator.comparingLong((Documento d) -> d.precioCentimos).thenComparing(porId);
+            case PRECIO_DESC:
+                return Comparator.comparingLong((Documento d) -> d.precioCentimos).thenComparing(porId).reversed();
+            case NOMBRE_ASC:
+                return Comparator.comparing((Documento d) -> d.nombre).thenComparing(porId);
+            case NOMBRE_DESC:
+                return Comparator.comparing((Documento d) -> d.nombre).thenComparing(porId).reversed();
+            case MAS_RECIENTE:
+            default:
+                return Comparator.comparing((Documento d) -> d.fechaRegistro,
+                                Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder()))
+                        .thenComparing(porId).reversed();
+        }
+    }
+
+    // ==================== UTILIDADES PRIVADAS ====================
+
+    /**
+     * Registra la escritura del producto con la versión de su carga si es más reciente que la
+     * última aplicada; requiere el bloqueo de escritura
+     *
+     * @return false si el producto ya tiene una versión posterior (los datos cargados están obsoletos)
+     */
+    private boolean aplicarVersion(int idProducto, long version) {
+        Long actual = versiones.get(idProducto);
+        if (actual != null && actual > version) {
+            return false;
+        }
+        versiones.put(idProducto, version);
+        return true;
+    }
+
+    /**
+     * Añade el producto a las listas de cada término; requiere el bloqueo de escritura
+     */
+    private void agregar(Producto producto) {
+        Map<String, Integer> pesos = new HashMap<>();
+        sumarCampo(pesos, producto.getNombre(), PESO_NOMBRE);
+        sumarCampo(pesos, producto.getSku(), PESO_SKU);
+        sumarCampo(pesos, producto.getMarca(), PESO_MARCA);
+        sumarCampo(pesos, producto.getModelo(), PESO_MODELO);
+        sumarCampo(pesos, producto.getDescripcion(), PESO_DESCRIPCION);
+
+        int id = producto.getIdProducto();
+        for (Map.Entry<String, Integer> peso : pesos.entrySet()) {
+            Map<Integer, Integer> postings = indice.get(peso.getKey());
+            if (postings == null) {
+                postings = new HashMap<>();
+                indice.put(peso.getKey(), postings);
+                corrector.agregarTermino(peso.getKey());
+            }
+            postings.put(id, peso.getValue());
+        }
+
+        documentos.put(id, new Documento(producto, pesos.keySet()));
+    }
+
+    /**
+     * Quita el producto de todas sus listas; requiere el bloqueo de escritura
+     */
+    private void quitar(int idProducto) {
+        Documento anterior = documentos.remove(idProducto);
+        if (anterior == null) {
+            return;
+        }
+
+        for (String termino : anterior.terminos) {
+            Map<Integer, Integer> postings = indice.get(termino);
+            if (postings != null) {
+                postings.remove(idProducto);
+                if (postings.isEmpty()) {
+                    indice.remove(termino);
+                    corrector.quitarTermino(termino);
+                }
+            }
+        }
+    }
+
+    private void sumarCampo(Map<String, Integer> pesos, String texto, int peso) {
+        for (String termino : TextoUtil.tokenizar(texto)) {
+            pesos.merge(termino, peso, Integer::sum);
+        }
+    }
+
+    // ==================== CLASES INTERNAS ====================
+
+    /**
+     * Datos mínimos de un producto indexado para filtrar y ordenar en memoria
+     */
+    private static final class Documento {
+        private final int idProducto;
+        private final Integer idCategoria;
+        private final String marca;
+        private final String nombre;
+        private final long precioCentimos;
+        private final long precioFinalCentimos;
+        private final BigDecimal descuento;
+        private final int stock;
+        private final Producto.EstadoProducto estado;
+        private final LocalDateTime fechaRegistro;
+        private final Set<String> terminos;
+
+        Documento(Producto producto, Set<String> terminos) {
+            this.idProducto = producto.getIdProducto();
+            this.idCategoria = producto.getIdCategoria();
+            this.marca = producto.getMarca();
+            this.nombre = producto.getNombre() != null ? producto.getNombre() : "";
+            this.precioCentimos = producto.getPrecioCentimos();
+            this.precioFinalCentimos = producto.getPrecioFinalCentimos();
+            this.descuento = producto.getDescuento() != null ? producto.getDescuento() : BigDecimal.ZERO;
+            this.stock = producto.getStock() != null ? producto.getStock() : 0;
+            this.estado = producto.getEstado();
+            this.fechaRegistro = producto.getFechaRegistro();
+            this.terminos = new HashSet<>(terminos);
+        }
+
+        /**
+         * Aplica los mismos criterios que ProductoDAO.buscarConFiltros
+         */
+        boolean cumple(FiltroProductos filtros) {
+            if (filtros.getIdCategoria() != null && !filtros.getIdCategoria().equals(idCategoria)) {
+                return false;
+            }
+            if (filtros.getMarca() != null && !filtros.getMarca().trim().isEmpty()
+                    && (marca == null || !marca.trim().equalsIgnoreCase(filtros.getMarca().trim()))) {
+                return false;
+            }
+            if (precioFinalCentimos < filtros.getPrecioMinimoCentimos()
+                    || precioFinalCentimos > filtros.getPrecioMaximoCentimos()) {
+                return false;
+            }
+            if (filtros.isSoloDisponibles()
+                    && (estado != Producto.EstadoProducto.DISPONIBLE || stock <= 0)) {
+                return false;
+            }
+            return !filtros.isSoloConDescuento() || descuento.compareTo(BigDecimal.ZERO) > 0;
+        }
+    }
+
+    /**
+     * Página de IDs resultante de una búsqueda
+     */
+    public static class ResultadoIds {
+        private final List<Integer> ids;
+        private final int total;
+
+        public ResultadoIds(List<Integer> ids, int total) {
+            this.ids = ids;
+            this.total = total;
+        }
+
+        public List<Integer> getIds() { return ids; }
+        public int getTotal() { return total; }
+    }
+}
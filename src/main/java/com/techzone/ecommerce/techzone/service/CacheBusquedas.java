@@ -0,0 +1,298 @@
+package com.techzone.ecommerce.techzone.service;
+
+import com.techzone.ecommerce.techzone.model.Producto;
+import com.techzone.ecommerce.techzone.service.ProductoService.FiltroProductos;
+import com.techzone.ecommerce.techzone.service.ProductoService.OrdenProducto;
+import com.techzone.ecommerce.techzone.service.ProductoService.ResultadoBusqueda;
+import com.techzone.ecommerce.techzone.util.TextoUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caché de resultados de ProductoService.buscarProductos
+ * La clave es el filtro canónico (término normalizado, marca sin mayúsculas, precios sin
+ * ceros finales...), así "Laptop " y "laptop" comparten entrada. Las entradas caducan por
+ * TTL y por LRU al superar la capacidad, y se descartan en bloque con {@link #invalidar()}
+ * cuando cambian los productos.
+ *
+ * Los fallos concurrentes de una misma clave se agrupan: solo uno ejecuta la búsqueda y
+ * el resto espera su resultado, evitando ráfagas de consultas idénticas a la BD.
+ *
+ * @author TechZone Team
+ */
+public class CacheBusquedas {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheBusquedas.class);
+    private static volatile CacheBusquedas instance;
+
+    public static final int CAPACIDAD_DEFECTO = 1_000;
+    public static final long TTL_DEFECTO_SEGUNDOS = 60;
+
+    private final int capacidad;
+    private final long ttlMillis;
+
+    private final Map<ClaveBusqueda, Entrada> entradas;
+    private final ConcurrentHashMap<ClaveBusqueda, CompletableFuture<ResultadoBusqueda>> enCurso =
+            new ConcurrentHashMap<>();
+
+    // Se incrementa en cada invalidación; una carga iniciada antes no se publica
+    private final AtomicLong version = new AtomicLong();
+
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+
+    // Constructor para inyección de dependencias (testing)
+    public CacheBusquedas(int capacidad, long ttlSegundos) {
+        this.capacidad = Math.max(1, capacidad);
+        this.ttlMillis = Math.max(0, ttlSegundos) * 1000;
+        this.entradas = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ClaveBusqueda, Entrada> eldest) {
+                return size() > CacheBusquedas.this.capacidad;
+            }
+        };
+    }
+
+    /**
+     * Obtiene la instancia única de la caché
+     */
+    public static CacheBusquedas getInstance() {
+        if (instance == null) {
+            synchronized (CacheBusquedas.class) {
+                if (instance == null) {
+                    instance = new CacheBusquedas(CAPACIDAD_DEFECTO, TTL_DEFECTO_SEGUNDOS);
+                }
+            }
+        }
+        return instance;
+    }
+
+    // ==================== LECTURA ====================
+
+    /**
+     * Devuelve el resultado cacheado para los filtros o lo calcula con el cargador
+     * Si otra petición ya está calculando la misma clave, espera a su resultado
+     *
+     * @param filtros Filtros de la búsqueda
+     * @param cargador Búsqueda real, ejecutada solo en caso de fallo
+     * @return Resultado con copias de los productos (el llamador puede modificarlos)
+     * @throws ProductoService.ServiceException Si la búsqueda falla
+     */
+    public ResultadoBusqueda obtener(FiltroProductos filtros, Cargador cargador)
+            throws ProductoService.ServiceException {
+        ClaveBusqueda clave = ClaveBusqueda.de(filtros);
+
+        Entrada entrada = buscarVigente(clave);
+        if (entrada != null) {
+            aciertos.increment();
+            return copiar(entrada.resultado);
+        }
+
+        CompletableFuture<ResultadoBusqueda> propia = new CompletableFuture<>();
+        CompletableFuture<ResultadoBusqueda> existente = enCurso.putIfAbsent(clave, propia);
+        if (existente != null) {
+            aciertos.increment();
+            return copiar(esperar(existente));
+        }
+
+        fallos.increment();
+        try {
+            long versionInicial = version.get();
+            ResultadoBusqueda resultado = cargador.cargar();
+
+            // Comprobación y escritura bajo el mismo cerrojo que invalidar(): un resultado
+            // calculado antes de una invalidación no puede colarse después de ella
+            synchronized (entradas) {
+                if (version.get() == versionInicial) {
+                    entradas.put(clave, new Entrada(resultado));
+                }
+            }
+
+            propia.complete(resultado);
+            return copiar(resultado);
+
+        } catch (ProductoService.ServiceException | RuntimeException e) {
+            propia.completeExceptionally(e);
+            throw e;
+        } finally {
+            enCurso.remove(clave, propia);
+        }
+    }
+
+    private Entrada buscarVigente(ClaveBusqueda clave) {
+        synchronized (entradas) {
+            Entrada entrada = entradas.get(clave);
+            if (entrada == null) {
+                return null;
+            }
+            if (System.currentTimeMillis() - entrada.cargadaEn >= ttlMillis) {
+                entradas.remove(clave);
+                return null;
+            }
+            return entrada;
+        }
+    }
+
+    private ResultadoBusqueda esperar(CompletableFuture<ResultadoBusqueda> futuro)
+            throws ProductoService.ServiceException {
+        try {
+            return futuro.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProductoService.ServiceException("Búsqueda interrumpida");
+        } catch (ExecutionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof ProductoService.ServiceException) {
+                throw (ProductoService.ServiceException) causa;
+            }
+            if (causa instanceof RuntimeException) {
+                throw (RuntimeException) causa;
+            }
+            throw new ProductoService.ServiceException("Error al buscar productos: " + causa.getMessage());
+        }
+    }
+
+    /**
+     * Copia el resultado para que los servlets puedan completar los productos (imágenes)
+     * sin modificar la entrada compartida
+     */
+    private static ResultadoBusqueda copiar(ResultadoBusqueda resultado) {
+        List<Producto> productos = new ArrayList<>(resultado.getProductos().size());
+        for (Producto original : resultado.getProductos()) {
+            Producto copia = new Producto(original);
+            copia.setCategoria(original.getCategoria());
+            copia.setPromedioCalificacion(original.getPromedioCalificacion());
+            copia.setTotalCalificaciones(original.getTotalCalificaciones());
+            productos.add(copia);
+        }
+        return new ResultadoBusqueda(productos, resultado.getTotalProductos(),
+                resultado.getPaginaActual(), resultado.getTotalPaginas());
+    }
+
+    // ==================== INVALIDACIÓN ====================
+
+    /**
+     * Descarta todos los resultados cacheados
+     * Debe invocarse tras escrituras que cambien productos, precios o stock
+     */
+    public void invalidar() {
+        synchronized (entradas) {
+            version.incrementAndGet();
+            entradas.clear();
+        }
+        // Las búsquedas que lleguen a partir de ahora no esperan a cargas iniciadas antes
+        enCurso.clear();
+        logger.debug("Caché de búsquedas invalidada");
+    }
+
+    // ==================== ESTADÍSTICAS ====================
+
+    /**
+     * Obtiene las estadísticas de uso de la caché
+     */
+    public CategoriaCache.EstadisticasCache obtenerEstadisticas() {
+        int tamano;
+        synchronized (entradas) {
+            tamano = entradas.size();
+        }
+        return new CategoriaCache.EstadisticasCache(aciertos.sum(), fallos.sum(), tamano, tamano > 0);
+    }
+
+    // ==================== CLASES INTERNAS ====================
+
+    /**
+     * Búsqueda real que se ejecuta en caso de fallo
+     */
+    @FunctionalInterface
+    public interface Cargador {
+        ResultadoBusqueda cargar() throws ProductoService.ServiceException;
+    }
+
+    private static final class Entrada {
+        private final ResultadoBusqueda resultado;
+        private final long cargadaEn;
+
+        private Entrada(ResultadoBusqueda resultado) {
+            this.resultado = resultado;
+            this.cargadaEn = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Forma canónica de FiltroProductos: filtros equivalentes producen claves iguales
+     */
+    static final class ClaveBusqueda {
+        private final Integer idCategoria;
+        private final String marca;
+        private final String termino;
+        private final BigDecimal precioMinimo;
+        private final BigDecimal precioMaximo;
+        private final boolean soloDisponibles;
+        private final boolean soloConDescuento;
+        private final OrdenProducto orden;
+        private final int pagina;
+        private final int productosPorPagina;
+        private final int hash;
+
+        private ClaveBusqueda(FiltroProductos filtros) {
+            this.idCategoria = filtros.getIdCategoria();
+            this.marca = filtros.getMarca() == null || filtros.getMarca().trim().isEmpty()
+                    ? null : filtros.getMarca().trim().toLowerCase();
+            String frase = filtros.getTerminoBusqueda() == null
+                    ? "" : TextoUtil.normalizarFrase(filtros.getTerminoBusqueda()).trim();
+            this.termino = frase.isEmpty() ? null : frase;
+            this.precioMinimo = canonico(filtros.getPrecioMinimo());
+            this.precioMaximo = canonico(filtros.getPrecioMaximo());
+            this.soloDisponibles = filtros.isSoloDisponibles();
+            this.soloConDescuento = filtros.isSoloConDescuento();
+            this.orden = filtros.getOrden();
+            this.pagina = filtros.getPagina();
+            this.productosPorPagina = filtros.getProductosPorPagina();
+            this.hash = Objects.hash(idCategoria, marca, termino, precioMinimo, precioMaximo,
+                    soloDisponibles, soloConDescuento, orden, pagina, productosPorPagina);
+        }
+
+        static ClaveBusqueda de(FiltroProductos filtros) {
+            return new ClaveBusqueda(filtros);
+        }
+
+        // 100, 100.0 y 100.00 son el mismo precio
+        private static BigDecimal canonico(BigDecimal precio) {
+            return precio == null ? null : precio.stripTrailingZeros();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof ClaveBusqueda)) return false;
+            ClaveBusqueda otra = (ClaveBusqueda) o;
+            return soloDisponibles == otra.soloDisponibles
+                    && soloConDescuento == otra.soloConDescuento
+                    && pagina == otra.pagina
+                    && productosPorPagina == otra.productosPorPagina
+                    && Objects.equals(idCategoria, otra.idCategoria)
+                    && Objects.equals(marca, otra.marca)
+                    && Objects.equals(termino, otra.termino)
+                    && Objects.equals(precioMinimo, otra.precioMinimo)
+                    && Objects.equals(precioMaximo, otra.precioMaximo)
+                    && orden == otra.orden;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
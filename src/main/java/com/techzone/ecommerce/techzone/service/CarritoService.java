@@ -5,6 +5,7 @@ import com.techzone.ecommerce.techzone.dao.CarritoDAO;
 import com.techzone.ecommerce.techzone.dao.ProductoDAO;
 import com.techzone.ecommerce.techzone.model.Carrito;
 import com.techzone.ecommerce.techzone.model.Producto;
+import com.techzone.ecommerce.techzone.util.PrecioUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -12,6 +13,7 @@ import java.math.BigDecimal;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -30,6 +32,12 @@ public class CarritoService {
         this.productoDAO = new ProductoDAO();
     }
 
+    // Constructor para inyección de dependencias (testing)
+    public CarritoService(CarritoDAO carritoDAO, ProductoDAO productoDAO) {
+        this.carritoDAO = carritoDAO;
+        this.productoDAO = productoDAO;
+    }
+
     // ==================== GESTIÓN DEL CARRITO ====================
 
     /**
@@ -225,21 +233,22 @@ public class CarritoService {
 
             // Enriquecer items con información de productos
             List<ItemCarrito> itemsCompletos = new ArrayList<>();
-            BigDecimal subtotal = BigDecimal.ZERO;
-            BigDecimal totalDescuentos = BigDecimal.ZERO;
+            long subtotalCentimos = 0;
+            long descuentosCentimos = 0;
             int cantidadTotal = 0;
             List<String> problemas = new ArrayList<>();
 
+            // Cargar todos los productos del carrito en una sola consulta
+            Map<Integer, Producto> productos = productoDAO.buscarPorIds(idsProductos(items));
+
             for (Carrito item : items) {
-                Optional<Producto> productoOpt = productoDAO.buscarPorId(item.getIdProducto());
+                Producto producto = productos.get(item.getIdProducto());
 
-                if (!productoOpt.isPresent()) {
+                if (producto == null) {
                     problemas.add("Producto ID " + item.getIdProducto() + " no encontrado");
                     continue;
                 }
 
-                Producto producto = productoOpt.get();
-
                 // Verificar disponibilidad
                 if (producto.getEstado() != Producto.EstadoProducto.DISPONIBLE) {
                     problemas.add(producto.getNombre() + " ya no está disponible");
@@ -255,14 +264,14 @@ public class CarritoService {
                     continue;
                 }
 
-                // Calcular precios
+                // Calcular precios en céntimos con los importes precalculados del producto
+                long subtotalItemCentimos = producto.getPrecioFinalCentimos() * item.getCantidad();
+                long descuentoItemCentimos = (producto.getPrecioCentimos() - producto.getPrecioFinalCentimos())
+                        * item.getCantidad();
                 BigDecimal precioUnitario = producto.getPrecio();
                 BigDecimal precioConDescuento = producto.getPrecioConDescuento();
-                BigDecimal subtotalItem = precioConDescuento.multiply(
-                        new BigDecimal(item.getCantidad())
-                );
-                BigDecimal descuentoItem = precioUnitario.subtract(precioConDescuento)
-                        .multiply(new BigDecimal(item.getCantidad()));
+                BigDecimal subtotalItem = PrecioUtil.aImporte(subtotalItemCentimos);
+                BigDecimal descuentoItem = PrecioUtil.aImporte(descuentoItemCentimos);
 
                 // Crear item completo
                 ItemCarrito itemCompleto = new ItemCarrito(
@@ -275,11 +284,13 @@ public class CarritoService {
                 );
 
                 itemsCompletos.add(itemCompleto);
-                subtotal = subtotal.add(subtotalItem);
-                totalDescuentos = totalDescuentos.add(descuentoItem);
+                subtotalCentimos += subtotalItemCentimos;
+                descuentosCentimos += descuentoItemCentimos;
                 cantidadTotal += item.getCantidad();
             }
 
+            BigDecimal subtotal = PrecioUtil.aImporte(subtotalCentimos);
+            BigDecimal totalDescuentos = PrecioUtil.aImporte(descuentosCentimos);
             BigDecimal total = subtotal;
 
             return new CarritoCompleto(
@@ -340,16 +351,16 @@ public class CarritoService {
                 return problemas;
             }
 
+            Map<Integer, Producto> productos = productoDAO.buscarPorIds(idsProductos(items));
+
             for (Carrito item : items) {
-                Optional<Producto> productoOpt = productoDAO.buscarPorId(item.getIdProducto());
+                Producto producto = productos.get(item.getIdProducto());
 
-                if (!productoOpt.isPresent()) {
+                if (producto == null) {
                     problemas.add("Producto ID " + item.getIdProducto() + " no existe");
                     continue;
                 }
 
-                Producto producto = productoOpt.get();
-
                 // Verificar estado
                 if (producto.getEstado() != Producto.EstadoProducto.DISPONIBLE) {
                     problemas.add(
@@ -386,16 +397,16 @@ public class CarritoService {
         try {
             List<Carrito> items = carritoDAO.obtenerPorUsuario(idUsuario);
 
+            Map<Integer, Producto> productos = productoDAO.buscarPorIds(idsProductos(items));
+
             for (Carrito item : items) {
-                Optional<Producto> productoOpt = productoDAO.buscarPorId(item.getIdProducto());
+                Producto producto = productos.get(item.getIdProducto());
 
                 boolean eliminar = false;
 
-                if (!productoOpt.isPresent()) {
+                if (producto == null) {
                     eliminar = true;
                 } else {
-                    Producto producto = productoOpt.get();
-
                     // Eliminar si no está disponible o no hay stock
                     if (producto.getEstado() != Producto.EstadoProducto.DISPONIBLE ||
                             producto.getStock() == 0) {
@@ -422,6 +433,17 @@ public class CarritoService {
         }
     }
 
+    /**
+     * Extrae los IDs de producto de los items del carrito
+     */
+    private List<Integer> idsProductos(List<Carrito> items) {
+        List<Integer> ids = new ArrayList<>(items.size());
+        for (Carrito item : items) {
+            ids.add(item.getIdProducto());
+        }
+        return ids;
+    }
+
     // ==================== CLASES INTERNAS ====================
 
     public static class CarritoCompleto {
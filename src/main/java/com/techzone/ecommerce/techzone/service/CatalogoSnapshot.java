@@ -0,0 +1,483 @@
+package com.techzone.ecommerce.techzone.service;
+
+import com.techzone.ecommerce.techzone.dao.ImagenDAO;
+import com.techzone.ecommerce.techzone.dao.ProductoDAO;
+import com.techzone.ecommerce.techzone.model.Imagen;
+import com.techzone.ecommerce.techzone.model.Producto;
+import com.techzone.ecommerce.techzone.service.ProductoService.FiltroProductos;
+import com.techzone.ecommerce.techzone.service.ProductoService.OrdenProducto;
+import com.techzone.ecommerce.techzone.util.TextoUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Vista inmutable del catálogo en memoria (productos e imagen principal de cada uno)
+ * Se publica completa mediante una referencia volatile: las lecturas no usan bloqueos
+ * y siempre ven una versión coherente. Cada escritura construye una vista nueva
+ * (copy-on-write) reemplazando solo los productos afectados: se retiran de los órdenes
+ * precalculados (recencia, precio, nombre, ID, ofertas) y sus versiones nuevas se
+ * intercalan en su posición, sin volver a ordenar el catálogo completo.
+ *
+ * Los productos devueltos son copias, de modo que los llamadores pueden completarlos
+ * (categoría, imágenes, calificación) sin alterar la vista compartida.
+ * ProductoService la actualiza en cada alta, edición, baja o cambio de imágenes;
+ * los cambios de stock de pedidos se aplican en segundo plano (BuscadorProductosListener).
+ *
+ * @author TechZone Team
+ */
+public class CatalogoSnapshot {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogoSnapshot.class);
+    private static volatile CatalogoSnapshot instance;
+
+    private final ProductoDAO productoDAO;
+    private final ImagenDAO imagenDAO;
+
+    private volatile Vista vista = Vista.VACIA;
+    private final Set<Integer> pendientes = ConcurrentHashMap.newKeySet();
+
+    // Constructor para inyección de dependencias (testing)
+    public CatalogoSnapshot(ProductoDAO productoDAO, ImagenDAO imagenDAO) {
+        this.productoDAO = productoDAO;
+        this.imagenDAO = imagenDAO;
+    }
+
+    /**
+     * Obtiene la instancia única de la vista del catálogo
+     */
+    public static CatalogoSnapshot getInstance() {
+        if (instance == null) {
+            synchronized (CatalogoSnapshot.class) {
+                if (instance == null) {
+                    instance = new CatalogoSnapshot(new ProductoDAO(), new ImagenDAO());
+                }
+            }
+        }
+        return instance;
+    }
+
+    // ==================== CONSULTAS ====================
+
+    /**
+     * Indica si la vista ya se ha cargado; mientras no lo esté, los llamadores consultan la BD
+     */
+    public boolean estaCargado() {
+        return vista != Vista.VACIA;
+    }
+
+    /**
+     * Busca un producto por ID (copia)
+     */
+    public Optional<Producto> buscarPorId(int idProducto) {
+        Producto producto = vista.porId.get(idProducto);
+        return producto != null ? Optional.of(new Producto(producto)) : Optional.empty();
+    }
+
+    /**
+     * Busca varios productos por ID (copias); los inexistentes no aparecen en el mapa
+     */
+    public Map<Integer, Producto> buscarPorIds(Collection<Integer> idsProductos) {
+        Vista actual = vista;
+        Map<Integer, Producto> encontrados = new HashMap<>();
+        for (Integer id : idsProductos) {
+            Producto producto = actual.porId.get(id);
+            if (producto != null) {
+                encontrados.put(id, new Producto(producto));
+            }
+        }
+        return encontrados;
+    }
+
+    /**
+     * Productos disponibles más recientes (mismo criterio que ProductoDAO.obtenerMasRecientes)
+     */
+    public List<Producto> obtenerRecientes(int limite) {
+        Vista actual = vista;
+        List<Producto> resultado = new ArrayList<>(Math.min(limite, actual.porRecencia.length));
+        for (Producto producto : actual.porRecencia) {
+            if (resultado.size() >= limite) {
+                break;
+            }
+            if (producto.getEstado() == Producto.EstadoProducto.DISPONIBLE) {
+                resultado.add(new Producto(producto));
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Productos disponibles con descuento, de mayor a menor (mismo criterio que ProductoDAO.obtenerConDescuento)
+     */
+    public List<Producto> obtenerConDescuento(int limite) {
+        Producto[] ofertas = vista.ofertas;
+        List<Producto> resultado = new ArrayList<>(Math.min(limite, ofertas.length));
+        for (int i = 0; i < ofertas.length && i < limite; i++) {
+            resultado.add(new Producto(ofertas[i]));
+        }
+        return resultado;
+    }
+
+    /**
+     * Cuenta todos los productos de una categoría (mismo criterio que ProductoDAO.contarPorCategoria)
+     */
+    public int contarPorCategoria(int idCategoria) {
+        return vista.conteoPorCategoria.getOrDefault(idCategoria, 0);
+    }
+
+    /**
+     * Imagen principal de un producto, o null si no tiene imágenes
+     */
+    public Imagen obtenerImagenPrincipal(int idProducto) {
+        return vista.imagenes.get(idProducto);
+    }
+
+    /**
+     * Aplica los filtros (sin término de búsqueda) recorriendo el orden precalculado
+     * que corresponde al criterio solicitado, y devuelve la página pedida
+     *
+     * @param filtros Filtros, orden y paginación (el término de búsqueda se ignora)
+     * @return Productos de la página (copias) y total de coincidencias
+     */
+    public Pagina buscar(FiltroProductos filtros) {
+        Vista actual = vista;
+        Producto[] orden;
+        boolean inverso = false;
+
+        OrdenProducto criterio = filtros.getOrden();
+        if (criterio == null) {
+            orden = actual.ordenId;
+        } else {
+            switch (criterio) {
+                case PRECIO_ASC:
+                    orden = actual.porPrecio;
+                    break;
+                case PRECIO_DESC:
+                    orden = actual.porPrecio;
+                    inverso = true;
+                    break;
+                case NOMBRE_ASC:
+                    orden = actual.porNombre;
+                    break;
+                case NOMBRE_DESC:
+                    orden = actual.porNombre;
+                    inverso = true;
+                    break;
+                case MAS_RECIENTE:
+                default:
+                    orden = actual.porRecencia;
+            }
+        }
+
+        int porPagina = Math.max(1, filtros.getProductosPorPagina());
+        // En long: una página desorbitada queda fuera del catálogo en vez de desbordar
+        long desde = (filtros.getPagina() - 1L) * porPagina;
+        long hasta = desde + porPagina;
+
+        List<Producto> pagina = new ArrayList<>(porPagina);
+        int total = 0;
+        for (int k = 0; k < orden.length; k++) {
+            Producto producto = orden[inverso ? orden.length - 1 - k : k];
+            if (cumple(producto, filtros)) {
+                if (total >= desde && total < hasta) {
+                    pagina.add(new Producto(producto));
+                }
+                total++;
+            }
+        }
+
+        return new Pagina(pagina, total);
+    }
+
+    /**
+     * Mismos criterios que ProductoDAO.construirWhere, salvo el término de búsqueda
+     */
+    private static boolean cumple(Producto producto, FiltroProductos filtros) {
+        if (filtros.getIdCategoria() != null && !filtros.getIdCategoria().equals(producto.getIdCategoria())) {
+            return false;
+        }
+        if (filtros.getMarca() != null && !filtros.getMarca().trim().isEmpty()
+                && (producto.getMarca() == null
+                || !producto.getMarca().trim().equalsIgnoreCase(filtros.getMarca().trim()))) {
+            return false;
+        }
+        if (producto.getPrecioFinalCentimos() < filtros.getPrecioMinimoCentimos()
+                || producto.getPrecioFinalCentimos() > filtros.getPrecioMaximoCentimos()) {
+            return false;
+        }
+        if (filtros.isSoloDisponibles() && (producto.getEstado() != Producto.EstadoProducto.DISPONIBLE
+                || producto.getStock() == null || producto.getStock() <= 0)) {
+            return false;
+        }
+        return !filtros.isSoloConDescuento()
+                || (producto.getDescuento() != null && producto.getDescuento().compareTo(BigDecimal.ZERO) > 0);
+    }
+
+    // ==================== ACTUALIZACIÓN ====================
+
+    /**
+     * Carga el catálogo completo y lo publica
+     */
+    public synchronized void recargar() throws SQLException {
+        long inicio = System.currentTimeMillis();
+
+        List<Producto> productos = productoDAO.obtenerTodos();
+        Map<Integer, Imagen> imagenes = imagenDAO.obtenerPrincipales();
+
+        Map<Integer, Producto> porId = new HashMap<>(productos.size() * 2);
+        for (Producto producto : productos) {
+            porId.put(producto.getIdProducto(), producto);
+        }
+
+        vista = Vista.construir(porId, imagenes);
+
+        logger.info("Vista del catálogo cargada: {} productos, {} imágenes principales en {} ms",
+                porId.size(), imagenes.size(), System.currentTimeMillis() - inicio);
+    }
+
+    /**
+     * Recarga desde la BD los productos indicados (y su imagen principal) y publica una vista nueva
+     * Los que ya no existen se retiran. Si la vista aún no se ha cargado no hace nada.
+     */
+    public synchronized void actualizarProductos(Collection<Integer> idsProductos) throws SQLException {
+        if (idsProductos == null || idsProductos.isEmpty() || !estaCargado()) {
+            return;
+        }
+
+        Map<Integer, Producto> actuales = productoDAO.buscarPorIds(idsProductos);
+        Map<Integer, Imagen> imagenesActuales = imagenDAO.obtenerPrincipalesPorProductos(idsProductos);
+
+        vista = vista.reemplazar(new HashSet<>(idsProductos), actuales, imagenesActuales);
+        logger.debug("Vista del catálogo actualizada para {} productos", idsProductos.size());
+    }
+
+    /**
+     * Anota productos cuyo stock o estado cambió por pedidos; se aplican en segundo plano
+     */
+    public void marcarModificados(Collection<Integer> idsProductos) {
+        pendientes.addAll(idsProductos);
+    }
+
+    /**
+     * Aplica los productos anotados como modificados
+     * @return Número de productos actualizados
+     */
+    public int actualizarPendientes() throws SQLException {
+        if (pendientes.isEmpty()) {
+            return 0;
+        }
+
+        List<Integer> ids = new ArrayList<>(pendientes);
+        pendientes.removeAll(ids);
+        try {
+            actualizarProductos(ids);
+            return ids.size();
+        } catch (SQLException | RuntimeException e) {
+            pendientes.addAll(ids);
+            throw e;
+        }
+    }
+
+    // ==================== CLASES INTERNAS ====================
+
+    /**
+     * Estado inmutable del catálogo con sus órdenes precalculados
+     * Los arrays de orden contienen todos los productos; los filtros se aplican al recorrerlos
+     */
+    static final class Vista {
+        static final Vista VACIA = new Vista(Collections.emptyMap(), Collections.emptyMap(),
+                new Producto[0], new Producto[0], new Producto[0], new Producto[0], new Producto[0],
+                Collections.emptyMap());
+
+        private final Map<Integer, Producto> porId;
+        private final Map<Integer, Imagen> imagenes;
+        private final Producto[] porRecencia;  // fecha_registro DESC, id DESC
+        private final Producto[] porPrecio;    // precio ASC, id ASC
+        private final Producto[] porNombre;    // nombre ASC, id ASC
+        private final Producto[] ordenId;      // id ASC
+        private final Producto[] ofertas;      // disponibles con descuento, descuento DESC
+        private final Map<Integer, Integer> conteoPorCategoria;
+
+        private Vista(Map<Integer, Producto> porId, Map<Integer, Imagen> imagenes,
+                      Producto[] porRecencia, Producto[] porPrecio, Producto[] porNombre,
+                      Producto[] ordenId, Producto[] ofertas, Map<Integer, Integer> conteoPorCategoria) {
+            this.porId = porId;
+            this.imagenes = imagenes;
+            this.porRecencia = porRecencia;
+            this.porPrecio = porPrecio;
+            this.porNombre = porNombre;
+            this.ordenId = ordenId;
+            this.ofertas = ofertas;
+            this.conteoPorCategoria = conteoPorCategoria;
+        }
+
+        private static final Comparator<Producto> POR_ID = Comparator.comparingInt(Producto::getIdProducto);
+
+        private static final Comparator<Producto> POR_RECENCIA = Comparator.comparing(Producto::getFechaRegistro,
+                        Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder()))
+                .thenComparing(POR_ID).reversed();
+
+        private static final Comparator<Producto> POR_PRECIO =
+                Comparator.comparingLong(Producto::getPrecioCentimos).thenComparing(POR_ID);
+
+        // Sin mayúsculas ni acentos, como la intercalación de MySQL
+        private static final Comparator<Producto> POR_NOMBRE =
+                Comparator.comparing((Producto p) -> TextoUtil.normalizar(p.getNombre())).thenComparing(POR_ID);
+
+        private static final Comparator<Producto> POR_DESCUENTO =
+                Comparator.comparing(Producto::getDescuento).reversed().thenComparing(POR_ID);
+
+        static Vista construir(Map<Integer, Producto> porId, Map<Integer, Imagen> imagenes) {
+            Producto[] todos = porId.values().toArray(new Producto[0]);
+
+            Producto[] ordenId = todos.clone();
+            Arrays.sort(ordenId, POR_ID);
+
+            Producto[] porRecencia = todos.clone();
+            Arrays.sort(porRecencia, POR_RECENCIA);
+
+            Producto[] porPrecio = todos.clone();
+            Arrays.sort(porPrecio, POR_PRECIO);
+
+            // Nombres normalizados una sola vez (mismo orden que POR_NOMBRE)
+            Map<Integer, String> nombres = new HashMap<>(todos.length * 2);
+            for (Producto producto : todos) {
+                nombres.put(producto.getIdProducto(), TextoUtil.normalizar(producto.getNombre()));
+            }
+            Producto[] porNombre = todos.clone();
+            Arrays.sort(porNombre, Comparator.comparing((Producto p) -> nombres.get(p.getIdProducto()))
+                    .thenComparing(POR_ID));
+
+            List<Producto> conDescuento = new ArrayList<>();
+            Map<Integer, Integer> conteoPorCategoria = new HashMap<>();
+            for (Producto producto : ordenId) {
+                if (esOferta(producto)) {
+                    conDescuento.add(producto);
+                }
+                if (producto.getIdCategoria() != null) {
+                    conteoPorCategoria.merge(producto.getIdCategoria(), 1, Integer::sum);
+                }
+            }
+            conDescuento.sort(POR_DESCUENTO);
+
+            return new Vista(Collections.unmodifiableMap(porId), Collections.unmodifiableMap(imagenes),
+                    porRecencia, porPrecio, porNombre, ordenId, conDescuento.toArray(new Producto[0]),
+                    Collections.unmodifiableMap(conteoPorCategoria));
+        }
+
+        /**
+         * Vista nueva con los productos indicados sustituidos por su versión actual
+         * Cada orden se recorre una vez retirando los afectados e intercalando los nuevos en
+         * su posición: O(N + k log k) en lugar de volver a ordenar todo el catálogo
+         *
+         * @param ids Productos afectados
+         * @param actuales Versión actual de los que siguen existiendo (los ausentes se retiran)
+         * @param imagenesActuales Imagen principal actual de los afectados que la tienen
+         */
+        Vista reemplazar(Set<Integer> ids, Map<Integer, Producto> actuales, Map<Integer, Imagen> imagenesActuales) {
+            Map<Integer, Producto> nuevoPorId = new HashMap<>(porId);
+            Map<Integer, Imagen> nuevasImagenes = new HashMap<>(imagenes);
+            Map<Integer, Integer> nuevoConteo = new HashMap<>(conteoPorCategoria);
+            List<Producto> nuevos = new ArrayList<>();
+            List<Producto> nuevasOfertas = new ArrayList<>();
+
+            for (Integer id : ids) {
+                Producto anterior = porId.get(id);
+                if (anterior != null && anterior.getIdCategoria() != null) {
+                    nuevoConteo.computeIfPresent(anterior.getIdCategoria(), (k, n) -> n > 1 ? n - 1 : null);
+                }
+
+                Producto producto = actuales.get(id);
+                if (producto != null) {
+                    nuevoPorId.put(id, producto);
+                    nuevos.add(producto);
+                    if (esOferta(producto)) {
+                        nuevasOfertas.add(producto);
+                    }
+                    if (producto.getIdCategoria() != null) {
+                        nuevoConteo.merge(producto.getIdCategoria(), 1, Integer::sum);
+                    }
+                } else {
+                    nuevoPorId.remove(id);
+                }
+
+                Imagen imagen = imagenesActuales.get(id);
+                if (imagen != null) {
+                    nuevasImagenes.put(id, imagen);
+                } else {
+                    nuevasImagenes.remove(id);
+                }
+            }
+
+            return new Vista(Collections.unmodifiableMap(nuevoPorId), Collections.unmodifiableMap(nuevasImagenes),
+                    intercalar(porRecencia, ids, nuevos, POR_RECENCIA),
+                    intercalar(porPrecio, ids, nuevos, POR_PRECIO),
+                    intercalar(porNombre, ids, nuevos, POR_NOMBRE),
+                    intercalar(ordenId, ids, nuevos, POR_ID),
+                    intercalar(ofertas, ids, nuevasOfertas, POR_DESCUENTO),
+                    Collections.unmodifiableMap(nuevoConteo));
+        }
+
+        /**
+         * Copia el orden sin los productos afectados y con los nuevos en su posición
+         */
+        private static Producto[] intercalar(Producto[] orden, Set<Integer> quitar, List<Producto> nuevos,
+                                             Comparator<Producto> comparador) {
+            Producto[] insertar = nuevos.toArray(new Producto[0]);
+            Arrays.sort(insertar, comparador);
+
+            List<Producto> resultado = new ArrayList<>(orden.length + insertar.length);
+            int j = 0;
+            for (Producto producto : orden) {
+                if (quitar.contains(producto.getIdProducto())) {
+                    continue;
+                }
+                while (j < insertar.length && comparador.compare(insertar[j], producto) < 0) {
+                    resultado.add(insertar[j++]);
+                }
+                resultado.add(producto);
+            }
+            while (j < insertar.length) {
+                resultado.add(insertar[j++]);
+            }
+            return resultado.toArray(new Producto[0]);
+        }
+
+        private static boolean esOferta(Producto producto) {
+            return producto.getEstado() == Producto.EstadoProducto.DISPONIBLE
+                    && producto.getDescuento() != null
+                    && producto.getDescuento().compareTo(BigDecimal.ZERO) > 0;
+        }
+    }
+
+    /**
+     * Página de productos resultante de una búsqueda en memoria
+     */
+    public static class Pagina {
+        private final List<Producto> productos;
+        private final int total;
+
+        public Pagina(List<Producto> productos, int total) {
+            this.productos = productos;
+            this.total = total;
+        }
+
+        public List<Producto> getProductos() { return productos; }
+        public int getTotal() { return total; }
+    }
+}
@@ -0,0 +1,159 @@
+package com.techzone.ecommerce.techzone.service;
+
+import com.techzone.ecommerce.techzone.dao.CategoriaDAO;
+import com.techzone.ecommerce.techzone.model.Categoria;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caché de lectura (read-through) de categorías delante de CategoriaDAO
+ * Mantiene las categorías por ID y la lista de categorías activas.
+ * Se invalida completa desde CategoriaService en cada escritura.
+ *
+ * @author TechZone Team
+ */
+public class CategoriaCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(CategoriaCache.class);
+    private static volatile CategoriaCache instance;
+
+    private final CategoriaDAO categoriaDAO;
+    private final Map<Integer, Categoria> porId = new ConcurrentHashMap<>();
+    private volatile List<Categoria> activas;
+
+    // Se incrementa en cada invalidación; una carga iniciada antes no se publica
+    private final AtomicLong version = new AtomicLong();
+
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+
+    // Constructor para inyección de dependencias (testing)
+    public CategoriaCache(CategoriaDAO categoriaDAO) {
+        this.categoriaDAO = categoriaDAO;
+    }
+
+    /**
+     * Obtiene la instancia única de la caché
+     */
+    public static CategoriaCache getInstance() {
+        if (instance == null) {
+            synchronized (CategoriaCache.class) {
+                if (instance == null) {
+                    instance = new CategoriaCache(new CategoriaDAO());
+                }
+            }
+        }
+        return instance;
+    }
+
+    // ==================== LECTURA ====================
+
+    /**
+     * Obtiene una categoría por su ID, consultando la BD solo si no está en caché
+     */
+    public Optional<Categoria> buscarPorId(int idCategoria) throws SQLException {
+        Categoria categoria = porId.get(idCategoria);
+        if (categoria != null) {
+            aciertos.increment();
+            return Optional.of(categoria);
+        }
+
+        fallos.increment();
+        long versionInicial = version.get();
+        Optional<Categoria> cargada = categoriaDAO.buscarPorId(idCategoria);
+
+        if (cargada.isPresent() && version.get() == versionInicial) {
+            porId.put(idCategoria, cargada.get());
+        }
+
+        return cargada;
+    }
+
+    /**
+     * Obtiene la lista de categorías activas (inmutable)
+     */
+    public List<Categoria> obtenerActivas() throws SQLException {
+        List<Categoria> lista = activas;
+        if (lista != null) {
+            aciertos.increment();
+            return lista;
+        }
+
+        fallos.increment();
+        long versionInicial = version.get();
+        lista = Collections.unmodifiableList(categoriaDAO.obtenerActivas());
+
+        if (version.get() == versionInicial) {
+            activas = lista;
+            for (Categoria categoria : lista) {
+                porId.putIfAbsent(categoria.getIdCategoria(), categoria);
+            }
+        }
+
+        return lista;
+    }
+
+    // ==================== INVALIDACIÓN ====================
+
+    /**
+     * Descarta todo el contenido de la caché
+     * Debe invocarse tras cualquier escritura sobre categorías
+     */
+    public void invalidar() {
+        version.incrementAndGet();
+        activas = null;
+        porId.clear();
+        logger.debug("Caché de categorías invalidada");
+    }
+
+    // ==================== ESTADÍSTICAS ====================
+
+    /**
+     * Obtiene las estadísticas de uso de la caché
+     */
+    public EstadisticasCache obtenerEstadisticas() {
+        return new EstadisticasCache(aciertos.sum(), fallos.sum(), porId.size(), activas != null);
+    }
+
+    /**
+     * Métricas de aciertos/fallos de la caché
+     */
+    public static class EstadisticasCache {
+        private final long aciertos;
+        private final long fallos;
+        private final int entradas;
+        private final boolean activasCargadas;
+
+        public EstadisticasCache(long aciertos, long fallos, int entradas, boolean activasCargadas) {
+            this.aciertos = aciertos;
+            this.fallos = fallos;
+            this.entradas = entradas;
+            this.activasCargadas = activasCargadas;
+        }
+
+        public long getAciertos() { return aciertos; }
+        public long getFallos() { return fallos; }
+        public int getEntradas() { return entradas; }
+        public boolean isActivasCargadas() { return activasCargadas; }
+
+        public double getTasaAciertos() {
+            long total = aciertos + fallos;
+            return total == 0 ? 0.0 : (double) aciertos / total;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("EstadisticasCache{aciertos=%d, fallos=%d, tasa=%.2f, entradas=%d}",
+                    aciertos, fallos, getTasaAciertos(), entradas);
+        }
+    }
+}
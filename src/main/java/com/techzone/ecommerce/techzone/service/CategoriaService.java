@@ -20,14 +20,17 @@ public class CategoriaService {
 
     private static final Logger logger = LoggerFactory.getLogger(CategoriaService.class);
     private final CategoriaDAO categoriaDAO;
+    private final CategoriaCache categoriaCache;
 
     public CategoriaService() {
         this.categoriaDAO = new CategoriaDAO();
+        this.categoriaCache = CategoriaCache.getInstance();
     }
 
     // Constructor para inyección de dependencias (testing)
     public CategoriaService(CategoriaDAO categoriaDAO) {
         this.categoriaDAO = categoriaDAO;
+        this.categoriaCache = new CategoriaCache(categoriaDAO);
     }
 
     // ==================== CREATE ====================
@@ -50,6 +53,10 @@ public class CategoriaService {
 
             // Crear la categoría
             int idGenerado = categoriaDAO.crear(categoria);
+            categoriaCache.invalidar();
+            HomeCache.getInstance().invalidar();
+            AutocompletadoIndex.getInstance().marcarPendiente();
+            FacetasProductos.getInstance().marcarPendiente();
             logger.info("Categoría creada exitosamente - ID: {}, Nombre: {}",
                     idGenerado, categoria.getNombre());
 
@@ -74,7 +81,7 @@ public class CategoriaService {
                 throw new ServiceException("El ID de la categoría debe ser mayor a 0");
             }
 
-            Optional<Categoria> categoria = categoriaDAO.buscarPorId(id);
+            Optional<Categoria> categoria = categoriaCache.buscarPorId(id);
 
             if (categoria.isPresent()) {
                 logger.debug("Categoría encontrada: {}", categoria.get().getNombre());
@@ -133,7 +140,7 @@ public class CategoriaService {
         logger.debug("Obteniendo categorías activas");
 
         try {
-            List<Categoria> categorias = categoriaDAO.obtenerActivas();
+            List<Categoria> categorias = categoriaCache.obtenerActivas();
             logger.debug("Se encontraron {} categorías activas", categorias.size());
             return categorias;
 
@@ -176,6 +183,10 @@ public class CategoriaService {
             boolean actualizado = categoriaDAO.actualizar(categoria);
 
             if (actualizado) {
+                categoriaCache.invalidar();
+                HomeCache.getInstance().invalidar();
+                AutocompletadoIndex.getInstance().marcarPendiente();
+                FacetasProductos.getInstance().marcarPendiente();
                 logger.info("Categoría actualizada exitosamente - ID: {}, Nombre: {}",
                         categoria.getIdCategoria(), categoria.getNombre());
             }
@@ -223,6 +234,10 @@ public class CategoriaService {
             boolean actualizado = categoriaDAO.actualizarEstado(idCategoria, nuevoEstado);
 
             if (actualizado) {
+                categoriaCache.invalidar();
+                HomeCache.getInstance().invalidar();
+                AutocompletadoIndex.getInstance().marcarPendiente();
+                FacetasProductos.getInstance().marcarPendiente();
                 logger.info("Estado de categoría {} cambiado a {}", idCategoria, nuevoEstado);
             }
 
@@ -267,6 +282,10 @@ public class CategoriaService {
             boolean eliminado = categoriaDAO.eliminar(idCategoria);
 
             if (eliminado) {
+                categoriaCache.invalidar();
+                HomeCache.getInstance().invalidar();
+                AutocompletadoIndex.getInstance().marcarPendiente();
+                FacetasProductos.getInstance().marcarPendiente();
                 logger.info("Categoría eliminada exitosamente - ID: {}", idCategoria);
             }
 
@@ -309,6 +328,13 @@ public class CategoriaService {
         }
     }
 
+    /**
+     * Obtiene las estadísticas de aciertos/fallos de la caché de categorías
+     */
+    public CategoriaCache.EstadisticasCache obtenerEstadisticasCache() {
+        return categoriaCache.obtenerEstadisticas();
+    }
+
     /**
      * Verifica si existe una categoría con el nombre dado
      */
@@ -0,0 +1,270 @@
+package com.techzone.ecommerce.techzone.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Corrección de errores tipográficos para el buscador de productos
+ * Genera candidatos del vocabulario indexado mediante trigramas y los confirma con
+ * distancia de edición acotada (Damerau: inserción, borrado, sustitución y transposición).
+ * Los términos llegan ya normalizados, así que "audifonos" coincide con "audífonos".
+ *
+ * El vocabulario se modifica solo desde BuscadorProductos con su bloqueo de escritura;
+ * las consultas se hacen con el de lectura. Las expansiones calculadas se guardan en
+ * una caché LRU que se descarta cuando cambia el vocabulario.
+ *
+ * @author TechZone Team
+ */
+public class CorrectorTerminos {
+
+    // Límites de trabajo por consulta: postings de trigramas recorridos y distancias calculadas
+    public static final int PRESUPUESTO_POSTINGS = 20_000;
+    public static final int PRESUPUESTO_DISTANCIAS = 300;
+
+    private static final int LONGITUD_MINIMA = 4;
+    private static final int MAXIMO_CANDIDATOS = 5;
+    private static final int CAPACIDAD_CACHE = 2_000;
+
+    // trigrama -> términos del vocabulario que lo contienen
+    private final Map<String, Set<String>> trigramas = new HashMap<>();
+
+    private final Map<String, List<String>> cache = Collections.synchronizedMap(
+            new LinkedHashMap<String, List<String>>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, List<String>> eldest) {
+                    return size() > CAPACIDAD_CACHE;
+                }
+            });
+    private final AtomicLong version = new AtomicLong();
+
+    // ==================== VOCABULARIO ====================
+
+    /**
+     * Registra un término nuevo del vocabulario; requiere el bloqueo de escritura del buscador
+     */
+    void agregarTermino(String termino) {
+        for (String trigrama : trigramasDe(termino)) {
+            trigramas.computeIfAbsent(trigrama, k -> new HashSet<>()).add(termino);
+        }
+        invalidar();
+    }
+
+    /**
+     * Quita un término que ya no aparece en ningún producto; requiere el bloqueo de escritura
+     */
+    void quitarTermino(String termino) {
+        for (String trigrama : trigramasDe(termino)) {
+            Set<String> terminos = trigramas.get(trigrama);
+            if (terminos != null) {
+                terminos.remove(termino);
+                if (terminos.isEmpty()) {
+                    trigramas.remove(trigrama);
+                }
+            }
+        }
+        invalidar();
+    }
+
+    private void invalidar() {
+        version.incrementAndGet();
+        cache.clear();
+    }
+
+    // ==================== CONSULTA ====================
+
+    /**
+     * Obtiene los términos del vocabulario a distancia de edición tolerable, del más al menos parecido
+     * Requiere el bloqueo de lectura del buscador
+     *
+     * @param termino Término normalizado sin coincidencias exactas
+     * @param presupuesto Presupuesto compartido por todos los términos de la consulta
+     * @return Lista de a lo sumo {@value #MAXIMO_CANDIDATOS} términos; vacía si no hay ninguno
+     */
+    List<String> corregir(String termino, Presupuesto presupuesto) {
+        int maximo = distanciaMaxima(termino);
+        if (maximo == 0) {
+            return Collections.emptyList();
+        }
+
+        List<String> cacheado = cache.get(termino);
+        if (cacheado != null) {
+            return cacheado;
+        }
+
+        long versionInicio = version.get();
+        List<String> candidatos = calcular(termino, maximo, presupuesto);
+
+        // Solo se guardan resultados completos y calculados sobre el vocabulario vigente
+        if (!presupuesto.agotado() && version.get() == versionInicio) {
+            cache.put(termino, candidatos);
+        }
+        return candidatos;
+    }
+
+    /**
+     * Errores admitidos según la longitud: ninguno hasta 3 letras, 1 hasta 7 y 2 a partir de 8
+     */
+    static int distanciaMaxima(String termino) {
+        if (termino.length() < LONGITUD_MINIMA) {
+            return 0;
+        }
+        return termino.length() < 8 ? 1 : 2;
+    }
+
+    private List<String> calcular(String termino, int maximo, Presupuesto presupuesto) {
+        List<String> propios = trigramasDe(termino);
+
+        // Contar trigramas compartidos por cada término del vocabulario
+        Map<String, Integer> compartidos = new HashMap<>();
+        for (String trigrama : propios) {
+            Set<String> terminos = trigramas.get(trigrama);
+            if (terminos == null) {
+                continue;
+            }
+            if (!presupuesto.consumirPostings(terminos.size())) {
+                break;
+            }
+            for (String candidato : terminos) {
+                if (Math.abs(candidato.length() - termino.length()) <= maximo) {
+                    compartidos.merge(candidato, 1, Integer::sum);
+                }
+            }
+        }
+
+        // Cada edición altera como mucho 3 trigramas (lema de q-gramas)
+        int minimoCompartidos = Math.max(1, propios.size() - 3 * maximo);
+        List<Map.Entry<String, Integer>> filtrados = new ArrayList<>();
+        for (Map.Entry<String, Integer> entrada : compartidos.entrySet()) {
+            if (entrada.getValue() >= minimoCompartidos) {
+                filtrados.add(entrada);
+            }
+        }
+        filtrados.sort((a, b) -> a.getValue().equals(b.getValue())
+                ? a.getKey().compareTo(b.getKey())
+                : Integer.compare(b.getValue(), a.getValue()));
+
+        List<String> aceptados = new ArrayList<>();
+        List<Integer> distancias = new ArrayList<>();
+        for (Map.Entry<String, Integer> entrada : filtrados) {
+            if (!presupuesto.consumirDistancia()) {
+                break;
+            }
+            int distancia = distancia(termino, entrada.getKey(), maximo);
+            if (distancia <= maximo) {
+                // Inserción ordenada por distancia (estable respecto al orden por trigramas)
+                int pos = 0;
+                while (pos < distancias.size() && distancias.get(pos) <= distancia) {
+                    pos++;
+                }
+                aceptados.add(pos, entrada.getKey());
+                distancias.add(pos, distancia);
+            }
+        }
+
+        return aceptados.size() > MAXIMO_CANDIDATOS
+                ? new ArrayList<>(aceptados.subList(0, MAXIMO_CANDIDATOS))
+                : aceptados;
+    }
+
+    /**
+     * Distancia de Damerau-Levenshtein (alineamiento óptimo) con corte temprano:
+     * devuelve maximo + 1 en cuanto una fila completa supera el máximo
+     */
+    static int distancia(String a, String b, int maximo) {
+        int n = a.length();
+        int m = b.length();
+        if (Math.abs(n - m) > maximo) {
+            return maximo + 1;
+        }
+
+        int[] anterior2 = new int[m + 1];
+        int[] anterior = new int[m + 1];
+        int[] actual = new int[m + 1];
+        for (int j = 0; j <= m; j++) {
+            anterior[j] = j;
+        }
+
+        for (int i = 1; i <= n; i++) {
+            actual[0] = i;
+            int minimoFila = actual[0];
+            char ca = a.charAt(i - 1);
+
+            for (int j = 1; j <= m; j++) {
+                char cb = b.charAt(j - 1);
+                int coste = ca == cb ? 0 : 1;
+                int valor = Math.min(Math.min(anterior[j] + 1, actual[j - 1] + 1), anterior[j - 1] + coste);
+                if (i > 1 && j > 1 && ca == b.charAt(j - 2) && a.charAt(i - 2) == cb) {
+                    valor = Math.min(valor, anterior2[j - 2] + 1);
+                }
+                actual[j] = valor;
+                minimoFila = Math.min(minimoFila, valor);
+            }
+
+            if (minimoFila > maximo) {
+                return maximo + 1;
+            }
+
+            int[] reciclado = anterior2;
+            anterior2 = anterior;
+            anterior = actual;
+            actual = reciclado;
+        }
+
+        return anterior[m];
+    }
+
+    /**
+     * Trigramas del término con delimitadores ("$ab", "abc", "bc$"), sin repetir
+     */
+    private static List<String> trigramasDe(String termino) {
+        String marcado = "$" + termino + "$";
+        List<String> resultado = new ArrayList<>(marcado.length());
+        for (int i = 0; i + 3 <= marcado.length(); i++) {
+            String trigrama = marcado.substring(i, i + 3);
+            if (!resultado.contains(trigrama)) {
+                resultado.add(trigrama);
+            }
+        }
+        return resultado;
+    }
+
+    // ==================== CLASES INTERNAS ====================
+
+    /**
+     * Presupuesto de trabajo de una consulta; una vez agotado no se evalúan más candidatos
+     */
+    static final class Presupuesto {
+        private int postings = PRESUPUESTO_POSTINGS;
+        private int distancias = PRESUPUESTO_DISTANCIAS;
+        private boolean agotado;
+
+        boolean consumirPostings(int cantidad) {
+            if (postings < cantidad) {
+                agotado = true;
+                return false;
+            }
+            postings -= cantidad;
+            return true;
+        }
+
+        boolean consumirDistancia() {
+            if (distancias == 0) {
+                agotado = true;
+                return false;
+            }
+            distancias--;
+            return true;
+        }
+
+        boolean agotado() {
+            return agotado;
+        }
+    }
+}
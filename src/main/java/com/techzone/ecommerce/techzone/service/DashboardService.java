@@ -0,0 +1,138 @@
+package com.techzone.ecommerce.techzone.service;
+
+import com.techzone.ecommerce.techzone.dao.DashboardDAO;
+import com.techzone.ecommerce.techzone.dao.PedidoDAO;
+import com.techzone.ecommerce.techzone.dao.ProductoDAO;
+import com.techzone.ecommerce.techzone.dao.UsuarioDAO;
+import com.techzone.ecommerce.techzone.model.EstadisticasDashboard;
+import com.techzone.ecommerce.techzone.model.Pedido;
+import com.techzone.ecommerce.techzone.model.Producto;
+import com.techzone.ecommerce.techzone.model.Usuario;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Servicio del panel de administración
+ * Calcula los contadores con consultas de agregación y las listas con LIMIT,
+ * y guarda el resultado durante un TTL corto para que los refrescos del admin
+ * no compitan con el tráfico de la tienda.
+ *
+ * @author TechZone Team
+ */
+public class DashboardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardService.class);
+
+    public static final long TTL_DEFECTO_SEGUNDOS = 30;
+    private static final int STOCK_MINIMO = 10;
+    private static final int ELEMENTOS_RECIENTES = 5;
+
+    private final DashboardDAO dashboardDAO;
+    private final PedidoDAO pedidoDAO;
+    private final UsuarioDAO usuarioDAO;
+    private final ProductoDAO productoDAO;
+    private final long ttlMillis;
+
+    private volatile ResumenDashboard cache;
+
+    public DashboardService() {
+        this(TTL_DEFECTO_SEGUNDOS);
+    }
+
+    public DashboardService(long ttlSegundos) {
+        this.dashboardDAO = new DashboardDAO();
+        this.pedidoDAO = new PedidoDAO();
+        this.usuarioDAO = new UsuarioDAO();
+        this.productoDAO = new ProductoDAO();
+        this.ttlMillis = Math.max(0, ttlSegundos) * 1000;
+    }
+
+    // ==================== CONSULTA ====================
+
+    /**
+     * Obtiene el resumen del dashboard, recalculándolo solo si ha caducado
+     * Las peticiones concurrentes durante el recálculo esperan a un único cálculo
+     */
+    public ResumenDashboard obtenerResumen() throws ServiceException {
+        ResumenDashboard actual = cache;
+        if (actual != null && !actual.haCaducado(ttlMillis)) {
+            return actual;
+        }
+
+        synchronized (this) {
+            actual = cache;
+            if (actual != null && !actual.haCaducado(ttlMillis)) {
+                return actual;
+            }
+
+            try {
+                long inicio = System.currentTimeMillis();
+                ResumenDashboard nuevo = calcularResumen();
+                cache = nuevo;
+
+                logger.debug("Dashboard recalculado en {} ms: {}",
+                        System.currentTimeMillis() - inicio, nuevo.getEstadisticas());
+                return nuevo;
+
+            } catch (SQLException e) {
+                logger.error("Error al calcular el dashboard: {}", e.getMessage(), e);
+                throw new ServiceException("Error al obtener datos del dashboard", e);
+            }
+        }
+    }
+
+    /**
+     * Descarta el resumen en caché; el siguiente acceso lo recalcula
+     */
+    public void invalidar() {
+        cache = null;
+    }
+
+    // ==================== UTILIDADES PRIVADAS ====================
+
+    private ResumenDashboard calcularResumen() throws SQLException {
+        EstadisticasDashboard estadisticas = dashboardDAO.obtenerEstadisticas(STOCK_MINIMO);
+        List<Pedido> pedidosRecientes = pedidoDAO.obtenerRecientesConUsuario(ELEMENTOS_RECIENTES);
+        List<Usuario> usuariosRecientes = usuarioDAO.obtenerRecientes(ELEMENTOS_RECIENTES);
+        List<Producto> productosBajoStock = productoDAO.obtenerBajoStock(STOCK_MINIMO, ELEMENTOS_RECIENTES);
+
+        return new ResumenDashboard(estadisticas, pedidosRecientes, usuariosRecientes,
+                productosBajoStock);
+    }
+
+    // ==================== CLASES INTERNAS ====================
+
+    /**
+     * Datos completos del dashboard en un instante dado (inmutable)
+     */
+    public static class ResumenDashboard {
+        private final EstadisticasDashboard estadisticas;
+        private final List<Pedido> pedidosRecientes;
+        private final List<Usuario> usuariosRecientes;
+        private final List<Producto> productosBajoStock;
+        private final long calculadoEn;
+
+        public ResumenDashboard(EstadisticasDashboard estadisticas, List<Pedido> pedidosRecientes,
+                                List<Usuario> usuariosRecientes, List<Producto> productosBajoStock) {
+            this.estadisticas = estadisticas;
+            this.pedidosRecientes = Collections.unmodifiableList(pedidosRecientes);
+            this.usuariosRecientes = Collections.unmodifiableList(usuariosRecientes);
+            this.productosBajoStock = Collections.unmodifiableList(productosBajoStock);
+            this.calculadoEn = System.currentTimeMillis();
+        }
+
+        public EstadisticasDashboard getEstadisticas() { return estadisticas; }
+        public List<Pedido> getPedidosRecientes() { return pedidosRecientes; }
+        public List<Usuario> getUsuariosRecientes() { return usuariosRecientes; }
+        public List<Producto> getProductosBajoStock() { return productosBajoStock; }
+        public long getCalculadoEn() { return calculadoEn; }
+
+        boolean haCaducado(long ttlMillis) {
+            return System.currentTimeMillis() - calculadoEn >= ttlMillis;
+        }
+    }
+}
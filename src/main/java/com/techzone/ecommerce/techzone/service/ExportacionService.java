@@ -0,0 +1,270 @@
+package com.techzone.ecommerce.techzone.service;
+
+import com.google.gson.stream.JsonWriter;
+import com.techzone.ecommerce.techzone.dao.ExportacionDAO;
+import com.techzone.ecommerce.techzone.dao.ExportacionDAO.ReceptorFilas;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Servicio de exportaciones para finanzas (pedidos, líneas de pedido y productos)
+ * Cada fila leída en streaming de la BD se escribe en el momento en CSV o JSON sobre la
+ * salida (opcionalmente comprimida con gzip); la memoria es constante sea cual sea el tamaño.
+ * A cambio, la exportación retiene una conexión del pool durante toda la descarga, por lo que
+ * un cliente lento la mantiene ocupada hasta que termina o corta.
+ *
+ * @author TechZone Team
+ */
+public class ExportacionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportacionService.class);
+
+    private static final int TAMANO_BUFFER = 64 * 1024;
+    private static final DateTimeFormatter FORMATO_FECHA = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final ExportacionDAO exportacionDAO;
+
+    public ExportacionService() {
+        this.exportacionDAO = new ExportacionDAO();
+    }
+
+    // Constructor para inyección de dependencias (testing)
+    public ExportacionService(ExportacionDAO exportacionDAO) {
+        this.exportacionDAO = exportacionDAO;
+    }
+
+    // ==================== EXPORTACIÓN ====================
+
+    /**
+     * Escribe la exportación en la salida indicada
+     * La salida se cierra solo si la exportación termina bien (incluido el final del stream gzip).
+     * Si falla a mitad se deja sin cerrar ni vaciar: cerrarla daría un archivo truncado con
+     * apariencia de completo, y el llamador debe abortar la respuesta
+     *
+     * @param tipo Datos a exportar
+     * @param formato CSV o JSON
+     * @param desde Primer día de pedidos (inclusive, null sin límite; ignorado en productos)
+     * @param hasta Último día de pedidos (inclusive, null sin límite; ignorado en productos)
+     * @param salida Stream de destino (p. ej. el de la respuesta HTTP)
+     * @param comprimir true para escribir en gzip
+     * @return Número de filas exportadas
+     * @throws ServiceException Si falla la consulta
+     * @throws IOException Si falla la escritura (p. ej. el cliente cerró la conexión)
+     */
+    public long exportar(TipoExportacion tipo, FormatoExportacion formato, LocalDate desde,
+                         LocalDate hasta, OutputStream salida, boolean comprimir)
+            throws ServiceException, IOException {
+
+        if (desde != null && hasta != null && desde.isAfter(hasta)) {
+            throw new ServiceException("La fecha inicial es posterior a la final");
+        }
+
+        long inicio = System.nanoTime();
+        OutputStream destino = comprimir ? new GZIPOutputStream(salida, TAMANO_BUFFER) : salida;
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(destino, StandardCharsets.UTF_8), TAMANO_BUFFER);
+
+        long filas;
+        try {
+            ReceptorFilas receptor = formato == FormatoExportacion.JSON
+                    ? new EscritorJson(writer)
+                    : new EscritorCsv(writer);
+
+            switch (tipo) {
+                case PEDIDOS:
+                    filas = exportacionDAO.exportarPedidos(desde, hasta, receptor);
+                    break;
+                case LINEAS:
+                    filas = exportacionDAO.exportarLineasPedido(desde, hasta, receptor);
+                    break;
+                case PRODUCTOS:
+                default:
+                    filas = exportacionDAO.exportarProductos(receptor);
+                    break;
+            }
+        } catch (SQLException e) {
+            // Sin cerrar el writer: ni se vacía el buffer ni se escribe el final del gzip
+            logger.error("Error en la exportación {}", tipo, e);
+            throw new ServiceException("Error al exportar " + tipo.name().toLowerCase(), e);
+        }
+
+        writer.close();
+
+        long millis = Math.max(1, (System.nanoTime() - inicio) / 1_000_000);
+        logger.info("Exportación {} ({}{}) completada: {} filas en {} ms ({} filas/s)",
+                tipo, formato, comprimir ? ", gzip" : "", filas, millis, filas * 1000 / millis);
+        return filas;
+    }
+
+    // ==================== ESCRITORES ====================
+
+    /**
+     * CSV según RFC 4180 (coma, comillas dobles y CRLF)
+     * Los textos que empiezan por =, +, - o @ se prefijan con ' para que una hoja de cálculo
+     * no los interprete como fórmulas
+     */
+    static final class EscritorCsv implements ReceptorFilas {
+        private final Writer writer;
+
+        EscritorCsv(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void iniciar(String[] columnas) throws IOException {
+            for (int i = 0; i < columnas.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                escribirTexto(columnas[i]);
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void fila(Object[] valores) throws IOException {
+            for (int i = 0; i < valores.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                Object valor = valores[i];
+                if (valor == null) {
+                    continue;
+                }
+                if (valor instanceof BigDecimal) {
+                    writer.write(((BigDecimal) valor).toPlainString());
+                } else if (valor instanceof Number || valor instanceof Boolean) {
+                    writer.write(valor.toString());
+                } else if (valor instanceof LocalDateTime) {
+                    writer.write(FORMATO_FECHA.format((LocalDateTime) valor));
+                } else {
+                    escribirTexto(valor.toString());
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void finalizar() throws IOException {
+            writer.flush();
+        }
+
+        private void escribirTexto(String texto) throws IOException {
+            if (!texto.isEmpty() && "=+-@".indexOf(texto.charAt(0)) >= 0) {
+                texto = "'" + texto;
+            }
+
+            boolean entrecomillar = false;
+            for (int i = 0; i < texto.length() && !entrecomillar; i++) {
+                char c = texto.charAt(i);
+                entrecomillar = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+
+            if (!entrecomillar) {
+                writer.write(texto);
+                return;
+            }
+
+            writer.write('"');
+            for (int i = 0; i < texto.length(); i++) {
+                char c = texto.charAt(i);
+                if (c == '"') {
+                    writer.write('"');
+                }
+                writer.write(c);
+            }
+            writer.write('"');
+        }
+    }
+
+    /**
+     * Array JSON de objetos, uno por fila, con los nombres de columna como claves
+     */
+    static final class EscritorJson implements ReceptorFilas {
+        private final JsonWriter json;
+        private String[] columnas;
+
+        EscritorJson(Writer writer) {
+            this.json = new JsonWriter(writer);
+            this.json.setSerializeNulls(true);
+        }
+
+        @Override
+        public void iniciar(String[] columnas) throws IOException {
+            this.columnas = columnas;
+            json.beginArray();
+        }
+
+        @Override
+        public void fila(Object[] valores) throws IOException {
+            json.beginObject();
+            for (int i = 0; i < valores.length; i++) {
+                json.name(columnas[i]);
+                Object valor = valores[i];
+                if (valor == null) {
+                    json.nullValue();
+                } else if (valor instanceof BigDecimal) {
+                    json.jsonValue(((BigDecimal) valor).toPlainString());
+                } else if (valor instanceof Number) {
+                    json.value((Number) valor);
+                } else if (valor instanceof Boolean) {
+                    json.value((Boolean) valor);
+                } else if (valor instanceof LocalDateTime) {
+                    json.value(FORMATO_FECHA.format((LocalDateTime) valor));
+                } else {
+                    json.value(valor.toString());
+                }
+            }
+            json.endObject();
+        }
+
+        @Override
+        public void finalizar() throws IOException {
+            json.endArray();
+            json.flush();
+        }
+    }
+
+    // ==================== ENUMS ====================
+
+    /**
+     * Datos exportables
+     */
+    public enum TipoExportacion {
+        PEDIDOS,
+        LINEAS,
+        PRODUCTOS
+    }
+
+    /**
+     * Formatos de salida con su tipo MIME y extensión
+     */
+    public enum FormatoExportacion {
+        CSV("text/csv", "csv"),
+        JSON("application/json", "json");
+
+        private final String contentType;
+        private final String extension;
+
+        FormatoExportacion(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() { return contentType; }
+        public String getExtension() { return extension; }
+    }
+}
@@ -0,0 +1,468 @@
+package com.techzone.ecommerce.techzone.service;
+
+import com.techzone.ecommerce.techzone.dao.ProductoDAO;
+import com.techzone.ecommerce.techzone.model.Categoria;
+import com.techzone.ecommerce.techzone.model.Producto;
+import com.techzone.ecommerce.techzone.service.ProductoService.FiltroProductos;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Motor de facetas del catálogo (conteos por categoría, marca, rango de precio,
+ * disponibilidad y descuento)
+ * Cada valor de faceta es un bitset (long[]) sobre las posiciones de los productos;
+ * combinar filtros es una intersección palabra a palabra y contar es un popcount,
+ * así que todos los conteos de una página se obtienen en una pasada sin consultar la BD.
+ *
+ * El conteo de cada faceta aplica todos los filtros activos excepto el suyo, para que
+ * el usuario vea cuántos productos obtendría al cambiar esa selección.
+ * El snapshot es inmutable y se reconstruye en segundo plano cuando hay cambios pendientes.
+ *
+ * @author TechZone Team
+ */
+public class FacetasProductos {
+
+    private static final Logger logger = LoggerFactory.getLogger(FacetasProductos.class);
+    private static volatile FacetasProductos instance;
+
+    // Límites de los rangos de precio final (el último rango no tiene tope)
+    private static final long[] LIMITES_PRECIO_CENTIMOS = {10_000, 30_000, 70_000, 150_000};
+
+    private static final int FILTRO_CATEGORIA = 0;
+    private static final int FILTRO_MARCA = 1;
+    private static final int FILTRO_PRECIO = 2;
+    private static final int FILTRO_DISPONIBLE = 3;
+    private static final int FILTRO_DESCUENTO = 4;
+    private static final int TOTAL_FILTROS = 5;
+
+    private final ProductoDAO productoDAO;
+    private final CategoriaCache categoriaCache;
+
+    private volatile Catalogo catalogo = Catalogo.VACIO;
+    private final AtomicBoolean pendiente = new AtomicBoolean(true);
+
+    // Constructor para inyección de dependencias (testing)
+    public FacetasProductos(ProductoDAO productoDAO, CategoriaCache categoriaCache) {
+        this.productoDAO = productoDAO;
+        this.categoriaCache = categoriaCache;
+    }
+
+    /**
+     * Obtiene la instancia única del motor de facetas
+     */
+    public static FacetasProductos getInstance() {
+        if (instance == null) {
+            synchronized (FacetasProductos.class) {
+                if (instance == null) {
+                    instance = new FacetasProductos(new ProductoDAO(), CategoriaCache.getInstance());
+                }
+            }
+        }
+        return instance;
+    }
+
+    // ==================== CONSULTA ====================
+
+    /**
+     * Calcula el total y los conteos de todas las facetas para el filtro indicado
+     *
+     * @param filtros Filtros activos (la paginación y el orden se ignoran)
+     * @param idsTexto IDs que coinciden con el término de búsqueda, o null si no hay término
+     * @return Conteos de facetas; vacíos si el índice aún no se ha construido
+     */
+    public ResultadoFacetas calcular(FiltroProductos filtros, Collection<Integer> idsTexto) {
+        return catalogo.calcular(filtros, idsTexto);
+    }
+
+    /**
+     * Indica si el índice se ha construido al menos una vez
+     */
+    public boolean estaConstruido() {
+        return catalogo != Catalogo.VACIO;
+    }
+
+    // ==================== RECONSTRUCCIÓN ====================
+
+    /**
+     * Marca el índice como desactualizado; se reconstruirá en la siguiente pasada en segundo plano
+     * Debe invocarse tras cambios en productos, categorías o stock
+     */
+    public void marcarPendiente() {
+        pendiente.set(true);
+    }
+
+    /**
+     * Reconstruye el índice solo si hay cambios pendientes
+     */
+    public void reconstruirSiPendiente() throws SQLException {
+        if (pendiente.compareAndSet(true, false)) {
+            try {
+                reconstruir();
+            } catch (SQLException | RuntimeException e) {
+                pendiente.set(true);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Recalcula los bitsets de todo el catálogo y los publica de forma atómica
+     */
+    public synchronized void reconstruir() throws SQLException {
+        long inicio = System.currentTimeMillis();
+
+        List<Producto> productos = productoDAO.obtenerResumenCatalogo();
+        Map<Integer, String> nombresCategoria = new HashMap<>();
+        for (Categoria categoria : categoriaCache.obtenerActivas()) {
+            nombresCategoria.put(categoria.getIdCategoria(), categoria.getNombre());
+        }
+
+        Catalogo nuevo = Catalogo.construir(productos, nombresCategoria);
+        catalogo = nuevo;
+
+        logger.info("Índice de facetas reconstruido: {} productos, {} categorías, {} marcas en {} ms",
+                nuevo.ids.length, nuevo.porCategoria.size(), nuevo.porMarca.size(),
+                System.currentTimeMillis() - inicio);
+    }
+
+    // ==================== OPERACIONES SOBRE BITSETS ====================
+
+    private static long[] bitsetVacio(int n) {
+        return new long[(n + 63) >>> 6];
+    }
+
+    private static long[] bitsetCompleto(int n) {
+        long[] bits = bitsetVacio(n);
+        Arrays.fill(bits, -1L);
+        if ((n & 63) != 0) {
+            bits[bits.length - 1] = (1L << n) - 1;
+        }
+        return bits;
+    }
+
+    private static void activar(long[] bits, int posicion) {
+        bits[posicion >>> 6] |= 1L << posicion;
+    }
+
+    private static void intersectar(long[] destino, long[] otro) {
+        for (int i = 0; i < destino.length; i++) {
+            destino[i] &= otro[i];
+        }
+    }
+
+    private static int contar(long[] bits) {
+        int total = 0;
+        for (long palabra : bits) {
+            total += Long.bitCount(palabra);
+        }
+        return total;
+    }
+
+    private static int contarInterseccion(long[] a, long[] b) {
+        int total = 0;
+        for (int i = 0; i < a.length; i++) {
+            total += Long.bitCount(a[i] & b[i]);
+        }
+        return total;
+    }
+
+    private static int contarDiferencia(long[] a, long[] b) {
+        int total = 0;
+        for (int i = 0; i < a.length; i++) {
+            total += Long.bitCount(a[i] & ~b[i]);
+        }
+        return total;
+    }
+
+    private static String claveMarca(String marca) {
+        return marca == null ? "" : marca.trim().toLowerCase();
+    }
+
+    // ==================== CLASES INTERNAS ====================
+
+    /**
+     * Snapshot inmutable del catálogo en bitsets
+     * La posición i de cada bitset corresponde al producto ids[i] (IDs ordenados)
+     */
+    static final class Catalogo {
+        static final Catalogo VACIO = new Catalogo(new int[0], new long[0], new long[0], new long[0],
+                new LinkedHashMap<>(), new LinkedHashMap<>(), new HashMap<>(), new HashMap<>(), new long[0][]);
+
+        private final int[] ids;
+        private final long[] precios;
+        private final long[] disponibles;
+        private final long[] conDescuento;
+        private final Map<Integer, long[]> porCategoria;
+        private final Map<String, long[]> porMarca;
+        private final Map<String, String> nombresMarca;
+        private final Map<Integer, String> nombresCategoria;
+        private final long[][] porRangoPrecio;
+
+        Catalogo(int[] ids, long[] precios, long[] disponibles, long[] conDescuento,
+                 Map<Integer, long[]> porCategoria, Map<String, long[]> porMarca,
+                 Map<String, String> nombresMarca, Map<Integer, String> nombresCategoria,
+                 long[][] porRangoPrecio) {
+            this.ids = ids;
+            this.precios = precios;
+            this.disponibles = disponibles;
+            this.conDescuento = conDescuento;
+            this.porCategoria = porCategoria;
+            this.porMarca = porMarca;
+            this.nombresMarca = nombresMarca;
+            this.nombresCategoria = nombresCategoria;
+            this.porRangoPrecio = porRangoPrecio;
+        }
+
+        static Catalogo construir(List<Producto> productos, Map<Integer, String> nombresCategoria) {
+            List<Producto> ordenados = new ArrayList<>(productos);
+            ordenados.sort((a, b) -> Integer.compare(a.getIdProducto(), b.getIdProducto()));
+
+            int n = ordenados.size();
+            int[] ids = new int[n];
+            long[] precios = new long[n];
+            long[] disponibles = bitsetVacio(n);
+            long[] conDescuento = bitsetVacio(n);
+            Map<Integer, long[]> porCategoria = new LinkedHashMap<>();
+            Map<String, long[]> porMarca = new LinkedHashMap<>();
+            Map<String, String> nombresMarca = new HashMap<>();
+            long[][] porRangoPrecio = new long[LIMITES_PRECIO_CENTIMOS.length + 1][];
+            for (int r = 0; r < porRangoPrecio.length; r++) {
+                porRangoPrecio[r] = bitsetVacio(n);
+            }
+
+            for (int i = 0; i < n; i++) {
+                Producto p = ordenados.get(i);
+                ids[i] = p.getIdProducto();
+                precios[i] = p.getPrecioFinalCentimos();
+
+                // Mismos criterios que ProductoDAO.construirWhere
+                if (p.getEstado() == Producto.EstadoProducto.DISPONIBLE
+                        && p.getStock() != null && p.getStock() > 0) {
+                    activar(disponibles, i);
+                }
+                if (p.getDescuento() != null && p.getDescuento().compareTo(BigDecimal.ZERO) > 0) {
+                    activar(conDescuento, i);
+                }
+                if (p.getIdCategoria() != null) {
+                    activar(porCategoria.computeIfAbsent(p.getIdCategoria(), k -> bitsetVacio(n)), i);
+                }
+
+                String clave = claveMarca(p.getMarca());
+                if (!clave.isEmpty()) {
+                    activar(porMarca.computeIfAbsent(clave, k -> bitsetVacio(n)), i);
+                    nombresMarca.putIfAbsent(clave, p.getMarca().trim());
+                }
+
+                activar(porRangoPrecio[rangoDe(precios[i])], i);
+            }
+
+            return new Catalogo(ids, precios, disponibles, conDescuento, porCategoria, porMarca,
+                    nombresMarca, nombresCategoria, porRangoPrecio);
+        }
+
+        private static int rangoDe(long precio) {
+            int r = 0;
+            while (r < LIMITES_PRECIO_CENTIMOS.length && precio >= LIMITES_PRECIO_CENTIMOS[r]) {
+                r++;
+            }
+            return r;
+        }
+
+        ResultadoFacetas calcular(FiltroProductos filtros, Collection<Integer> idsTexto) {
+            int n = ids.length;
+            if (n == 0) {
+                return ResultadoFacetas.VACIO;
+            }
+
+            long[] base = idsTexto != null ? bitsetDeIds(idsTexto) : bitsetCompleto(n);
+
+            // Bitset de cada filtro activo (null = filtro inactivo)
+            long[][] activos = new long[TOTAL_FILTROS][];
+            if (filtros.getIdCategoria() != null) {
+                activos[FILTRO_CATEGORIA] = porCategoria.getOrDefault(filtros.getIdCategoria(), bitsetVacio(n));
+            }
+            if (filtros.getMarca() != null && !filtros.getMarca().trim().isEmpty()) {
+                activos[FILTRO_MARCA] = porMarca.getOrDefault(claveMarca(filtros.getMarca()), bitsetVacio(n));
+            }
+            if (filtros.getPrecioMinimo() != null || filtros.getPrecioMaximo() != null) {
+                activos[FILTRO_PRECIO] = bitsetDePrecio(filtros.getPrecioMinimoCentimos(),
+                        filtros.getPrecioMaximoCentimos());
+            }
+            if (filtros.isSoloDisponibles()) {
+                activos[FILTRO_DISPONIBLE] = disponibles;
+            }
+            if (filtros.isSoloConDescuento()) {
+                activos[FILTRO_DESCUENTO] = conDescuento;
+            }
+
+            int total = contar(combinar(base, activos, -1));
+
+            // Categorías y marcas: conteo sin su propio filtro
+            long[] sinCategoria = combinar(base, activos, FILTRO_CATEGORIA);
+            List<ConteoFaceta> categorias = new ArrayList<>();
+            for (Map.Entry<Integer, long[]> entrada : porCategoria.entrySet()) {
+                String nombre = nombresCategoria.get(entrada.getKey());
+                int cantidad = contarInterseccion(sinCategoria, entrada.getValue());
+                if (nombre != null && cantidad > 0) {
+                    categorias.add(new ConteoFaceta(String.valueOf(entrada.getKey()), nombre, cantidad));
+                }
+            }
+
+            long[] sinMarca = combinar(base, activos, FILTRO_MARCA);
+            List<ConteoFaceta> marcas = new ArrayList<>();
+            for (Map.Entry<String, long[]> entrada : porMarca.entrySet()) {
+                int cantidad = contarInterseccion(sinMarca, entrada.getValue());
+                if (cantidad > 0) {
+                    String nombre = nombresMarca.get(entrada.getKey());
+                    marcas.add(new ConteoFaceta(nombre, nombre, cantidad));
+                }
+            }
+
+            long[] sinPrecio = combinar(base, activos, FILTRO_PRECIO);
+            List<ConteoFaceta> rangos = new ArrayList<>();
+            for (int r = 0; r < porRangoPrecio.length; r++) {
+                int cantidad = contarInterseccion(sinPrecio, porRangoPrecio[r]);
+                if (cantidad > 0) {
+                    rangos.add(new ConteoFaceta(valorRango(r), etiquetaRango(r), cantidad));
+                }
+            }
+
+            long[] sinDisponible = combinar(base, activos, FILTRO_DISPONIBLE);
+            long[] sinDescuento = combinar(base, activos, FILTRO_DESCUENTO);
+
+            categorias.sort(ResultadoFacetas.POR_CANTIDAD);
+            marcas.sort(ResultadoFacetas.POR_CANTIDAD);
+
+            return new ResultadoFacetas(total, categorias, marcas, rangos,
+                    contarInterseccion(sinDisponible, disponibles),
+                    contarDiferencia(sinDisponible, disponibles),
+                    contarInterseccion(sinDescuento, conDescuento));
+        }
+
+        /**
+         * Intersección de la base con todos los filtros activos excepto el indicado (-1 = ninguno)
+         */
+        private long[] combinar(long[] base, long[][] activos, int excepto) {
+            long[] resultado = base.clone();
+            for (int f = 0; f < TOTAL_FILTROS; f++) {
+                if (f != excepto && activos[f] != null) {
+                    intersectar(resultado, activos[f]);
+                }
+            }
+            return resultado;
+        }
+
+        private long[] bitsetDeIds(Collection<Integer> idsProductos) {
+            long[] bits = bitsetVacio(ids.length);
+            for (Integer id : idsProductos) {
+                int pos = Arrays.binarySearch(ids, id);
+                if (pos >= 0) {
+                    activar(bits, pos);
+                }
+            }
+            return bits;
+        }
+
+        /**
+         * Rango arbitrario sobre el precio final, con los mismos límites inclusivos que la consulta SQL
+         */
+        private long[] bitsetDePrecio(long desde, long hasta) {
+            long[] bits = bitsetVacio(ids.length);
+            for (int i = 0; i < precios.length; i++) {
+                if (precios[i] >= desde && precios[i] <= hasta) {
+                    activar(bits, i);
+                }
+            }
+            return bits;
+        }
+
+        private static String valorRango(int r) {
+            String desde = r == 0 ? "0" : String.valueOf(LIMITES_PRECIO_CENTIMOS[r - 1] / 100);
+            String hasta = r < LIMITES_PRECIO_CENTIMOS.length
+                    ? String.valueOf(LIMITES_PRECIO_CENTIMOS[r] / 100)
+                    : "";
+            return desde + "-" + hasta;
+        }
+
+        private static String etiquetaRango(int r) {
+            if (r == 0) {
+                return "Hasta " + LIMITES_PRECIO_CENTIMOS[0] / 100;
+            }
+            if (r == LIMITES_PRECIO_CENTIMOS.length) {
+                return "Desde " + LIMITES_PRECIO_CENTIMOS[r - 1] / 100;
+            }
+            return LIMITES_PRECIO_CENTIMOS[r - 1] / 100 + " - " + LIMITES_PRECIO_CENTIMOS[r] / 100;
+        }
+    }
+
+    /**
+     * Conteo de un valor de faceta
+     * El valor es el que se envía como parámetro de filtro; el nombre, el que se muestra
+     */
+    public static class ConteoFaceta {
+        private final String valor;
+        private final String nombre;
+        private final int cantidad;
+
+        public ConteoFaceta(String valor, String nombre, int cantidad) {
+            this.valor = valor;
+            this.nombre = nombre;
+            this.cantidad = cantidad;
+        }
+
+        public String getValor() { return valor; }
+        public String getNombre() { return nombre; }
+        public int getCantidad() { return cantidad; }
+    }
+
+    /**
+     * Total de coincidencias y conteos de todas las facetas
+     */
+    public static class ResultadoFacetas {
+        static final ResultadoFacetas VACIO = new ResultadoFacetas(0, List.of(), List.of(), List.of(), 0, 0, 0);
+
+        static final Comparator<ConteoFaceta> POR_CANTIDAD = (a, b) -> a.cantidad != b.cantidad
+                ? Integer.compare(b.cantidad, a.cantidad)
+                : a.nombre.compareToIgnoreCase(b.nombre);
+
+        private final int total;
+        private final List<ConteoFaceta> categorias;
+        private final List<ConteoFaceta> marcas;
+        private final List<ConteoFaceta> rangosPrecio;
+        private final int disponibles;
+        private final int agotados;
+        private final int conDescuento;
+
+        public ResultadoFacetas(int total, List<ConteoFaceta> categorias, List<ConteoFaceta> marcas,
+                                List<ConteoFaceta> rangosPrecio, int disponibles, int agotados,
+                                int conDescuento) {
+            this.total = total;
+            this.categorias = categorias;
+            this.marcas = marcas;
+            this.rangosPrecio = rangosPrecio;
+            this.disponibles = disponibles;
+            this.agotados = agotados;
+            this.conDescuento = conDescuento;
+        }
+
+        public int getTotal() { return total; }
+        public List<ConteoFaceta> getCategorias() { return categorias; }
+        public List<ConteoFaceta> getMarcas() { return marcas; }
+        public List<ConteoFaceta> getRangosPrecio() { return rangosPrecio; }
+        public int getDisponibles() { return disponibles; }
+        public int getAgotados() { return agotados; }
+        public int getConDescuento() { return conDescuento; }
+    }
+}
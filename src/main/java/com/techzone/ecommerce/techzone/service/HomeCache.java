@@ -0,0 +1,195 @@
+package com.techzone.ecommerce.techzone.service;
+
+import com.techzone.ecommerce.techzone.model.Categoria;
+import com.techzone.ecommerce.techzone.model.Imagen;
+import com.techzone.ecommerce.techzone.model.Producto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caché del modelo de la página principal (categorías, destacados, ofertas e imágenes)
+ * Se recalcula al caducar el TTL o cuando ProductoService/CategoriaService
+ * notifican una escritura mediante {@link #invalidar()}.
+ *
+ * @author TechZone Team
+ */
+public class HomeCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(HomeCache.class);
+    private static volatile HomeCache instance;
+
+    public static final long TTL_DEFECTO_SEGUNDOS = 300;
+    private static final int PRODUCTOS_DESTACADOS = 8;
+    private static final int PRODUCTOS_OFERTA = 4;
+    private static final int CATEGORIAS_DESTACADAS = 6;
+
+    private final ProductoService productoService;
+    private final CategoriaService categoriaService;
+    private final ImagenService imagenService;
+
+    private volatile long ttlMillis = TTL_DEFECTO_SEGUNDOS * 1000;
+    private volatile ModeloInicio modelo;
+
+    // Se incrementa en cada invalidación; una carga iniciada antes no se publica
+    private final AtomicLong version = new AtomicLong();
+
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+
+    private HomeCache() {
+        this.productoService = new ProductoService();
+        this.categoriaService = new CategoriaService();
+        this.imagenService = new ImagenService();
+    }
+
+    /**
+     * Obtiene la instancia única de la caché
+     */
+    public static HomeCache getInstance() {
+        if (instance == null) {
+            synchronized (HomeCache.class) {
+                if (instance == null) {
+                    instance = new HomeCache();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Cambia el tiempo de vida del modelo cacheado
+     */
+    public void configurarTtl(long ttlSegundos) {
+        this.ttlMillis = Math.max(0, ttlSegundos) * 1000;
+    }
+
+    // ==================== LECTURA ====================
+
+    /**
+     * Obtiene el modelo de la página principal, cargándolo solo si no está en caché o caducó
+     * Las peticiones concurrentes durante la carga esperan a una única consulta
+     */
+    public ModeloInicio obtenerModelo() throws ServiceException {
+        ModeloInicio actual = modelo;
+        if (actual != null && !actual.haCaducado(ttlMillis)) {
+            aciertos.increment();
+            return actual;
+        }
+
+        synchronized (this) {
+            actual = modelo;
+            if (actual != null && !actual.haCaducado(ttlMillis)) {
+                aciertos.increment();
+                return actual;
+            }
+
+            fallos.increment();
+            long versionInicial = version.get();
+            ModeloInicio cargado = cargarModelo();
+
+            if (version.get() == versionInicial) {
+                modelo = cargado;
+            }
+
+            return cargado;
+        }
+    }
+
+    // ==================== INVALIDACIÓN ====================
+
+    /**
+     * Descarta el modelo cacheado
+     * Debe invocarse tras escrituras sobre productos, categorías o imágenes
+     */
+    public void invalidar() {
+        version.incrementAndGet();
+        modelo = null;
+        logger.debug("Caché de la página principal invalidada");
+    }
+
+    // ==================== ESTADÍSTICAS ====================
+
+    /**
+     * Obtiene las estadísticas de uso de la caché
+     */
+    public CategoriaCache.EstadisticasCache obtenerEstadisticas() {
+        return new CategoriaCache.EstadisticasCache(aciertos.sum(), fallos.sum(),
+                modelo != null ? 1 : 0, modelo != null);
+    }
+
+    // ==================== CARGA ====================
+
+    /**
+     * Consulta categorías, destacados, ofertas y sus imágenes (un solo query de imágenes)
+     */
+    private ModeloInicio cargarModelo() throws ServiceException {
+        try {
+            List<Categoria> categorias = categoriaService.obtenerCategoriasActivas();
+            List<Producto> destacados = productoService.obtenerProductosRecientes(PRODUCTOS_DESTACADOS);
+            List<Producto> ofertas = productoService.obtenerProductosConDescuento(PRODUCTOS_OFERTA);
+
+            Set<Integer> ids = new LinkedHashSet<>();
+            destacados.forEach(p -> ids.add(p.getIdProducto()));
+            ofertas.forEach(p -> ids.add(p.getIdProducto()));
+
+            Map<Integer, List<Imagen>> imagenesMap = ids.isEmpty()
+                    ? new HashMap<>()
+                    : imagenService.obtenerImagenesPorProductos(new ArrayList<>(ids));
+
+            logger.debug("Modelo de la página principal cargado - {} destacados, {} ofertas, {} categorías",
+                    destacados.size(), ofertas.size(), categorias.size());
+
+            return new ModeloInicio(categorias, destacados, ofertas, imagenesMap);
+
+        } catch (ProductoService.ServiceException e) {
+            throw new ServiceException("Error al cargar la página principal: " + e.getMessage(), e);
+        }
+    }
+
+    // ==================== CLASES INTERNAS ====================
+
+    /**
+     * Datos de la página principal en un instante dado (inmutable)
+     */
+    public static class ModeloInicio {
+        private final List<Categoria> categorias;
+        private final List<Categoria> categoriasDestacadas;
+        private final List<Producto> productosDestacados;
+        private final List<Producto> productosOferta;
+        private final Map<Integer, List<Imagen>> imagenesMap;
+        private final long cargadoEn;
+
+        public ModeloInicio(List<Categoria> categorias, List<Producto> productosDestacados,
+                            List<Producto> productosOferta, Map<Integer, List<Imagen>> imagenesMap) {
+            this.categorias = Collections.unmodifiableList(new ArrayList<>(categorias));
+            this.categoriasDestacadas = this.categorias.size() > CATEGORIAS_DESTACADAS
+                    ? this.categorias.subList(0, CATEGORIAS_DESTACADAS)
+                    : this.categorias;
+            this.productosDestacados = Collections.unmodifiableList(new ArrayList<>(productosDestacados));
+            this.productosOferta = Collections.unmodifiableList(new ArrayList<>(productosOferta));
+            this.imagenesMap = Collections.unmodifiableMap(imagenesMap);
+            this.cargadoEn = System.currentTimeMillis();
+        }
+
+        public List<Categoria> getCategorias() { return categorias; }
+        public List<Categoria> getCategoriasDestacadas() { return categoriasDestacadas; }
+        public List<Producto> getProductosDestacados() { return productosDestacados; }
+        public List<Producto> getProductosOferta() { return productosOferta; }
+        public Map<Integer, List<Imagen>> getImagenesMap() { return imagenesMap; }
+        public long getCargadoEn() { return cargadoEn; }
+
+        boolean haCaducado(long ttlMillis) {
+            return System.currentTimeMillis() - cargadoEn >= ttlMillis;
+        }
+    }
+}
@@ -0,0 +1,495 @@
+package com.techzone.ecommerce.techzone.service;
+
+import com.techzone.ecommerce.techzone.config.TransactionContext;
+import com.techzone.ecommerce.techzone.dao.ImagenDAO;
+import com.techzone.ecommerce.techzone.dao.ProductoDAO;
+import com.techzone.ecommerce.techzone.model.Imagen;
+import com.techzone.ecommerce.techzone.model.Producto;
+import com.techzone.ecommerce.techzone.util.LectorCsv;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Importación masiva de productos desde CSV (catálogos de proveedores)
+ *
+ * El archivo se lee fila a fila y cada fila se valida con las mismas reglas que
+ * ProductoService.crearProducto. Las filas válidas se guardan por SKU (alta o actualización)
+ * en lotes de {@link #TAMANO_LOTE}, cada lote en su propia transacción con sentencias por lotes
+ * para productos e imágenes. Si un lote falla en la BD se reintenta fila a fila, de modo que
+ * una fila errónea solo se descarta a sí misma. Los índices en memoria se refrescan una vez
+ * al terminar.
+ *
+ * Columnas: sku, nombre, id_categoria, precio, stock (obligatorias) y descripcion, marca,
+ * modelo, especificaciones, estado, descuento, imagenes (URLs separadas por |; si la columna
+ * trae valor sustituye las imágenes del producto). Una celda opcional vacía o ausente conserva
+ * el valor actual de un SKU existente; en las altas, estado y descuento toman DISPONIBLE y 0.
+ *
+ * @author TechZone Team
+ */
+public class ImportacionProductosService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportacionProductosService.class);
+
+    public static final int TAMANO_LOTE = 500;
+    public static final int MAX_ERRORES_DETALLE = 500;
+    private static final int LONGITUD_MAXIMA_SKU = 64;
+    private static final int LONGITUD_MAXIMA_URL = 255;
+
+    private static final String[] COLUMNAS_OBLIGATORIAS = {"sku", "nombre", "id_categoria", "precio", "stock"};
+
+    private final ProductoDAO productoDAO;
+    private final ImagenDAO imagenDAO;
+    private final CategoriaCache categoriaCache;
+
+    public ImportacionProductosService() {
+        this.productoDAO = new ProductoDAO();
+        this.imagenDAO = new ImagenDAO();
+        this.categoriaCache = CategoriaCache.getInstance();
+    }
+
+    // Constructor para inyección de dependencias (testing)
+    public ImportacionProductosService(ProductoDAO productoDAO, ImagenDAO imagenDAO,
+                                       CategoriaCache categoriaCache) {
+        this.productoDAO = productoDAO;
+        this.imagenDAO = imagenDAO;
+        this.categoriaCache = categoriaCache;
+    }
+
+    // ==================== IMPORTACIÓN ====================
+
+    /**
+     * Importa el CSV (UTF-8) y devuelve el resumen con los errores por fila
+     *
+     * @param entrada Contenido del archivo
+     * @return Filas leídas, altas, actualizaciones, errores y rendimiento
+     * @throws ServiceException Si el archivo no se puede leer o le faltan columnas obligatorias
+     */
+    public ResultadoImportacion importar(InputStream entrada) throws ServiceException {
+        long inicio = System.nanoTime();
+        ResultadoImportacion resultado = new ResultadoImportacion();
+        Set<Integer> idsAfectados = new HashSet<>();
+
+        try (LectorCsv lector = new LectorCsv(new InputStreamReader(entrada, StandardCharsets.UTF_8))) {
+
+            Map<String, Integer> columnas = leerCabecera(lector.leerFila());
+
+            // Clave de SKU (ver ProductoDAO.claveSku) -> línea donde apareció por primera vez
+            Map<String, Integer> skusVistos = new HashMap<>();
+            List<FilaImportacion> lote = new ArrayList<>(TAMANO_LOTE);
+
+            List<String> valores;
+            while ((valores = lector.leerFila()) != null) {
+                int linea = lector.getLineaFila();
+                if (esFilaVacia(valores)) {
+                    continue;
+                }
+                resultado.filasLeidas++;
+
+                String sku = normalizarSku(valor(valores, columnas, "sku"));
+                try {
+                    FilaImportacion fila = convertirFila(linea, sku, valores, columnas);
+
+                    Integer lineaAnterior = skusVistos.putIfAbsent(ProductoDAO.claveSku(sku), linea);
+                    if (lineaAnterior != null) {
+                        throw new ProductoService.ServiceException(
+                                "SKU repetido en el archivo (ya aparece en la línea " + lineaAnterior + ")");
+                    }
+
+                    lote.add(fila);
+                    if (lote.size() >= TAMANO_LOTE) {
+                        guardarLote(lote, resultado, idsAfectados);
+                        lote.clear();
+                    }
+
+                } catch (ProductoService.ServiceException e) {
+                    resultado.agregarError(linea, sku, e.getMessage());
+                }
+            }
+
+            guardarLote(lote, resultado, idsAfectados);
+
+        } catch (IOException e) {
+            logger.error("Error al leer el archivo de importación", e);
+            throw new ServiceException("No se pudo leer el archivo: " + e.getMessage(), e);
+        } finally {
+            resultado.millis = Math.max(1, (System.nanoTime() - inicio) / 1_000_000);
+            refrescarIndices(idsAfectados);
+        }
+
+        logger.info("Importación de productos: {} filas, {} altas, {} actualizaciones, {} errores " +
+                        "en {} ms ({} filas/s)",
+                resultado.filasLeidas, resultado.insertados, resultado.actualizados,
+                resultado.totalErrores, resultado.millis, resultado.getFilasPorSegundo());
+        return resultado;
+    }
+
+    // ==================== LECTURA Y VALIDACIÓN ====================
+
+    /**
+     * Índice de cada columna por nombre (sin distinguir mayúsculas)
+     */
+    private Map<String, Integer> leerCabecera(List<String> cabecera) throws ServiceException {
+        if (cabecera == null) {
+            throw new ServiceException("El archivo está vacío");
+        }
+
+        Map<String, Integer> columnas = new HashMap<>();
+        for (int i = 0; i < cabecera.size(); i++) {
+            columnas.putIfAbsent(cabecera.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+
+        List<String> faltantes = new ArrayList<>();
+        for (String obligatoria : COLUMNAS_OBLIGATORIAS) {
+            if (!columnas.containsKey(obligatoria)) {
+                faltantes.add(obligatoria);
+            }
+        }
+        if (!faltantes.isEmpty()) {
+            throw new ServiceException("Faltan columnas obligatorias: " + String.join(", ", faltantes));
+        }
+
+        return columnas;
+    }
+
+    /**
+     * Convierte una fila en producto y lo valida como en el alta manual
+     */
+    private FilaImportacion convertirFila(int linea, String sku, List<String> valores,
+                                          Map<String, Integer> columnas)
+            throws ProductoService.ServiceException {
+
+        if (sku.isEmpty()) {
+            throw new ProductoService.ServiceException("El SKU es requerido");
+        }
+        if (sku.length() > LONGITUD_MAXIMA_SKU) {
+            throw new ProductoService.ServiceException(
+                    "El SKU supera los " + LONGITUD_MAXIMA_SKU + " caracteres");
+        }
+
+        Producto producto = new Producto();
+        producto.setNombre(valor(valores, columnas, "nombre"));
+        producto.setIdCategoria(leerEntero(valor(valores, columnas, "id_categoria"), "id_categoria"));
+        producto.setPrecio(leerDecimal(valor(valores, columnas, "precio"), "precio"));
+        producto.setStock(leerEntero(valor(valores, columnas, "stock"), "stock"));
+        producto.setDescripcion(opcional(valor(valores, columnas, "descripcion")));
+        producto.setMarca(opcional(valor(valores, columnas, "marca")));
+        producto.setModelo(opcional(valor(valores, columnas, "modelo")));
+        producto.setEspecificaciones(opcional(valor(valores, columnas, "especificaciones")));
+
+        // Opcionales vacíos a null: en un SKU existente se conserva el valor actual (ver completarAlta)
+        String descuento = valor(valores, columnas, "descuento");
+        producto.setDescuento(descuento.isEmpty() ? null : leerDecimal(descuento, "descuento"));
+
+        String estado = valor(valores, columnas, "estado");
+        if (estado.isEmpty()) {
+            producto.setEstado(null);
+        } else {
+            try {
+                producto.setEstado(Producto.EstadoProducto.valueOf(estado.toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new ProductoService.ServiceException("Estado inválido: " + estado);
+            }
+        }
+
+        ProductoService.validarProducto(producto);
+
+        try {
+            if (!categoriaCache.buscarPorId(producto.getIdCategoria()).isPresent()) {
+                throw new ProductoService.ServiceException("La categoría seleccionada no existe");
+            }
+        } catch (SQLException e) {
+            throw new ProductoService.ServiceException("Error al verificar la categoría: " + e.getMessage());
+        }
+
+        return new FilaImportacion(linea, sku, producto, leerImagenes(valor(valores, columnas, "imagenes")));
+    }
+
+    /**
+     * URLs de imágenes separadas por |; null si la celda está vacía (se conservan las actuales)
+     */
+    private List<String> leerImagenes(String celda) throws ProductoService.ServiceException {
+        if (celda.isEmpty()) {
+            return null;
+        }
+
+        List<String> urls = new ArrayList<>();
+        for (String parte : celda.split("\\|")) {
+            String url = parte.trim();
+            if (url.isEmpty()) {
+                continue;
+            }
+            if (url.length() > LONGITUD_MAXIMA_URL) {
+                throw new ProductoService.ServiceException(
+                        "URL de imagen demasiado larga (máximo " + LONGITUD_MAXIMA_URL + " caracteres)");
+            }
+            urls.add(url);
+        }
+        return urls.isEmpty() ? null : urls;
+    }
+
+    private static String valor(List<String> valores, Map<String, Integer> columnas, String nombre) {
+        Integer indice = columnas.get(nombre);
+        if (indice == null || indice >= valores.size()) {
+            return "";
+        }
+        return valores.get(indice).trim();
+    }
+
+    private static String opcional(String valor) {
+        return valor.isEmpty() ? null : valor;
+    }
+
+    /**
+     * Valores por defecto de un producto nuevo para las celdas opcionales que venían vacías
+     */
+    private static void completarAlta(Producto producto) {
+        if (producto.getEstado() == null) {
+            producto.setEstado(Producto.EstadoProducto.DISPONIBLE);
+        }
+        if (producto.getDescuento() == null) {
+            producto.setDescuento(BigDecimal.ZERO);
+        }
+    }
+
+    // SKU sin distinguir mayúsculas, igual que el índice único con la colación de la tabla
+    private static String normalizarSku(String sku) {
+        return sku.toUpperCase(Locale.ROOT);
+    }
+
+    private static boolean esFilaVacia(List<String> valores) {
+        for (String valor : valores) {
+            if (!valor.trim().isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Integer leerEntero(String valor, String columna) throws ProductoService.ServiceException {
+        if (valor.isEmpty()) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(valor);
+        } catch (NumberFormatException e) {
+            throw new ProductoService.ServiceException("Valor numérico inválido en " + columna + ": " + valor);
+        }
+    }
+
+    /**
+     * Admite punto o coma decimal (1299.99 o 1299,99)
+     */
+    private static BigDecimal leerDecimal(String valor, String columna) throws ProductoService.ServiceException {
+        if (valor.isEmpty()) {
+            return null;
+        }
+        String normalizado = valor.indexOf('.') < 0 ? valor.replace(',', '.') : valor;
+        try {
+            return new BigDecimal(normalizado);
+        } catch (NumberFormatException e) {
+            throw new ProductoService.ServiceException("Importe inválido en " + columna + ": " + valor);
+        }
+    }
+
+    // ==================== ESCRITURA POR LOTES ====================
+
+    /**
+     * Guarda el lote en una transacción; si la BD lo rechaza, reintenta fila a fila para
+     * aislar las filas erróneas sin perder las demás
+     */
+    private void guardarLote(List<FilaImportacion> lote, ResultadoImportacion resultado,
+                             Set<Integer> idsAfectados) {
+        if (lote.isEmpty()) {
+            return;
+        }
+
+        try {
+            guardarEnTransaccion(lote, resultado, idsAfectados);
+            return;
+        } catch (SQLException e) {
+            if (lote.size() == 1) {
+                FilaImportacion fila = lote.get(0);
+                resultado.agregarError(fila.linea, fila.sku, "Error de base de datos: " + e.getMessage());
+                return;
+            }
+            logger.warn("Lote de {} filas rechazado ({}), se reintenta fila a fila",
+                    lote.size(), e.getMessage());
+        }
+
+        for (FilaImportacion fila : lote) {
+            try {
+                guardarEnTransaccion(List.of(fila), resultado, idsAfectados);
+            } catch (SQLException e) {
+                resultado.agregarError(fila.linea, fila.sku, "Error de base de datos: " + e.getMessage());
+            }
+        }
+    }
+
+    private void guardarEnTransaccion(List<FilaImportacion> filas, ResultadoImportacion resultado,
+                                      Set<Integer> idsAfectados) throws SQLException {
+        Map<String, Producto> porSku = new LinkedHashMap<>();
+        for (FilaImportacion fila : filas) {
+            porSku.put(fila.sku, fila.producto);
+        }
+
+        try (TransactionContext tx = TransactionContext.iniciar()) {
+            Connection conn = tx.getConnection();
+
+            // Existentes antes del lote: distinguen altas de actualizaciones
+            Map<String, Integer> ids = productoDAO.buscarIdsPorSku(conn, porSku.keySet());
+            int existentes = ids.size();
+
+            for (FilaImportacion fila : filas) {
+                if (!ids.containsKey(ProductoDAO.claveSku(fila.sku))) {
+                    completarAlta(fila.producto);
+                }
+            }
+
+            productoDAO.guardarPorSku(conn, porSku);
+
+            List<String> nuevos = new ArrayList<>();
+            for (String sku : porSku.keySet()) {
+                if (!ids.containsKey(ProductoDAO.claveSku(sku))) {
+                    nuevos.add(sku);
+                }
+            }
+            ids.putAll(productoDAO.buscarIdsPorSku(conn, nuevos));
+
+            // Sin ID tras guardar: se revierte el lote y el reintento fila a fila deja el error en esa fila
+            for (FilaImportacion fila : filas) {
+                if (!ids.containsKey(ProductoDAO.claveSku(fila.sku))) {
+                    throw new SQLException("No se encontró el producto con SKU " + fila.sku + " tras guardarlo");
+                }
+            }
+
+            // Imágenes: las filas que traen la columna sustituyen las del producto
+            List<Integer> conImagenes = new ArrayList<>();
+            List<Imagen> imagenes = new ArrayList<>();
+            for (FilaImportacion fila : filas) {
+                if (fila.imagenes == null) {
+                    continue;
+                }
+                int idProducto = ids.get(ProductoDAO.claveSku(fila.sku));
+                conImagenes.add(idProducto);
+                for (int i = 0; i < fila.imagenes.size(); i++) {
+                    imagenes.add(new Imagen(idProducto, fila.imagenes.get(i), i, i == 0));
+                }
+            }
+            imagenDAO.eliminarPorProductos(conn, conImagenes);
+            imagenDAO.crearEnLote(conn, imagenes);
+
+            tx.commit();
+
+            resultado.insertados += filas.size() - existentes;
+            resultado.actualizados += existentes;
+            resultado.imagenes += imagenes.size();
+            idsAfectados.addAll(ids.values());
+        }
+    }
+
+    /**
+     * Marca los productos importados para los índices en memoria y descarta las cachés
+     * (una sola vez por archivo, no por fila)
+     */
+    private void refrescarIndices(Set<Integer> idsAfectados) {
+        if (idsAfectados.isEmpty()) {
+            return;
+        }
+
+        BuscadorProductos.getInstance().marcarModificados(idsAfectados);
+        CatalogoSnapshot.getInstance().marcarModificados(idsAfectados);
+        HomeCache.getInstance().invalidar();
+        CacheBusquedas.getInstance().invalidar();
+        ProductosRelacionadosIndex.getInstance().marcarPendiente();
+        AutocompletadoIndex.getInstance().marcarPendiente();
+        FacetasProductos.getInstance().marcarPendiente();
+    }
+
+    // ==================== CLASES INTERNAS ====================
+
+    private static final class FilaImportacion {
+        private final int linea;
+        private final String sku;
+        private final Producto producto;
+        private final List<String> imagenes;
+
+        private FilaImportacion(int linea, String sku, Producto producto, List<String> imagenes) {
+            this.linea = linea;
+            this.sku = sku;
+            this.producto = producto;
+            this.imagenes = imagenes;
+        }
+    }
+
+    /**
+     * Resumen de una importación
+     * Solo se conserva el detalle de los primeros {@link #MAX_ERRORES_DETALLE} errores
+     */
+    public static class ResultadoImportacion {
+        private int filasLeidas;
+        private int insertados;
+        private int actualizados;
+        private int imagenes;
+        private int totalErrores;
+        private long millis;
+        private final List<ErrorFila> errores = new ArrayList<>();
+
+        void agregarError(int linea, String sku, String mensaje) {
+            totalErrores++;
+            if (errores.size() < MAX_ERRORES_DETALLE) {
+                errores.add(new ErrorFila(linea, sku, mensaje));
+            }
+        }
+
+        public int getFilasLeidas() { return filasLeidas; }
+        public int getInsertados() { return insertados; }
+        public int getActualizados() { return actualizados; }
+        public int getImagenes() { return imagenes; }
+        public int getTotalErrores() { return totalErrores; }
+        public long getMillis() { return millis; }
+        public List<ErrorFila> getErrores() { return errores; }
+
+        public long getFilasPorSegundo() {
+            return filasLeidas * 1000L / Math.max(1, millis);
+        }
+
+        public boolean isErroresTruncados() {
+            return totalErrores > errores.size();
+        }
+    }
+
+    /**
+     * Fila rechazada con su línea en el archivo
+     */
+    public static class ErrorFila {
+        private final int linea;
+        private final String sku;
+        private final String mensaje;
+
+        public ErrorFila(int linea, String sku, String mensaje) {
+            this.linea = linea;
+            this.sku = sku;
+            this.mensaje = mensaje;
+        }
+
+        public int getLinea() { return linea; }
+        public String getSku() { return sku; }
+        public String getMensaje() { return mensaje; }
+    }
+}
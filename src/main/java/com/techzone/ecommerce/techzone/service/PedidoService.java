@@ -1,14 +1,21 @@
 package com.techzone.ecommerce.techzone.service;
 
-import com.techzone.ecommerce.techzone.config.DatabaseConnection;
+import com.techzone.ecommerce.techzone.config.TransactionContext;
 import com.techzone.ecommerce.techzone.dao.*;
 import com.techzone.ecommerce.techzone.model.*;
+import com.techzone.ecommerce.techzone.util.PrecioUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.math.BigDecimal;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -17,11 +24,15 @@ import java.util.Optional;
  */
 public class PedidoService {
 
+    private static final Logger logger = LoggerFactory.getLogger(PedidoService.class);
     private final PedidoDAO pedidoDAO;
     private final DetallePedidoDAO detalleDAO;
     private final ProductoDAO productoDAO;
     private final CarritoDAO carritoDAO;
 
+    // Tope de pedidos por página (historial del cliente y listado de administración)
+    public static final int TAMANO_MAXIMO_PAGINA = 100;
+
     public PedidoService() {
         this.pedidoDAO = new PedidoDAO();
         this.detalleDAO = new DetallePedidoDAO();
@@ -46,12 +57,7 @@ public class PedidoService {
                                        String metodoPago, String notas)
             throws ServiceException {
 
-        Connection conn = null;
-
         try {
-            conn = DatabaseConnection.getInstance().getConnection();
-            conn.setAutoCommit(false);
-
             // 1. Obtener items del carrito
             List<Carrito> itemsCarrito = carritoDAO.obtenerPorUsuario(idUsuario);
 
@@ -68,43 +74,40 @@ public class PedidoService {
                 throw new ServiceException("El método de pago es requerido");
             }
 
-            // 3. Crear detalles y calcular total
+            // 3. Cargar todos los productos del carrito en una sola consulta
+            List<Integer> idsProductos = new ArrayList<>(itemsCarrito.size());
+            for (Carrito item : itemsCarrito) {
+                idsProductos.add(item.getIdProducto());
+            }
+            Map<Integer, Producto> productos = productoDAO.buscarPorIds(idsProductos);
+
+            // 4. Crear detalles y calcular total
             List<DetallePedido> detalles = new ArrayList<>();
-            BigDecimal total = BigDecimal.ZERO;
+            Map<Integer, Integer> cantidades = new HashMap<>();
+            long totalCentimos = 0;
+            int totalUnidades = 0;
 
             for (Carrito item : itemsCarrito) {
-                Optional<Producto> productoOpt = productoDAO.buscarPorId(item.getIdProducto());
+                Producto producto = productos.get(item.getIdProducto());
 
-                if (!productoOpt.isPresent()) {
-                    conn.rollback();
+                if (producto == null) {
                     throw new ServiceException(
                             "Producto ID " + item.getIdProducto() + " no encontrado"
                     );
                 }
 
-                Producto producto = productoOpt.get();
-
-                // Verificar stock
+                // Verificación previa de stock (la reserva real es el UPDATE condicional)
                 if (producto.getStock() < item.getCantidad()) {
-                    conn.rollback();
                     throw new ServiceException(
                             "Stock insuficiente para " + producto.getNombre() +
                                     ". Disponible: " + producto.getStock()
                     );
                 }
 
-                // Calcular precio con descuento
-                BigDecimal precioUnitario = producto.getPrecio();
-
-                if (producto.getDescuento() != null &&
-                        producto.getDescuento().compareTo(BigDecimal.ZERO) > 0) {
-                    BigDecimal descuento = precioUnitario
-                            .multiply(producto.getDescuento())
-                            .divide(new BigDecimal(100));
-                    precioUnitario = precioUnitario.subtract(descuento);
-                }
-
-                BigDecimal subtotal = precioUnitario.multiply(new BigDecimal(item.getCantidad()));
+                // Precio con descuento precalculado en céntimos (mismo redondeo que el carrito)
+                long subtotalCentimos = producto.getPrecioFinalCentimos() * item.getCantidad();
+                BigDecimal precioUnitario = producto.getPrecioConDescuento();
+                BigDecimal subtotal = PrecioUtil.aImporte(subtotalCentimos);
 
                 // Crear detalle
                 DetallePedido detalle = new DetallePedido();
@@ -114,69 +117,67 @@ public class PedidoService {
                 detalle.setSubtotal(subtotal);
 
                 detalles.add(detalle);
-                total = total.add(subtotal);
+                cantidades.merge(item.getIdProducto(), item.getCantidad(), Integer::sum);
+                totalCentimos += subtotalCentimos;
+                totalUnidades += item.getCantidad();
             }
 
-            // 4. Crear el pedido
-            Pedido pedido = new Pedido();
-            pedido.setIdUsuario(idUsuario);
-            pedido.setDireccionEnvio(direccionEnvio);
-            pedido.setMetodoPago(metodoPago);
-            pedido.setTotal(total);
-            pedido.setEstado("PENDIENTE");
-            pedido.setNotas(notas);
+            // 5-9. Escrituras en una única transacción sobre una sola conexión
+            try (TransactionContext tx = TransactionContext.iniciar()) {
+                Connection conn = tx.getConnection();
 
-            int idPedido = pedidoDAO.crear(pedido);
+                // 5. Reservar stock con un lote de UPDATE condicionales (detecta sobreventa)
+                List<Integer> sinStock = productoDAO.reducirStockEnLote(conn, cantidades);
+                if (!sinStock.isEmpty()) {
+                    Producto agotado = productos.get(sinStock.get(0));
+                    throw new ServiceException(
+                            "Stock insuficiente para " + agotado.getNombre() +
+                                    ". Otro cliente acaba de comprar las últimas unidades"
+                    );
+                }
 
-            // 5. Asignar ID de pedido a los detalles
-            for (DetallePedido detalle : detalles) {
-                detalle.setIdPedido(idPedido);
-            }
+                // 6. Crear el pedido
+                Pedido pedido = new Pedido();
+                pedido.setIdUsuario(idUsuario);
+                pedido.setDireccionEnvio(direccionEnvio);
+                pedido.setMetodoPago(metodoPago);
+                pedido.setTotal(PrecioUtil.aImporte(totalCentimos));
+                pedido.setEstado("PENDIENTE");
+                pedido.setNotas(notas);
+                pedido.setCantidadItems(detalles.size());
+                pedido.setCantidadTotal(totalUnidades);
+
+                int idPedido = pedidoDAO.crear(conn, pedido);
+
+                // 7. Asignar ID de pedido a los detalles
+                for (DetallePedido detalle : detalles) {
+                    detalle.setIdPedido(idPedido);
+                }
 
-            // 6. Insertar detalles del pedido
-            boolean detallesCreados = detalleDAO.crearMultiples(detalles);
-            if (!detallesCreados) {
-                conn.rollback();
-                throw new ServiceException("Error al crear detalles del pedido");
-            }
+                // 8. Insertar detalles del pedido
+                detalleDAO.crearMultiples(conn, detalles);
 
-            // 7. Reducir stock de productos
-            for (DetallePedido detalle : detalles) {
-                Optional<Producto> productoOpt = productoDAO.buscarPorId(detalle.getIdProducto());
-                if (productoOpt.isPresent()) {
-                    Producto producto = productoOpt.get();
-                    int nuevoStock = producto.getStock() - detalle.getCantidad();
-                    producto.setStock(nuevoStock);
-                    productoDAO.actualizar(producto);
-                }
-            }
+                // 9. Vaciar carrito del usuario
+                carritoDAO.vaciarCarrito(conn, idUsuario);
 
-            // 8. Vaciar carrito del usuario
-            carritoDAO.vaciarCarrito(idUsuario);
+                // 10. Commit único de la transacción (si algo falla antes, close() revierte)
+                tx.commit();
 
-            // 9. Commit de la transacción
-            conn.commit();
+                // Índices en memoria: compras conjuntas, popularidad y stock
+                ProductosRelacionadosIndex.getInstance().registrarPedido(idPedido, cantidades.keySet());
+                AutocompletadoIndex.getInstance().registrarVenta(cantidades);
+                FacetasProductos.getInstance().marcarPendiente();
+                BuscadorProductos.getInstance().marcarModificados(cantidades.keySet());
+                CatalogoSnapshot.getInstance().marcarModificados(cantidades.keySet());
+                CacheBusquedas.getInstance().invalidar();
 
-            return idPedido;
+                logger.info("Pedido {} creado para el usuario {} ({} productos)",
+                        idPedido, idUsuario, detalles.size());
+                return idPedido;
+            }
 
         } catch (SQLException e) {
-            if (conn != null) {
-                try {
-                    conn.rollback();
-                } catch (SQLException ex) {
-                    ex.printStackTrace();
-                }
-            }
             throw new ServiceException("Error al crear pedido: " + e.getMessage(), e);
-
-        } finally {
-            if (conn != null) {
-                try {
-                    conn.setAutoCommit(true);
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                }
-            }
         }
     }
 
@@ -193,13 +194,9 @@ public class PedidoService {
             }
 
             Pedido pedido = pedidoOpt.get();
-            List<DetallePedido> detalles = detalleDAO.obtenerPorPedido(idPedido);
 
-            // Enriquecer detalles con productos
-            for (DetallePedido detalle : detalles) {
-                Optional<Producto> producto = productoDAO.buscarPorId(detalle.getIdProducto());
-                detalle.setProducto(producto.orElse(null));
-            }
+            // Detalles con producto e imagen principal en una sola consulta (sin N+1 por línea)
+            List<DetallePedido> detalles = detalleDAO.obtenerConProductoPorPedido(idPedido);
 
             return new PedidoCompleto(pedido, detalles);
 
@@ -209,16 +206,86 @@ public class PedidoService {
     }
 
     /**
-     * Obtiene el historial de pedidos de un usuario
+     * Obtiene solo la cabecera del pedido (sin detalles), p. ej. para comprobar el propietario
      */
-    public List<Pedido> obtenerHistorialUsuario(int idUsuario) throws ServiceException {
+    public Pedido obtenerPedido(int idPedido) throws ServiceException {
         try {
-            return pedidoDAO.obtenerPorUsuario(idUsuario);
+            return pedidoDAO.buscarPorId(idPedido)
+                    .orElseThrow(() -> new ServiceException("Pedido no encontrado"));
+        } catch (SQLException e) {
+            throw new ServiceException("Error al obtener pedido", e);
+        }
+    }
+
+    /**
+     * Obtiene una página del historial de pedidos de un usuario (más recientes primero)
+     * La paginación es por cursor sobre (fecha_pedido, id_pedido): cada página cuesta lo mismo
+     * sin importar cuántos pedidos tenga el usuario, y las filas traen el número de líneas y
+     * unidades, por lo que no se lee detalle_pedido
+     *
+     * @param idUsuario ID del usuario
+     * @param cursor Cursor devuelto por la página anterior (null o vacío para la primera)
+     * @param tamano Pedidos por página
+     * @return Página con los pedidos y el cursor de la siguiente (null si no hay más)
+     */
+    public PaginaPedidos obtenerHistorialUsuario(int idUsuario, String cursor, int tamano)
+            throws ServiceException {
+        int limite = Math.max(1, Math.min(tamano, TAMANO_MAXIMO_PAGINA));
+
+        Timestamp fechaCursor = null;
+        int idCursor = 0;
+        if (cursor != null && !cursor.trim().isEmpty()) {
+            String[] partes = cursor.trim().split("-", 2);
+            try {
+                fechaCursor = new Timestamp(Long.parseLong(partes[0]));
+                idCursor = Integer.parseInt(partes[1]);
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                throw new ServiceException("Cursor de paginación inválido");
+            }
+        }
+
+        try {
+            // Se pide una fila de más para saber si existe página siguiente sin contar
+            List<Pedido> pedidos = pedidoDAO.obtenerPaginaPorUsuario(idUsuario, fechaCursor,
+                    idCursor, limite + 1);
+
+            String siguienteCursor = null;
+            if (pedidos.size() > limite) {
+                pedidos = new ArrayList<>(pedidos.subList(0, limite));
+                Pedido ultimo = pedidos.get(limite - 1);
+                siguienteCursor = Timestamp.valueOf(ultimo.getFechaPedido()).getTime()
+                        + "-" + ultimo.getIdPedido();
+            }
+
+            return new PaginaPedidos(pedidos, siguienteCursor);
+
         } catch (SQLException e) {
             throw new ServiceException("Error al obtener historial de pedidos", e);
         }
     }
 
+    /**
+     * Busca pedidos para el panel de administración con filtros, orden y paginación en la BD
+     * Solo se leen las filas de la página solicitada, junto con los datos de su cliente
+     *
+     * @param filtros Estado, rango de fechas, texto, método de pago, orden y página
+     * @return Página de pedidos con el total de coincidencias
+     */
+    public ResultadoPedidos buscarPedidosAdmin(FiltroPedidos filtros) throws ServiceException {
+        try {
+            int totalPedidos = pedidoDAO.contarConFiltros(filtros);
+            List<Pedido> pedidos = totalPedidos > 0
+                    ? pedidoDAO.buscarConFiltros(filtros)
+                    : new ArrayList<>();
+            int totalPaginas = (int) Math.ceil((double) totalPedidos / Math.max(1, filtros.getPedidosPorPagina()));
+
+            return new ResultadoPedidos(pedidos, totalPedidos, filtros.getPagina(), totalPaginas);
+
+        } catch (SQLException e) {
+            throw new ServiceException("Error al buscar pedidos", e);
+        }
+    }
+
     /**
      * Obtiene pedidos por estado
      */
@@ -286,12 +353,7 @@ public class PedidoService {
      */
     public void cancelarPedido(int idPedido, String motivo, Integer idUsuario)
             throws ServiceException {
-        Connection conn = null;
-
         try {
-            conn = DatabaseConnection.getInstance().getConnection();
-            conn.setAutoCommit(false);
-
             Optional<Pedido> pedidoOpt = pedidoDAO.buscarPorId(idPedido);
             if (!pedidoOpt.isPresent()) {
                 throw new ServiceException("Pedido no encontrado");
@@ -307,39 +369,37 @@ public class PedidoService {
                 throw new ServiceException("El pedido ya está cancelado");
             }
 
-            // Obtener detalles y restaurar stock
+            // Agrupar cantidades a reponer por producto
             List<DetallePedido> detalles = detalleDAO.obtenerPorPedido(idPedido);
+            Map<Integer, Integer> cantidades = new HashMap<>();
             for (DetallePedido detalle : detalles) {
-                Optional<Producto> productoOpt = productoDAO.buscarPorId(detalle.getIdProducto());
-                if (productoOpt.isPresent()) {
-                    Producto producto = productoOpt.get();
-                    int nuevoStock = producto.getStock() + detalle.getCantidad();
-                    producto.setStock(nuevoStock);
-                    productoDAO.actualizar(producto);
-                }
+                cantidades.merge(detalle.getIdProducto(), detalle.getCantidad(), Integer::sum);
             }
 
-            pedidoDAO.actualizarEstado(idPedido, "CANCELADO");
-            conn.commit();
+            // Cambiar estado y restaurar stock en una sola transacción. El estado se comprueba
+            // de nuevo en el UPDATE: si otra cancelación ganó la carrera no se repone dos veces
+            try (TransactionContext tx = TransactionContext.iniciar()) {
+                Connection conn = tx.getConnection();
 
-        } catch (SQLException e) {
-            if (conn != null) {
-                try {
-                    conn.rollback();
-                } catch (SQLException ex) {
-                    ex.printStackTrace();
+                if (!pedidoDAO.marcarCancelado(conn, idPedido)) {
+                    throw new ServiceException("El pedido ya está cancelado o no se puede cancelar");
                 }
-            }
-            throw new ServiceException("Error al cancelar pedido", e);
+                productoDAO.reponerStockEnLote(conn, cantidades);
 
-        } finally {
-            if (conn != null) {
-                try {
-                    conn.setAutoCommit(true);
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                }
+                tx.commit();
             }
+            ProductosRelacionadosIndex.getInstance().anularPedido(idPedido, cantidades.keySet());
+            AutocompletadoIndex.getInstance().anularVenta(cantidades);
+            FacetasProductos.getInstance().marcarPendiente();
+            BuscadorProductos.getInstance().marcarModificados(cantidades.keySet());
+            CatalogoSnapshot.getInstance().marcarModificados(cantidades.keySet());
+            CacheBusquedas.getInstance().invalidar();
+
+            logger.info("Pedido {} cancelado{}", idPedido,
+                    motivo != null ? " - motivo: " + motivo : "");
+
+        } catch (SQLException e) {
+            throw new ServiceException("Error al cancelar pedido", e);
         }
     }
 
@@ -419,4 +479,103 @@ public class PedidoService {
             return total;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Página del historial de un usuario con el cursor de la siguiente
+     */
+    public static class PaginaPedidos {
+        private final List<Pedido> pedidos;
+        private final String siguienteCursor;
+
+        public PaginaPedidos(List<Pedido> pedidos, String siguienteCursor) {
+            this.pedidos = pedidos;
+            this.siguienteCursor = siguienteCursor;
+        }
+
+        public List<Pedido> getPedidos() {
+            return pedidos;
+        }
+
+        public String getSiguienteCursor() {
+            return siguienteCursor;
+        }
+
+        public boolean isHaySiguiente() {
+            return siguienteCursor != null;
+        }
+    }
+
+    /**
+     * Criterios de búsqueda de pedidos para administración
+     * Las fechas son inclusivas (desde el inicio de fechaDesde hasta el final de fechaHasta)
+     */
+    public static class FiltroPedidos {
+        private String estado;
+        private LocalDate fechaDesde;
+        private LocalDate fechaHasta;
+        private String texto;
+        private String metodoPago;
+        private OrdenPedido orden = OrdenPedido.FECHA_DESC;
+        private int pagina = 1;
+        private int pedidosPorPagina = 25;
+
+        public String getEstado() { return estado; }
+        public void setEstado(String estado) { this.estado = estado; }
+
+        public LocalDate getFechaDesde() { return fechaDesde; }
+        public void setFechaDesde(LocalDate fechaDesde) { this.fechaDesde = fechaDesde; }
+
+        public LocalDate getFechaHasta() { return fechaHasta; }
+        public void setFechaHasta(LocalDate fechaHasta) { this.fechaHasta = fechaHasta; }
+
+        public String getTexto() { return texto; }
+        public void setTexto(String texto) { this.texto = texto; }
+
+        public String getMetodoPago() { return metodoPago; }
+        public void setMetodoPago(String metodoPago) { this.metodoPago = metodoPago; }
+
+        public OrdenPedido getOrden() { return orden; }
+        public void setOrden(OrdenPedido orden) { this.orden = orden; }
+
+        public int getPagina() { return pagina; }
+        public void setPagina(int pagina) { this.pagina = Math.max(1, pagina); }
+
+        public int getPedidosPorPagina() { return pedidosPorPagina; }
+        public void setPedidosPorPagina(int pedidosPorPagina) {
+            this.pedidosPorPagina = Math.max(1, Math.min(pedidosPorPagina, TAMANO_MAXIMO_PAGINA));
+        }
+    }
+
+    /**
+     * Página de pedidos para administración
+     */
+    public static class ResultadoPedidos {
+        private final List<Pedido> pedidos;
+        private final int totalPedidos;
+        private final int paginaActual;
+        private final int totalPaginas;
+
+        public ResultadoPedidos(List<Pedido> pedidos, int totalPedidos,
+                                int paginaActual, int totalPaginas) {
+            this.pedidos = pedidos;
+            this.totalPedidos = totalPedidos;
+            this.paginaActual = paginaActual;
+            this.totalPaginas = totalPaginas;
+        }
+
+        public List<Pedido> getPedidos() { return pedidos; }
+        public int getTotalPedidos() { return totalPedidos; }
+        public int getPaginaActual() { return paginaActual; }
+        public int getTotalPaginas() { return totalPaginas; }
+    }
+
+    /**
+     * Enum para ordenamiento de pedidos en administración
+     */
+    public enum OrdenPedido {
+        FECHA_DESC,
+        FECHA_ASC,
+        TOTAL_DESC,
+        TOTAL_ASC
+    }
+}
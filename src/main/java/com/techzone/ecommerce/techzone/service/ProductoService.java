@@ -1,19 +1,24 @@
 package com.techzone.ecommerce.techzone.service;
 
-import com.techzone.ecommerce.techzone.dao.CategoriaDAO;
 import com.techzone.ecommerce.techzone.dao.ImagenProductoDAO;
 import com.techzone.ecommerce.techzone.dao.ProductoDAO;
+import com.techzone.ecommerce.techzone.dao.ResumenCalificacionDAO;
 import com.techzone.ecommerce.techzone.model.Categoria;
 import com.techzone.ecommerce.techzone.model.ImagenProducto;
 import com.techzone.ecommerce.techzone.model.Producto;
+import com.techzone.ecommerce.techzone.model.ResumenCalificacion;
+import com.techzone.ecommerce.techzone.util.PrecioUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.math.BigDecimal;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Servicio de lógica de negocio para gestión de productos
@@ -26,13 +31,23 @@ public class ProductoService {
 
     private static final Logger logger = LoggerFactory.getLogger(ProductoService.class);
     private final ProductoDAO productoDAO;
-    private final CategoriaDAO categoriaDAO;
+    private final CategoriaCache categoriaCache;
     private final ImagenProductoDAO imagenDAO;
+    private final ResumenCalificacionDAO resumenDAO;
+    private final BuscadorProductos buscador;
+    private final FacetasProductos facetas;
+    private final CatalogoSnapshot catalogo;
+    private final CacheBusquedas busquedas;
 
     public ProductoService() {
         this.productoDAO = new ProductoDAO();
-        this.categoriaDAO = new CategoriaDAO();
+        this.categoriaCache = CategoriaCache.getInstance();
         this.imagenDAO = new ImagenProductoDAO();
+        this.resumenDAO = new ResumenCalificacionDAO();
+        this.buscador = BuscadorProductos.getInstance();
+        this.facetas = FacetasProductos.getInstance();
+        this.catalogo = CatalogoSnapshot.getInstance();
+        this.busquedas = CacheBusquedas.getInstance();
         logger.debug("ProductoService inicializado");
     }
 
@@ -54,7 +69,9 @@ public class ProductoService {
                 throw new ServiceException("El límite debe ser mayor a 0");
             }
 
-            List<Producto> productos = productoDAO.obtenerMasRecientes(limite);
+            List<Producto> productos = catalogo.estaCargado()
+                    ? catalogo.obtenerRecientes(limite)
+                    : productoDAO.obtenerMasRecientes(limite);
 
             logger.debug("Se obtuvieron {} productos recientes", productos.size());
             return productos;
@@ -81,6 +98,12 @@ public class ProductoService {
                 throw new ServiceException("El límite debe ser mayor a 0");
             }
 
+            if (catalogo.estaCargado()) {
+                List<Producto> productos = catalogo.obtenerConDescuento(limite);
+                logger.debug("Se obtuvieron {} productos con descuento", productos.size());
+                return productos;
+            }
+
             List<Producto> productos = productoDAO.obtenerConDescuento();
 
             // Limitar la cantidad de productos retornados
@@ -122,7 +145,7 @@ public class ProductoService {
             validarProducto(producto);
 
             // Verificar que la categoría existe
-            Optional<Categoria> categoria = categoriaDAO.buscarPorId(producto.getIdCategoria());
+            Optional<Categoria> categoria = categoriaCache.buscarPorId(producto.getIdCategoria());
             if (!categoria.isPresent()) {
                 throw new ServiceException("La categoría seleccionada no existe");
             }
@@ -139,6 +162,7 @@ public class ProductoService {
             // Crear producto
             int idProducto = productoDAO.crear(producto);
             producto.setIdProducto(idProducto);
+            refrescarCaches(idProducto);
 
             logger.info("Producto creado exitosamente con ID: {}", idProducto);
             return idProducto;
@@ -164,7 +188,7 @@ public class ProductoService {
                 Producto producto = productoOpt.get();
 
                 // Cargar categoría
-                Optional<Categoria> categoria = categoriaDAO.buscarPorId(producto.getIdCategoria());
+                Optional<Categoria> categoria = categoriaCache.buscarPorId(producto.getIdCategoria());
                 producto.setCategoria(categoria.orElse(null));
 
                 return producto;
@@ -213,7 +237,7 @@ public class ProductoService {
             validarProducto(producto);
 
             // Verificar categoría
-            Optional<Categoria> categoria = categoriaDAO.buscarPorId(producto.getIdCategoria());
+            Optional<Categoria> categoria = categoriaCache.buscarPorId(producto.getIdCategoria());
             if (!categoria.isPresent()) {
                 throw new ServiceException("La categoría seleccionada no existe");
             }
@@ -224,6 +248,7 @@ public class ProductoService {
             if (!actualizado) {
                 throw new ServiceException("No se pudo actualizar el producto");
             }
+            refrescarCaches(producto.getIdProducto());
 
             logger.info("Producto actualizado exitosamente");
 
@@ -255,6 +280,7 @@ public class ProductoService {
             if (!eliminado) {
                 throw new ServiceException("No se pudo eliminar el producto");
             }
+            refrescarCaches(idProducto);
 
             logger.info("Producto eliminado exitosamente");
 
@@ -275,8 +301,10 @@ public class ProductoService {
      */
     public ProductoCompleto obtenerProductoCompleto(int idProducto) throws ServiceException {
         try {
-            // Obtener producto
-            Optional<Producto> productoOpt = productoDAO.buscarPorId(idProducto);
+            // Obtener producto (de la vista en memoria si ya está cargada)
+            Optional<Producto> productoOpt = catalogo.estaCargado()
+                    ? catalogo.buscarPorId(idProducto)
+                    : productoDAO.buscarPorId(idProducto);
             if (!productoOpt.isPresent()) {
                 throw new ServiceException("Producto no encontrado");
             }
@@ -284,16 +312,28 @@ public class ProductoService {
             Producto producto = productoOpt.get();
 
             // Obtener categoría
-            Optional<Categoria> categoria = categoriaDAO.buscarPorId(producto.getIdCategoria());
+            Optional<Categoria> categoria = categoriaCache.buscarPorId(producto.getIdCategoria());
             producto.setCategoria(categoria.orElse(null));
 
+            // Calificación desde el resumen persistido (sin recorrer las reseñas)
+            asignarCalificacion(producto, resumenDAO.buscarPorProducto(idProducto).orElse(null));
+
             // Obtener imágenes
             List<ImagenProducto> imagenes = imagenDAO.obtenerPorProducto(idProducto);
 
-            // Obtener imagen principal
-            Optional<ImagenProducto> imagenPrincipal = imagenDAO.obtenerPrincipalPorProducto(idProducto);
+            // Imagen principal: la marcada como tal o, si no hay, la primera por orden
+            ImagenProducto imagenPrincipal = null;
+            for (ImagenProducto imagen : imagenes) {
+                if (Boolean.TRUE.equals(imagen.getEsPrincipal())) {
+                    imagenPrincipal = imagen;
+                    break;
+                }
+            }
+            if (imagenPrincipal == null && !imagenes.isEmpty()) {
+                imagenPrincipal = imagenes.get(0);
+            }
 
-            return new ProductoCompleto(producto, imagenes, imagenPrincipal.orElse(null));
+            return new ProductoCompleto(producto, imagenes, imagenPrincipal);
 
         } catch (SQLException e) {
             logger.error("Error al obtener producto completo", e);
@@ -303,65 +343,148 @@ public class ProductoService {
 
     /**
      * Busca productos con filtros y paginación
+     * Los resultados se sirven desde la caché de búsquedas mientras no caduquen ni cambien los productos
      *
      * @param filtros Objeto FiltroProductos con criterios de búsqueda
      * @return ResultadoBusqueda con productos y metadatos de paginación
      * @throws ServiceException Si hay error en la operación
      */
     public ResultadoBusqueda buscarProductos(FiltroProductos filtros) throws ServiceException {
+        return busquedas.obtener(filtros, () -> ejecutarBusqueda(filtros));
+    }
+
+    /**
+     * Ejecuta la búsqueda sin caché: índice invertido, vista del catálogo o BD
+     */
+    private ResultadoBusqueda ejecutarBusqueda(FiltroProductos filtros) throws ServiceException {
         try {
+            int totalProductos;
             List<Producto> productos;
 
-            // Aplicar filtros
-            if (filtros.getIdCategoria() != null) {
-                productos = productoDAO.obtenerPorCategoria(filtros.getIdCategoria());
-            } else if (filtros.getTerminoBusqueda() != null && !filtros.getTerminoBusqueda().isEmpty()) {
-                productos = productoDAO.buscarPorNombre(filtros.getTerminoBusqueda());
-            } else if (filtros.isSoloConDescuento()) {
-                productos = productoDAO.obtenerConDescuento();
-            } else if (filtros.isSoloDisponibles()) {
-                productos = productoDAO.obtenerDisponibles();
+            if (usarBuscador(filtros)) {
+                // Búsqueda por texto en el índice invertido; solo la página se carga de la BD
+                BuscadorProductos.ResultadoIds resultado = buscador.buscar(filtros);
+                totalProductos = resultado.getTotal();
+                productos = cargarEnOrden(resultado.getIds());
+            } else if (catalogo.estaCargado() && !tieneTermino(filtros)) {
+                // Listados sin texto: recorrido del orden precalculado en la vista del catálogo
+                CatalogoSnapshot.Pagina pagina = catalogo.buscar(filtros);
+                totalProductos = pagina.getTotal();
+                productos = pagina.getProductos();
             } else {
-                productos = productoDAO.obtenerTodos();
+                // Total de coincidencias (COUNT) y página solicitada (LIMIT/OFFSET) en la BD
+                totalProductos = productoDAO.contarConFiltros(filtros);
+                productos = totalProductos > 0
+                        ? productoDAO.buscarConFiltros(filtros)
+                        : new ArrayList<>();
             }
+            int totalPaginas = (int) Math.ceil((double) totalProductos / Math.max(1, filtros.getProductosPorPagina()));
 
-            // Cargar categoría para cada producto
+            // Cargar categoría para cada producto de la página
             for (Producto producto : productos) {
-                Optional<Categoria> categoria = categoriaDAO.buscarPorId(producto.getIdCategoria());
+                Optional<Categoria> categoria = categoriaCache.buscarPorId(producto.getIdCategoria());
                 producto.setCategoria(categoria.orElse(null));
             }
 
-            // Aplicar filtro de precio si está definido
-            if (filtros.getPrecioMinimo() != null || filtros.getPrecioMaximo() != null) {
-                productos = filtrarPorRangoPrecio(productos,
-                        filtros.getPrecioMinimo(), filtros.getPrecioMaximo());
+            // Calificaciones de toda la página con una sola consulta
+            Map<Integer, ResumenCalificacion> resumenes = resumenDAO.buscarPorProductos(
+                    productos.stream().map(Producto::getIdProducto).toList());
+            for (Producto producto : productos) {
+                asignarCalificacion(producto, resumenes.get(producto.getIdProducto()));
             }
 
-            // Ordenar
-            productos = ordenarProductos(productos, filtros.getOrden());
+            return new ResultadoBusqueda(productos, totalProductos,
+                    filtros.getPagina(), totalPaginas);
 
-            // Calcular paginación
-            int totalProductos = productos.size();
-            int totalPaginas = (int) Math.ceil((double) totalProductos / filtros.getProductosPorPagina());
+        } catch (SQLException e) {
+            logger.error("Error al buscar productos", e);
+            throw new ServiceException("Error al buscar productos: " + e.getMessage());
+        }
+    }
 
-            // Aplicar paginación
-            int inicio = (filtros.getPagina() - 1) * filtros.getProductosPorPagina();
-            int fin = Math.min(inicio + filtros.getProductosPorPagina(), totalProductos);
+    /**
+     * Calcula en memoria los conteos de facetas (categoría, marca, rango de precio,
+     * disponibilidad y descuento) para los mismos filtros de buscarProductos
+     *
+     * @param filtros Criterios de búsqueda activos
+     * @return Conteos de facetas, o null si los índices aún no están construidos
+     */
+    public FacetasProductos.ResultadoFacetas obtenerFacetas(FiltroProductos filtros) {
+        if (!facetas.estaConstruido()) {
+            return null;
+        }
 
-            List<Producto> productosPaginados = productos.subList(
-                    Math.max(0, inicio),
-                    Math.max(0, fin)
-            );
+        Set<Integer> idsTexto = null;
+        if (filtros.getTerminoBusqueda() != null && !filtros.getTerminoBusqueda().trim().isEmpty()) {
+            if (!buscador.estaConstruido()) {
+                return null;
+            }
+            idsTexto = buscador.buscarIds(filtros.getTerminoBusqueda());
+        }
 
-            return new ResultadoBusqueda(productosPaginados, totalProductos,
-                    filtros.getPagina(), totalPaginas);
+        return facetas.calcular(filtros, idsTexto);
+    }
+
+    /**
+     * Obtiene productos relacionados desde el índice precalculado (compras conjuntas y
+     * misma categoría con precio cercano), cargándolos con una sola consulta IN
+     * Si el índice aún no contiene el producto, recurre a la primera página de su categoría
+     *
+     * @param producto Producto de referencia
+     * @param limite Número máximo de relacionados
+     * @return Lista de productos disponibles, del más al menos relevante
+     * @throws ServiceException Si hay error en la operación
+     */
+    public List<Producto> obtenerProductosRelacionados(Producto producto, int limite)
+            throws ServiceException {
+        try {
+            int[] ids = ProductosRelacionadosIndex.getInstance()
+                    .obtenerRelacionados(producto.getIdProducto(), limite);
+
+            if (ids.length == 0) {
+                return relacionadosPorCategoria(producto, limite);
+            }
+
+            List<Integer> listaIds = Arrays.stream(ids).boxed().toList();
+            Map<Integer, Producto> encontrados = catalogo.estaCargado()
+                    ? catalogo.buscarPorIds(listaIds)
+                    : productoDAO.buscarPorIds(listaIds);
+
+            // Mantener el orden del índice y descartar los que ya no están disponibles
+            List<Producto> relacionados = new ArrayList<>(ids.length);
+            for (int id : ids) {
+                Producto relacionado = encontrados.get(id);
+                if (relacionado != null && relacionado.getEstado() == Producto.EstadoProducto.DISPONIBLE) {
+                    Optional<Categoria> categoria = categoriaCache.buscarPorId(relacionado.getIdCategoria());
+                    relacionado.setCategoria(categoria.orElse(null));
+                    relacionados.add(relacionado);
+                }
+            }
+
+            return relacionados;
 
         } catch (SQLException e) {
-            logger.error("Error al buscar productos", e);
-            throw new ServiceException("Error al buscar productos: " + e.getMessage());
+            logger.error("Error al obtener productos relacionados", e);
+            throw new ServiceException("Error al obtener productos relacionados: " + e.getMessage());
         }
     }
 
+    /**
+     * Relacionados de respaldo: primera página de la misma categoría sin el propio producto
+     */
+    private List<Producto> relacionadosPorCategoria(Producto producto, int limite)
+            throws ServiceException {
+        FiltroProductos filtros = new FiltroProductos();
+        filtros.setIdCategoria(producto.getIdCategoria());
+        filtros.setProductosPorPagina(limite + 1);
+        filtros.setSoloDisponibles(true);
+
+        return buscarProductos(filtros).getProductos().stream()
+                .filter(p -> !p.getIdProducto().equals(producto.getIdProducto()))
+                .limit(limite)
+                .toList();
+    }
+
     // ==================== GESTIÓN DE STOCK ====================
 
     /**
@@ -413,6 +536,7 @@ public class ProductoService {
                     productoDAO.actualizarEstado(idProducto, Producto.EstadoProducto.DISPONIBLE);
                 }
             }
+            refrescarCaches(idProducto);
 
             logger.info("Stock actualizado exitosamente");
 
@@ -453,6 +577,8 @@ public class ProductoService {
                 if (producto.isPresent() && producto.get().getStock() == 0) {
                     productoDAO.actualizarEstado(idProducto, Producto.EstadoProducto.AGOTADO);
                 }
+                catalogo.marcarModificados(List.of(idProducto));
+                busquedas.invalidar();
             }
 
             return reducido;
@@ -487,6 +613,8 @@ public class ProductoService {
         }
 
         imagenDAO.crearMultiples(imagenes);
+        catalogo.actualizarProductos(List.of(idProducto));
+        HomeCache.getInstance().invalidar();
     }
 
     /**
@@ -508,6 +636,8 @@ public class ProductoService {
             if (esPrincipal) {
                 imagenDAO.establecerComoPrincipal(imagen.getIdImagen(), idProducto);
             }
+            catalogo.actualizarProductos(List.of(idProducto));
+            HomeCache.getInstance().invalidar();
 
         } catch (SQLException e) {
             logger.error("Error al agregar imagen", e);
@@ -523,11 +653,16 @@ public class ProductoService {
      */
     public void eliminarImagen(int idImagen) throws ServiceException {
         try {
+            Optional<ImagenProducto> imagen = imagenDAO.buscarPorId(idImagen);
             boolean eliminada = imagenDAO.eliminar(idImagen);
 
             if (!eliminada) {
                 throw new ServiceException("No se pudo eliminar la imagen");
             }
+            if (imagen.isPresent()) {
+                catalogo.actualizarProductos(List.of(imagen.get().getIdProducto()));
+            }
+            HomeCache.getInstance().invalidar();
 
         } catch (SQLException e) {
             logger.error("Error al eliminar imagen", e);
@@ -537,13 +672,27 @@ public class ProductoService {
 
     // ==================== UTILIDADES PRIVADAS ====================
 
+    /**
+     * Lleva a los índices y cachés en memoria el alta, edición, baja o cambio de stock de un producto
+     */
+    private void refrescarCaches(int idProducto) throws SQLException {
+        buscador.reindexar(List.of(idProducto));
+        catalogo.actualizarProductos(List.of(idProducto));
+        HomeCache.getInstance().invalidar();
+        busquedas.invalidar();
+        ProductosRelacionadosIndex.getInstance().marcarPendiente();
+        AutocompletadoIndex.getInstance().marcarPendiente();
+        FacetasProductos.getInstance().marcarPendiente();
+    }
+
     /**
      * Valida los datos de un producto
+     * También la aplica la importación masiva a cada fila del archivo
      *
      * @param producto Producto a validar
      * @throws ServiceException Si la validación falla
      */
-    private void validarProducto(Producto producto) throws ServiceException {
+    static void validarProducto(Producto producto) throws ServiceException {
         if (producto.getNombre() == null || producto.getNombre().trim().isEmpty()) {
             throw new ServiceException("El nombre del producto es requerido");
         }
@@ -569,63 +718,46 @@ public class ProductoService {
     }
 
     /**
-     * Filtra productos por rango de precio
-     *
-     * @param productos Lista de productos
-     * @param minimo Precio mínimo
-     * @param maximo Precio máximo
-     * @return Lista filtrada
+     * Asigna promedio y total de calificaciones al producto (0 si no tiene reseñas)
      */
-    private List<Producto> filtrarPorRangoPrecio(List<Producto> productos,
-                                                  BigDecimal minimo, BigDecimal maximo) {
-        List<Producto> filtrados = new ArrayList<>();
-
-        for (Producto producto : productos) {
-            BigDecimal precio = producto.getPrecioConDescuento();
-            boolean cumpleMinimo = minimo == null || precio.compareTo(minimo) >= 0;
-            boolean cumpleMaximo = maximo == null || precio.compareTo(maximo) <= 0;
+    private void asignarCalificacion(Producto producto, ResumenCalificacion resumen) {
+        producto.setPromedioCalificacion(resumen != null ? resumen.getPromedio() : 0.0);
+        producto.setTotalCalificaciones(resumen != null ? resumen.getTotalResenas() : 0);
+    }
 
-            if (cumpleMinimo && cumpleMaximo) {
-                filtrados.add(producto);
-            }
-        }
+    /**
+     * Las búsquedas por texto van al índice invertido cuando ya está construido
+     */
+    private boolean usarBuscador(FiltroProductos filtros) {
+        return tieneTermino(filtros) && buscador.estaConstruido();
+    }
 
-        return filtrados;
+    /**
+     * Indica si el filtro incluye un término de búsqueda no vacío
+     */
+    private boolean tieneTermino(FiltroProductos filtros) {
+        return filtros.getTerminoBusqueda() != null && !filtros.getTerminoBusqueda().trim().isEmpty();
     }
 
     /**
-     * Ordena la lista de productos según el criterio especificado
-     *
-     * @param productos Lista de productos
-     * @param orden Criterio de ordenamiento
-     * @return Lista ordenada
+     * Carga los productos (de la vista del catálogo o con una consulta IN) conservando el orden de los IDs
      */
-    private List<Producto> ordenarProductos(List<Producto> productos, OrdenProducto orden) {
-        if (orden == null) {
-            return productos;
+    private List<Producto> cargarEnOrden(List<Integer> ids) throws SQLException {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
         }
 
-        List<Producto> ordenados = new ArrayList<>(productos);
-
-        switch (orden) {
-            case PRECIO_ASC:
-                ordenados.sort((p1, p2) -> p1.getPrecio().compareTo(p2.getPrecio()));
-                break;
-            case PRECIO_DESC:
-                ordenados.sort((p1, p2) -> p2.getPrecio().compareTo(p1.getPrecio()));
-                break;
-            case NOMBRE_ASC:
-                ordenados.sort((p1, p2) -> p1.getNombre().compareTo(p2.getNombre()));
-                break;
-            case NOMBRE_DESC:
-                ordenados.sort((p1, p2) -> p2.getNombre().compareTo(p1.getNombre()));
-                break;
-            case MAS_RECIENTE:
-                ordenados.sort((p1, p2) -> p2.getFechaRegistro().compareTo(p1.getFechaRegistro()));
-                break;
+        Map<Integer, Producto> encontrados = catalogo.estaCargado()
+                ? catalogo.buscarPorIds(ids)
+                : productoDAO.buscarPorIds(ids);
+        List<Producto> productos = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            Producto producto = encontrados.get(id);
+            if (producto != null) {
+                productos.add(producto);
+            }
         }
-
-        return ordenados;
+        return productos;
     }
 
     // ==================== MÉTODOS PARA ADMINISTRACIÓN ====================
@@ -752,9 +884,12 @@ public class ProductoService {
      */
     public static class FiltroProductos {
         private Integer idCategoria;
+        private String marca;
         private String terminoBusqueda;
         private BigDecimal precioMinimo;
         private BigDecimal precioMaximo;
+        private long precioMinimoCentimos = Long.MIN_VALUE;
+        private long precioMaximoCentimos = Long.MAX_VALUE;
         private boolean soloDisponibles = true;
         private boolean soloConDescuento = false;
         private OrdenProducto orden = OrdenProducto.MAS_RECIENTE;
@@ -764,6 +899,9 @@ public class ProductoService {
         public Integer getIdCategoria() { return idCategoria; }
         public void setIdCategoria(Integer idCategoria) { this.idCategoria = idCategoria; }
 
+        public String getMarca() { return marca; }
+        public void setMarca(String marca) { this.marca = marca; }
+
         public String getTerminoBusqueda() { return terminoBusqueda; }
         public void setTerminoBusqueda(String terminoBusqueda) {
             this.terminoBusqueda = terminoBusqueda;
@@ -772,13 +910,19 @@ public class ProductoService {
         public BigDecimal getPrecioMinimo() { return precioMinimo; }
         public void setPrecioMinimo(BigDecimal precioMinimo) {
             this.precioMinimo = precioMinimo;
+            this.precioMinimoCentimos = PrecioUtil.limiteDesde(precioMinimo);
         }
 
         public BigDecimal getPrecioMaximo() { return precioMaximo; }
         public void setPrecioMaximo(BigDecimal precioMaximo) {
             this.precioMaximo = precioMaximo;
+            this.precioMaximoCentimos = PrecioUtil.limiteHasta(precioMaximo);
         }
 
+        /** Límites inclusivos del precio final en céntimos (sin límite: MIN_VALUE / MAX_VALUE) */
+        public long getPrecioMinimoCentimos() { return precioMinimoCentimos; }
+        public long getPrecioMaximoCentimos() { return precioMaximoCentimos; }
+
         public boolean isSoloDisponibles() { return soloDisponibles; }
         public void setSoloDisponibles(boolean soloDisponibles) {
             this.soloDisponibles = soloDisponibles;
@@ -834,7 +978,8 @@ public class ProductoService {
         PRECIO_DESC, 
         NOMBRE_ASC, 
         NOMBRE_DESC, 
-        MAS_RECIENTE
+        MAS_RECIENTE,
+        RELEVANCIA
     }
 
     /**
@@ -0,0 +1,508 @@
+package com.techzone.ecommerce.techzone.service;
+
+import com.techzone.ecommerce.techzone.config.TransactionContext;
+import com.techzone.ecommerce.techzone.dao.DetallePedidoDAO;
+import com.techzone.ecommerce.techzone.dao.PedidoDAO;
+import com.techzone.ecommerce.techzone.dao.ProductoDAO;
+import com.techzone.ecommerce.techzone.model.Producto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Índice precalculado de productos relacionados
+ * Para cada producto disponible guarda hasta {@value #VECINOS_POR_PRODUCTO} vecinos:
+ * primero los comprados juntos con más frecuencia (detalle_pedido) y después los
+ * de la misma categoría con el precio final más cercano.
+ *
+ * Se almacena en arrays de enteros (formato CSR): IDs ordenados, desplazamientos
+ * y vecinos; una consulta es una búsqueda binaria más una copia de a lo sumo 8 enteros.
+ * Se reconstruye en segundo plano cuando hay cambios pendientes.
+ *
+ * Los recuentos de compras conjuntas se mantienen en memoria, limitados a los
+ * {@value #CANDIDATOS_POR_PRODUCTO} relacionados más frecuentes de cada producto en arrays de
+ * enteros (la memoria crece con el catálogo, no con el número de pares). La consulta completa
+ * sobre detalle_pedido solo se lanza al arrancar y una vez al día, y corrige los desvíos de
+ * ese límite; cada pedido creado o cancelado encola sus productos y la siguiente pasada suma o
+ * resta sus pares sin consultar la BD. Los productos disponibles solo se recargan tras cambios
+ * en el catálogo.
+ *
+ * @author TechZone Team
+ */
+public class ProductosRelacionadosIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductosRelacionadosIndex.class);
+    private static volatile ProductosRelacionadosIndex instance;
+
+    public static final int VECINOS_POR_PRODUCTO = 8;
+    private static final int CANDIDATOS_POR_PRODUCTO = 4 * VECINOS_POR_PRODUCTO;
+    private static final int MINIMO_COMPRAS_CONJUNTAS = 2;
+    private static final long RESINCRONIZACION_MS = TimeUnit.HOURS.toMillis(24);
+
+    private final ProductoDAO productoDAO;
+    private final DetallePedidoDAO detalleDAO;
+    private final PedidoDAO pedidoDAO;
+
+    private volatile Indice indice = Indice.VACIO;
+    private final AtomicBoolean pendiente = new AtomicBoolean(true);
+
+    // Pedidos creados (+1) o cancelados (-1) aún no aplicados a los recuentos
+    private final Queue<CambioPedido> pedidosPendientes = new ConcurrentLinkedQueue<>();
+
+    // Estado de construcción: solo se usa dentro de reconstruir() (sincronizado)
+    private List<Producto> disponibles;
+    private Map<Integer, Relacionados> compras;
+    private volatile long ultimaCargaCompras;
+
+    // Constructor para inyección de dependencias (testing)
+    public ProductosRelacionadosIndex(ProductoDAO productoDAO, DetallePedidoDAO detalleDAO,
+                                      PedidoDAO pedidoDAO) {
+        this.productoDAO = productoDAO;
+        this.detalleDAO = detalleDAO;
+        this.pedidoDAO = pedidoDAO;
+    }
+
+    /**
+     * Obtiene la instancia única del índice
+     */
+    public static ProductosRelacionadosIndex getInstance() {
+        if (instance == null) {
+            synchronized (ProductosRelacionadosIndex.class) {
+                if (instance == null) {
+                    instance = new ProductosRelacionadosIndex(
+                            new ProductoDAO(), new DetallePedidoDAO(), new PedidoDAO());
+                }
+            }
+        }
+        return instance;
+    }
+
+    // ==================== CONSULTA ====================
+
+    /**
+     * Obtiene los IDs de productos relacionados, del más al menos relevante
+     *
+     * @return Array vacío si el producto no está indexado (no disponible o índice aún sin construir)
+     */
+    public int[] obtenerRelacionados(int idProducto, int limite) {
+        return indice.vecinos(idProducto, limite);
+    }
+
+    /**
+     * Indica si el índice se ha construido al menos una vez
+     */
+    public boolean estaConstruido() {
+        return indice != Indice.VACIO;
+    }
+
+    // ==================== RECONSTRUCCIÓN ====================
+
+    /**
+     * Marca el catálogo como desactualizado; se recargará en la siguiente pasada en segundo plano
+     * Debe invocarse tras cambios en productos (los pedidos usan registrarPedido/anularPedido)
+     */
+    public void marcarPendiente() {
+        pendiente.set(true);
+    }
+
+    /**
+     * Suma a las compras conjuntas los productos de un pedido recién confirmado
+     * Debe invocarse después del commit
+     */
+    public void registrarPedido(int idPedido, Collection<Integer> idsProductos) {
+        encolar(idPedido, idsProductos, 1);
+    }
+
+    /**
+     * Resta de las compras conjuntas los productos de un pedido cancelado
+     * Debe invocarse después del commit
+     */
+    public void anularPedido(int idPedido, Collection<Integer> idsProductos) {
+        encolar(idPedido, idsProductos, -1);
+    }
+
+    private void encolar(int idPedido, Collection<Integer> idsProductos, int signo) {
+        if (idsProductos != null && idsProductos.size() > 1) {
+            int[] ids = new LinkedHashSet<>(idsProductos).stream().mapToInt(Integer::intValue).toArray();
+            pedidosPendientes.add(new CambioPedido(idPedido, ids, signo));
+        }
+    }
+
+    /**
+     * Reconstruye el índice solo si hay cambios de catálogo o pedidos pendientes
+     */
+    public void reconstruirSiPendiente() throws SQLException {
+        if (pendiente.get() || !pedidosPendientes.isEmpty() || comprasCaducadas()) {
+            reconstruir();
+        }
+    }
+
+    /**
+     * Aplica los cambios pendientes y publica el índice recalculado de forma atómica
+     * Solo consulta la BD para lo que lo necesita: productos tras cambios de catálogo y
+     * compras conjuntas al arrancar o al caducar la resincronización diaria
+     */
+    public synchronized void reconstruir() throws SQLException {
+        long inicio = System.currentTimeMillis();
+
+        boolean catalogo = pendiente.getAndSet(false);
+        try {
+            if (catalogo || disponibles == null) {
+                disponibles = productoDAO.obtenerResumenDisponibles();
+            }
+
+            if (compras == null || comprasCaducadas()) {
+                compras = cargarCompras();
+                ultimaCargaCompras = System.currentTimeMillis();
+            }
+            aplicarPedidosPendientes();
+        } catch (SQLException | RuntimeException e) {
+            if (catalogo) {
+                pendiente.set(true);
+            }
+            throw e;
+        }
+
+        Indice nuevo = construir(disponibles, compras);
+        indice = nuevo;
+
+        logger.info("Índice de productos relacionados reconstruido: {} productos, {} vecinos en {} ms",
+                nuevo.ids.length, nuevo.vecinos.length, System.currentTimeMillis() - inicio);
+    }
+
+    private boolean comprasCaducadas() {
+        return System.currentTimeMillis() - ultimaCargaCompras >= RESINCRONIZACION_MS;
+    }
+
+    /**
+     * Carga los recuentos de la BD y los concilia con la cola en una única instantánea
+     * Tras la lectura se retiran los pedidos encolados hasta ese momento y se consulta su
+     * estado en la misma transacción: los que la instantánea ya refleja se descartan y el resto
+     * se aplica. Un pedido confirmado antes de la lectura pero encolado después de retirarlos
+     * contaría dos veces; esa ventana es mínima y la corrige la resincronización diaria
+     */
+    private Map<Integer, Relacionados> cargarCompras() throws SQLException {
+        List<CambioPedido> encolados = new ArrayList<>();
+
+        try (TransactionContext tx = TransactionContext.iniciar()) {
+            Connection conn = tx.getConnection();
+            conn.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+
+            Map<Integer, int[]> pares =
+                    detalleDAO.obtenerComprasConjuntas(conn, CANDIDATOS_POR_PRODUCTO);
+
+            CambioPedido cambio;
+            while ((cambio = pedidosPendientes.poll()) != null) {
+                encolados.add(cambio);
+            }
+
+            Set<Integer> idsPedido = new HashSet<>();
+            for (CambioPedido encolado : encolados) {
+                idsPedido.add(encolado.idPedido);
+            }
+            Map<Integer, String> estados = pedidoDAO.obtenerEstados(conn, idsPedido);
+            tx.commit();
+
+            Map<Integer, Relacionados> cargadas = new HashMap<>(pares.size() * 2);
+            for (Map.Entry<Integer, int[]> entrada : pares.entrySet()) {
+                cargadas.put(entrada.getKey(), Relacionados.desdePares(entrada.getValue()));
+            }
+
+            for (CambioPedido encolado : encolados) {
+                String estado = estados.get(encolado.idPedido);
+                boolean reflejado = encolado.signo > 0 ? estado != null : "CANCELADO".equals(estado);
+                if (!reflejado) {
+                    aplicar(cargadas, encolado);
+                }
+            }
+            return cargadas;
+
+        } catch (SQLException | RuntimeException e) {
+            // No se pierden: se aplicarán sobre los recuentos actuales o en el siguiente intento
+            pedidosPendientes.addAll(encolados);
+            throw e;
+        }
+    }
+
+    private void aplicarPedidosPendientes() {
+        CambioPedido cambio;
+        while ((cambio = pedidosPendientes.poll()) != null) {
+            aplicar(compras, cambio);
+        }
+    }
+
+    /**
+     * Suma o resta 1 a cada par (ordenado) de productos distintos del pedido
+     */
+    private static void aplicar(Map<Integer, Relacionados> compras, CambioPedido cambio) {
+        for (int a : cambio.productos) {
+            Relacionados relacionados = cambio.signo > 0
+                    ? compras.computeIfAbsent(a, k -> new Relacionados())
+                    : compras.get(a);
+            if (relacionados == null) {
+                continue;
+            }
+            for (int b : cambio.productos) {
+                if (a != b) {
+                    relacionados.sumar(b, cambio.signo);
+                }
+            }
+            if (relacionados.tamano == 0) {
+                compras.remove(a);
+            }
+        }
+    }
+
+    // ==================== CONSTRUCCIÓN ====================
+
+    /**
+     * Construye el índice a partir de los productos disponibles y los pares comprados juntos
+     * Los pares con menos de {@value #MINIMO_COMPRAS_CONJUNTAS} pedidos en común no cuentan
+     */
+    static Indice construir(List<Producto> disponibles, Map<Integer, Relacionados> compras) {
+        int n = disponibles.size();
+        int[] ids = new int[n];
+        int[] categorias = new int[n];
+        long[] precios = new long[n];
+
+        // Los productos llegan ordenados por ID desde el DAO; se ordenan aquí por seguridad
+        List<Producto> ordenados = new ArrayList<>(disponibles);
+        ordenados.sort((a, b) -> Integer.compare(a.getIdProducto(), b.getIdProducto()));
+
+        for (int i = 0; i < n; i++) {
+            Producto p = ordenados.get(i);
+            ids[i] = p.getIdProducto();
+            categorias[i] = p.getIdCategoria() != null ? p.getIdCategoria() : 0;
+            precios[i] = p.getPrecioFinalCentimos();
+        }
+
+        // Posiciones de cada categoría ordenadas por precio final
+        Map<Integer, int[]> porCategoria = agruparPorCategoriaYPrecio(categorias, precios);
+        Map<Integer, Integer> posicionEnCategoria = new HashMap<>(n * 2);
+        for (int[] posiciones : porCategoria.values()) {
+            for (int j = 0; j < posiciones.length; j++) {
+                posicionEnCategoria.put(posiciones[j], j);
+            }
+        }
+
+        int[] desplazamientos = new int[n + 1];
+        int[] buffer = new int[n * VECINOS_POR_PRODUCTO];
+        int total = 0;
+
+        for (int i = 0; i < n; i++) {
+            desplazamientos[i] = total;
+            int inicio = total;
+
+            // 1. Comprados juntos, por número de pedidos compartidos (ya vienen ordenados)
+            Relacionados conjuntos = compras.get(ids[i]);
+            if (conjuntos != null) {
+                for (int k = 0; k < conjuntos.tamano; k++) {
+                    if (total - inicio >= VECINOS_POR_PRODUCTO
+                            || conjuntos.veces[k] < MINIMO_COMPRAS_CONJUNTAS) {
+                        break;
+                    }
+                    if (Arrays.binarySearch(ids, conjuntos.ids[k]) >= 0) {
+                        buffer[total++] = conjuntos.ids[k];
+                    }
+                }
+            }
+
+            // 2. Misma categoría, expandiendo desde la posición por precio hacia ambos lados
+            int[] vecinosCategoria = porCategoria.get(categorias[i]);
+            int pos = posicionEnCategoria.get(i);
+            int izq = pos - 1;
+            int der = pos + 1;
+
+            while (total - inicio < VECINOS_POR_PRODUCTO
+                    && (izq >= 0 || der < vecinosCategoria.length)) {
+                int elegido;
+                if (izq < 0) {
+                    elegido = vecinosCategoria[der++];
+                } else if (der >= vecinosCategoria.length) {
+                    elegido = vecinosCategoria[izq--];
+                } else {
+                    long distIzq = precios[i] - precios[vecinosCategoria[izq]];
+                    long distDer = precios[vecinosCategoria[der]] - precios[i];
+                    elegido = distIzq <= distDer ? vecinosCategoria[izq--] : vecinosCategoria[der++];
+                }
+
+                if (!contiene(buffer, inicio, total, ids[elegido])) {
+                    buffer[total++] = ids[elegido];
+                }
+            }
+        }
+        desplazamientos[n] = total;
+
+        return new Indice(ids, desplazamientos, Arrays.copyOf(buffer, total));
+    }
+
+    private static Map<Integer, int[]> agruparPorCategoriaYPrecio(int[] categorias, long[] precios) {
+        Map<Integer, List<Integer>> grupos = new HashMap<>();
+        for (int i = 0; i < categorias.length; i++) {
+            grupos.computeIfAbsent(categorias[i], k -> new ArrayList<>()).add(i);
+        }
+
+        Map<Integer, int[]> resultado = new HashMap<>(grupos.size() * 2);
+        for (Map.Entry<Integer, List<Integer>> grupo : grupos.entrySet()) {
+            List<Integer> posiciones = grupo.getValue();
+            posiciones.sort((a, b) -> precios[a] != precios[b]
+                    ? Long.compare(precios[a], precios[b])
+                    : Integer.compare(a, b));
+            resultado.put(grupo.getKey(), posiciones.stream().mapToInt(Integer::intValue).toArray());
+        }
+        return resultado;
+    }
+
+    private static boolean contiene(int[] buffer, int desde, int hasta, int valor) {
+        for (int k = desde; k < hasta; k++) {
+            if (buffer[k] == valor) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ==================== CLASES INTERNAS ====================
+
+    /**
+     * Productos (sin repetir) de un pedido creado (+1) o cancelado (-1)
+     */
+    private static final class CambioPedido {
+        private final int idPedido;
+        private final int[] productos;
+        private final int signo;
+
+        CambioPedido(int idPedido, int[] productos, int signo) {
+            this.idPedido = idPedido;
+            this.productos = productos;
+            this.signo = signo;
+        }
+    }
+
+    /**
+     * Relacionados más frecuentes de un producto en arrays paralelos, de más a menos veces
+     * (empates por ID). Con la capacidad llena, un relacionado que no estaba no entra hasta la
+     * siguiente carga completa
+     */
+    static final class Relacionados {
+        private int[] ids;
+        private int[] veces;
+        private int tamano;
+
+        Relacionados() {
+            this.ids = new int[2];
+            this.veces = new int[2];
+        }
+
+        /**
+         * Crea la lista a partir de los pares aplanados {relacionado, veces, ...} ya ordenados
+         */
+        static Relacionados desdePares(int[] pares) {
+            Relacionados relacionados = new Relacionados();
+            int n = Math.min(pares.length / 2, CANDIDATOS_POR_PRODUCTO);
+            relacionados.ids = new int[Math.max(n, 2)];
+            relacionados.veces = new int[Math.max(n, 2)];
+            for (int k = 0; k < n; k++) {
+                relacionados.ids[k] = pares[2 * k];
+                relacionados.veces[k] = pares[2 * k + 1];
+            }
+            relacionados.tamano = n;
+            return relacionados;
+        }
+
+        void sumar(int id, int delta) {
+            int i = 0;
+            while (i < tamano && ids[i] != id) {
+                i++;
+            }
+
+            if (i == tamano) {
+                if (delta <= 0 || tamano == CANDIDATOS_POR_PRODUCTO) {
+                    return;
+                }
+                if (tamano == ids.length) {
+                    int capacidad = Math.min(ids.length * 2, CANDIDATOS_POR_PRODUCTO);
+                    ids = Arrays.copyOf(ids, capacidad);
+                    veces = Arrays.copyOf(veces, capacidad);
+                }
+                ids[i] = id;
+                veces[i] = 0;
+                tamano++;
+            }
+
+            veces[i] += delta;
+            if (veces[i] <= 0) {
+                System.arraycopy(ids, i + 1, ids, i, tamano - i - 1);
+                System.arraycopy(veces, i + 1, veces, i, tamano - i - 1);
+                tamano--;
+                return;
+            }
+
+            // Recolocar la entrada modificada para mantener el orden
+            while (i > 0 && precede(i, i - 1)) {
+                intercambiar(i, i - 1);
+                i--;
+            }
+            while (i < tamano - 1 && precede(i + 1, i)) {
+                intercambiar(i, i + 1);
+                i++;
+            }
+        }
+
+        private boolean precede(int a, int b) {
+            return veces[a] != veces[b] ? veces[a] > veces[b] : ids[a] < ids[b];
+        }
+
+        private void intercambiar(int a, int b) {
+            int id = ids[a];
+            ids[a] = ids[b];
+            ids[b] = id;
+            int v = veces[a];
+            veces[a] = veces[b];
+            veces[b] = v;
+        }
+    }
+
+    /**
+     * Estructura inmutable del índice en formato CSR
+     * Los vecinos del producto ids[i] están en vecinos[desplazamientos[i] .. desplazamientos[i+1])
+     */
+    static final class Indice {
+        static final Indice VACIO = new Indice(new int[0], new int[1], new int[0]);
+
+        private final int[] ids;
+        private final int[] desplazamientos;
+        private final int[] vecinos;
+
+        Indice(int[] ids, int[] desplazamientos, int[] vecinos) {
+            this.ids = ids;
+            this.desplazamientos = desplazamientos;
+            this.vecinos = vecinos;
+        }
+
+        int[] vecinos(int idProducto, int limite) {
+            int i = Arrays.binarySearch(ids, idProducto);
+            if (i < 0 || limite <= 0) {
+                return new int[0];
+            }
+            int desde = desplazamientos[i];
+            int hasta = Math.min(desplazamientos[i + 1], desde + limite);
+            return Arrays.copyOfRange(vecinos, desde, hasta);
+        }
+    }
+}
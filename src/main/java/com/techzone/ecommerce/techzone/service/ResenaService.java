@@ -1,9 +1,12 @@
 package com.techzone.ecommerce.techzone.service;
 
+import com.techzone.ecommerce.techzone.config.TransactionContext;
 import com.techzone.ecommerce.techzone.dao.*;
 import com.techzone.ecommerce.techzone.model.*;
 
+import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,15 +19,15 @@ public class ResenaService {
     private final ResenaDAO resenaDAO;
     private final ProductoDAO productoDAO;
     private final UsuarioDAO usuarioDAO;
-    private final DetallePedidoDAO detalleDAO;
     private final PedidoDAO pedidoDAO;
+    private final ResumenCalificacionDAO resumenDAO;
 
     public ResenaService() {
         this.resenaDAO = new ResenaDAO();
         this.productoDAO = new ProductoDAO();
         this.usuarioDAO = new UsuarioDAO();
-        this.detalleDAO = new DetallePedidoDAO();
         this.pedidoDAO = new PedidoDAO();
+        this.resumenDAO = new ResumenCalificacionDAO();
     }
 
     // ==================== CREACIÓN Y GESTIÓN DE RESEÑAS ====================
@@ -70,9 +73,16 @@ public class ResenaService {
                 resena.setComentario(sanitizarComentario(resena.getComentario()));
             }
 
-            // Crear reseña
-            int idResena = resenaDAO.crear(resena);
-            return idResena;
+            // Crear reseña y sumarla al resumen del producto en la misma transacción
+            try (TransactionContext tx = TransactionContext.iniciar()) {
+                Connection conn = tx.getConnection();
+
+                int idResena = resenaDAO.crear(conn, resena);
+                resumenDAO.registrarCalificacion(conn, resena.getIdProducto(), resena.getCalificacion());
+
+                tx.commit();
+                return idResena;
+            }
 
         } catch (SQLException e) {
             throw new ServiceException("Error al crear reseña", e);
@@ -106,10 +116,20 @@ public class ResenaService {
                 resena.setComentario(sanitizarComentario(resena.getComentario()));
             }
 
-            // Actualizar
-            boolean actualizado = resenaDAO.actualizar(resena);
-            if (!actualizado) {
-                throw new ServiceException("No se pudo actualizar la reseña");
+            // Actualizar reseña y mover la calificación en el resumen del producto
+            Resena anterior = resenaExistente.get();
+            try (TransactionContext tx = TransactionContext.iniciar()) {
+                Connection conn = tx.getConnection();
+
+                boolean actualizado = resenaDAO.actualizar(conn, resena);
+                if (!actualizado) {
+                    throw new ServiceException("No se pudo actualizar la reseña");
+                }
+
+                resumenDAO.cambiarCalificacion(conn, anterior.getIdProducto(),
+                        anterior.getCalificacion(), resena.getCalificacion());
+
+                tx.commit();
             }
 
         } catch (SQLException e) {
@@ -133,10 +153,19 @@ public class ResenaService {
                 throw new ServiceException("No tienes permiso para eliminar esta reseña");
             }
 
-            // Eliminar
-            boolean eliminado = resenaDAO.eliminar(idResena);
-            if (!eliminado) {
-                throw new ServiceException("No se pudo eliminar la reseña");
+            // Eliminar reseña y restarla del resumen del producto
+            try (TransactionContext tx = TransactionContext.iniciar()) {
+                Connection conn = tx.getConnection();
+
+                boolean eliminado = resenaDAO.eliminar(conn, idResena);
+                if (!eliminado) {
+                    throw new ServiceException("No se pudo eliminar la reseña");
+                }
+
+                resumenDAO.quitarCalificacion(conn, resena.get().getIdProducto(),
+                        resena.get().getCalificacion());
+
+                tx.commit();
             }
 
         } catch (SQLException e) {
@@ -152,37 +181,26 @@ public class ResenaService {
     public ResenasPaginadas obtenerResenasPorProducto(int idProducto, int pagina, int porPagina)
             throws ServiceException {
         try {
-            // Obtener todas las reseñas del producto
-            List<Resena> todasResenas = resenaDAO.obtenerConUsuarioPorProducto(idProducto);
-
-            // Enriquecer con información de usuarios
-            for (Resena resena : todasResenas) {
-                Optional<Usuario> usuario = usuarioDAO.buscarPorId(resena.getIdUsuario());
-                resena.setUsuario(usuario.orElse(null));
-            }
+            pagina = Math.max(1, pagina);
+            porPagina = Math.max(1, porPagina);
 
-            // Calcular estadísticas
-            int totalResenas = todasResenas.size();
-            double promedioCalificacion = resenaDAO.calcularPromedioCalificacion(idProducto);
-            int[] distribucion = resenaDAO.obtenerDistribucionCalificaciones(idProducto);
-
-            // Aplicar paginación
+            // Estadísticas (total, promedio y distribución) desde el resumen persistido
+            EstadisticasResenas stats = cargarEstadisticas(idProducto);
+            int totalResenas = stats.getTotalResenas();
             int totalPaginas = (int) Math.ceil((double) totalResenas / porPagina);
-            int inicio = (pagina - 1) * porPagina;
-            int fin = Math.min(inicio + porPagina, totalResenas);
 
-            List<Resena> resenasPaginadas = todasResenas.subList(
-                    Math.max(0, inicio),
-                    Math.max(0, fin)
-            );
+            // Solo la página solicitada, con el autor ya incluido por el JOIN
+            List<Resena> resenasPaginadas = totalResenas > 0
+                    ? resenaDAO.obtenerConUsuarioPorProducto(idProducto, porPagina, (pagina - 1) * porPagina)
+                    : new ArrayList<>();
 
             return new ResenasPaginadas(
                     resenasPaginadas,
                     totalResenas,
                     pagina,
                     totalPaginas,
-                    promedioCalificacion,
-                    distribucion
+                    stats.getPromedioCalificacion(),
+                    stats.getDistribucionEstrellas()
             );
 
         } catch (SQLException e) {
@@ -257,11 +275,7 @@ public class ResenaService {
      */
     public EstadisticasResenas obtenerEstadisticas(int idProducto) throws ServiceException {
         try {
-            int totalResenas = resenaDAO.contarPorProducto(idProducto);
-            double promedio = resenaDAO.calcularPromedioCalificacion(idProducto);
-            int[] distribucion = resenaDAO.obtenerDistribucionCalificaciones(idProducto);
-
-            return new EstadisticasResenas(totalResenas, promedio, distribucion);
+            return cargarEstadisticas(idProducto);
 
         } catch (SQLException e) {
             throw new ServiceException("Error al obtener estadísticas", e);
@@ -295,6 +309,17 @@ public class ResenaService {
 
     // ==================== UTILIDADES PRIVADAS ====================
 
+    /**
+     * Lee total, promedio y distribución del resumen del producto (una fila por clave primaria)
+     */
+    private EstadisticasResenas cargarEstadisticas(int idProducto) throws SQLException {
+        ResumenCalificacion resumen = resumenDAO.buscarPorProducto(idProducto)
+                .orElseGet(() -> new ResumenCalificacion(idProducto));
+
+        return new EstadisticasResenas(resumen.getTotalResenas(), resumen.getPromedio(),
+                resumen.getDistribucion());
+    }
+
     /**
      * Valida los datos de una reseña
      */
@@ -341,29 +366,11 @@ public class ResenaService {
     }
 
     /**
-     * Verifica si un usuario ha comprado un producto
-     * ✅ CORREGIDO: Usa String en lugar de enum
+     * Verifica si un usuario ha comprado (y recibido) un producto
+     * Una sola consulta EXISTS indexada en lugar de recorrer todas las líneas vendidas
      */
     private boolean haCompradoProducto(int idUsuario, int idProducto) throws SQLException {
-        List<DetallePedido> detalles = detalleDAO.obtenerPorProducto(idProducto);
-
-        for (DetallePedido detalle : detalles) {
-            Optional<Pedido> pedidoOpt = pedidoDAO.buscarPorId(detalle.getIdPedido());
-
-            if (pedidoOpt.isPresent()) {
-                Pedido pedido = pedidoOpt.get();
-
-                // Verificar que el pedido pertenece al usuario
-                if (pedido.getIdUsuario() == idUsuario) {
-                    // ✅ CORREGIDO: Usar String en lugar de enum
-                    if ("ENTREGADO".equals(pedido.getEstado())) {
-                        return true;
-                    }
-                }
-            }
-        }
-
-        return false;
+        return pedidoDAO.existeCompraDeProducto(idUsuario, idProducto, "ENTREGADO");
     }
 
     // ==================== CLASES INTERNAS ====================
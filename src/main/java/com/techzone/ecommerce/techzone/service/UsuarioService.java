@@ -9,6 +9,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -478,6 +480,45 @@ public class UsuarioService {
         }
     }
 
+    /**
+     * Cuenta usuarios con un rol
+     *
+     * @param rol Rol a contar (ADMIN, CLIENTE, VENDEDOR)
+     * @return Número de usuarios con ese rol
+     * @throws ServiceException Si hay error en la consulta
+     */
+    public int contarUsuariosPorRol(Usuario.RolUsuario rol) throws ServiceException {
+        try {
+            return usuarioDAO.contarPorRol(rol);
+        } catch (SQLException e) {
+            logger.error("Error al contar usuarios por rol: {}", e.getMessage());
+            throw new ServiceException("Error al contar usuarios por rol");
+        }
+    }
+
+    /**
+     * Busca usuarios para el panel de administración con filtros, orden y paginación en la BD
+     *
+     * @param filtros Texto, rol, estado, rango de registro, orden y página
+     * @return Página de usuarios con el total de coincidencias
+     * @throws ServiceException Si hay error en la consulta
+     */
+    public ResultadoUsuarios buscarUsuariosAdmin(FiltroUsuarios filtros) throws ServiceException {
+        try {
+            int totalUsuarios = usuarioDAO.contarConFiltros(filtros);
+            List<Usuario> usuarios = totalUsuarios > 0
+                    ? usuarioDAO.buscarConFiltros(filtros)
+                    : new ArrayList<>();
+            int totalPaginas = (int) Math.ceil((double) totalUsuarios / Math.max(1, filtros.getUsuariosPorPagina()));
+
+            return new ResultadoUsuarios(usuarios, totalUsuarios, filtros.getPagina(), totalPaginas);
+
+        } catch (SQLException e) {
+            logger.error("Error al buscar usuarios: {}", e.getMessage());
+            throw new ServiceException("Error al buscar usuarios");
+        }
+    }
+
     /**
      * Obtiene todos los usuarios del sistema
      * Método para uso administrativo
@@ -493,4 +534,80 @@ public class UsuarioService {
             throw new ServiceException("Error al obtener usuarios");
         }
     }
+
+    // ==================== CLASES DE BÚSQUEDA ====================
+
+    /**
+     * Criterios de búsqueda de usuarios para administración
+     * Las fechas de registro son inclusivas
+     */
+    public static class FiltroUsuarios {
+        private String texto;
+        private Usuario.RolUsuario rol;
+        private Usuario.EstadoUsuario estado;
+        private LocalDate registroDesde;
+        private LocalDate registroHasta;
+        private OrdenUsuario orden = OrdenUsuario.REGISTRO_DESC;
+        private int pagina = 1;
+        private int usuariosPorPagina = 25;
+
+        public String getTexto() { return texto; }
+        public void setTexto(String texto) { this.texto = texto; }
+
+        public Usuario.RolUsuario getRol() { return rol; }
+        public void setRol(Usuario.RolUsuario rol) { this.rol = rol; }
+
+        public Usuario.EstadoUsuario getEstado() { return estado; }
+        public void setEstado(Usuario.EstadoUsuario estado) { this.estado = estado; }
+
+        public LocalDate getRegistroDesde() { return registroDesde; }
+        public void setRegistroDesde(LocalDate registroDesde) { this.registroDesde = registroDesde; }
+
+        public LocalDate getRegistroHasta() { return registroHasta; }
+        public void setRegistroHasta(LocalDate registroHasta) { this.registroHasta = registroHasta; }
+
+        public OrdenUsuario getOrden() { return orden; }
+        public void setOrden(OrdenUsuario orden) { this.orden = orden; }
+
+        public int getPagina() { return pagina; }
+        public void setPagina(int pagina) { this.pagina = Math.max(1, pagina); }
+
+        public int getUsuariosPorPagina() { return usuariosPorPagina; }
+        public void setUsuariosPorPagina(int usuariosPorPagina) {
+            this.usuariosPorPagina = Math.max(1, Math.min(usuariosPorPagina, 100));
+        }
+    }
+
+    /**
+     * Página de usuarios para administración
+     */
+    public static class ResultadoUsuarios {
+        private final List<Usuario> usuarios;
+        private final int totalUsuarios;
+        private final int paginaActual;
+        private final int totalPaginas;
+
+        public ResultadoUsuarios(List<Usuario> usuarios, int totalUsuarios,
+                                 int paginaActual, int totalPaginas) {
+            this.usuarios = usuarios;
+            this.totalUsuarios = totalUsuarios;
+            this.paginaActual = paginaActual;
+            this.totalPaginas = totalPaginas;
+        }
+
+        public List<Usuario> getUsuarios() { return usuarios; }
+        public int getTotalUsuarios() { return totalUsuarios; }
+        public int getPaginaActual() { return paginaActual; }
+        public int getTotalPaginas() { return totalPaginas; }
+    }
+
+    /**
+     * Enum para ordenamiento de usuarios en administración
+     */
+    public enum OrdenUsuario {
+        REGISTRO_DESC,
+        REGISTRO_ASC,
+        NOMBRE_ASC,
+        NOMBRE_DESC
+    }
 }
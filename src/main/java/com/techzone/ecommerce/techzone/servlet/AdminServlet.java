@@ -2,10 +2,12 @@ package com.techzone.ecommerce.techzone.servlet;
 
 import com.techzone.ecommerce.techzone.service.ServiceException;
 import com.techzone.ecommerce.techzone.model.Categoria;
-import com.techzone.ecommerce.techzone.model.Pedido;
+import com.techzone.ecommerce.techzone.model.EstadisticasDashboard;
 import com.techzone.ecommerce.techzone.model.Producto;
 import com.techzone.ecommerce.techzone.model.Usuario;
 import com.techzone.ecommerce.techzone.service.CategoriaService;
+import com.techzone.ecommerce.techzone.service.DashboardService;
+import com.techzone.ecommerce.techzone.service.ExportacionService;
 import com.techzone.ecommerce.techzone.service.PedidoService;
 import com.techzone.ecommerce.techzone.service.ProductoService;
 import com.techzone.ecommerce.techzone.service.UsuarioService;
@@ -26,6 +28,9 @@ import java.math.BigDecimal;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.UUID;
 
@@ -44,7 +49,8 @@ import java.util.UUID;
         "/admin/productos/guardar",
         "/admin/pedidos",
         "/admin/usuarios",
-        "/admin/estadisticas"
+        "/admin/estadisticas",
+        "/admin/exportar"
 })
 @MultipartConfig(
         fileSizeThreshold = 1024 * 1024 * 2,  // 2MB
@@ -55,11 +61,15 @@ public class AdminServlet extends HttpServlet {
 
     private static final Logger logger = LoggerFactory.getLogger(AdminServlet.class);
     private static final String UPLOAD_DIR = "uploads/productos";
+    private static final String PARAM_TTL_DASHBOARD = "dashboard.ttlSegundos";
+    private static final int ELEMENTOS_POR_PAGINA = 25;
 
     private ProductoService productoService;
     private PedidoService pedidoService;
     private UsuarioService usuarioService;
     private CategoriaService categoriaService;
+    private DashboardService dashboardService;
+    private ExportacionService exportacionService;
 
     @Override
     public void init() throws ServletException {
@@ -68,6 +78,8 @@ public class AdminServlet extends HttpServlet {
         this.pedidoService = new PedidoService();
         this.usuarioService = new UsuarioService();
         this.categoriaService = new CategoriaService();
+        this.dashboardService = new DashboardService(leerTtlDashboard());
+        this.exportacionService = new ExportacionService();
         logger.info("AdminServlet inicializado");
     }
 
@@ -113,11 +125,18 @@ public class AdminServlet extends HttpServlet {
                 case "/admin/estadisticas":
                     mostrarEstadisticas(request, response);
                     break;
+                case "/admin/exportar":
+                    exportarDatos(request, response);
+                    break;
                 default:
                     response.sendError(HttpServletResponse.SC_NOT_FOUND);
             }
         } catch (Exception e) {
             logger.error("Error en GET {}: {}", path, e.getMessage(), e);
+            if (response.isCommitted()) {
+                // Respuesta enviada a medias (p. ej. una exportación): el contenedor debe cortar la conexión
+                throw e instanceof ServletException ? (ServletException) e : new ServletException(e);
+            }
             request.setAttribute("error", "Error al cargar la información");
             request.getRequestDispatcher("/views/admin/error.jsp").forward(request, response);
         }
@@ -160,49 +179,68 @@ public class AdminServlet extends HttpServlet {
             throws ServletException, IOException {
 
         try {
-            // Obtener estadísticas generales
-            DashboardData data = new DashboardData();
-
-            // Contar productos
-            data.totalProductos = productoService.contarProductos();
-            data.productosActivos = productoService.contarProductosActivos();
-            data.productosBajoStock = productoService.contarProductosBajoStock(10);
-
-            // Contar pedidos
-            data.totalPedidos = pedidoService.obtenerTodosPedidos().size();
-            data.pedidosPendientes = pedidoService.contarPedidosPorEstado("PENDIENTE");
-            data.pedidosHoy = 0; // TODO: Implementar
-
-            // Contar usuarios
-            data.totalUsuarios = usuarioService.obtenerTodosUsuarios().size();
-            data.usuariosNuevosHoy = 0; // TODO: Implementar
+            // Contadores agregados y listas con LIMIT, cacheados durante un TTL corto
+            DashboardService.ResumenDashboard resumen = dashboardService.obtenerResumen();
+            EstadisticasDashboard stats = resumen.getEstadisticas();
 
-            // Obtener últimos pedidos
-            List<Pedido> ultimosPedidos = pedidoService.obtenerTodosPedidos();
-            if (ultimosPedidos.size() > 5) {
-                ultimosPedidos = ultimosPedidos.subList(0, 5);
-            }
-
-            // Obtener productos bajo stock
-            List<Producto> productosBajoStock = productoService.obtenerProductosBajoStock(10, 5);
+            DashboardData data = new DashboardData();
+            data.totalProductos = stats.getTotalProductos();
+            data.productosActivos = stats.getProductosActivos();
+            data.productosBajoStock = stats.getProductosBajoStock();
+            data.totalPedidos = stats.getTotalPedidos();
+            data.pedidosPendientes = stats.getPedidosPendientes();
+            data.pedidosHoy = stats.getPedidosHoy();
+            data.totalUsuarios = stats.getTotalUsuarios();
+            data.usuariosNuevosHoy = stats.getUsuariosNuevosHoy();
 
             // Enviar a la vista
             request.setAttribute("data", data);
-            request.setAttribute("ultimosPedidos", ultimosPedidos);
-            request.setAttribute("productosBajoStock", productosBajoStock);
+            request.setAttribute("estadisticas", stats);
+            request.setAttribute("ultimosPedidos", resumen.getPedidosRecientes());
+            request.setAttribute("productosBajoStock", resumen.getProductosBajoStock());
+
+            // Atributos que consume dashboard.jsp
+            request.setAttribute("totalProductos", stats.getTotalProductos());
+            request.setAttribute("productosStockBajo", stats.getProductosBajoStock());
+            request.setAttribute("alertasStockBajo",
+                    stats.getProductosBajoStock() > 0 ? stats.getProductosBajoStock() : null);
+            request.setAttribute("totalPedidos", stats.getTotalPedidos());
+            request.setAttribute("pedidosPendientes", stats.getPedidosPendientes());
+            request.setAttribute("ventasTotales", stats.getVentasTotales());
+            request.setAttribute("totalUsuarios", stats.getTotalUsuarios());
+            request.setAttribute("usuariosNuevos", stats.getUsuariosNuevosMes());
+            request.setAttribute("pedidosRecientes", resumen.getPedidosRecientes());
+            request.setAttribute("usuariosRecientes", resumen.getUsuariosRecientes());
 
             logger.debug("Dashboard cargado - {} productos, {} pedidos, {} usuarios",
                     data.totalProductos, data.totalPedidos, data.totalUsuarios);
 
             request.getRequestDispatcher("/views/admin/dashboard.jsp").forward(request, response);
 
-        } catch (ServiceException | ProductoService.ServiceException e) {
+        } catch (ServiceException e) {
             logger.error("Error al cargar dashboard: {}", e.getMessage());
             request.setAttribute("error", "Error al cargar el dashboard");
             request.getRequestDispatcher("/views/admin/dashboard.jsp").forward(request, response);
         }
     }
 
+    /**
+     * TTL de la caché del dashboard (parámetro de contexto, 30 s por defecto)
+     */
+    private long leerTtlDashboard() {
+        String valor = getServletContext().getInitParameter(PARAM_TTL_DASHBOARD);
+        if (valor == null || valor.isBlank()) {
+            return DashboardService.TTL_DEFECTO_SEGUNDOS;
+        }
+        try {
+            return Long.parseLong(valor.trim());
+        } catch (NumberFormatException e) {
+            logger.warn("TTL de dashboard inválido '{}', se usan {} s",
+                    valor, DashboardService.TTL_DEFECTO_SEGUNDOS);
+            return DashboardService.TTL_DEFECTO_SEGUNDOS;
+        }
+    }
+
     // ==================== MÉTODOS PRIVADOS - PRODUCTOS ====================
 
     /**
@@ -265,7 +303,7 @@ public class AdminServlet extends HttpServlet {
 
             request.getRequestDispatcher("/views/admin/productos.jsp").forward(request, response);
 
-        } catch (ProductoService.ServiceException | CategoriaService.ServiceException e) {
+        } catch (ProductoService.ServiceException | ServiceException e) {
             logger.error("Error al listar productos admin: {}", e.getMessage());
             request.setAttribute("error", "Error al cargar los productos");
             request.getRequestDispatcher("/views/admin/productos.jsp").forward(request, response);
@@ -287,7 +325,7 @@ public class AdminServlet extends HttpServlet {
 
             request.getRequestDispatcher("/views/admin/producto-form.jsp").forward(request, response);
 
-        } catch (CategoriaService.ServiceException e) {
+        } catch (ServiceException e) {
             logger.error("Error al cargar categorías: {}", e.getMessage());
             SessionUtil.setFlashMessage(request, "error", "Error al cargar el formulario");
             response.sendRedirect(request.getContextPath() + "/admin/productos");
@@ -331,7 +369,7 @@ public class AdminServlet extends HttpServlet {
         } catch (NumberFormatException e) {
             logger.warn("ID de producto inválido: {}", idParam);
             response.sendRedirect(request.getContextPath() + "/admin/productos");
-        } catch (ProductoService.ServiceException | CategoriaService.ServiceException e) {
+        } catch (ProductoService.ServiceException | ServiceException e) {
             logger.error("Error al cargar producto: {}", e.getMessage());
             SessionUtil.setFlashMessage(request, "error", "Error al cargar el producto");
             response.sendRedirect(request.getContextPath() + "/admin/productos");
@@ -515,7 +553,7 @@ public class AdminServlet extends HttpServlet {
     // ==================== MÉTODOS PRIVADOS - PEDIDOS ====================
 
     /**
-     * Lista todos los pedidos para administración
+     * Lista los pedidos para administración (filtros, orden y paginación en la BD)
      */
     private void listarPedidosAdmin(HttpServletRequest request, HttpServletResponse response)
             throws ServletException, IOException {
@@ -523,20 +561,36 @@ public class AdminServlet extends HttpServlet {
         try {
             String estadoFiltro = request.getParameter("estado");
 
-            List<Pedido> pedidos;
+            PedidoService.FiltroPedidos filtros = new PedidoService.FiltroPedidos();
+            filtros.setPedidosPorPagina(ELEMENTOS_POR_PAGINA);
+            filtros.setPagina(leerPagina(request));
 
             if (estadoFiltro != null && !estadoFiltro.isEmpty() && !"todos".equals(estadoFiltro)) {
-                pedidos = pedidoService.obtenerPorEstado(estadoFiltro.toUpperCase());
-            } else {
-                pedidos = pedidoService.obtenerTodosPedidos();
+                filtros.setEstado(estadoFiltro.toUpperCase());
             }
 
-            request.setAttribute("pedidos", pedidos);
-            request.setAttribute("totalPedidos", pedidos.size());
+            filtros.setTexto(request.getParameter("busqueda"));
+            filtros.setMetodoPago(request.getParameter("metodoPago"));
+            filtros.setFechaDesde(leerFecha(request, "fechaDesde"));
+            filtros.setFechaHasta(leerFecha(request, "fechaHasta"));
+
+            PedidoService.OrdenPedido orden = leerEnum(request.getParameter("orden"), PedidoService.OrdenPedido.class);
+            if (orden != null) {
+                filtros.setOrden(orden);
+            }
+
+            PedidoService.ResultadoPedidos resultado = pedidoService.buscarPedidosAdmin(filtros);
+
+            request.setAttribute("pedidos", resultado.getPedidos());
+            request.setAttribute("totalPedidos", resultado.getTotalPedidos());
+            request.setAttribute("paginaActual", resultado.getPaginaActual());
+            request.setAttribute("totalPaginas", resultado.getTotalPaginas());
             request.setAttribute("estadoFiltro", estadoFiltro);
+            request.setAttribute("ordenActual", filtros.getOrden().name());
 
-            logger.debug("Admin listando {} pedidos (estado: {})",
-                    pedidos.size(), estadoFiltro);
+            logger.debug("Admin listando {} de {} pedidos (estado: {}, página {})",
+                    resultado.getPedidos().size(), resultado.getTotalPedidos(),
+                    estadoFiltro, resultado.getPaginaActual());
 
             request.getRequestDispatcher("/views/admin/pedidos.jsp").forward(request, response);
 
@@ -550,7 +604,7 @@ public class AdminServlet extends HttpServlet {
     // ==================== MÉTODOS PRIVADOS - USUARIOS ====================
 
     /**
-     * Lista todos los usuarios para administración
+     * Lista los usuarios para administración (filtros, orden y paginación en la BD)
      */
     private void listarUsuariosAdmin(HttpServletRequest request, HttpServletResponse response)
             throws ServletException, IOException {
@@ -558,25 +612,39 @@ public class AdminServlet extends HttpServlet {
         try {
             String rolFiltro = request.getParameter("rol");
 
-            List<Usuario> usuarios;
-
-            if (rolFiltro != null && !rolFiltro.isEmpty() && !"todos".equals(rolFiltro)) {
-                try {
-                    Usuario.RolUsuario rol = Usuario.RolUsuario.valueOf(rolFiltro.toUpperCase());
-                    usuarios = usuarioService.obtenerUsuariosPorRol(rol);
-                } catch (IllegalArgumentException e) {
-                    usuarios = usuarioService.obtenerTodosUsuarios();
-                }
-            } else {
-                usuarios = usuarioService.obtenerTodosUsuarios();
+            UsuarioService.FiltroUsuarios filtros = new UsuarioService.FiltroUsuarios();
+            filtros.setUsuariosPorPagina(ELEMENTOS_POR_PAGINA);
+            filtros.setPagina(leerPagina(request));
+            filtros.setTexto(request.getParameter("busqueda"));
+            filtros.setRol(leerEnum(rolFiltro, Usuario.RolUsuario.class));
+            filtros.setEstado(leerEnum(request.getParameter("estado"), Usuario.EstadoUsuario.class));
+
+            // Periodo predefinido (hoy, semana, mes, año) o rango explícito de fechas
+            LocalDate desdePeriodo = inicioPeriodo(request.getParameter("fechaRegistro"));
+            LocalDate fechaDesde = leerFecha(request, "fechaDesde");
+            filtros.setRegistroDesde(fechaDesde != null ? fechaDesde : desdePeriodo);
+            filtros.setRegistroHasta(leerFecha(request, "fechaHasta"));
+
+            UsuarioService.OrdenUsuario orden = leerEnum(request.getParameter("orden"), UsuarioService.OrdenUsuario.class);
+            if (orden != null) {
+                filtros.setOrden(orden);
             }
 
-            request.setAttribute("usuarios", usuarios);
-            request.setAttribute("totalUsuarios", usuarios.size());
+            UsuarioService.ResultadoUsuarios resultado = usuarioService.buscarUsuariosAdmin(filtros);
+
+            request.setAttribute("usuarios", resultado.getUsuarios());
+            request.setAttribute("totalUsuarios", resultado.getTotalUsuarios());
+            request.setAttribute("totalAdmins", usuarioService.contarUsuariosPorRol(Usuario.RolUsuario.ADMIN));
+            request.setAttribute("totalClientes", usuarioService.contarUsuariosPorRol(Usuario.RolUsuario.CLIENTE));
+            request.setAttribute("paginaActual", resultado.getPaginaActual());
+            request.setAttribute("totalPaginas", resultado.getTotalPaginas());
+            request.setAttribute("usuariosPorPagina", filtros.getUsuariosPorPagina());
             request.setAttribute("rolFiltro", rolFiltro);
+            request.setAttribute("ordenActual", filtros.getOrden().name());
 
-            logger.debug("Admin listando {} usuarios (rol: {})",
-                    usuarios.size(), rolFiltro);
+            logger.debug("Admin listando {} de {} usuarios (rol: {}, página {})",
+                    resultado.getUsuarios().size(), resultado.getTotalUsuarios(),
+                    rolFiltro, resultado.getPaginaActual());
 
             request.getRequestDispatcher("/views/admin/usuarios.jsp").forward(request, response);
 
@@ -587,6 +655,141 @@ public class AdminServlet extends HttpServlet {
         }
     }
 
+    // ==================== MÉTODOS PRIVADOS - EXPORTACIONES ====================
+
+    /**
+     * Descarga en streaming de pedidos, líneas de pedido o productos
+     * Parámetros: tipo (pedidos, lineas, productos), formato (csv, json), desde/hasta (yyyy-MM-dd,
+     * solo pedidos y líneas) y gzip=true para comprimir. Las filas se escriben conforme se leen,
+     * por lo que un error a mitad de la descarga ya no puede devolver un código de error: se
+     * propaga como ServletException y el contenedor aborta la conexión, de modo que el cliente
+     * ve una descarga fallida en lugar de un archivo truncado con estado 200
+     */
+    private void exportarDatos(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        ExportacionService.TipoExportacion tipo =
+                leerEnum(request.getParameter("tipo"), ExportacionService.TipoExportacion.class);
+        if (tipo == null) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Tipo de exportación inválido");
+            return;
+        }
+
+        ExportacionService.FormatoExportacion formato =
+                leerEnum(request.getParameter("formato"), ExportacionService.FormatoExportacion.class);
+        if (formato == null) {
+            formato = ExportacionService.FormatoExportacion.CSV;
+        }
+
+        LocalDate desde = leerFecha(request, "desde");
+        LocalDate hasta = leerFecha(request, "hasta");
+        boolean comprimir = "true".equalsIgnoreCase(request.getParameter("gzip"))
+                || "1".equals(request.getParameter("gzip"));
+
+        String nombre = tipo.name().toLowerCase()
+                + (desde != null ? "_" + desde : "")
+                + (hasta != null ? "_" + hasta : "")
+                + "." + formato.getExtension()
+                + (comprimir ? ".gz" : "");
+
+        response.setContentType(comprimir ? "application/gzip" : formato.getContentType());
+        if (!comprimir) {
+            response.setCharacterEncoding("UTF-8");
+        }
+        response.setHeader("Content-Disposition", "attachment; filename=\"" + nombre + "\"");
+        response.setHeader("Cache-Control", "no-store");
+
+        try {
+            long filas = exportacionService.exportar(tipo, formato, desde, hasta,
+                    response.getOutputStream(), comprimir);
+            logger.debug("Exportación {} enviada: {} filas", nombre, filas);
+
+        } catch (ServiceException e) {
+            logger.error("Error en la exportación {}: {}", nombre, e.getMessage());
+            if (response.isCommitted()) {
+                throw new ServletException("Exportación " + nombre + " interrumpida", e);
+            }
+            response.reset();
+            response.sendError(e.getCause() == null
+                    ? HttpServletResponse.SC_BAD_REQUEST
+                    : HttpServletResponse.SC_INTERNAL_SERVER_ERROR, e.getMessage());
+        } catch (IOException e) {
+            // Normalmente el cliente canceló la descarga
+            logger.warn("Exportación {} interrumpida: {}", nombre, e.getMessage());
+        }
+    }
+
+    // ==================== MÉTODOS PRIVADOS - PARÁMETROS DE LISTADOS ====================
+
+    /**
+     * Lee el parámetro "pagina" (1 si falta o no es válido)
+     */
+    private int leerPagina(HttpServletRequest request) {
+        String valor = request.getParameter("pagina");
+        if (valor == null || valor.isBlank()) {
+            return 1;
+        }
+        try {
+            return Math.max(1, Integer.parseInt(valor.trim()));
+        } catch (NumberFormatException e) {
+            logger.warn("Número de página inválido: {}", valor);
+            return 1;
+        }
+    }
+
+    /**
+     * Lee una fecha yyyy-MM-dd (null si falta o no es válida)
+     */
+    private LocalDate leerFecha(HttpServletRequest request, String nombre) {
+        String valor = request.getParameter(nombre);
+        if (valor == null || valor.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(valor.trim());
+        } catch (DateTimeParseException e) {
+            logger.warn("Fecha inválida en '{}': {}", nombre, valor);
+            return null;
+        }
+    }
+
+    /**
+     * Convierte un valor sin distinguir mayúsculas en una constante del enum (null si no existe)
+     */
+    private <E extends Enum<E>> E leerEnum(String valor, Class<E> tipo) {
+        if (valor == null || valor.isBlank() || "todos".equalsIgnoreCase(valor.trim())) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(tipo, valor.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            logger.warn("Valor inválido para {}: {}", tipo.getSimpleName(), valor);
+            return null;
+        }
+    }
+
+    /**
+     * Primer día de un periodo predefinido del filtro de registro
+     */
+    private LocalDate inicioPeriodo(String periodo) {
+        if (periodo == null || periodo.isBlank()) {
+            return null;
+        }
+        LocalDate hoy = LocalDate.now();
+        switch (periodo) {
+            case "hoy":
+                return hoy;
+            case "semana":
+                return hoy.with(DayOfWeek.MONDAY);
+            case "mes":
+                return hoy.withDayOfMonth(1);
+            case "año":
+                return hoy.withDayOfYear(1);
+            default:
+                return null;
+        }
+    }
+
     // ==================== MÉTODOS PRIVADOS - ESTADÍSTICAS ====================
 
     /**
@@ -619,7 +822,7 @@ public class AdminServlet extends HttpServlet {
 
             request.getRequestDispatcher("/views/admin/estadisticas.jsp").forward(request, response);
 
-        } catch (ServiceException | ProductoService.ServiceException e) {
+        } catch (ProductoService.ServiceException e) {
             logger.error("Error al cargar estadísticas: {}", e.getMessage());
             request.setAttribute("error", "Error al cargar las estadísticas");
             request.getRequestDispatcher("/views/admin/estadisticas.jsp").forward(request, response);
@@ -6,6 +6,7 @@ import com.techzone.ecommerce.techzone.model.Carrito;
 import com.techzone.ecommerce.techzone.model.Producto;
 import com.techzone.ecommerce.techzone.model.Usuario;
 import com.techzone.ecommerce.techzone.service.CarritoService;
+import com.techzone.ecommerce.techzone.util.PrecioUtil;
 
 import jakarta.servlet.ServletException;
 import jakarta.servlet.annotation.WebServlet;
@@ -16,7 +17,9 @@ import jakarta.servlet.http.HttpSession;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Servlet para gestionar el carrito de compras
@@ -105,10 +108,14 @@ public class CarritoServlet extends HttpServlet {
         // Obtener items del carrito con información de productos
         List<Carrito> items = carritoDAO.obtenerConProductosPorUsuario(usuario.getIdUsuario());
 
-        // Cargar información completa de cada producto
+        // Cargar información completa de los productos en una sola consulta
+        List<Integer> idsProductos = new ArrayList<>(items.size());
         for (Carrito item : items) {
-            Producto producto = productoDAO.buscarPorId(item.getIdProducto()).orElse(null);
-            item.setProducto(producto);
+            idsProductos.add(item.getIdProducto());
+        }
+        Map<Integer, Producto> productos = productoDAO.buscarPorIds(idsProductos);
+        for (Carrito item : items) {
+            item.setProducto(productos.get(item.getIdProducto()));
         }
 
         // Crear objeto CarritoResumen para la vista
@@ -342,27 +349,23 @@ public class CarritoServlet extends HttpServlet {
         }
 
         private void calcularTotales() {
-            subtotal = BigDecimal.ZERO;
-            totalDescuentos = BigDecimal.ZERO;
+            // Acumulados en céntimos con los precios precalculados de cada producto
+            long subtotalCentimos = 0;
+            long descuentosCentimos = 0;
             cantidadTotal = 0;
 
             for (Carrito item : items) {
-                if (item.getProducto() != null) {
-                    BigDecimal precioUnitario = item.getProducto().getPrecio();
-                    BigDecimal subtotalItem = precioUnitario.multiply(new BigDecimal(item.getCantidad()));
-                    subtotal = subtotal.add(subtotalItem);
-
-                    // Calcular descuento si existe
-                    if (item.getProducto().getDescuento() != null &&
-                            item.getProducto().getDescuento().compareTo(BigDecimal.ZERO) > 0) {
-                        BigDecimal descuento = subtotalItem.multiply(item.getProducto().getDescuento())
-                                .divide(new BigDecimal(100));
-                        totalDescuentos = totalDescuentos.add(descuento);
-                    }
-
+                Producto producto = item.getProducto();
+                if (producto != null) {
+                    subtotalCentimos += producto.getPrecioCentimos() * item.getCantidad();
+                    descuentosCentimos += (producto.getPrecioCentimos() - producto.getPrecioFinalCentimos())
+                            * item.getCantidad();
                     cantidadTotal += item.getCantidad();
                 }
             }
+
+            subtotal = PrecioUtil.aImporte(subtotalCentimos);
+            totalDescuentos = PrecioUtil.aImporte(descuentosCentimos);
         }
 
         // Getters
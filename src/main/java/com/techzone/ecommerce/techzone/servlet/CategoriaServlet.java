@@ -3,6 +3,7 @@ package com.techzone.ecommerce.techzone.servlet;
 import com.techzone.ecommerce.techzone.dao.CategoriaDAO;
 import com.techzone.ecommerce.techzone.dao.ProductoDAO;
 import com.techzone.ecommerce.techzone.model.Categoria;
+import com.techzone.ecommerce.techzone.service.CatalogoSnapshot;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.annotation.WebServlet;
 import jakarta.servlet.http.HttpServlet;
@@ -77,8 +78,14 @@ public class CategoriaServlet extends HttpServlet {
             // Crear lista con información adicional (conteo de productos)
             List<CategoriaInfo> categoriasInfo = new ArrayList<>();
 
+            // Conteos desde la vista del catálogo en memoria (una consulta por categoría si no está cargada)
+            CatalogoSnapshot catalogo = CatalogoSnapshot.getInstance();
+            boolean enMemoria = catalogo.estaCargado();
+
             for (Categoria categoria : categorias) {
-                int cantidadProductos = productoDAO.contarPorCategoria(categoria.getIdCategoria());
+                int cantidadProductos = enMemoria
+                        ? catalogo.contarPorCategoria(categoria.getIdCategoria())
+                        : productoDAO.contarPorCategoria(categoria.getIdCategoria());
 
                 CategoriaInfo info = new CategoriaInfo();
                 info.categoria = categoria;
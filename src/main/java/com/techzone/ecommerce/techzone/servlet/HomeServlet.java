@@ -1,12 +1,7 @@
 package com.techzone.ecommerce.techzone.servlet;
 
+import com.techzone.ecommerce.techzone.service.HomeCache;
 import com.techzone.ecommerce.techzone.service.ServiceException;
-import com.techzone.ecommerce.techzone.model.Categoria;
-import com.techzone.ecommerce.techzone.model.Imagen;
-import com.techzone.ecommerce.techzone.model.Producto;
-import com.techzone.ecommerce.techzone.service.CategoriaService;
-import com.techzone.ecommerce.techzone.service.ImagenService;
-import com.techzone.ecommerce.techzone.service.ProductoService;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.annotation.WebServlet;
 import jakarta.servlet.http.HttpServlet;
@@ -16,25 +11,20 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
 
 @WebServlet(name = "HomeServlet", urlPatterns = {"", "/"})
 public class HomeServlet extends HttpServlet {
 
     private static final Logger logger = LoggerFactory.getLogger(HomeServlet.class);
-    private ProductoService productoService;
-    private CategoriaService categoriaService;
-    private ImagenService imagenService; // NUEVO
+    private static final String PARAM_TTL_HOME = "home.ttlSegundos";
+
+    private HomeCache homeCache;
 
     @Override
     public void init() throws ServletException {
         super.init();
-        this.productoService = new ProductoService();
-        this.categoriaService = new CategoriaService();
-        this.imagenService = new ImagenService(); // ✅ NUEVO
+        this.homeCache = HomeCache.getInstance();
+        this.homeCache.configurarTtl(leerTtl());
         logger.info("HomeServlet inicializado");
     }
 
@@ -45,51 +35,38 @@ public class HomeServlet extends HttpServlet {
         logger.debug("Cargando página principal");
 
         try {
-            // 1. Obtener categorías
-            List<Categoria> categorias = categoriaService.obtenerCategoriasActivas();
-            request.setAttribute("categorias", categorias);
-
-            // 2. Obtener productos destacados
-            List<Producto> productosDestacados = productoService.obtenerProductosRecientes(8);
-            request.setAttribute("productosDestacados", productosDestacados);
-
-            // 3. Obtener productos en oferta
-            List<Producto> productosOferta = productoService.obtenerProductosConDescuento(4);
-            request.setAttribute("productosOferta", productosOferta);
-
-// ✅ 4. CARGAR TODAS LAS IMÁGENES CON UN SOLO QUERY
-            List<Integer> todosLosIds = new ArrayList<>();
-            productosDestacados.forEach(p -> todosLosIds.add(p.getIdProducto()));
-            productosOferta.forEach(p -> {
-                if (!todosLosIds.contains(p.getIdProducto())) {
-                    todosLosIds.add(p.getIdProducto());
-                }
-            });
-
-            if (!todosLosIds.isEmpty()) {
-                Map<Integer, List<Imagen>> imagenesMap = imagenService.obtenerImagenesPorProductos(todosLosIds);
-                request.setAttribute("imagenesMap", imagenesMap);
-                logger.debug("Cargadas imágenes para {} productos", todosLosIds.size());
-            } else {
-                request.setAttribute("imagenesMap", new HashMap<>());
-            }
-
-            // 5. Categorías destacadas
-            List<Categoria> categoriasDestacadas = categorias.size() > 6
-                    ? categorias.subList(0, 6)
-                    : categorias;
-            request.setAttribute("categoriasDestacadas", categoriasDestacadas);
+            // Categorías, destacados, ofertas e imágenes desde la caché (se recarga al invalidar o caducar)
+            HomeCache.ModeloInicio modelo = homeCache.obtenerModelo();
 
-            logger.debug("Página principal cargada - {} productos destacados, {} ofertas, {} categorías",
-                    productosDestacados.size(), productosOferta.size(), categorias.size());
+            request.setAttribute("categorias", modelo.getCategorias());
+            request.setAttribute("productosDestacados", modelo.getProductosDestacados());
+            request.setAttribute("productosOferta", modelo.getProductosOferta());
+            request.setAttribute("imagenesMap", modelo.getImagenesMap());
+            request.setAttribute("categoriasDestacadas", modelo.getCategoriasDestacadas());
 
-            // 6. Forward a la vista
             request.getRequestDispatcher("/index.jsp").forward(request, response);
 
-        } catch (ServiceException | ProductoService.ServiceException e) {
+        } catch (ServiceException e) {
             logger.error("Error al cargar página principal: {}", e.getMessage(), e);
             request.setAttribute("error", "Error al cargar la página principal");
             request.getRequestDispatcher("/views/error.jsp").forward(request, response);
         }
     }
+
+    /**
+     * TTL de la caché de la página principal (parámetro de contexto, 300 s por defecto)
+     */
+    private long leerTtl() {
+        String valor = getServletContext().getInitParameter(PARAM_TTL_HOME);
+        if (valor == null || valor.isBlank()) {
+            return HomeCache.TTL_DEFECTO_SEGUNDOS;
+        }
+        try {
+            return Long.parseLong(valor.trim());
+        } catch (NumberFormatException e) {
+            logger.warn("TTL de la página principal inválido '{}', se usan {} s",
+                    valor, HomeCache.TTL_DEFECTO_SEGUNDOS);
+            return HomeCache.TTL_DEFECTO_SEGUNDOS;
+        }
+    }
 }
@@ -0,0 +1,98 @@
+package com.techzone.ecommerce.techzone.servlet;
+
+import com.techzone.ecommerce.techzone.service.ImportacionProductosService;
+import com.techzone.ecommerce.techzone.service.ImportacionProductosService.ResultadoImportacion;
+import com.techzone.ecommerce.techzone.service.ServiceException;
+import com.techzone.ecommerce.techzone.util.SessionUtil;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.MultipartConfig;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.Part;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Servlet de importación masiva de productos desde CSV
+ * Va aparte de AdminServlet porque los catálogos de proveedores superan el límite de subida
+ * pensado para imágenes
+ *
+ * @author TechZone Team
+ */
+@WebServlet(name = "ImportacionProductosServlet", urlPatterns = {"/admin/productos/importar"})
+@MultipartConfig(
+        fileSizeThreshold = 1024 * 1024 * 2,  // 2MB
+        maxFileSize = 1024 * 1024 * 50,       // 50MB
+        maxRequestSize = 1024 * 1024 * 55     // 55MB
+)
+public class ImportacionProductosServlet extends HttpServlet {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportacionProductosServlet.class);
+    private static final String VISTA = "/views/admin/importar-productos.jsp";
+
+    private ImportacionProductosService importacionService;
+
+    @Override
+    public void init() throws ServletException {
+        super.init();
+        this.importacionService = new ImportacionProductosService();
+        logger.info("ImportacionProductosServlet inicializado");
+    }
+
+    // ==================== MÉTODO GET ====================
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        if (!SessionUtil.isAdmin(request)) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN, "Acceso denegado");
+            return;
+        }
+
+        request.getRequestDispatcher(VISTA).forward(request, response);
+    }
+
+    // ==================== MÉTODO POST ====================
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        if (!SessionUtil.isAdmin(request)) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN, "Acceso denegado");
+            return;
+        }
+
+        try {
+            Part archivo = request.getPart("archivo");
+            if (archivo == null || archivo.getSize() == 0) {
+                request.setAttribute("error", "Selecciona un archivo CSV");
+            } else {
+                logger.info("Importando productos desde {} ({} bytes)",
+                        archivo.getSubmittedFileName(), archivo.getSize());
+
+                try (InputStream entrada = archivo.getInputStream()) {
+                    ResultadoImportacion resultado = importacionService.importar(entrada);
+                    request.setAttribute("resultado", resultado);
+                    request.setAttribute("nombreArchivo", archivo.getSubmittedFileName());
+                }
+            }
+
+        } catch (ServiceException e) {
+            request.setAttribute("error", e.getMessage());
+
+        } catch (IllegalStateException e) {
+            // Archivo por encima de maxFileSize
+            logger.warn("Archivo de importación demasiado grande: {}", e.getMessage());
+            request.setAttribute("error", "El archivo supera el tamaño máximo de 50 MB");
+        }
+
+        request.getRequestDispatcher(VISTA).forward(request, response);
+    }
+}
@@ -36,6 +36,7 @@ import java.util.List;
 public class PedidoServlet extends HttpServlet {
 
     private static final Logger logger = LoggerFactory.getLogger(PedidoServlet.class);
+    private static final int PEDIDOS_POR_PAGINA = 20;
     private PedidoService pedidoService;
     private CarritoService carritoService;
 
@@ -233,12 +234,22 @@ public class PedidoServlet extends HttpServlet {
         Integer idUsuario = SessionUtil.getIdUsuario(request);
 
         try {
-            // Obtener pedidos del usuario
-            List<Pedido> pedidos = pedidoService.obtenerHistorialUsuario(idUsuario);
+            // Obtener una página del historial (cursor de la página anterior, si lo hay)
+            String cursor = request.getParameter("cursor");
+            PedidoService.PaginaPedidos pagina =
+                    pedidoService.obtenerHistorialUsuario(idUsuario, cursor, PEDIDOS_POR_PAGINA);
+            List<Pedido> pedidos = pagina.getPedidos();
 
             // Enviar datos a la vista
+            boolean esPrimeraPagina = cursor == null || cursor.trim().isEmpty();
             request.setAttribute("pedidos", pedidos);
-            request.setAttribute("totalPedidos", pedidos.size());
+            request.setAttribute("siguienteCursor", pagina.getSiguienteCursor());
+            request.setAttribute("esPrimeraPagina", esPrimeraPagina);
+
+            // El total solo se cuenta al entrar; las páginas siguientes avanzan por cursor sin COUNT
+            if (esPrimeraPagina) {
+                request.setAttribute("totalPedidos", pedidoService.contarPedidosUsuario(idUsuario));
+            }
 
             logger.debug("Listando {} pedidos del usuario {}", pedidos.size(), idUsuario);
 
@@ -386,11 +397,11 @@ public class PedidoServlet extends HttpServlet {
         try {
             int idPedido = Integer.parseInt(idPedidoParam);
 
-            // Verificar que el pedido pertenece al usuario
-            PedidoCompleto pedidoCompleto = pedidoService.obtenerPedidoCompleto(idPedido);
+            // Verificar que el pedido pertenece al usuario (solo la cabecera, sin detalles)
+            Pedido pedido = pedidoService.obtenerPedido(idPedido);
 
             // CORREGIDO: getIdUsuario() devuelve int, no Integer
-            if (pedidoCompleto.getPedido().getIdUsuario() != idUsuario
+            if (pedido.getIdUsuario() != idUsuario
                     && !SessionUtil.isAdmin(request)) {
                 logger.warn("Usuario {} intentó cancelar pedido {} de otro usuario",
                         idUsuario, idPedido);
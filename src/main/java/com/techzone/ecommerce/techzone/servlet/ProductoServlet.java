@@ -5,6 +5,10 @@ import com.techzone.ecommerce.techzone.dao.CategoriaDAO;
 import com.techzone.ecommerce.techzone.model.Categoria;
 import com.techzone.ecommerce.techzone.model.Imagen;
 import com.techzone.ecommerce.techzone.model.Producto;
+import com.techzone.ecommerce.techzone.service.AutocompletadoIndex;
+import com.techzone.ecommerce.techzone.service.AutocompletadoIndex.Sugerencia;
+import com.techzone.ecommerce.techzone.service.CatalogoSnapshot;
+import com.techzone.ecommerce.techzone.service.FacetasProductos.ResultadoFacetas;
 import com.techzone.ecommerce.techzone.service.ImagenService;
 import com.techzone.ecommerce.techzone.service.ProductoService;
 import com.techzone.ecommerce.techzone.service.ProductoService.FiltroProductos;
@@ -20,8 +24,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.PrintWriter;
+import java.math.BigDecimal;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
@@ -40,6 +47,7 @@ import java.util.Map;
         "/productos",
         "/producto/detalle",
         "/productos/buscar",
+        "/productos/sugerencias",
         "/productos/categoria",
         "/productos/ofertas"
 })
@@ -51,6 +59,7 @@ public class ProductoServlet extends HttpServlet {
 
     // Configuración de paginación
     private static final int PRODUCTOS_POR_PAGINA = 10;
+    private static final int SUGERENCIAS_POR_DEFECTO = 8;
 
     @Override
     public void init() throws ServletException {
@@ -69,6 +78,12 @@ public class ProductoServlet extends HttpServlet {
         String path = request.getServletPath();
         logger.debug("GET request: {}", path);
 
+        // Autocompletado: respuesta JSON desde memoria, sin vistas ni BD
+        if ("/productos/sugerencias".equals(path)) {
+            enviarSugerencias(request, response);
+            return;
+        }
+
         try {
             // Cargar categorías para el menú lateral (común a todas las vistas)
             cargarCategorias(request);
@@ -101,6 +116,47 @@ public class ProductoServlet extends HttpServlet {
 
     // ==================== MÉTODOS PRIVADOS - ACCIONES ====================
 
+    /**
+     * Sugerencias de búsqueda mientras se escribe (parámetros "q" y opcional "limite")
+     * Responde JSON: {"success":true,"sugerencias":[{"texto","tipo","id"}]}
+     */
+    private void enviarSugerencias(HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+
+        int limite = SUGERENCIAS_POR_DEFECTO;
+        try {
+            String limiteParam = request.getParameter("limite");
+            if (limiteParam != null) {
+                limite = Integer.parseInt(limiteParam);
+            }
+        } catch (NumberFormatException e) {
+            logger.warn("Límite de sugerencias inválido: {}", request.getParameter("limite"));
+        }
+
+        List<Sugerencia> sugerencias = AutocompletadoIndex.getInstance()
+                .sugerir(request.getParameter("q"), limite);
+
+        StringBuilder json = new StringBuilder(64 + sugerencias.size() * 64);
+        json.append("{\"success\":true,\"sugerencias\":[");
+        for (int i = 0; i < sugerencias.size(); i++) {
+            Sugerencia sugerencia = sugerencias.get(i);
+            if (i > 0) json.append(",");
+            json.append("{\"texto\":\"").append(escaparJson(sugerencia.getTexto())).append("\",");
+            json.append("\"tipo\":\"").append(sugerencia.getTipo()).append("\",");
+            json.append("\"id\":").append(sugerencia.getId());
+            json.append("}");
+        }
+        json.append("]}");
+
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Cache-Control", "private, max-age=60");
+
+        PrintWriter out = response.getWriter();
+        out.print(json);
+        out.flush();
+    }
+
     /**
      * ✅ OPTIMIZADO: Lista todos los productos con paginación y ordenamiento
      * Carga imágenes en batch para evitar N+1
@@ -113,11 +169,12 @@ public class ProductoServlet extends HttpServlet {
             int pagina = obtenerPagina(request);
             String orden = request.getParameter("orden");
 
-            // Configurar filtros de búsqueda
+            // Configurar filtros de búsqueda (incluye los del panel lateral del catálogo)
             FiltroProductos filtros = new FiltroProductos();
             filtros.setPagina(pagina);
             filtros.setProductosPorPagina(PRODUCTOS_POR_PAGINA);
             filtros.setSoloDisponibles(true);
+            leerFiltrosCatalogo(request, filtros);
 
             // Aplicar ordenamiento si está especificado
             if (orden != null && !orden.isEmpty()) {
@@ -126,6 +183,7 @@ public class ProductoServlet extends HttpServlet {
 
             // Buscar productos (ya incluye categorías gracias a JOINs en DAO)
             ResultadoBusqueda resultado = productoService.buscarProductos(filtros);
+            cargarFacetas(request, filtros);
 
             // ✅ OPTIMIZACIÓN: Cargar TODAS las imágenes en UN SOLO query
             cargarImagenesProductos(resultado.getProductos());
@@ -172,19 +230,9 @@ public class ProductoServlet extends HttpServlet {
             // Obtener producto completo con imágenes y categoría
             ProductoCompleto productoCompleto = productoService.obtenerProductoCompleto(idProducto);
 
-            // Obtener productos relacionados (misma categoría)
-            FiltroProductos filtros = new FiltroProductos();
-            filtros.setIdCategoria(productoCompleto.getProducto().getIdCategoria());
-            filtros.setProductosPorPagina(4);
-            filtros.setSoloDisponibles(true);
-
-            ResultadoBusqueda relacionados = productoService.buscarProductos(filtros);
-
-            // Filtrar el producto actual de los relacionados
-            List<Producto> productosRelacionados = relacionados.getProductos().stream()
-                    .filter(p -> !p.getIdProducto().equals(idProducto))
-                    .limit(4)
-                    .toList();
+            // Obtener productos relacionados desde el índice precalculado
+            List<Producto> productosRelacionados =
+                    productoService.obtenerProductosRelacionados(productoCompleto.getProducto(), 4);
 
             // Enviar datos a la vista
             request.setAttribute("producto", productoCompleto.getProducto());
@@ -230,12 +278,14 @@ public class ProductoServlet extends HttpServlet {
             filtros.setProductosPorPagina(PRODUCTOS_POR_PAGINA);
             filtros.setSoloDisponibles(true);
 
-            if (orden != null && !orden.isEmpty()) {
-                filtros.setOrden(parseOrden(orden));
-            }
+            // Sin orden explícito, los resultados de texto se ordenan por relevancia
+            filtros.setOrden(orden != null && !orden.isEmpty()
+                    ? parseOrden(orden)
+                    : OrdenProducto.RELEVANCIA);
 
             // Buscar productos
             ResultadoBusqueda resultado = productoService.buscarProductos(filtros);
+            cargarFacetas(request, filtros);
 
             // ✅ Cargar imágenes en batch
             cargarImagenesProductos(resultado.getProductos());
@@ -303,6 +353,7 @@ public class ProductoServlet extends HttpServlet {
 
             // Buscar productos
             ResultadoBusqueda resultado = productoService.buscarProductos(filtros);
+            cargarFacetas(request, filtros);
 
             // ✅ Cargar imágenes en batch
             cargarImagenesProductos(resultado.getProductos());
@@ -356,6 +407,7 @@ public class ProductoServlet extends HttpServlet {
 
             // Buscar productos
             ResultadoBusqueda resultado = productoService.buscarProductos(filtros);
+            cargarFacetas(request, filtros);
 
             // ✅ Cargar imágenes en batch
             cargarImagenesProductos(resultado.getProductos());
@@ -382,6 +434,59 @@ public class ProductoServlet extends HttpServlet {
 
     // ==================== MÉTODOS AUXILIARES ====================
 
+    /**
+     * Lee los filtros opcionales del panel lateral: buscar, categoria, marca,
+     * precioMin, precioMax y stock=agotado (incluye productos sin stock)
+     * Los valores mal formados se ignoran
+     */
+    private void leerFiltrosCatalogo(HttpServletRequest request, FiltroProductos filtros) {
+        String buscar = request.getParameter("buscar");
+        if (buscar != null && !buscar.trim().isEmpty()) {
+            filtros.setTerminoBusqueda(buscar.trim());
+        }
+
+        String marca = request.getParameter("marca");
+        if (marca != null && !marca.trim().isEmpty()) {
+            filtros.setMarca(marca.trim());
+        }
+
+        try {
+            String categoria = request.getParameter("categoria");
+            if (categoria != null && !categoria.isEmpty()) {
+                filtros.setIdCategoria(Integer.parseInt(categoria));
+            }
+
+            String precioMin = request.getParameter("precioMin");
+            if (precioMin != null && !precioMin.isEmpty()) {
+                filtros.setPrecioMinimo(new BigDecimal(precioMin));
+            }
+
+            String precioMax = request.getParameter("precioMax");
+            if (precioMax != null && !precioMax.isEmpty()) {
+                filtros.setPrecioMaximo(new BigDecimal(precioMax));
+            }
+        } catch (NumberFormatException e) {
+            logger.warn("Filtro de catálogo inválido: {}", e.getMessage());
+        }
+
+        String[] stock = request.getParameterValues("stock");
+        if (stock != null && Arrays.asList(stock).contains("agotado")) {
+            filtros.setSoloDisponibles(false);
+        }
+    }
+
+    /**
+     * Calcula en memoria los conteos de facetas para los filtros de la página
+     * Expone "facetas" (ResultadoFacetas) y "marcas" (conteos por marca) a la vista
+     */
+    private void cargarFacetas(HttpServletRequest request, FiltroProductos filtros) {
+        ResultadoFacetas facetas = productoService.obtenerFacetas(filtros);
+        if (facetas != null) {
+            request.setAttribute("facetas", facetas);
+            request.setAttribute("marcas", facetas.getMarcas());
+        }
+    }
+
     /**
      * ✅ MÉTODO CRÍTICO: Carga imágenes para una lista de productos en batch
      *
@@ -401,6 +506,19 @@ public class ProductoServlet extends HttpServlet {
             return;
         }
 
+        // Los listados solo muestran la imagen principal: se toma de la vista del catálogo
+        CatalogoSnapshot catalogo = CatalogoSnapshot.getInstance();
+        if (catalogo.estaCargado()) {
+            for (Producto producto : productos) {
+                Imagen principal = catalogo.obtenerImagenPrincipal(producto.getIdProducto());
+                producto.setImagenes(principal != null ? List.of(principal) : new ArrayList<>());
+                if (principal != null) {
+                    producto.setImagenPrincipal(principal.getUrlImagen());
+                }
+            }
+            return;
+        }
+
         try {
             // 1. Extraer IDs de todos los productos
             List<Integer> idsProductos = productos.stream()
@@ -482,6 +600,34 @@ public class ProductoServlet extends HttpServlet {
         return 1;
     }
 
+    /**
+     * Escapa comillas, barras y caracteres de control para incluir texto en JSON
+     */
+    private String escaparJson(String texto) {
+        if (texto == null) {
+            return "";
+        }
+
+        StringBuilder sb = new StringBuilder(texto.length() + 8);
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            switch (c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        return sb.toString();
+    }
+
     /**
      * Convierte el parámetro de orden (String) al enum OrdenProducto
      *
@@ -502,6 +648,8 @@ public class ProductoServlet extends HttpServlet {
                 return OrdenProducto.NOMBRE_ASC;
             case "nombre_desc":
                 return OrdenProducto.NOMBRE_DESC;
+            case "relevancia":
+                return OrdenProducto.RELEVANCIA;
             case "reciente":
             default:
                 return OrdenProducto.MAS_RECIENTE;
@@ -0,0 +1,154 @@
+package com.techzone.ecommerce.techzone.util;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lector de CSV en streaming (RFC 4180): devuelve una fila cada vez sin cargar el archivo
+ * Admite campos entre comillas con comas, comillas dobles ("") y saltos de línea, finales de
+ * línea LF o CRLF y BOM de UTF-8. El separador (coma o punto y coma, el habitual de Excel en
+ * español) se detecta en la cabecera.
+ *
+ * @author TechZone Team
+ */
+public class LectorCsv implements Closeable {
+
+    private static final int LIMITE_DETECCION = 64 * 1024;
+
+    private final BufferedReader reader;
+    private final char separador;
+
+    private int lineaActual = 1;
+    private int lineaFila = 0;
+
+    public LectorCsv(Reader reader) throws IOException {
+        this.reader = reader instanceof BufferedReader
+                ? (BufferedReader) reader
+                : new BufferedReader(reader, LIMITE_DETECCION);
+        saltarBom();
+        this.separador = detectarSeparador();
+    }
+
+    /**
+     * Lee la siguiente fila
+     *
+     * @return Valores de la fila, o null al final del archivo
+     * @throws IOException Si falla la lectura o hay comillas sin cerrar
+     */
+    public List<String> leerFila() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+
+        lineaFila = lineaActual;
+        List<String> valores = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreComillas = false;
+
+        while (true) {
+            if (c == -1) {
+                if (entreComillas) {
+                    throw new IOException("Comillas sin cerrar en la fila de la línea " + lineaFila);
+                }
+                valores.add(campo.toString());
+                return valores;
+            }
+
+            char ch = (char) c;
+
+            if (entreComillas) {
+                if (ch == '"') {
+                    reader.mark(1);
+                    int siguiente = reader.read();
+                    if (siguiente == '"') {
+                        campo.append('"');
+                    } else {
+                        entreComillas = false;
+                        if (siguiente != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    if (ch == '\n') {
+                        lineaActual++;
+                    }
+                    campo.append(ch);
+                }
+            } else if (ch == '"' && campo.length() == 0) {
+                entreComillas = true;
+            } else if (ch == separador) {
+                valores.add(campo.toString());
+                campo.setLength(0);
+            } else if (ch == '\r' || ch == '\n') {
+                if (ch == '\r') {
+                    reader.mark(1);
+                    if (reader.read() != '\n') {
+                        reader.reset();
+                    }
+                }
+                lineaActual++;
+                valores.add(campo.toString());
+                return valores;
+            } else {
+                campo.append(ch);
+            }
+
+            c = reader.read();
+        }
+    }
+
+    /**
+     * Línea del archivo (desde 1) en la que empieza la última fila leída
+     */
+    public int getLineaFila() {
+        return lineaFila;
+    }
+
+    public char getSeparador() {
+        return separador;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void saltarBom() throws IOException {
+        reader.mark(1);
+        if (reader.read() != '\uFEFF') {
+            reader.reset();
+        }
+    }
+
+    /**
+     * Cuenta comas y puntos y coma fuera de comillas en la primera línea
+     */
+    private char detectarSeparador() throws IOException {
+        reader.mark(LIMITE_DETECCION);
+        int comas = 0;
+        int puntosYComa = 0;
+        boolean entreComillas = false;
+
+        for (int i = 0; i < LIMITE_DETECCION; i++) {
+            int c = reader.read();
+            if (c == -1 || (!entreComillas && (c == '\n' || c == '\r'))) {
+                break;
+            }
+            if (c == '"') {
+                entreComillas = !entreComillas;
+            } else if (!entreComillas && c == ',') {
+                comas++;
+            } else if (!entreComillas && c == ';') {
+                puntosYComa++;
+            }
+        }
+
+        reader.reset();
+        return puntosYComa > comas ? ';' : ',';
+    }
+}
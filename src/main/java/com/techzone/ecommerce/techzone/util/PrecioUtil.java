@@ -0,0 +1,67 @@
+package com.techzone.ecommerce.techzone.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Aritmética de precios en céntimos (long)
+ * Todos los precios finales se redondean al céntimo con HALF_UP, igual que ROUND(x, 2)
+ * de MySQL, de modo que carrito, pedidos, filtros y ordenación obtienen el mismo importe
+ * @author TechZone Team
+ */
+public class PrecioUtil {
+
+    private static final BigDecimal CIEN = BigDecimal.valueOf(100);
+
+    private PrecioUtil() {
+    }
+
+    /**
+     * Convierte un importe a céntimos redondeando al céntimo más cercano
+     * @param importe Importe en la moneda de la tienda
+     * @return Céntimos, o 0 si es null
+     */
+    public static long aCentimos(BigDecimal importe) {
+        return importe == null ? 0L : importe.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue();
+    }
+
+    /**
+     * Convierte céntimos a importe con dos decimales
+     */
+    public static BigDecimal aImporte(long centimos) {
+        return BigDecimal.valueOf(centimos, 2);
+    }
+
+    /**
+     * Precio con el porcentaje de descuento aplicado, en céntimos
+     * precio * (100 - descuento) / 100 expresado en céntimos es precio * (100 - descuento)
+     * @param precio Precio base (null se trata como 0)
+     * @param descuento Porcentaje 0-100 (null o 0 sin descuento)
+     * @return Precio final redondeado al céntimo
+     */
+    public static long precioFinalCentimos(BigDecimal precio, BigDecimal descuento) {
+        if (precio == null) {
+            return 0L;
+        }
+        if (descuento == null || descuento.signum() <= 0) {
+            return aCentimos(precio);
+        }
+        return precio.multiply(CIEN.subtract(descuento)).setScale(0, RoundingMode.HALF_UP).longValue();
+    }
+
+    /**
+     * Límite inferior inclusivo en céntimos (redondeo hacia arriba): precio >= minimo
+     */
+    public static long limiteDesde(BigDecimal minimo) {
+        return minimo == null ? Long.MIN_VALUE
+                : minimo.movePointRight(2).setScale(0, RoundingMode.CEILING).longValue();
+    }
+
+    /**
+     * Límite superior inclusivo en céntimos (redondeo hacia abajo): precio <= maximo
+     */
+    public static long limiteHasta(BigDecimal maximo) {
+        return maximo == null ? Long.MAX_VALUE
+                : maximo.movePointRight(2).setScale(0, RoundingMode.FLOOR).longValue();
+    }
+}
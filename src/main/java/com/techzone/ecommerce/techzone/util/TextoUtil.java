@@ -0,0 +1,78 @@
+package com.techzone.ecommerce.techzone.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Utilidad de normalización y tokenización de texto para búsquedas
+ * Pliega mayúsculas y acentos ("Cámara" -> "camara") y separa en términos
+ * @author TechZone Team
+ */
+public class TextoUtil {
+
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^a-z0-9]+");
+
+    // Palabras vacías del español que no aportan a la búsqueda
+    private static final Set<String> PALABRAS_VACIAS = Set.of(
+            "de", "del", "la", "las", "el", "los", "un", "una", "unos", "unas",
+            "y", "o", "en", "con", "sin", "para", "por", "al", "a", "se", "su", "sus"
+    );
+
+    private TextoUtil() {
+    }
+
+    /**
+     * Convierte a minúsculas y elimina acentos y diéresis (la ñ se pliega a n)
+     * @param texto Texto original
+     * @return Texto normalizado, o cadena vacía si es null
+     */
+    public static String normalizar(String texto) {
+        if (texto == null || texto.isEmpty()) {
+            return "";
+        }
+
+        String descompuesto = Normalizer.normalize(texto, Normalizer.Form.NFD);
+        return MARCAS_DIACRITICAS.matcher(descompuesto).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Normaliza el texto conservando los espacios entre palabras (para búsquedas por prefijo)
+     * Los separadores consecutivos se reducen a un espacio y se eliminan los iniciales;
+     * un espacio final se conserva porque indica que la última palabra está completa
+     * @param texto Texto original
+     * @return Frase normalizada, o cadena vacía si es null
+     */
+    public static String normalizarFrase(String texto) {
+        return SEPARADORES.matcher(normalizar(texto)).replaceAll(" ").stripLeading();
+    }
+
+    /**
+     * Normaliza y divide el texto en términos alfanuméricos
+     * Descarta palabras vacías y términos de una sola letra (los números se conservan)
+     * @param texto Texto original
+     * @return Lista de términos en el orden en que aparecen (puede contener repetidos)
+     */
+    public static List<String> tokenizar(String texto) {
+        List<String> terminos = new ArrayList<>();
+
+        for (String termino : SEPARADORES.split(normalizar(texto))) {
+            if (esTerminoValido(termino)) {
+                terminos.add(termino);
+            }
+        }
+
+        return terminos;
+    }
+
+    private static boolean esTerminoValido(String termino) {
+        if (termino.isEmpty() || PALABRAS_VACIAS.contains(termino)) {
+            return false;
+        }
+        return termino.length() > 1 || Character.isDigit(termino.charAt(0));
+    }
+}
@@ -0,0 +1,420 @@
+<%@ page contentType="text/html;charset=UTF-8" language="java" %>
+<%@ taglib uri="http://java.sun.com/jsp/jstl/core" prefix="c" %>
+<%@ taglib uri="http://java.sun.com/jsp/jstl/fmt" prefix="fmt" %>
+<!DOCTYPE html>
+<html lang="es">
+<head>
+    <meta charset="UTF-8">
+    <meta name="viewport" content="width=device-width, initial-scale=1.0">
+    <title>Importar Productos - TechZone</title>
+
+    <!-- Font Awesome -->
+    <link rel="stylesheet" href="https://cdnjs.cloudflare.com/ajax/libs/font-awesome/6.4.0/css/all.min.css">
+
+    <style>
+        :root {
+            --primary-color: #00d4ff;
+            --primary-hover: #00b8e6;
+            --secondary-color: #0099cc;
+            --dark-color: #1a1a1a;
+            --darker-color: #0a0a0a;
+            --light-color: #2a2a2a;
+            --border-color: #333333;
+            --text-primary: #ffffff;
+            --text-secondary: #b0b0b0;
+            --success-color: #00C851;
+            --warning-color: #ffbb33;
+            --danger-color: #ff4444;
+            --info-color: #00d4ff;
+            --purple-color: #b19cd9;
+        }
+
+        * {
+            margin: 0;
+            padding: 0;
+            box-sizing: border-box;
+        }
+
+        body {
+            background-color: var(--darker-color);
+            color: var(--text-primary);
+            font-family: 'Segoe UI', Tahoma, Geneva, Verdana, sans-serif;
+            padding-right: 220px;
+        }
+
+        .importar-container {
+            max-width: 1200px;
+            margin: 0 auto;
+            padding: 40px 20px 60px;
+        }
+
+        /* Header */
+        .page-header {
+            display: flex;
+            justify-content: space-between;
+            align-items: center;
+            margin-bottom: 30px;
+            flex-wrap: wrap;
+            gap: 20px;
+        }
+
+        .page-title {
+            font-size: 2.5rem;
+            font-weight: bold;
+            background: linear-gradient(135deg, var(--primary-color), var(--secondary-color));
+            -webkit-background-clip: text;
+            -webkit-text-fill-color: transparent;
+            background-clip: text;
+        }
+
+        .btn {
+            padding: 12px 25px;
+            border-radius: 10px;
+            font-weight: 600;
+            cursor: pointer;
+            transition: all 0.3s ease;
+            border: none;
+            display: inline-flex;
+            align-items: center;
+            gap: 8px;
+            text-decoration: none;
+        }
+
+        .btn-primary {
+            background: linear-gradient(135deg, var(--primary-color), var(--secondary-color));
+            color: #000;
+            box-shadow: 0 5px 15px rgba(0, 212, 255, 0.3);
+        }
+
+        .btn-primary:hover {
+            transform: translateY(-2px);
+            box-shadow: 0 8px 20px rgba(0, 212, 255, 0.4);
+        }
+
+        .btn-primary:disabled {
+            opacity: 0.6;
+            cursor: wait;
+            transform: none;
+        }
+
+        .btn-secondary {
+            background: var(--dark-color);
+            border: 1px solid var(--border-color);
+            color: var(--text-primary);
+        }
+
+        .btn-secondary:hover {
+            background: var(--light-color);
+            border-color: var(--primary-color);
+        }
+
+        /* Panel */
+        .panel {
+            background: var(--dark-color);
+            border: 1px solid var(--border-color);
+            border-radius: 12px;
+            padding: 25px;
+            margin-bottom: 30px;
+        }
+
+        .panel-title {
+            font-size: 1.2rem;
+            font-weight: 600;
+            margin-bottom: 15px;
+            display: flex;
+            align-items: center;
+            gap: 10px;
+        }
+
+        .panel-title i {
+            color: var(--primary-color);
+        }
+
+        .upload-form {
+            display: flex;
+            gap: 15px;
+            align-items: center;
+            flex-wrap: wrap;
+        }
+
+        .form-control {
+            padding: 12px 15px;
+            background: var(--darker-color);
+            border: 1px solid var(--border-color);
+            border-radius: 8px;
+            color: var(--text-primary);
+            font-size: 0.95rem;
+            transition: all 0.3s ease;
+            flex: 1;
+            min-width: 260px;
+        }
+
+        .form-control:focus {
+            outline: none;
+            border-color: var(--primary-color);
+            box-shadow: 0 0 0 3px rgba(0, 212, 255, 0.1);
+        }
+
+        .help-text {
+            color: var(--text-secondary);
+            font-size: 0.9rem;
+            line-height: 1.6;
+            margin-top: 15px;
+        }
+
+        .help-text code {
+            background: var(--darker-color);
+            border: 1px solid var(--border-color);
+            border-radius: 4px;
+            padding: 1px 6px;
+            color: var(--primary-color);
+        }
+
+        /* Stats */
+        .stats-grid {
+            display: grid;
+            grid-template-columns: repeat(auto-fit, minmax(160px, 1fr));
+            gap: 20px;
+            margin-bottom: 30px;
+        }
+
+        .stat-card {
+            background: var(--dark-color);
+            border: 1px solid var(--border-color);
+            border-radius: 12px;
+            padding: 20px;
+            position: relative;
+            overflow: hidden;
+        }
+
+        .stat-card::before {
+            content: '';
+            position: absolute;
+            top: 0;
+            left: 0;
+            width: 100%;
+            height: 3px;
+        }
+
+        .stat-card.total::before { background: var(--primary-color); }
+        .stat-card.inserted::before { background: var(--success-color); }
+        .stat-card.updated::before { background: var(--purple-color); }
+        .stat-card.errors::before { background: var(--danger-color); }
+        .stat-card.speed::before { background: var(--warning-color); }
+
+        .stat-value {
+            font-size: 2rem;
+            font-weight: bold;
+            color: var(--text-primary);
+            margin-bottom: 5px;
+        }
+
+        .stat-label {
+            color: var(--text-secondary);
+            font-size: 0.9rem;
+        }
+
+        /* Errores */
+        .errors-table {
+            width: 100%;
+            border-collapse: collapse;
+        }
+
+        .errors-table thead {
+            background: rgba(255, 255, 255, 0.02);
+        }
+
+        .errors-table th {
+            padding: 15px;
+            text-align: left;
+            font-weight: 600;
+            color: var(--text-secondary);
+            font-size: 0.9rem;
+            text-transform: uppercase;
+            border-bottom: 2px solid var(--border-color);
+        }
+
+        .errors-table td {
+            padding: 12px 15px;
+            border-bottom: 1px solid var(--border-color);
+        }
+
+        .errors-table tr:hover {
+            background: rgba(255, 255, 255, 0.02);
+        }
+
+        .errors-table .mensaje {
+            color: var(--danger-color);
+        }
+
+        /* Alert */
+        .alert {
+            padding: 15px 20px;
+            border-radius: 10px;
+            margin-bottom: 20px;
+            display: flex;
+            align-items: center;
+            gap: 12px;
+        }
+
+        .alert-success {
+            background: rgba(0, 200, 81, 0.1);
+            border: 1px solid var(--success-color);
+            color: var(--success-color);
+        }
+
+        .alert-warning {
+            background: rgba(255, 187, 51, 0.1);
+            border: 1px solid var(--warning-color);
+            color: var(--warning-color);
+        }
+
+        .alert-error {
+            background: rgba(255, 68, 68, 0.1);
+            border: 1px solid var(--danger-color);
+            color: var(--danger-color);
+        }
+
+        /* Responsive */
+        @media (max-width: 1024px) {
+            body {
+                padding-right: 0;
+            }
+        }
+
+        @media (max-width: 768px) {
+            .page-title {
+                font-size: 2rem;
+            }
+
+            .page-header {
+                flex-direction: column;
+                align-items: flex-start;
+            }
+        }
+    </style>
+</head>
+<body>
+<!-- Include Header -->
+<%@ include file="/views/components/header.jsp" %>
+
+<div class="importar-container">
+    <!-- Header -->
+    <div class="page-header">
+        <h1 class="page-title">Importar Productos</h1>
+        <a class="btn btn-secondary" href="${pageContext.request.contextPath}/admin/productos">
+            <i class="fas fa-arrow-left"></i>
+            Volver a productos
+        </a>
+    </div>
+
+    <!-- Alerts -->
+    <c:if test="${not empty error}">
+        <div class="alert alert-error">
+            <i class="fas fa-exclamation-circle"></i>
+            <span><c:out value="${error}"/></span>
+        </div>
+    </c:if>
+
+    <!-- Formulario -->
+    <div class="panel">
+        <h2 class="panel-title"><i class="fas fa-file-csv"></i> Archivo CSV</h2>
+        <form class="upload-form" method="post" enctype="multipart/form-data"
+              action="${pageContext.request.contextPath}/admin/productos/importar"
+              onsubmit="document.getElementById('btnImportar').disabled = true;">
+            <input class="form-control" type="file" name="archivo" accept=".csv,text/csv" required>
+            <button id="btnImportar" class="btn btn-primary" type="submit">
+                <i class="fas fa-upload"></i>
+                Importar
+            </button>
+        </form>
+        <p class="help-text">
+            Primera fila con los nombres de columna, separados por coma o punto y coma (UTF-8).
+            Obligatorias: <code>sku</code>, <code>nombre</code>, <code>id_categoria</code>,
+            <code>precio</code>, <code>stock</code>.
+            Opcionales: <code>descripcion</code>, <code>marca</code>, <code>modelo</code>,
+            <code>especificaciones</code>, <code>estado</code>, <code>descuento</code> e
+            <code>imagenes</code> (URLs separadas por <code>|</code>; la primera es la principal).<br>
+            Los SKU que ya existen se actualizan (las columnas opcionales vacías conservan su valor
+            actual) y el resto se dan de alta. Las filas con errores se
+            descartan sin detener la importación.
+        </p>
+    </div>
+
+    <!-- Resultado -->
+    <c:if test="${not empty resultado}">
+        <c:choose>
+            <c:when test="${resultado.totalErrores == 0}">
+                <div class="alert alert-success">
+                    <i class="fas fa-check-circle"></i>
+                    <span>Importación de <c:out value="${nombreArchivo}"/> completada sin errores</span>
+                </div>
+            </c:when>
+            <c:otherwise>
+                <div class="alert alert-warning">
+                    <i class="fas fa-exclamation-triangle"></i>
+                    <span>Importación de <c:out value="${nombreArchivo}"/> completada con
+                        ${resultado.totalErrores} filas descartadas</span>
+                </div>
+            </c:otherwise>
+        </c:choose>
+
+        <div class="stats-grid">
+            <div class="stat-card total">
+                <div class="stat-value"><fmt:formatNumber value="${resultado.filasLeidas}"/></div>
+                <div class="stat-label">Filas leídas</div>
+            </div>
+            <div class="stat-card inserted">
+                <div class="stat-value"><fmt:formatNumber value="${resultado.insertados}"/></div>
+                <div class="stat-label">Productos nuevos</div>
+            </div>
+            <div class="stat-card updated">
+                <div class="stat-value"><fmt:formatNumber value="${resultado.actualizados}"/></div>
+                <div class="stat-label">Actualizados</div>
+            </div>
+            <div class="stat-card total">
+                <div class="stat-value"><fmt:formatNumber value="${resultado.imagenes}"/></div>
+                <div class="stat-label">Imágenes</div>
+            </div>
+            <div class="stat-card errors">
+                <div class="stat-value"><fmt:formatNumber value="${resultado.totalErrores}"/></div>
+                <div class="stat-label">Errores</div>
+            </div>
+            <div class="stat-card speed">
+                <div class="stat-value"><fmt:formatNumber value="${resultado.filasPorSegundo}"/></div>
+                <div class="stat-label">Filas/s (<fmt:formatNumber value="${resultado.millis}"/> ms)</div>
+            </div>
+        </div>
+
+        <c:if test="${not empty resultado.errores}">
+            <div class="panel">
+                <h2 class="panel-title"><i class="fas fa-list"></i> Filas descartadas</h2>
+                <table class="errors-table">
+                    <thead>
+                        <tr>
+                            <th>Línea</th>
+                            <th>SKU</th>
+                            <th>Motivo</th>
+                        </tr>
+                    </thead>
+                    <tbody>
+                        <c:forEach var="fila" items="${resultado.errores}">
+                            <tr>
+                                <td>${fila.linea}</td>
+                                <td><c:out value="${fila.sku}"/></td>
+                                <td class="mensaje"><c:out value="${fila.mensaje}"/></td>
+                            </tr>
+                        </c:forEach>
+                    </tbody>
+                </table>
+                <c:if test="${resultado.erroresTruncados}">
+                    <p class="help-text">
+                        Se muestran los primeros ${resultado.errores.size()} de ${resultado.totalErrores} errores.
+                    </p>
+                </c:if>
+            </div>
+        </c:if>
+    </c:if>
+</div>
+</body>
+</html>
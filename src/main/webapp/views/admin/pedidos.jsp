@@ -958,6 +958,16 @@
                             <option value="transferencia" ${param.metodoPago == 'transferencia' ? 'selected' : ''}>Transferencia</option>
                         </select>
                     </div>
+
+                    <div class="form-group">
+                        <label class="form-label">Ordenar por</label>
+                        <select name="orden" class="form-control">
+                            <option value="FECHA_DESC" ${ordenActual == 'FECHA_DESC' ? 'selected' : ''}>Más recientes</option>
+                            <option value="FECHA_ASC" ${ordenActual == 'FECHA_ASC' ? 'selected' : ''}>Más antiguos</option>
+                            <option value="TOTAL_DESC" ${ordenActual == 'TOTAL_DESC' ? 'selected' : ''}>Mayor total</option>
+                            <option value="TOTAL_ASC" ${ordenActual == 'TOTAL_ASC' ? 'selected' : ''}>Menor total</option>
+                        </select>
+                    </div>
                 </div>
 
                 <div class="filters-actions">
@@ -1027,28 +1037,8 @@
 
                                 <!-- Products Preview -->
                                 <div class="order-products">
-                                    <div class="products-preview">
-                                        <c:forEach items="${pedido.detalles}" var="detalle" end="3">
-                                            <div class="product-thumb">
-                                                <c:choose>
-                                                    <c:when test="${not empty detalle.producto.imagenPrincipal}">
-                                                        <img src="${pageContext.request.contextPath}/uploads/${detalle.producto.imagenPrincipal}" 
-                                                             alt="${detalle.producto.nombre}">
-                                                    </c:when>
-                                                    <c:otherwise>
-                                                        <i class="fas fa-image" style="color: #666;"></i>
-                                                    </c:otherwise>
-                                                </c:choose>
-                                            </div>
-                                        </c:forEach>
-                                        <c:if test="${fn:length(pedido.detalles) > 4}">
-                                            <div class="product-thumb" style="background: var(--primary-color); color: #000;">
-                                                +${fn:length(pedido.detalles) - 4}
-                                            </div>
-                                        </c:if>
-                                    </div>
                                     <div class="products-count">
-                                        ${fn:length(pedido.detalles)} producto(s)
+                                        ${pedido.cantidadItems} producto(s), ${pedido.cantidadTotal} unidad(es)
                                     </div>
                                 </div>
 
@@ -1135,13 +1125,12 @@
                     <i class="fas fa-chevron-left"></i>
                 </button>
 
-                <c:forEach begin="1" end="${totalPaginas}" var="i">
-                    <c:if test="${i <= 5 or (i >= paginaActual - 2 and i <= paginaActual + 2) or i >= totalPaginas - 4}">
-                        <button class="pagination-btn ${i == paginaActual ? 'active' : ''}" 
-                                onclick="cambiarPagina(${i})">
-                            ${i}
-                        </button>
-                    </c:if>
+                <c:forEach begin="${paginaActual > 3 ? paginaActual - 2 : 1}"
+                           end="${paginaActual + 2 < totalPaginas ? paginaActual + 2 : totalPaginas}" var="i">
+                    <button class="pagination-btn ${i == paginaActual ? 'active' : ''}" 
+                            onclick="cambiarPagina(${i})">
+                        ${i}
+                    </button>
                 </c:forEach>
 
                 <button class="pagination-btn" 
@@ -1208,10 +1197,18 @@
         }
     }
 
-    // Export orders
+    // Export orders (CSV en streaming con el rango de fechas del filtro)
     function exportarPedidos() {
-        const url = new URL(window.location);
-        url.searchParams.set('accion', 'exportar');
+        const actual = new URL(window.location);
+        const url = new URL('${pageContext.request.contextPath}/admin/exportar', window.location.origin);
+        url.searchParams.set('tipo', 'pedidos');
+        url.searchParams.set('formato', 'csv');
+        if (actual.searchParams.get('fechaDesde')) {
+            url.searchParams.set('desde', actual.searchParams.get('fechaDesde'));
+        }
+        if (actual.searchParams.get('fechaHasta')) {
+            url.searchParams.set('hasta', actual.searchParams.get('fechaHasta'));
+        }
         window.location.href = url.toString();
     }
 </script>
@@ -65,6 +65,11 @@
             background-clip: text;
         }
 
+        .header-actions {
+            display: flex;
+            gap: 15px;
+        }
+
         .btn {
             padding: 12px 25px;
             border-radius: 10px;
@@ -750,10 +755,16 @@
     <!-- Header -->
     <div class="page-header">
         <h1 class="page-title">Gestión de Productos</h1>
-        <button class="btn btn-primary" onclick="abrirModalNuevo()">
-            <i class="fas fa-plus"></i>
-            Nuevo Producto
-        </button>
+        <div class="header-actions">
+            <a class="btn btn-secondary" href="${pageContext.request.contextPath}/admin/productos/importar">
+                <i class="fas fa-file-csv"></i>
+                Importar CSV
+            </a>
+            <button class="btn btn-primary" onclick="abrirModalNuevo()">
+                <i class="fas fa-plus"></i>
+                Nuevo Producto
+            </button>
+        </div>
     </div>
 
     <!-- Alerts -->
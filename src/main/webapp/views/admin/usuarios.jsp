@@ -764,7 +764,7 @@
                     <div class="search-box">
                         <i class="fas fa-search search-icon"></i>
                         <input type="text" name="busqueda" class="form-control" 
-                               placeholder="Nombre, email o teléfono..." 
+                               placeholder="Nombre, apellido o email..." 
                                value="${param.busqueda}">
                     </div>
                 </div>
@@ -797,6 +797,16 @@
                         <option value="año" ${param.fechaRegistro == 'año' ? 'selected' : ''}>Este año</option>
                     </select>
                 </div>
+
+                <div class="form-group">
+                    <label class="form-label">Ordenar por</label>
+                    <select name="orden" class="form-control">
+                        <option value="REGISTRO_DESC" ${ordenActual == 'REGISTRO_DESC' ? 'selected' : ''}>Más recientes</option>
+                        <option value="REGISTRO_ASC" ${ordenActual == 'REGISTRO_ASC' ? 'selected' : ''}>Más antiguos</option>
+                        <option value="NOMBRE_ASC" ${ordenActual == 'NOMBRE_ASC' ? 'selected' : ''}>Nombre (A-Z)</option>
+                        <option value="NOMBRE_DESC" ${ordenActual == 'NOMBRE_DESC' ? 'selected' : ''}>Nombre (Z-A)</option>
+                    </select>
+                </div>
             </div>
 
             <div class="filters-actions">
@@ -816,7 +826,7 @@
     <div class="table-container">
         <div class="table-header">
             <div class="table-title">
-                Usuarios (${fn:length(usuarios)})
+                Usuarios (${totalUsuarios})
             </div>
             <div class="table-actions">
                 <button class="btn btn-secondary btn-sm" onclick="exportarUsuarios()">
@@ -836,7 +846,7 @@
                     <thead>
                         <tr>
                             <th class="sortable" onclick="ordenar('nombre')">Usuario</th>
-                            <th class="sortable" onclick="ordenar('rol')">Rol</th>
+                            <th>Rol</th>
                             <th>Teléfono</th>
                             <th>Estadísticas</th>
                             <th class="sortable" onclick="ordenar('fecha')">Fecha Registro</th>
@@ -932,7 +942,8 @@
                             <i class="fas fa-chevron-left"></i>
                         </button>
 
-                        <c:forEach begin="1" end="${totalPaginas}" var="i">
+                        <c:forEach begin="${paginaActual > 3 ? paginaActual - 2 : 1}"
+                                   end="${paginaActual + 2 < totalPaginas ? paginaActual + 2 : totalPaginas}" var="i">
                             <button class="pagination-btn ${i == paginaActual ? 'active' : ''}" 
                                     onclick="cambiarPagina(${i})">
                                 ${i}
@@ -1131,10 +1142,18 @@
         window.location.href = url.toString();
     }
 
-    // Sort
+    // Sort (un segundo clic en la misma columna invierte el orden)
     function ordenar(campo) {
+        const actual = '${ordenActual}';
+        let orden;
+        if (campo === 'nombre') {
+            orden = actual === 'NOMBRE_ASC' ? 'NOMBRE_DESC' : 'NOMBRE_ASC';
+        } else {
+            orden = actual === 'REGISTRO_DESC' ? 'REGISTRO_ASC' : 'REGISTRO_DESC';
+        }
         const url = new URL(window.location);
-        url.searchParams.set('orden', campo);
+        url.searchParams.set('orden', orden);
+        url.searchParams.delete('pagina');
         window.location.href = url.toString();
     }
 
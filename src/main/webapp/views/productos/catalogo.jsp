@@ -722,7 +722,8 @@
                                 <label class="filter-option">
                                     <input type="checkbox" 
                                            name="marca" 
-                                           value="${marca.nombre}">
+                                           value="${marca.valor}"
+                                           ${param.marca == marca.valor ? 'checked' : ''}>
                                     <span class="filter-checkbox"></span>
                                     <span class="filter-label">${marca.nombre}</span>
                                     <span class="filter-count">${marca.cantidad}</span>
@@ -745,11 +746,17 @@
                             <input type="checkbox" name="stock" value="disponible">
                             <span class="filter-checkbox"></span>
                             <span class="filter-label">En stock</span>
+                            <c:if test="${not empty facetas}">
+                                <span class="filter-count">${facetas.disponibles}</span>
+                            </c:if>
                         </label>
                         <label class="filter-option">
                             <input type="checkbox" name="stock" value="agotado">
                             <span class="filter-checkbox"></span>
                             <span class="filter-label">Agotado</span>
+                            <c:if test="${not empty facetas}">
+                                <span class="filter-count">${facetas.agotados}</span>
+                            </c:if>
                         </label>
                     </div>
                 </div>
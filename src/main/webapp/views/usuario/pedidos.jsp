@@ -760,7 +760,7 @@
             <div class="stat-icon total">
                 <i class="fas fa-shopping-bag"></i>
             </div>
-            <div class="stat-value">${totalPedidos}</div>
+            <div class="stat-value"><c:out value="${totalPedidos}" default="—"/></div>
             <div class="stat-label">Total Pedidos</div>
         </div>
 
@@ -825,7 +825,9 @@
            class="status-tab ${empty param.estado ? 'active' : ''}">
             <i class="fas fa-list"></i>
             <span>Todos</span>
-            <span class="status-badge">${totalPedidos}</span>
+            <c:if test="${not empty totalPedidos}">
+                <span class="status-badge">${totalPedidos}</span>
+            </c:if>
         </a>
         <a href="${pageContext.request.contextPath}/pedidos?estado=PENDIENTE" 
            class="status-tab ${param.estado == 'PENDIENTE' ? 'active' : ''}">
@@ -897,37 +899,11 @@
 
                         <!-- Body -->
                         <div class="pedido-body">
-                            <!-- Products Preview -->
-                            <c:if test="${not empty pedido.detalles}">
-                                <div class="pedido-products">
-                                    <c:forEach items="${pedido.detalles}" var="detalle" end="4">
-                                        <div class="product-mini">
-                                            <c:choose>
-                                                <c:when test="${not empty detalle.producto.imagenPrincipal}">
-                                                    <img src="${pageContext.request.contextPath}/uploads/${detalle.producto.imagenPrincipal}" 
-                                                         alt="${detalle.producto.nombre}">
-                                                </c:when>
-                                                <c:otherwise>
-                                                    <svg viewBox="0 0 24 24">
-                                                        <path d="M21 19V5c0-1.1-.9-2-2-2H5c-1.1 0-2 .9-2 2v14c0 1.1.9 2 2 2h14c1.1 0 2-.9 2-2zM8.5 13.5l2.5 3.01L14.5 12l4.5 6H5l3.5-4.5z"/>
-                                                    </svg>
-                                                </c:otherwise>
-                                            </c:choose>
-                                        </div>
-                                    </c:forEach>
-                                    <c:if test="${pedido.detalles.size() > 5}">
-                                        <div class="product-mini" style="background: rgba(0, 212, 255, 0.1); color: var(--primary-color); display: flex; align-items: center; justify-content: center; font-weight: bold;">
-                                            +${pedido.detalles.size() - 5}
-                                        </div>
-                                    </c:if>
-                                </div>
-                            </c:if>
-
                             <!-- Meta Info -->
                             <div class="pedido-meta">
                                 <div class="meta-item">
                                     <span class="meta-label">Productos</span>
-                                    <span class="meta-value">${pedido.cantidadItems} items</span>
+                                    <span class="meta-value">${pedido.cantidadItems} items (${pedido.cantidadTotal} uds.)</span>
                                 </div>
                                 <div class="meta-item">
                                     <span class="meta-label">Método de Pago</span>
@@ -984,32 +960,18 @@
                 </c:forEach>
             </div>
 
-            <!-- Pagination -->
-            <c:if test="${totalPaginas > 1}">
+            <!-- Pagination (por cursor: solo avanzar a pedidos más antiguos o volver al inicio) -->
+            <c:if test="${not esPrimeraPagina or not empty siguienteCursor}">
                 <nav class="pagination">
-                    <c:if test="${paginaActual > 1}">
-                        <a href="?pagina=${paginaActual - 1}${not empty param.estado ? '&estado='.concat(param.estado) : ''}" 
-                           class="page-btn">
-                            <i class="fas fa-chevron-left"></i> Anterior
+                    <c:if test="${not esPrimeraPagina}">
+                        <a href="${pageContext.request.contextPath}/pedidos" class="page-btn">
+                            <i class="fas fa-angle-double-left"></i> Más recientes
                         </a>
                     </c:if>
 
-                    <c:forEach begin="1" end="${totalPaginas}" var="i">
-                        <c:choose>
-                            <c:when test="${i == paginaActual}">
-                                <span class="page-btn active">${i}</span>
-                            </c:when>
-                            <c:otherwise>
-                                <a href="?pagina=${i}${not empty param.estado ? '&estado='.concat(param.estado) : ''}" 
-                                   class="page-btn">${i}</a>
-                            </c:otherwise>
-                        </c:choose>
-                    </c:forEach>
-
-                    <c:if test="${paginaActual < totalPaginas}">
-                        <a href="?pagina=${paginaActual + 1}${not empty param.estado ? '&estado='.concat(param.estado) : ''}" 
-                           class="page-btn">
-                            Siguiente <i class="fas fa-chevron-right"></i>
+                    <c:if test="${not empty siguienteCursor}">
+                        <a href="${pageContext.request.contextPath}/pedidos?cursor=${siguienteCursor}" class="page-btn">
+                            Pedidos anteriores <i class="fas fa-chevron-right"></i>
                         </a>
                     </c:if>
                 </nav>